@@ -0,0 +1,121 @@
+package at.saekenz.cinerator.benchmark;
+
+import at.saekenz.cinerator.model.country.Country;
+import at.saekenz.cinerator.model.genre.Genre;
+import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.person.Person;
+import at.saekenz.cinerator.model.role.Role;
+import at.saekenz.cinerator.model.user.User;
+import at.saekenz.cinerator.repository.*;
+import at.saekenz.cinerator.repository.MovieBatchRepository.CastInfoRow;
+import at.saekenz.cinerator.repository.MovieBatchRepository.JoinRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Scales the data of {@link at.saekenz.cinerator.config.TestDataLoader} up to an arbitrary number of
+ * movies. The reference data (genres, countries, roles, persons and users) created by the loader is
+ * reused; every generated movie gets two genres, one country, a director, three actors and up to four
+ * reviews. Rows are written with JDBC batches, a fixed seed keeps the data identical between runs.
+ */
+final class BenchmarkDataSeeder {
+    private static final Logger log = LoggerFactory.getLogger(BenchmarkDataSeeder.class);
+
+    private static final String[] TITLE_WORDS = {"The", "Dark", "Red", "Night", "City", "Last", "Blue", "River",
+            "Silent", "Hunt", "Lost", "Storm", "Empire", "Ghost", "Summer", "Road"};
+
+    private static final int BATCH_SIZE = 1000;
+
+    private BenchmarkDataSeeder() {
+
+    }
+
+    static void seed(ApplicationContext context, int movieCount) {
+        MovieBatchRepository movieBatchRepository = context.getBean(MovieBatchRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Long> genreIds = context.getBean(GenreRepository.class).findAll().stream().map(Genre::getId).toList();
+        List<Long> countryIds = context.getBean(CountryRepository.class).findAll().stream()
+                .map(Country::getId).toList();
+        List<Long> personIds = context.getBean(PersonRepository.class).findAll().stream()
+                .map(Person::getId).toList();
+        List<Long> userIds = context.getBean(UserRepository.class).findAll().stream().map(User::getId).toList();
+        List<Role> roles = context.getBean(RoleRepository.class).findAll();
+        Long directorId = roleId(roles, "Director");
+        Long actorId = roleId(roles, "Actor");
+
+        Random random = new Random(42);
+
+        for (int offset = 0; offset < movieCount; offset += BATCH_SIZE) {
+            int count = Math.min(BATCH_SIZE, movieCount - offset);
+            List<Long> ids = movieBatchRepository.reserveMovieIds(count);
+
+            List<Movie> movies = new ArrayList<>(count);
+            List<JoinRow> genreRows = new ArrayList<>();
+            List<JoinRow> countryRows = new ArrayList<>();
+            List<CastInfoRow> castInfoRows = new ArrayList<>();
+            List<Object[]> reviewRows = new ArrayList<>();
+
+            for (Long id : ids) {
+                Movie movie = new Movie(title(random), LocalDate.of(1950, 1, 1).plusDays(random.nextInt(27000)),
+                        (80 + random.nextInt(100)) + " min", String.format("tt%08d", id), null);
+                movie.setId(id);
+                movies.add(movie);
+
+                int firstGenre = random.nextInt(genreIds.size());
+                genreRows.add(new JoinRow(id, genreIds.get(firstGenre)));
+                genreRows.add(new JoinRow(id, genreIds.get((firstGenre + 1) % genreIds.size())));
+                countryRows.add(new JoinRow(id, countryIds.get(random.nextInt(countryIds.size()))));
+
+                castInfoRows.add(new CastInfoRow(id, personIds.get(random.nextInt(personIds.size())), directorId,
+                        null));
+                for (int i = 0; i < 3; i++) {
+                    castInfoRows.add(new CastInfoRow(id, personIds.get(random.nextInt(personIds.size())), actorId,
+                            "Character " + i));
+                }
+
+                for (Long userId : userIds) {
+                    if (random.nextInt(4) == 0) {
+                        int rating = random.nextInt(5) + 1;
+                        reviewRows.add(new Object[]{"Generated review", rating, Date.valueOf("2024-01-01"),
+                                rating > 3, userId, id});
+                    }
+                }
+            }
+
+            movieBatchRepository.insertMovies(movies);
+            movieBatchRepository.insertMovieGenres(genreRows);
+            movieBatchRepository.insertMovieCountries(countryRows);
+            movieBatchRepository.insertCastInfos(castInfoRows);
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO reviews (id, comment, rating, review_date, is_liked, usr_id, mov_id) " +
+                            "VALUES (nextval('reviews_seq'), ?, ?, ?, ?, ?, ?)", reviewRows);
+        }
+
+        context.getBean(MovieStatsRepository.class).rebuildAll();
+        jdbcTemplate.execute("ANALYZE");
+
+        log.info("Seeded {} movies for benchmarks.", movieCount);
+    }
+
+    private static Long roleId(List<Role> roles, String name) {
+        return roles.stream()
+                .filter(role -> name.equals(role.getRole()))
+                .map(Role::getId)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(String.format("Role %s does not exist!", name)));
+    }
+
+    private static String title(Random random) {
+        return TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " "
+                + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + random.nextInt(1000);
+    }
+}
@@ -0,0 +1,101 @@
+package at.saekenz.cinerator.benchmark;
+
+import at.saekenz.cinerator.model.castinfo.CastInfo;
+import at.saekenz.cinerator.model.country.Country;
+import at.saekenz.cinerator.model.genre.Genre;
+import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.person.Person;
+import at.saekenz.cinerator.model.review.Review;
+import at.saekenz.cinerator.model.role.Role;
+import at.saekenz.cinerator.model.user.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates detached entities for benchmarks that do not need a database. The object graphs resemble the
+ * ones loaded by Hibernate: movies with a director, actors, genres and countries and reviews with their
+ * movie and user.
+ */
+final class BenchmarkFixtures {
+
+    private static final String[] GENRES = {"Action", "Crime", "Drama", "Thriller", "Comedy", "Mystery"};
+    private static final String[] COUNTRIES = {"United States", "France", "Japan", "Italy", "Austria"};
+
+    private BenchmarkFixtures() {
+
+    }
+
+    static List<Movie> movies(int count) {
+        Role director = role(1L, "Director");
+        Role actor = role(2L, "Actor");
+
+        List<Movie> movies = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Movie movie = new Movie("Movie " + id, LocalDate.of(1970, 1, 1).plusDays(id * 37),
+                    (90 + id % 60) + " min", String.format("tt%07d", id), "https://example.org/" + id + ".jpg");
+            movie.setId(id);
+
+            Set<Genre> genres = new HashSet<>();
+            genres.add(genre(id % GENRES.length + 1, GENRES[(int) (id % GENRES.length)]));
+            genres.add(genre((id + 1) % GENRES.length + 1, GENRES[(int) ((id + 1) % GENRES.length)]));
+            movie.setGenres(genres);
+
+            movie.setCountries(Set.of(country(id % COUNTRIES.length + 1, COUNTRIES[(int) (id % COUNTRIES.length)])));
+
+            Set<CastInfo> castInfos = new HashSet<>();
+            castInfos.add(new CastInfo(movie, person(id * 10, "Director " + id), director));
+            for (int i = 1; i <= 5; i++) {
+                castInfos.add(new CastInfo(movie, person(id * 10 + i, "Actor " + id + "-" + i), actor,
+                        "Character " + i));
+            }
+            movie.setCastInfos(castInfos);
+
+            movies.add(movie);
+        }
+
+        return movies;
+    }
+
+    static List<Review> reviews(List<Movie> movies) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchmark-user");
+
+        List<Review> reviews = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            int rating = (int) (movie.getId() % 5) + 1;
+            reviews.add(new Review("Review of " + movie.getTitle(), rating, LocalDate.of(2024, 1, 1),
+                    rating > 3, user, movie));
+        }
+
+        return reviews;
+    }
+
+    private static Genre genre(long id, String name) {
+        Genre genre = new Genre(name);
+        genre.setId(id);
+        return genre;
+    }
+
+    private static Country country(long id, String name) {
+        Country country = new Country(name);
+        country.setId(id);
+        return country;
+    }
+
+    private static Role role(long id, String name) {
+        Role role = new Role(name);
+        role.setId(id);
+        return role;
+    }
+
+    private static Person person(long id, String name) {
+        Person person = new Person(name, LocalDate.of(1960, 1, 1), null, "180 cm");
+        person.setId(id);
+        return person;
+    }
+}
@@ -0,0 +1,76 @@
+package at.saekenz.cinerator.benchmark;
+
+import at.saekenz.cinerator.model.movie.MovieDTO;
+import at.saekenz.cinerator.model.movie.MovieDTOModelAssembler;
+import at.saekenz.cinerator.model.movie.MovieMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of HATEOAS representations: {@link MovieDTOModelAssembler#toModel} builds five
+ * links with {@code linkTo(methodOn(...))} per movie (each one creates a proxy of the controller and
+ * resolves its request mapping), and the HAL serialization of a {@link PagedModel} of movies.
+ * <p>
+ * No request is bound to the benchmark thread, so links are built relative to {@code /} instead of the
+ * current request's base URI.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HateoasBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final MovieDTOModelAssembler movieDTOModelAssembler = new MovieDTOModelAssembler();
+
+    private List<MovieDTO> movieDTOs;
+    private PagedModel<EntityModel<MovieDTO>> pagedModel;
+    private ObjectMapper halObjectMapper;
+
+    @Setup
+    public void setup() {
+        MovieMapper movieMapper = new MovieMapper();
+        movieDTOs = BenchmarkFixtures.movies(pageSize).stream().map(movieMapper::toDTO).toList();
+
+        pagedModel = PagedModel.of(movieDTOs.stream().map(movieDTOModelAssembler::toModel).toList(),
+                new PagedModel.PageMetadata(pageSize, 0, pageSize * 10L),
+                Link.of("/movies?page=0&size=" + pageSize).withSelfRel(),
+                Link.of("/movies?page=1&size=" + pageSize).withRel("next"));
+
+        halObjectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        halObjectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+    }
+
+    @Benchmark
+    public EntityModel<MovieDTO> movieToModel() {
+        return movieDTOModelAssembler.toModel(movieDTOs.get(0));
+    }
+
+    @Benchmark
+    public List<EntityModel<MovieDTO>> pageToModels() {
+        return movieDTOs.stream().map(movieDTOModelAssembler::toModel).toList();
+    }
+
+    @Benchmark
+    public String serializePagedModel() throws JsonProcessingException {
+        return halObjectMapper.writeValueAsString(pagedModel);
+    }
+}
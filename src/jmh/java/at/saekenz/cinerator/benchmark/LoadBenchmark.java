@@ -0,0 +1,117 @@
+package at.saekenz.cinerator.benchmark;
+
+import at.saekenz.cinerator.CineratorApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the HTTP read paths with many concurrent clients (one per JMH thread) against an
+ * embedded Postgres. Compares request execution on Tomcat's platform thread pool with virtual threads
+ * ({@code virtualThreads}), each with the connection limiter sized to the pool ({@code dbConcurrency=5})
+ * and effectively without it ({@code dbConcurrency=100000}).
+ * <p>
+ * Throughput mode reports requests per second, sample time mode reports the latency distribution
+ * (p0.99 is the p99 latency). Failed requests (e.g. connection timeouts) are counted in {@code errors}:
+ * <pre>./gradlew jmh -PjmhIncludes=LoadBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(400)
+public class LoadBenchmark {
+
+    private static final int MOVIE_COUNT = 10000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"5", "100000"})
+    private int dbConcurrency;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+    private String baseUri;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Errors {
+        public long errors;
+    }
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        postgres = EmbeddedPostgres.start();
+
+        context = new SpringApplicationBuilder(CineratorApplication.class)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=postgres",
+                        "spring.jpa.show-sql=false",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "cinerator.datasource.max-concurrency=" + dbConcurrency,
+                        "server.port=0",
+                        "logging.level.root=WARN")
+                .run();
+
+        BenchmarkDataSeeder.seed(context, MOVIE_COUNT);
+
+        baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        httpClient.close();
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int findMovieById(Errors errors) {
+        return get("/movies/" + ThreadLocalRandom.current().nextInt(1, MOVIE_COUNT), errors);
+    }
+
+    @Benchmark
+    public int searchMovies(Errors errors) {
+        return get("/movies/search?title=night&page=" + ThreadLocalRandom.current().nextInt(10), errors);
+    }
+
+    private int get(String path, Errors errors) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 400) { errors.errors++; }
+            return status;
+        }
+        catch (IOException e) {
+            errors.errors++;
+            return -1;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+}
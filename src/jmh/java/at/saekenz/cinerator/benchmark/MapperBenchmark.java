@@ -0,0 +1,47 @@
+package at.saekenz.cinerator.benchmark;
+
+import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.movie.MovieDTO;
+import at.saekenz.cinerator.model.movie.MovieMapper;
+import at.saekenz.cinerator.model.review.Review;
+import at.saekenz.cinerator.model.review.ReviewDTO;
+import at.saekenz.cinerator.model.review.ReviewMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping of detached entities to DTOs. {@link MovieMapper#toDTO(Movie)} streams over the
+ * cast, genres and countries of every movie; a page of movies is mapped per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final MovieMapper movieMapper = new MovieMapper();
+    private final ReviewMapper reviewMapper = new ReviewMapper();
+
+    private List<Movie> movies;
+    private List<Review> reviews;
+
+    @Setup
+    public void setup() {
+        movies = BenchmarkFixtures.movies(pageSize);
+        reviews = BenchmarkFixtures.reviews(movies);
+    }
+
+    @Benchmark
+    public List<MovieDTO> movieToDTO() {
+        return movies.stream().map(movieMapper::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<ReviewDTO> reviewToDTO() {
+        return reviews.stream().map(reviewMapper::toDTO).toList();
+    }
+}
@@ -0,0 +1,108 @@
+package at.saekenz.cinerator.benchmark;
+
+import at.saekenz.cinerator.CineratorApplication;
+import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.movie.MovieDTO;
+import at.saekenz.cinerator.service.IMovieService;
+import at.saekenz.cinerator.util.CollectionModelBuilderService;
+import at.saekenz.cinerator.util.KeysetPage;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the movie read paths against an embedded Postgres. The application is started with its
+ * regular configuration (schema creation, indexes and {@link at.saekenz.cinerator.config.TestDataLoader}),
+ * afterward {@link BenchmarkDataSeeder} adds {@code movieCount} generated movies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000"})
+    private int movieCount;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+
+    private IMovieService movieService;
+    private CollectionModelBuilderService collectionModelBuilderService;
+
+    private int page;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        postgres = EmbeddedPostgres.start();
+
+        context = new SpringApplicationBuilder(CineratorApplication.class)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=postgres",
+                        "spring.jpa.show-sql=false",
+                        "server.port=0",
+                        "logging.level.root=WARN")
+                .run();
+
+        BenchmarkDataSeeder.seed(context, movieCount);
+
+        movieService = context.getBean(IMovieService.class);
+        collectionModelBuilderService = context.getBean(CollectionModelBuilderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    /**
+     * Cycles through the pages, so the benchmarks do not only measure the first (cached) page.
+     */
+    private int nextPage() {
+        page = (page + 1) % (movieCount / PAGE_SIZE);
+        return page;
+    }
+
+    @Benchmark
+    public Page<MovieDTO> findAllPaged() {
+        return movieService.findMovieDTOs(movieService.findAllPaged(nextPage(), PAGE_SIZE, "title", "ASC"));
+    }
+
+    @Benchmark
+    public KeysetPage<Movie> findAllKeyset() {
+        return movieService.findAllKeyset(PAGE_SIZE, "title", "ASC", null, false);
+    }
+
+    @Benchmark
+    public Page<Movie> searchByTitle() {
+        return movieService.findMoviesBySearchParams("night", null, null, null, null, null, null,
+                nextPage() % 10, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<Movie> sortByAverageRating() {
+        return movieService.findAllPaged(nextPage(), PAGE_SIZE, "averageRating", "DESC");
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<MovieDTO>> createCollectionModelFromList() {
+        Page<Movie> movies = movieService.findAllPaged(nextPage(), PAGE_SIZE, "id", "ASC");
+
+        return collectionModelBuilderService.createCollectionModelFromList(movies.getContent(),
+                Link.of("/movies").withSelfRel());
+    }
+}
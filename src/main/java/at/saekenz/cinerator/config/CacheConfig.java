@@ -0,0 +1,29 @@
+package at.saekenz.cinerator.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+/**
+ * Provides the JCache {@link CacheManager} of Hibernate's second-level cache. Every application context
+ * gets its own Caffeine provider instead of the JVM-wide default one, since Hibernate closes its cache
+ * manager on shutdown and would otherwise close it for every other context (e.g. in integration tests).
+ * Region sizes are configured in {@code application.conf}.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        return new CaffeineCachingProvider().getCacheManager();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,143 @@
+package at.saekenz.cinerator.config;
+
+import at.saekenz.cinerator.util.ConcurrencyLimitingDataSource;
+import at.saekenz.cinerator.util.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sets up two connection pools, the primary ({@code spring.datasource.*}) and a read replica
+ * ({@code cinerator.datasource.replica.*}), behind a {@link ReadWriteRoutingDataSource} that every
+ * repository (JPA and JDBC) uses. Each pool gets its own {@link ConcurrencyLimitingDataSource}, so requests
+ * share one fair queue per pool. The post processor runs first, other wrappers (e.g. the query counting
+ * {@link DataSource} of the integration tests) end up outside of it.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("cinerator.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 Environment environment) {
+        Duration readYourWritesWindow = environment.getRequiredProperty(
+                "cinerator.datasource.read-your-writes-window", Duration.class);
+
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesWindow));
+    }
+
+    /**
+     * Connections routed to each pool and threads waiting for one. Usage and timings of the pools
+     * themselves are reported as {@code hikaricp.connections.*} (tagged with the pool name).
+     */
+    @Bean
+    public MeterBinder dataSourceRoutingMetrics(@Qualifier("dataSource") DataSource dataSource,
+                                                @Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        return registry -> {
+            ReadWriteRoutingDataSource routingDataSource = unwrap(dataSource, ReadWriteRoutingDataSource.class);
+            Map<ReadWriteRoutingDataSource.Pool, DataSource> pools = Map.of(
+                    ReadWriteRoutingDataSource.Pool.PRIMARY, primaryDataSource,
+                    ReadWriteRoutingDataSource.Pool.REPLICA, replicaDataSource);
+
+            pools.forEach((pool, poolDataSource) -> {
+                String poolName = pool.name().toLowerCase();
+
+                FunctionCounter.builder("cinerator.datasource.routed.connections", routingDataSource,
+                                routing -> routing.getRoutedConnections(pool))
+                        .description("Connections routed to the pool")
+                        .tag("pool", poolName)
+                        .register(registry);
+
+                ConcurrencyLimitingDataSource limitingDataSource = unwrap(poolDataSource,
+                        ConcurrencyLimitingDataSource.class);
+                Gauge.builder("cinerator.datasource.waiting.threads", limitingDataSource,
+                                ConcurrencyLimitingDataSource::getQueueLength)
+                        .description("Threads waiting for a connection of the pool")
+                        .tag("pool", poolName)
+                        .register(registry);
+            });
+
+            FunctionCounter.builder("cinerator.datasource.sticky.connections", routingDataSource,
+                            ReadWriteRoutingDataSource::getStickyConnections)
+                    .description("Read-only connections kept on the primary after a write of the same user")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        int maxConcurrency = environment.getRequiredProperty("cinerator.datasource.max-concurrency", Integer.class);
+        Duration acquireTimeout = environment.getRequiredProperty("cinerator.datasource.acquire-timeout",
+                Duration.class);
+
+        return new OrderedDataSourcePostProcessor(maxConcurrency, acquireTimeout);
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.unwrap(type);
+        } catch (SQLException e) {
+            throw new IllegalStateException(String.format("DataSource does not wrap a %s!", type.getSimpleName()), e);
+        }
+    }
+
+    /**
+     * Only wraps the pools: the routing {@link DataSource} and its proxy hand out pooled connections,
+     * which already passed the queue of their pool.
+     */
+    private record OrderedDataSourcePostProcessor(int maxConcurrency, Duration acquireTimeout)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                    && !(bean instanceof AbstractRoutingDataSource)) {
+                return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency, acquireTimeout);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
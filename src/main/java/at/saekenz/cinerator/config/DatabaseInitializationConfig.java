@@ -0,0 +1,42 @@
+package at.saekenz.cinerator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Runs the SQL scripts after Hibernate created the schema (see {@code spring.jpa.defer-datasource-initialization}).
+ * The scripts of {@code spring.sql.init.*} create constraints and triggers the application relies on, so a
+ * failing statement aborts the startup. The scripts of {@code cinerator.sql.init.optional-schema-locations}
+ * only add index support (e.g. the trigram indexes, which need the pg_trgm extension) and may fail.
+ * <p>
+ * Both initializers are detected as such, so they still run after the schema was created. Declaring the
+ * first one replaces the auto-configured initializer.
+ */
+@Configuration
+public class DatabaseInitializationConfig {
+
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer dataSourceScriptDatabaseInitializer(
+            DataSource dataSource, SqlInitializationProperties properties) {
+        return new SqlDataSourceScriptDatabaseInitializer(dataSource, properties);
+    }
+
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer optionalScriptDatabaseInitializer(
+            DataSource dataSource, SqlInitializationProperties properties,
+            @Value("${cinerator.sql.init.optional-schema-locations}") List<String> schemaLocations) {
+        DatabaseInitializationSettings settings = SqlDataSourceScriptDatabaseInitializer.getSettings(properties);
+        settings.setSchemaLocations(schemaLocations);
+        settings.setDataLocations(List.of());
+        settings.setContinueOnError(true);
+
+        return new SqlDataSourceScriptDatabaseInitializer(dataSource, settings);
+    }
+}
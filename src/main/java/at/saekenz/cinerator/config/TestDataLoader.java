@@ -13,7 +13,9 @@ import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.user.User;
 import at.saekenz.cinerator.model.user.UserNotFoundException;
 import at.saekenz.cinerator.model.userlist.UserList;
+import at.saekenz.cinerator.model.userlist.UserListEntry;
 import at.saekenz.cinerator.repository.*;
+import at.saekenz.cinerator.util.FractionalIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
@@ -299,7 +301,9 @@ public class TestDataLoader {
     @Bean
     @Order(5)
     public CommandLineRunner initReviewsAndUserLists(ReviewRepository reviewRepository, UserRepository userRepository,
-                                                     MovieRepository movieRepository, UserListRepository userListRepository) {
+                                                     MovieRepository movieRepository, UserListRepository userListRepository,
+                                                     UserListEntryRepository userListEntryRepository,
+                                                     MovieStatsRepository movieStatsRepository) {
         return (args) -> {
             log.info("Initializing reviews...");
 
@@ -311,14 +315,20 @@ public class TestDataLoader {
 
             if (movies.size() < 11) { throw new MovieNotFoundException(); }
 
-            Set<Movie> moviesInUser4List = Set.copyOf(movies.subList(0, 5));
-            Set<Movie> moviesInUser2List = Set.copyOf(movies.subList(4, 9));
-            UserList user4List = new UserList("Good movies", "Some absolute bangers", false, users.get(3), moviesInUser4List);
-            UserList user4List2 = new UserList("Funny movies", "Bangers that always make me smile!", false, users.get(3), moviesInUser2List);
+            List<Movie> moviesInUser4List = movies.subList(0, 5);
+            List<Movie> moviesInUser2List = movies.subList(4, 9);
+            UserList user4List = new UserList("Good movies", "Some absolute bangers", false, users.get(3));
+            UserList user4List2 = new UserList("Funny movies", "Bangers that always make me smile!", false, users.get(3));
             UserList user2List = new UserList("My Top movies so far",
-                    "Let's see how manic 2024 can be with an expected high volume of viewing pleasures in store for the senses.", false, users.get(1), moviesInUser2List);
+                    "Let's see how manic 2024 can be with an expected high volume of viewing pleasures in store for the senses.", false, users.get(1));
             userListRepository.saveAll(List.of(user4List, user2List, user4List2));
 
+            List<UserListEntry> userListEntries = new ArrayList<>();
+            userListEntries.addAll(createUserListEntries(user4List, moviesInUser4List));
+            userListEntries.addAll(createUserListEntries(user2List, moviesInUser2List));
+            userListEntries.addAll(createUserListEntries(user4List2, moviesInUser2List));
+            userListEntryRepository.saveAll(userListEntries);
+
             List<Review> reviews = List.of(
                     new Review("An absolute visual treat. The cinematography is breathtaking, but the plot feels like it's treading water.",
                             3, LocalDate.of(2020,5,8), true, users.get(0), movies.get(0)),
@@ -353,6 +363,9 @@ public class TestDataLoader {
             // Batch insert all created reviews
             reviewRepository.saveAll(reviews).forEach(review -> log.info("Created new review: {}", review));
 
+            // Reviews were inserted directly, so the movie statistics have to be computed once
+            movieStatsRepository.rebuildAll();
+
         };
     }
 
@@ -418,4 +431,14 @@ public class TestDataLoader {
                               String imdbId, String posterUrl) {
         return new Movie(title, releaseDate, duration, imdbId, posterUrl);
     }
+
+    private List<UserListEntry> createUserListEntries(UserList userList, List<Movie> movies) {
+        List<UserListEntry> entries = new ArrayList<>();
+        String position = null;
+        for (Movie movie : movies) {
+            position = FractionalIndex.between(position, null);
+            entries.add(new UserListEntry(userList, movie, position, null));
+        }
+        return entries;
+    }
 }
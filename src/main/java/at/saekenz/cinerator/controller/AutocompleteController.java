@@ -0,0 +1,62 @@
+package at.saekenz.cinerator.controller;
+
+import at.saekenz.cinerator.model.autocomplete.AutocompleteSuggestion;
+import at.saekenz.cinerator.model.autocomplete.EAutocompleteType;
+import at.saekenz.cinerator.service.IAutocompleteService;
+import org.hibernate.validator.constraints.Range;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@RestController
+@RequestMapping("/autocomplete")
+public class AutocompleteController {
+
+    @Autowired
+    private IAutocompleteService autocompleteService;
+
+    /**
+     * Suggests movie titles and person names for the text typed so far. Suggestions are answered from
+     * memory, which is why this endpoint (unlike the other catalog GETs) does not look up an ETag.
+     *
+     * @param query text typed so far (every word of a title or name is matched by its beginning)
+     * @param types suggested types, {@code movie} and/or {@code person} (see {@link EAutocompleteType})
+     * @param size maximum number of suggestions
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and a {@link CollectionModel} of the
+     * suggestions (most popular first), each linking to the suggested resource
+     */
+    @GetMapping
+    public ResponseEntity<CollectionModel<EntityModel<AutocompleteSuggestion>>> autocomplete(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "types", defaultValue = "movie,person") List<String> types,
+            @RequestParam(name = "size", defaultValue = "10") @Range(min = 1, max = 50) int size) {
+        List<AutocompleteSuggestion> suggestions = autocompleteService.suggest(query, types, size);
+
+        if (suggestions.isEmpty()) { return ResponseEntity.ok(CollectionModel.empty()); }
+
+        List<EntityModel<AutocompleteSuggestion>> models = suggestions.stream()
+                .map(suggestion -> EntityModel.of(suggestion, resourceLink(suggestion)))
+                .toList();
+
+        return ResponseEntity.ok(CollectionModel.of(models,
+                linkTo(methodOn(AutocompleteController.class).autocomplete(query, types, size)).withSelfRel()));
+    }
+
+    private static Link resourceLink(AutocompleteSuggestion suggestion) {
+        if (EAutocompleteType.PERSON.getParamName().equals(suggestion.type())) {
+            return linkTo(methodOn(PersonController.class).findPersonById(suggestion.id())).withSelfRel();
+        }
+        return linkTo(methodOn(MovieController.class).findMovieById(suggestion.id())).withSelfRel();
+    }
+}
@@ -6,6 +6,7 @@ import at.saekenz.cinerator.service.IMovieService;
 import at.saekenz.cinerator.service.IPersonService;
 import at.saekenz.cinerator.service.IRoleService;
 import at.saekenz.cinerator.util.CollectionModelBuilderService;
+import at.saekenz.cinerator.util.KeysetPage;
 import at.saekenz.cinerator.util.ResponseBuilderService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -14,10 +15,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 @RestController
 @RequestMapping("/castinfo")
 public class CastInfoController {
@@ -74,6 +79,38 @@ public class CastInfoController {
         return ResponseEntity.ok(pagedResourcesAssembler.toModel(pagedCastInfos, castInfoDTOModelAssembler));
     }
 
+    /**
+     * Fetch {@link CastInfo} resources page by page (keyset pagination). Pages are addressed by a cursor
+     * instead of a page number, so fetching a page does not get slower the deeper it is.
+     *
+     * @param size number of {@link CastInfo} resources returned for each page
+     * @param sortField attribute that determines how returned resources will be sorted
+     * @param sortDirection order of sorting (can be ASC or DESC)
+     * @param cursor continuation token of a {@code next} or {@code prev} link (overrides the sort parameters)
+     * @param withCount whether the total number of cast infos is returned in the X-Total-Count header
+     * @return {@link CollectionModel} object with the {@link CastInfo} resources of the page and links to the
+     * adjacent pages wrapped in {@link ResponseEntity<>}
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<CastInfoDTO>>> scrollCastInfos(
+            @RequestParam(name = "size", defaultValue = "5") int size,
+            @RequestParam(name = "sortField", defaultValue = "id") String sortField,
+            @RequestParam(name = "sortDirection", defaultValue = "ASC") String sortDirection,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "withCount", defaultValue = "false") boolean withCount) {
+        KeysetPage<CastInfoDTO> castInfos = castInfoService.findAllKeyset(size, sortField, sortDirection, cursor, withCount)
+                .map(castInfoMapper::toDTO);
+
+        CollectionModel<EntityModel<CastInfoDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromKeysetPage(castInfos, castInfoDTOModelAssembler,
+                        linkTo(methodOn(CastInfoController.class)
+                                .scrollCastInfos(size, sortField, sortDirection, cursor, withCount)).withSelfRel(),
+                        token -> linkTo(methodOn(CastInfoController.class)
+                                .scrollCastInfos(size, sortField, sortDirection, token, withCount)).withSelfRel());
+
+        return responseBuilderService.buildKeysetPageResponse(collectionModel, castInfos);
+    }
+
     /**
      * Fetch a specific {@link CastInfo} by its {@code id}.
      *
@@ -14,6 +14,9 @@ import at.saekenz.cinerator.model.person.PersonDTOModelAssembler;
 import at.saekenz.cinerator.model.person.PersonMapper;
 import at.saekenz.cinerator.service.ICountryService;
 import at.saekenz.cinerator.util.CollectionModelBuilderService;
+import at.saekenz.cinerator.util.ConditionalGet;
+import at.saekenz.cinerator.util.EVersionedResource;
+import at.saekenz.cinerator.util.KeysetPage;
 import at.saekenz.cinerator.util.ResponseBuilderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -77,6 +80,7 @@ public class CountryController {
      * @return {@link PagedModel} object with sorted/filtered {@link Country} resources wrapped
      * in {@link ResponseEntity<>}
      */
+    @ConditionalGet(EVersionedResource.COUNTRIES)
     @GetMapping()
     public ResponseEntity<PagedModel<EntityModel<CountryDTO>>> findAllCountries(
             @RequestParam(name = "page", defaultValue = "0") int page,
@@ -89,6 +93,39 @@ public class CountryController {
         return ResponseEntity.ok(pagedResourcesAssembler.toModel(countries, countryDTOAssembler));
     }
 
+    /**
+     * Fetch {@link Country} resources page by page (keyset pagination). Pages are addressed by a cursor
+     * instead of a page number, so fetching a page does not get slower the deeper it is.
+     *
+     * @param size number of {@link Country} resources returned for each page
+     * @param sortField attribute that determines how returned resources will be sorted
+     * @param sortDirection order of sorting (can be ASC or DESC)
+     * @param cursor continuation token of a {@code next} or {@code prev} link (overrides the sort parameters)
+     * @param withCount whether the total number of countries is returned in the X-Total-Count header
+     * @return {@link CollectionModel} object with the {@link Country} resources of the page and links to the
+     * adjacent pages wrapped in {@link ResponseEntity<>}
+     */
+    @ConditionalGet(EVersionedResource.COUNTRIES)
+    @GetMapping("/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<CountryDTO>>> scrollCountries(
+            @RequestParam(name = "size", defaultValue = "5") int size,
+            @RequestParam(name = "sortField", defaultValue = "id") String sortField,
+            @RequestParam(name = "sortDirection", defaultValue = "ASC") String sortDirection,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "withCount", defaultValue = "false") boolean withCount) {
+        KeysetPage<CountryDTO> countries = countryService.findAllKeyset(size, sortField, sortDirection, cursor, withCount)
+                .map(countryMapper::toDTO);
+
+        CollectionModel<EntityModel<CountryDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromKeysetPage(countries, countryDTOAssembler,
+                        linkTo(methodOn(CountryController.class)
+                                .scrollCountries(size, sortField, sortDirection, cursor, withCount)).withSelfRel(),
+                        token -> linkTo(methodOn(CountryController.class)
+                                .scrollCountries(size, sortField, sortDirection, token, withCount)).withSelfRel());
+
+        return responseBuilderService.buildKeysetPageResponse(collectionModel, countries);
+    }
+
     /**
      * Fetch a specific {@link Country} by its {@code id}.
      *
@@ -96,6 +133,7 @@ public class CountryController {
      * @return ResponseEntity containing 200 Ok status and the {@link Country} resource.
      * (Returns 404 Not Found if the {@link Country} does not exist for this {@code id}.)
      */
+    @ConditionalGet(EVersionedResource.COUNTRY)
     @GetMapping("/{id}")
     public ResponseEntity<EntityModel<CountryDTO>> findCountryById(@PathVariable Long id) {
         Country country = countryService.findCountryById(id);
@@ -162,6 +200,7 @@ public class CountryController {
      * with that {@link Country}. (Returns a 404 Not Found status if the {@link Country}
      * does not exist.)
      */
+    @ConditionalGet(EVersionedResource.PERSONS)
     @GetMapping("/{id}/persons")
     public ResponseEntity<CollectionModel<EntityModel<PersonDTO>>> findPersonsByCountry(@PathVariable Long id) {
         Country country = countryService.findCountryById(id);
@@ -184,6 +223,7 @@ public class CountryController {
      * with that {@link Country}. (Returns a 404 Not Found status if the {@link Country}
      * does not exist.)
      */
+    @ConditionalGet(EVersionedResource.MOVIES)
     @GetMapping("/{id}/movies")
     public ResponseEntity<CollectionModel<EntityModel<MovieDTO>>> findMoviesByCountry(@PathVariable Long id) {
         Country country = countryService.findCountryById(id);
@@ -192,7 +232,7 @@ public class CountryController {
         if (movies.isEmpty()) { return ResponseEntity.ok(CollectionModel.empty()); }
 
         CollectionModel<EntityModel<MovieDTO>> collectionModel = collectionModelBuilderService
-                .createCollectionModelFromList(movies, movieMapper, movieDTOModelAssembler,
+                .createCollectionModelFromList(movies,
         linkTo(methodOn(CountryController.class).findMoviesByCountry(id)).withSelfRel());
 
         return ResponseEntity.ok(collectionModel);
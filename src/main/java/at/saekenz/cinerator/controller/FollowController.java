@@ -3,11 +3,15 @@ package at.saekenz.cinerator.controller;
 import at.saekenz.cinerator.model.follow.*;
 import at.saekenz.cinerator.model.user.User;
 import at.saekenz.cinerator.service.IFollowService;
+import at.saekenz.cinerator.util.CollectionModelBuilderService;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.ResponseBuilderService;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
@@ -16,12 +20,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 @RestController
 public class FollowController {
 
     @Autowired
     IFollowService followService;
 
+    @Autowired
+    CollectionModelBuilderService collectionModelBuilderService;
+
+    @Autowired
+    ResponseBuilderService responseBuilderService;
+
     private final FollowDTOModelAssembler followAssembler;
     private final FollowMapper followMapper;
 
@@ -56,6 +69,38 @@ public class FollowController {
         return ResponseEntity.ok(pagedResourcesAssembler.toModel(follows, followAssembler));
     }
 
+    /**
+     * Fetch {@link Follow} resources page by page (keyset pagination). Pages are addressed by a cursor
+     * instead of a page number, so fetching a page does not get slower the deeper it is.
+     *
+     * @param size number of {@link Follow} resources returned for each page
+     * @param sortField attribute that determines how returned resources will be sorted
+     * @param sortDirection order of sorting (can be ASC or DESC)
+     * @param cursor continuation token of a {@code next} or {@code prev} link (overrides the sort parameters)
+     * @param withCount whether the total number of follows is returned in the X-Total-Count header
+     * @return {@link CollectionModel} object with the {@link Follow} resources of the page and links to the
+     * adjacent pages wrapped in {@link ResponseEntity<>}
+     */
+    @GetMapping("/followers/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<FollowDTO>>> scrollFollows(
+            @RequestParam(name = "size", defaultValue = "5") int size,
+            @RequestParam(name = "sortField", defaultValue = "id") String sortField,
+            @RequestParam(name = "sortDirection", defaultValue = "ASC") String sortDirection,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "withCount", defaultValue = "false") boolean withCount) {
+        KeysetPage<FollowDTO> follows = followService.findAllKeyset(size, sortField, sortDirection, cursor, withCount)
+                .map(followMapper::toDTO);
+
+        CollectionModel<EntityModel<FollowDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromKeysetPage(follows, followAssembler,
+                        linkTo(methodOn(FollowController.class)
+                                .scrollFollows(size, sortField, sortDirection, cursor, withCount)).withSelfRel(),
+                        token -> linkTo(methodOn(FollowController.class)
+                                .scrollFollows(size, sortField, sortDirection, token, withCount)).withSelfRel());
+
+        return responseBuilderService.buildKeysetPageResponse(collectionModel, follows);
+    }
+
     /**
      *
      * @param userId the id of the {@link User} being followed
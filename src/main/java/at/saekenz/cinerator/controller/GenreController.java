@@ -5,17 +5,25 @@ import at.saekenz.cinerator.model.genre.GenreDTO;
 import at.saekenz.cinerator.model.genre.GenreDTOModelAssembler;
 import at.saekenz.cinerator.model.genre.GenreMapper;
 import at.saekenz.cinerator.service.IGenreService;
+import at.saekenz.cinerator.util.CollectionModelBuilderService;
+import at.saekenz.cinerator.util.ConditionalGet;
+import at.saekenz.cinerator.util.EVersionedResource;
+import at.saekenz.cinerator.util.KeysetPage;
 import at.saekenz.cinerator.util.ResponseBuilderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 @RestController
 @RequestMapping("/genres")
 public class GenreController {
@@ -23,6 +31,9 @@ public class GenreController {
     @Autowired
     IGenreService genreService;
 
+    @Autowired
+    CollectionModelBuilderService collectionModelBuilderService;
+
     @Autowired
     GenreMapper genreMapper;
 
@@ -48,6 +59,7 @@ public class GenreController {
      * @return {@link PagedModel} object with sorted/filtered {@link Genre} resources wrapped
      * in {@link ResponseEntity<>}
      */
+    @ConditionalGet(EVersionedResource.GENRES)
     @GetMapping()
     public ResponseEntity<PagedModel<EntityModel<GenreDTO>>> findAllGenres(
             @RequestParam(name = "page", defaultValue = "0") int page,
@@ -60,6 +72,39 @@ public class GenreController {
         return ResponseEntity.ok(pagedResourcesAssembler.toModel(genres, genreDTOModelAssembler));
     }
 
+    /**
+     * Fetch {@link Genre} resources page by page (keyset pagination). Pages are addressed by a cursor
+     * instead of a page number, so fetching a page does not get slower the deeper it is.
+     *
+     * @param size number of {@link Genre} resources returned for each page
+     * @param sortField attribute that determines how returned resources will be sorted
+     * @param sortDirection order of sorting (can be ASC or DESC)
+     * @param cursor continuation token of a {@code next} or {@code prev} link (overrides the sort parameters)
+     * @param withCount whether the total number of genres is returned in the X-Total-Count header
+     * @return {@link CollectionModel} object with the {@link Genre} resources of the page and links to the
+     * adjacent pages wrapped in {@link ResponseEntity<>}
+     */
+    @ConditionalGet(EVersionedResource.GENRES)
+    @GetMapping("/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<GenreDTO>>> scrollGenres(
+            @RequestParam(name = "size", defaultValue = "5") int size,
+            @RequestParam(name = "sortField", defaultValue = "id") String sortField,
+            @RequestParam(name = "sortDirection", defaultValue = "ASC") String sortDirection,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "withCount", defaultValue = "false") boolean withCount) {
+        KeysetPage<GenreDTO> genres = genreService.findAllKeyset(size, sortField, sortDirection, cursor, withCount)
+                .map(genreMapper::toDTO);
+
+        CollectionModel<EntityModel<GenreDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromKeysetPage(genres, genreDTOModelAssembler,
+                        linkTo(methodOn(GenreController.class)
+                                .scrollGenres(size, sortField, sortDirection, cursor, withCount)).withSelfRel(),
+                        token -> linkTo(methodOn(GenreController.class)
+                                .scrollGenres(size, sortField, sortDirection, token, withCount)).withSelfRel());
+
+        return responseBuilderService.buildKeysetPageResponse(collectionModel, genres);
+    }
+
     /**
      * Fetch a specific {@link Genre} by its {@code id}.
      *
@@ -67,6 +112,7 @@ public class GenreController {
      * @return ResponseEntity containing 200 Ok status and the {@link Genre} resource.
      * (Returns 404 Not Found if the {@link Genre} does not exist for this {@code id}.)
      */
+    @ConditionalGet(EVersionedResource.GENRE)
     @GetMapping("/{id}")
     public ResponseEntity<?> findGenreById(@PathVariable Long id) {
         Genre genre = genreService.findGenreById(id);
@@ -17,7 +17,13 @@ import at.saekenz.cinerator.model.review.*;
 import at.saekenz.cinerator.model.role.Role;
 import at.saekenz.cinerator.service.*;
 import at.saekenz.cinerator.util.CollectionModelBuilderService;
+import at.saekenz.cinerator.util.ConditionalGet;
+import at.saekenz.cinerator.util.EVersionedResource;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.PreferHeader;
 import at.saekenz.cinerator.util.ResponseBuilderService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.validator.constraints.Range;
@@ -26,11 +32,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.*;
+import org.springframework.hateoas.mediatype.hal.HalModelBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -43,10 +60,14 @@ public class MovieController {
     private final GenreDTOModelAssembler genreDTOAssembler;
     private final CountryDTOModelAssembler countryDTOAssembler;
     private final PersonDTOModelAssembler personDTOAssembler;
+    private final ReviewSubmissionDTOModelAssembler reviewSubmissionAssembler;
 
     @Autowired
     IMovieService movieService;
 
+    @Autowired
+    IMovieFacetService movieFacetService;
+
     @Autowired
     IReviewService reviewService;
 
@@ -56,6 +77,18 @@ public class MovieController {
     @Autowired
     IUserService userService;
 
+    @Autowired
+    IMovieExportService movieExportService;
+
+    @Autowired
+    IMovieImportService movieImportService;
+
+    @Autowired
+    IMovieSimilarityService movieSimilarityService;
+
+    @Autowired
+    IReviewIngestionService reviewIngestionService;
+
     @Autowired
     MovieMapper movieMapper;
 
@@ -83,12 +116,14 @@ public class MovieController {
 
     public MovieController(MovieDTOModelAssembler movieDTOAssembler, ReviewDTOModelAssembler reviewAssembler,
                            GenreDTOModelAssembler genreDTOAssembler, CountryDTOModelAssembler countryDTOAssembler,
-                           PersonDTOModelAssembler personDTOAssembler) {
+                           PersonDTOModelAssembler personDTOAssembler,
+                           ReviewSubmissionDTOModelAssembler reviewSubmissionAssembler) {
         this.movieDTOAssembler = movieDTOAssembler;
         this.reviewAssembler = reviewAssembler;
         this.genreDTOAssembler = genreDTOAssembler;
         this.countryDTOAssembler = countryDTOAssembler;
         this.personDTOAssembler = personDTOAssembler;
+        this.reviewSubmissionAssembler = reviewSubmissionAssembler;
     }
 
     /**
@@ -100,18 +135,52 @@ public class MovieController {
      * @param sortDirection order of sorting. Can be ASC or DESC
      * @return {@link PagedModel} object with sorted/filtered movies wrapped in {@link ResponseEntity<>}
      */
+    @ConditionalGet(EVersionedResource.MOVIES)
     @GetMapping()
     public ResponseEntity<PagedModel<EntityModel<MovieDTO>>> findAllMovies(
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "5") int size,
             @RequestParam(name = "sortBy", defaultValue = "id") String sortBy,
             @RequestParam(name = "sortDirection", defaultValue = "ASC") String sortDirection) {
-        Page<MovieDTO> movies = movieService.findAllPaged(page, size, sortBy, sortDirection)
-                .map(movieMapper::toDTO);
+        Page<MovieDTO> movies = movieService.findMovieDTOs(
+                movieService.findAllPaged(page, size, sortBy, sortDirection));
 
         return ResponseEntity.ok(pagedResourcesAssembler.toModel(movies,movieDTOAssembler));
     }
 
+    /**
+     * Fetch {@link Movie} resources page by page (keyset pagination). Pages are addressed by a cursor
+     * instead of a page number, so fetching a page does not get slower the deeper it is.
+     *
+     * @param size number of {@link Movie} resources returned for each page
+     * @param sortBy attribute that determines how returned resources will be sorted
+     * @param sortDirection order of sorting (can be ASC or DESC)
+     * @param cursor continuation token of a {@code next} or {@code prev} link (overrides the sort parameters)
+     * @param withCount whether the total number of movies is returned in the X-Total-Count header
+     * @return {@link CollectionModel} object with the {@link Movie} resources of the page and links to the
+     * adjacent pages wrapped in {@link ResponseEntity<>}
+     */
+    @ConditionalGet(EVersionedResource.MOVIES)
+    @GetMapping("/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<MovieDTO>>> scrollMovies(
+            @RequestParam(name = "size", defaultValue = "5") int size,
+            @RequestParam(name = "sortBy", defaultValue = "id") String sortBy,
+            @RequestParam(name = "sortDirection", defaultValue = "ASC") String sortDirection,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "withCount", defaultValue = "false") boolean withCount) {
+        KeysetPage<Movie> movies = movieService.findAllKeyset(size, sortBy, sortDirection, cursor, withCount);
+        KeysetPage<MovieDTO> movieDTOs = movies.withContent(movieService.findMovieDTOs(movies.content()));
+
+        CollectionModel<EntityModel<MovieDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromKeysetPage(movieDTOs, movieDTOAssembler,
+                        linkTo(methodOn(MovieController.class)
+                                .scrollMovies(size, sortBy, sortDirection, cursor, withCount)).withSelfRel(),
+                        token -> linkTo(methodOn(MovieController.class)
+                                .scrollMovies(size, sortBy, sortDirection, token, withCount)).withSelfRel());
+
+        return responseBuilderService.buildKeysetPageResponse(collectionModel, movieDTOs);
+    }
+
     /**
      * Fetch a specific {@link Movie} by its {@code id}.
      *
@@ -119,12 +188,95 @@ public class MovieController {
      * @return {@link ResponseEntity<>} containing 200 Ok status and the {@link Movie} resource.
      * (Returns 404 Not Found if the {@link Movie} does not exist for this {@code id}.)
      */
+    @ConditionalGet(EVersionedResource.MOVIE)
     @GetMapping("/{id}")
     public ResponseEntity<EntityModel<MovieDTO>> findMovieById(@PathVariable Long id) {
         Movie movie = movieService.findMovieById(id);
         return ResponseEntity.ok(movieDTOAssembler.toModel(movieMapper.toDTO(movie)));
     }
 
+    /**
+     * Fetch a specific {@link Movie} by its IMDb id. The id is resolved from memory, so unlike
+     * {@link #findMovieById} this endpoint does not look up an ETag first.
+     *
+     * @param imdbId the IMDb id of the {@link Movie} that will be retrieved (case-insensitive)
+     * @return {@link ResponseEntity<>} containing 200 Ok status and the {@link Movie} resource.
+     * (Returns 404 Not Found if there is no {@link Movie} with this {@code imdbId}.)
+     */
+    @GetMapping("/imdb/{imdbId}")
+    public ResponseEntity<EntityModel<MovieDTO>> findMovieByImdbId(@PathVariable String imdbId) {
+        Movie movie = movieService.findMovieByImdbId(imdbId);
+        return ResponseEntity.ok(movieDTOAssembler.toModel(movieMapper.toDTO(movie)));
+    }
+
+    /**
+     * Fetch a specific {@link Movie} by its {@code id} together with the associated resources named in
+     * {@code expand}. The associated resources are embedded into the response ({@code _embedded}), so a
+     * client rendering the detail page of a movie needs a single request instead of one per association.
+     *
+     * @param id the ID of the {@link Movie} that will be retrieved
+     * @param expand associations to embed. Can be any of {@code reviews}, {@code cast}, {@code genres} and
+     * {@code countries}
+     * @return {@link ResponseEntity<>} containing 200 Ok status and the {@link Movie} resource with the requested
+     * associations. (Returns 404 Not Found if the {@link Movie} does not exist for this {@code id} or 400 Bad Request
+     * if {@code expand} contains an unknown value.)
+     */
+    @ConditionalGet(EVersionedResource.MOVIES_WITH_REVIEWS)
+    @GetMapping(value = "/{id}", params = "expand")
+    public ResponseEntity<RepresentationModel<?>> findMovieDetailsById(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @RequestParam(name = "expand") List<String> expand) {
+        MovieDetails details = movieService.findMovieDetails(id, expand);
+        HalModelBuilder builder = HalModelBuilder.halModelOf(details.movie())
+                .links(movieDTOAssembler.toModel(details.movie()).getLinks());
+
+        if (details.expansions().contains(EMovieExpansion.REVIEWS)) {
+            builder.embed(details.reviews().stream().map(reviewAssembler::toModel).toList(),
+                    LinkRelation.of("reviews"));
+        }
+        if (details.expansions().contains(EMovieExpansion.CAST)) {
+            builder.embed(details.actors().stream().map(personMapper::toDTO).map(personDTOAssembler::toModel)
+                    .toList(), LinkRelation.of("actors"));
+            builder.embed(details.directors().stream().map(personMapper::toDTO).map(personDTOAssembler::toModel)
+                    .toList(), LinkRelation.of("directors"));
+        }
+        if (details.expansions().contains(EMovieExpansion.GENRES)) {
+            builder.embed(details.genres().stream().map(genreMapper::toDTO).map(genreDTOAssembler::toModel)
+                    .toList(), LinkRelation.of("genres"));
+        }
+        if (details.expansions().contains(EMovieExpansion.COUNTRIES)) {
+            builder.embed(details.countries().stream().map(countryMapper::toDTO).map(countryDTOAssembler::toModel)
+                    .toList(), LinkRelation.of("countries"));
+        }
+
+        return ResponseEntity.ok(builder.build());
+    }
+
+    /**
+     * Streams every {@link Movie} resource in the database to the client. Movies are written one
+     * JSON document per line ({@code application/x-ndjson}) while they are being read, so the catalog
+     * is never held in memory as a whole.
+     *
+     * @param format format of the export (currently only {@code ndjson} is supported)
+     * @param response response the exported movies are written to
+     * @throws IOException if writing to the response fails
+     * (Returns 400 Bad Request if the requested {@code format} is not supported.)
+     */
+    @GetMapping("/export")
+    public void exportMovies(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                             HttpServletResponse response) throws IOException {
+        if (!"ndjson".equalsIgnoreCase(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("Export format %s is not supported!", format));
+        }
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"movies.ndjson\"");
+
+        movieExportService.exportAsNdjson(response.getOutputStream());
+    }
+
 // ------------------------------ CREATE/UPDATE/DELETE --------------------------------------------------------------
 
     /**
@@ -172,10 +324,57 @@ public class MovieController {
         return ResponseEntity.noContent().build();
     }
 
+// ----------------------------------- IMPORT ------------------------------------------------------------------------
+
+    /**
+     * Imports multiple {@link Movie} resources at once. Genres, countries and roles are referenced by
+     * name. Rows that cannot be imported do not fail the whole import, but are reported individually.
+     *
+     * @param movies DTOs containing the data of the movies to be imported
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and a report with the result of every row
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MovieImportReportDTO> importMovies(@RequestBody List<MovieImportDTO> movies) {
+        return ResponseEntity.ok(movieImportService.importMovies(movies));
+    }
+
+    /**
+     * Imports multiple {@link Movie} resources from a CSV document sent as the request body. The first line
+     * has to be a header containing (at least) the columns {@code title, releaseDate, runtime, imdbId,
+     * genres, countries}. Optional columns are {@code posterUrl} and {@code cast}. Multiple genres, countries
+     * and cast entries are separated by {@code |}, cast entries have the format
+     * {@code personId:role[:characterName]}.
+     *
+     * @param request request containing the CSV document
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and a report with the result of every row
+     * (or a 400 Bad Request status if the header row is missing or incomplete).
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<MovieImportReportDTO> importMoviesFromCsv(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(movieImportService.importMoviesFromCsv(request.getInputStream()));
+    }
+
+    /**
+     * Imports multiple {@link Movie} resources from an uploaded CSV file (see
+     * {@link #importMoviesFromCsv(HttpServletRequest)} for the expected format).
+     *
+     * @param file the uploaded CSV file
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and a report with the result of every row
+     * (or a 400 Bad Request status if the header row is missing or incomplete).
+     * @throws IOException if the uploaded file cannot be read
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MovieImportReportDTO> importMoviesFromCsvFile(@RequestParam("file") MultipartFile file)
+            throws IOException {
+        return ResponseEntity.ok(movieImportService.importMoviesFromCsv(file.getInputStream()));
+    }
+
 // ----------------------------------- SEARCH ------------------------------------------------------------------------
 
     /**
-     * Fetches {@link Movie} resources based on search parameters.
+     * Fetches {@link Movie} resources based on search parameters (in a paged format). Only supplied
+     * parameters are applied. If a {@code title} is supplied, results are ranked by relevance.
      *
      * @param title title of the searched for movie(s)
      * @param releaseDate initial date of release of the searched for movie(s)
@@ -184,29 +383,72 @@ public class MovieController {
      * @param imdbId imdbId of the searched for movie(s)
      * @param genre genre of the searched for movie(s)
      * @param country country of origin of the searched for movie(s)
-     * @return {@link ResponseEntity<>}  containing a 200 Ok status and a collection of the found
+     * @param page number of the page returned
+     * @param size number of movies listed in every page
+     * @return {@link ResponseEntity<>}  containing a 200 Ok status and a {@link PagedModel} of the found
      * {@link Movie} resources.
      */
+    @ConditionalGet(EVersionedResource.MOVIES)
     @GetMapping("/search")
-    public ResponseEntity<CollectionModel<EntityModel<MovieDTO>>> searchMovies(
+    public ResponseEntity<PagedModel<EntityModel<MovieDTO>>> searchMovies(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) LocalDate releaseDate,
             @RequestParam(required = false) Integer releaseYear,
             @RequestParam(required = false) String runtime,
             @RequestParam(required = false) String imdbId,
             @RequestParam(required = false) String genre,
-            @RequestParam(required = false) String country) {
-       List<Movie> foundMovies = movieService.findMoviesBySearchParams(title, releaseDate,
-               releaseYear, runtime, imdbId, genre, country);
-
-       if (foundMovies.isEmpty()) { return ResponseEntity.ok(CollectionModel.empty()); }
+            @RequestParam(required = false) String country,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "10") int size) {
+       Page<MovieDTO> foundMovies = movieService.findMovieDTOs(movieService.findMoviesBySearchParams(title,
+               releaseDate, releaseYear, runtime, imdbId, genre, country, page, size));
 
-       CollectionModel<EntityModel<MovieDTO>> collectionModel = collectionModelBuilderService
-               .createCollectionModelFromList(foundMovies, movieMapper, movieDTOAssembler,
-                       linkTo(methodOn(MovieController.class).searchMovies(title, releaseDate, releaseYear,
-                               runtime, imdbId, genre, country)).withSelfRel());
+       return ResponseEntity.ok(pagedResourcesAssembler.toModel(foundMovies, movieDTOAssembler));
+    }
 
-       return ResponseEntity.ok(collectionModel);
+    /**
+     * Fetches {@link Movie} resources matching the selected facet values (in a paged format) together with
+     * the number of matching movies per genre, country, release decade and runtime bucket. Movies have to
+     * match one of the selected values of every facet. The counts of a facet ignore its own selection, so
+     * they show how many movies the search would find with the value added.
+     *
+     * @param title part of the title of the searched for movie(s)
+     * @param genres names of the genres, one of which the movie(s) are associated with
+     * @param countries names of the countries of origin, one of which the movie(s) are associated with
+     * @param decades first years of the decades (e.g. {@code 1990}) the movie(s) were released in
+     * @param runtimes runtime buckets of the movie(s): {@code under-90}, {@code 90-119}, {@code 120-149}
+     * or {@code 150-plus}
+     * @param page number of the page returned
+     * @param size number of movies listed in every page
+     * @return {@link ResponseEntity<>} containing a 200 Ok status, the page metadata and facet counts and the
+     * found {@link Movie} resources (ordered by id) embedded as {@code movies}.
+     */
+    @ConditionalGet(EVersionedResource.MOVIES)
+    @GetMapping("/search/facets")
+    public ResponseEntity<RepresentationModel<?>> searchMoviesByFacets(
+            @RequestParam(required = false) String title,
+            @RequestParam(name = "genre", required = false) List<String> genres,
+            @RequestParam(name = "country", required = false) List<String> countries,
+            @RequestParam(name = "decade", required = false) List<String> decades,
+            @RequestParam(name = "runtime", required = false) List<String> runtimes,
+            @Range(min = 0) @RequestParam(name = "page", defaultValue = "0") int page,
+            @Range(min = 1, max = 100) @RequestParam(name = "size", defaultValue = "20") int size) {
+        Map<EMovieFacet, List<String>> filters = new EnumMap<>(EMovieFacet.class);
+        filters.put(EMovieFacet.GENRE, genres == null ? List.of() : genres);
+        filters.put(EMovieFacet.COUNTRY, countries == null ? List.of() : countries);
+        filters.put(EMovieFacet.DECADE, decades == null ? List.of() : decades);
+        filters.put(EMovieFacet.RUNTIME, runtimes == null ? List.of() : runtimes);
+
+        MovieFacetPage facetPage = movieFacetService.search(title, filters, page, size);
+
+        RepresentationModel<?> model = HalModelBuilder.halModelOf(facetPage)
+                .link(linkTo(methodOn(MovieController.class).searchMoviesByFacets(title, genres, countries, decades,
+                        runtimes, page, size)).withSelfRel())
+                .embed(facetPage.movies().stream().map(movieDTOAssembler::toModel).toList(),
+                        LinkRelation.of("movies"))
+                .build();
+
+        return ResponseEntity.ok(model);
     }
 
     /**
@@ -216,6 +458,7 @@ public class MovieController {
      * @return {@link ResponseEntity<>}  containing a 200 Ok status and a collection of the found
      * {@link Movie} resources.
      */
+    @ConditionalGet(EVersionedResource.MOVIES)
     @GetMapping("/title/{title}")
     public ResponseEntity<CollectionModel<EntityModel<MovieDTO>>> findByTitle(@PathVariable String title) {
         List<Movie> movies = movieService.findByTitle(title);
@@ -236,6 +479,7 @@ public class MovieController {
      * @return {@link ResponseEntity<>}  containing a 200 Ok status and a collection of the found
      * {@link Movie} resources.
      */
+    @ConditionalGet(EVersionedResource.MOVIES)
     @GetMapping("/genre/{genre}")
     public ResponseEntity<CollectionModel<EntityModel<MovieDTO>>> findByGenre(@PathVariable String genre) {
         List<Movie> movies = movieService.findByGenre(genre);
@@ -256,6 +500,7 @@ public class MovieController {
      * @return {@link ResponseEntity<>}  containing a 200 Ok status and a collection of the found
      * {@link Movie} resources.
      */
+    @ConditionalGet(EVersionedResource.MOVIES)
     @GetMapping("/country/{country}")
     public ResponseEntity<CollectionModel<EntityModel<MovieDTO>>> findByCountry(@PathVariable String country) {
         List<Movie> movies = movieService.findByCountry(country);
@@ -276,6 +521,7 @@ public class MovieController {
      * @return {@link ResponseEntity<>}  containing a 200 Ok status and a collection of the found
      * {@link Movie} resources.
      */
+    @ConditionalGet(EVersionedResource.MOVIES)
     @GetMapping("/year/{year}")
     public ResponseEntity<?> findByYearReleased(@PathVariable int year) {
         List<Movie> movies = movieService.findByYear(year);
@@ -298,6 +544,7 @@ public class MovieController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and the requested {@link Review} resources
      * (or a 404 Not Found if no {@link Movie} exists for this {@code id}).
      */
+    @ConditionalGet(EVersionedResource.REVIEWS)
     @GetMapping("/{id}/reviews")
     public ResponseEntity<CollectionModel<EntityModel<ReviewDTO>>> findReviewsByMovie(
             @NotNull @Range(min = 1) @PathVariable Long id) {
@@ -321,6 +568,7 @@ public class MovieController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and the {@link Review} resource (or a
      * 404 Not Found status if no {@link Movie}/{@link Review} exists with the specified {@code movieId/reviewId}).
      */
+    @ConditionalGet(value = EVersionedResource.REVIEW, idVariable = "reviewId")
     @GetMapping("/{movieId}/reviews/{reviewId}")
     public ResponseEntity<EntityModel<ReviewDTO>> findReviewById(@NotNull @Range(min = 1) @PathVariable Long movieId,
                                                               @NotNull @Range(min = 1) @PathVariable Long reviewId) {
@@ -331,16 +579,23 @@ public class MovieController {
 
     /**
      * Creates and adds a new {@link Review} resource specified by {@code reviewDTO} to {@link Movie}
-     * identified by {@code movieId}.
+     * identified by {@code movieId}. If the request prefers {@code respond-async} (see {@link PreferHeader}),
+     * the {@link Review} is queued instead (see {@link #submitReviewToMovie}).
      *
      * @param movieId the ID of the {@link Movie} to which the new {@link Review} will be added
      * @param reviewDTO a DTO containing data of the new {@link ReviewDTO}
+     * @param preferences the values of the {@code Prefer} headers of the request
      * @return {@link ResponseEntity<>} containing a 201 Created status and the created {@link Review}
      * (or a 404 Not Found status if no {@link Movie} exists with the specified {@code movieId}).
      */
     @PostMapping("/{movieId}/reviews")
-    public ResponseEntity<EntityModel<ReviewDTO>> addReviewToMovie(@NotNull @Range(min = 1) @PathVariable Long movieId,
-                                                   @Valid @RequestBody ReviewCreationDTO reviewDTO) {
+    public ResponseEntity<? extends EntityModel<?>> addReviewToMovie(
+            @NotNull @Range(min = 1) @PathVariable Long movieId, @Valid @RequestBody ReviewCreationDTO reviewDTO,
+            @RequestHeader(name = PreferHeader.NAME, required = false) List<String> preferences) {
+        if (PreferHeader.contains(preferences, PreferHeader.RESPOND_ASYNC)) {
+            return submitReviewToMovie(movieId, reviewDTO);
+        }
+
         Review newReview = movieService.addReviewToMovie(movieId, reviewDTO);
         EntityModel<ReviewDTO> entityModel = reviewAssembler.toModel(reviewMapper
                 .toDTO(newReview));
@@ -348,6 +603,41 @@ public class MovieController {
         return responseBuilderService.buildCreatedResponseWithBody(entityModel);
     }
 
+    /**
+     * Queues a new {@link Review} resource specified by {@code reviewDTO} for {@link Movie} identified by
+     * {@code movieId}. Chosen by {@link #addReviewToMovie} if the request carries the preference
+     * {@code respond-async}. The {@link Review} is written in the background, its progress can be
+     * followed through the returned submission.
+     *
+     * @param movieId the ID of the {@link Movie} to which the new {@link Review} will be added
+     * @param reviewDTO a DTO containing data of the new {@link ReviewDTO}
+     * @return {@link ResponseEntity<>} containing a 202 Accepted status and the submission (or a 429 Too Many
+     * Requests status if the queue of pending reviews is full).
+     */
+    private ResponseEntity<EntityModel<ReviewSubmissionDTO>> submitReviewToMovie(Long movieId,
+                                                                             ReviewCreationDTO reviewDTO) {
+        ReviewSubmissionDTO submission = reviewIngestionService.submitReview(movieId, reviewDTO);
+
+        return responseBuilderService.buildAcceptedResponseWithBody(reviewSubmissionAssembler.toModel(submission));
+    }
+
+    /**
+     * Fetches the state of a {@link Review} submitted with {@code Prefer: respond-async}. Once it was
+     * written, the submission links to the created {@link Review}.
+     *
+     * @param movieId the ID of the {@link Movie} the {@link Review} was submitted for
+     * @param ticket the ticket of the submission
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the submission (or a 404 Not Found status
+     * if the submission is unknown or expired).
+     */
+    @GetMapping("/{movieId}/reviews/submissions/{ticket}")
+    public ResponseEntity<EntityModel<ReviewSubmissionDTO>> findReviewSubmission(
+            @NotNull @Range(min = 1) @PathVariable Long movieId, @NotNull @PathVariable UUID ticket) {
+        ReviewSubmissionDTO submission = reviewIngestionService.findSubmission(movieId, ticket);
+
+        return ResponseEntity.ok(reviewSubmissionAssembler.toModel(submission));
+    }
+
     /**
      * Updates a {@link Review} based on its {@code reviewId}.
      *
@@ -395,6 +685,7 @@ public class MovieController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and a collection of all fitting {@link Person}
      * resources (or 404 Not Found status if the {@link Movie} does not exist).
      */
+    @ConditionalGet(EVersionedResource.CAST)
     @GetMapping("/{id}/actors")
     public ResponseEntity<CollectionModel<EntityModel<PersonDTO>>> findActorsByMovie(
             @NotNull @Range(min = 1) @PathVariable Long id) {
@@ -417,6 +708,7 @@ public class MovieController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and a collection of all fitting {@link Person}
      * resources (or 404 Not Found status if the {@link Movie} does not exist).
      */
+    @ConditionalGet(EVersionedResource.CAST)
     @GetMapping("/{id}/directors")
     public ResponseEntity<CollectionModel<EntityModel<PersonDTO>>> findDirectorsByMovie(
             @NotNull @Range(min = 1) @PathVariable Long id) {
@@ -440,6 +732,7 @@ public class MovieController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and every {@link Genre} associated with this
      * {@link Movie} (or a 404 Not Found status if no {@link Movie} exists with this {@code id}).
      */
+    @ConditionalGet(EVersionedResource.GENRES)
     @GetMapping("/{movieId}/genres")
     public ResponseEntity<CollectionModel<EntityModel<GenreDTO>>> findGenresByMovie(
             @NotNull @Range(min = 1) @PathVariable Long movieId) {
@@ -463,6 +756,7 @@ public class MovieController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and every {@link Country} associated with this
      * {@link Movie} (or a 404 Not Found status if no {@link Movie} exists with this {@code id}).
      */
+    @ConditionalGet(EVersionedResource.COUNTRIES)
     @GetMapping("/{movieId}/countries")
     public ResponseEntity<CollectionModel<EntityModel<CountryDTO>>> findCountriesByMovie(
             @NotNull @Range(min = 1) @PathVariable Long movieId) {
@@ -478,4 +772,29 @@ public class MovieController {
 
         return ResponseEntity.ok(collectionModel);
     }
+
+// -------------------------------------------------- SIMILAR ---------------------------------------------------------
+
+    /**
+     * Fetches the {@link Movie} resources that are most similar to the {@link Movie} with a specific {@code id}
+     * (based on likes, shared lists and shared cast). Neighbours are precomputed, so the response reflects
+     * the last refresh of the similarity data.
+     *
+     * @param id the ID of the {@link Movie} for which similar movies are to be fetched
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the similar {@link Movie} resources ordered
+     * by similarity (or a 404 Not Found status if no {@link Movie} exists with this {@code id}).
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<CollectionModel<EntityModel<MovieDTO>>> findSimilarMovies(
+            @NotNull @Range(min = 1) @PathVariable Long id) {
+        List<MovieDTO> similarMovies = movieSimilarityService.findSimilarMovies(id);
+
+        if (similarMovies.isEmpty()) { return ResponseEntity.ok(CollectionModel.empty()); }
+
+        CollectionModel<EntityModel<MovieDTO>> collectionModel = CollectionModel.of(
+                similarMovies.stream().map(movieDTOAssembler::toModel).toList(),
+                linkTo(methodOn(MovieController.class).findSimilarMovies(id)).withSelfRel());
+
+        return ResponseEntity.ok(collectionModel);
+    }
 }
@@ -16,15 +16,21 @@ import at.saekenz.cinerator.model.person.Person;
 import at.saekenz.cinerator.model.person.PersonDTO;
 import at.saekenz.cinerator.model.person.PersonDTOModelAssembler;
 import at.saekenz.cinerator.model.person.PersonMapper;
+import at.saekenz.cinerator.model.person.PersonPathDTO;
 import at.saekenz.cinerator.model.role.Role;
 import at.saekenz.cinerator.model.role.RoleDTO;
 import at.saekenz.cinerator.model.role.RoleDTOModelAssembler;
 import at.saekenz.cinerator.model.role.RoleMapper;
+import at.saekenz.cinerator.service.ICastGraphService;
 import at.saekenz.cinerator.service.IPersonService;
 import at.saekenz.cinerator.util.CollectionModelBuilderService;
+import at.saekenz.cinerator.util.ConditionalGet;
+import at.saekenz.cinerator.util.EVersionedResource;
+import at.saekenz.cinerator.util.KeysetPage;
 import at.saekenz.cinerator.util.ResponseBuilderService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.validator.constraints.Range;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
@@ -54,6 +60,9 @@ public class PersonController {
     @Autowired
     private ResponseBuilderService responseBuilderService;
 
+    @Autowired
+    private ICastGraphService castGraphService;
+
     private final PersonMapper personMapper;
     private final PersonDTOModelAssembler personDTOModelAssembler;
 
@@ -97,6 +106,7 @@ public class PersonController {
      * @return {@link PagedModel} object with sorted/filtered {@link Person} resources wrapped
      * in {@link ResponseEntity<>}
      */
+    @ConditionalGet(EVersionedResource.PERSONS)
     @GetMapping
     public ResponseEntity<PagedModel<EntityModel<PersonDTO>>> findAllPersons(
             @RequestParam(name = "page", defaultValue = "0") int page,
@@ -109,6 +119,39 @@ public class PersonController {
         return ResponseEntity.ok(pagedResourcesAssembler.toModel(persons, personDTOModelAssembler));
     }
 
+    /**
+     * Fetch {@link Person} resources page by page (keyset pagination). Pages are addressed by a cursor
+     * instead of a page number, so fetching a page does not get slower the deeper it is.
+     *
+     * @param size number of {@link Person} resources returned for each page
+     * @param sortField attribute that determines how returned resources will be sorted
+     * @param sortDirection order of sorting (can be ASC or DESC)
+     * @param cursor continuation token of a {@code next} or {@code prev} link (overrides the sort parameters)
+     * @param withCount whether the total number of persons is returned in the X-Total-Count header
+     * @return {@link CollectionModel} object with the {@link Person} resources of the page and links to the
+     * adjacent pages wrapped in {@link ResponseEntity<>}
+     */
+    @ConditionalGet(EVersionedResource.PERSONS)
+    @GetMapping("/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<PersonDTO>>> scrollPersons(
+            @RequestParam(name = "size", defaultValue = "5") int size,
+            @RequestParam(name = "sortField", defaultValue = "id") String sortField,
+            @RequestParam(name = "sortDirection", defaultValue = "ASC") String sortDirection,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "withCount", defaultValue = "false") boolean withCount) {
+        KeysetPage<PersonDTO> persons = personService.findAllKeyset(size, sortField, sortDirection, cursor, withCount)
+                .map(personMapper::toDTO);
+
+        CollectionModel<EntityModel<PersonDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromKeysetPage(persons, personDTOModelAssembler,
+                        linkTo(methodOn(PersonController.class)
+                                .scrollPersons(size, sortField, sortDirection, cursor, withCount)).withSelfRel(),
+                        token -> linkTo(methodOn(PersonController.class)
+                                .scrollPersons(size, sortField, sortDirection, token, withCount)).withSelfRel());
+
+        return responseBuilderService.buildKeysetPageResponse(collectionModel, persons);
+    }
+
     /**
      * Fetch a specific {@link Person} by its {@code id}.
      *
@@ -116,6 +159,7 @@ public class PersonController {
      * @return {@link ResponseEntity<>} containing 200 Ok status and the {@link Person} resource.
      * (Returns 404 Not Found if the {@link Person} does not exist for this {@code id}.)
      */
+    @ConditionalGet(EVersionedResource.PERSON)
     @GetMapping("/{id}")
     public ResponseEntity<EntityModel<PersonDTO>> findPersonById(@PathVariable Long id) {
         Person person = personService.findPersonById(id);
@@ -182,6 +226,7 @@ public class PersonController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and requested {@link Country} resource
      * (Returns 404 Not Found if the {@link Person} does not exist for this {@code id}).
      */
+    @ConditionalGet(EVersionedResource.PERSONS)
     @GetMapping("/{id}/country")
     public ResponseEntity<EntityModel<CountryDTO>> findCountryByPerson(@NotNull @PathVariable Long id) {
         Country country = personService.findCountryByPersonId(id);
@@ -200,6 +245,7 @@ public class PersonController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and the requested {@link Movie} resources
      * (Returns 404 Not Found if no {@link Person} exists for this {@code id}).
      */
+    @ConditionalGet(EVersionedResource.MOVIES)
     @GetMapping("/{id}/movies")
     public ResponseEntity<CollectionModel<EntityModel<MovieDTO>>> findMoviesByPerson(
             @NotNull @PathVariable Long id,
@@ -209,7 +255,7 @@ public class PersonController {
         if (foundMovies.isEmpty()) { return ResponseEntity.ok(CollectionModel.empty()); }
 
         CollectionModel<EntityModel<MovieDTO>> collectionModel = collectionModelBuilderService
-                .createCollectionModelFromList(foundMovies, movieMapper, movieDTOModelAssembler,
+                .createCollectionModelFromList(foundMovies,
                         linkTo(methodOn(PersonController.class).findMoviesByPerson(id, role)).withSelfRel());
 
         return ResponseEntity.ok(collectionModel);
@@ -223,6 +269,7 @@ public class PersonController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and the requested {@link CastInfo} resources
      * (returns 404 Not Found if no {@link Person} exists for this {@code id}).
      */
+    @ConditionalGet(EVersionedResource.MOVIES)
     @GetMapping("/{id}/credits")
     public ResponseEntity<CollectionModel<EntityModel<CastInfoDTO>>> findCreditsByPerson(
             @NotNull @PathVariable Long id) {
@@ -245,6 +292,7 @@ public class PersonController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and the requested {@link Role} resources
      * (returns 404 Not Found if no {@link Person} exists for this {@code id}).
      */
+    @ConditionalGet(EVersionedResource.CAST)
     @GetMapping("/{id}/roles")
     public ResponseEntity<CollectionModel<EntityModel<RoleDTO>>> findRolesByPerson(@NotNull @PathVariable Long id) {
         List<Role> foundRoles = personService.findRolesByPersonId(id);
@@ -259,36 +307,107 @@ public class PersonController {
     }
 
     /**
-     * Fetches {@link Person} resources based on search parameters.
+     * Fetches every {@link Person} resource that worked on at least one {@link Movie} together with the
+     * {@link Person} identified by {@code id}.
+     *
+     * @param id the ID of the {@link Person} for which the co-stars are to be fetched
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the requested {@link Person} resources
+     * (returns 404 Not Found if no {@link Person} exists for this {@code id}).
+     */
+    @ConditionalGet(EVersionedResource.CAST)
+    @GetMapping("/{id}/costars")
+    public ResponseEntity<CollectionModel<EntityModel<PersonDTO>>> findCostarsByPerson(
+            @NotNull @Range(min = 1) @PathVariable Long id) {
+        List<Person> foundCostars = castGraphService.findCostars(id);
+
+        if (foundCostars.isEmpty()) { return ResponseEntity.ok(CollectionModel.empty()); }
+
+        CollectionModel<EntityModel<PersonDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromList(foundCostars, personMapper, personDTOModelAssembler,
+                        linkTo(methodOn(PersonController.class).findCostarsByPerson(id)).withSelfRel());
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    /**
+     * Fetches the {@link Person} resources that worked on the most {@link Movie} resources together with the
+     * {@link Person} identified by {@code id}.
+     *
+     * @param id the ID of the {@link Person} for which the collaborators are to be fetched
+     * @param size maximum number of {@link Person} resources returned
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the requested {@link Person} resources,
+     * most shared movies first (returns 404 Not Found if no {@link Person} exists for this {@code id}).
+     */
+    @ConditionalGet(EVersionedResource.CAST)
+    @GetMapping("/{id}/collaborators")
+    public ResponseEntity<CollectionModel<EntityModel<PersonDTO>>> findCollaboratorsByPerson(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @Range(min = 1, max = 100) @RequestParam(name = "size", defaultValue = "10") int size) {
+        List<Person> foundCollaborators = castGraphService.findFrequentCollaborators(id, size);
+
+        if (foundCollaborators.isEmpty()) { return ResponseEntity.ok(CollectionModel.empty()); }
+
+        CollectionModel<EntityModel<PersonDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromList(foundCollaborators, personMapper, personDTOModelAssembler,
+                        linkTo(methodOn(PersonController.class).findCollaboratorsByPerson(id, size)).withSelfRel());
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    /**
+     * Fetches a shortest chain of {@link Person} resources connecting the {@link Person} identified by
+     * {@code id} with the {@link Person} identified by {@code otherId}, together with the {@link Movie}
+     * resources that connect every two neighbours in the chain.
+     *
+     * @param id the ID of the {@link Person} the chain starts with
+     * @param otherId the ID of the {@link Person} the chain ends with
+     * @param maxDegrees maximum number of {@link Movie} resources in the chain
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the requested chain
+     * (returns 404 Not Found if one of the {@link Person} resources does not exist or they are not connected
+     * within {@code maxDegrees}).
+     */
+    @ConditionalGet(EVersionedResource.CAST)
+    @GetMapping("/{id}/path/{otherId}")
+    public ResponseEntity<EntityModel<PersonPathDTO>> findPathBetweenPersons(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @NotNull @Range(min = 1) @PathVariable Long otherId,
+            @Range(min = 1, max = 12) @RequestParam(name = "maxDegrees", defaultValue = "6") int maxDegrees) {
+        PersonPathDTO path = castGraphService.findPath(id, otherId, maxDegrees);
+
+        return ResponseEntity.ok(EntityModel.of(path,
+                linkTo(methodOn(PersonController.class).findPathBetweenPersons(id, otherId, maxDegrees)).withSelfRel()));
+    }
+
+    /**
+     * Fetches {@link Person} resources based on search parameters (in a paged format). Only supplied
+     * parameters are applied. If a {@code name} is supplied, results are ranked by relevance.
      *
      * @param name name of the searched for person(s)
      * @param birthDate birthday of the searched for person(s)
      * @param deathDate date of death of the searched for person(s)
-     * @param height height of the searched for person(s)
+     * @param height height of the searched for person(s) (e.g. {@code 1.8} matches every height from 1.80 m
+     * to 1.89 m)
      * @param country country of birth of the searched for person(s)
      * @param age age of the searched for person(s)
-     * @return ResponseEntity containing a 200 Ok status and a collection of the found
+     * @param page number of the page returned
+     * @param size number of persons listed in every page
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and a {@link PagedModel} of the found
      * {@link Person} resources.
      */
+    @ConditionalGet(EVersionedResource.PERSONS)
     @GetMapping("/search")
-    public ResponseEntity<CollectionModel<EntityModel<PersonDTO>>> searchPersons(
+    public ResponseEntity<PagedModel<EntityModel<PersonDTO>>> searchPersons(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) LocalDate birthDate,
             @RequestParam(required = false) LocalDate deathDate,
             @RequestParam(required = false) String height,
             @RequestParam(required = false) String country,
-            @RequestParam(required = false) Integer age) {
-
-        List<Person> foundPersons = personService.findPersonsBySearchParams(name, birthDate, deathDate,
-                height, country, age);
-
-        if (foundPersons.isEmpty()) { return ResponseEntity.ok(CollectionModel.empty()); }
-
-        CollectionModel<EntityModel<PersonDTO>> collectionModel = collectionModelBuilderService
-                .createCollectionModelFromList(foundPersons, personMapper, personDTOModelAssembler,
-                        linkTo(methodOn(PersonController.class).searchPersons(name,birthDate,deathDate,height,
-                                country, age)).withSelfRel());
+            @RequestParam(required = false) Integer age,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "10") int size) {
+        Page<PersonDTO> foundPersons = personService.findPersonsBySearchParams(name, birthDate, deathDate,
+                height, country, age, page, size).map(personMapper::toDTO);
 
-        return ResponseEntity.ok(collectionModel);
+        return ResponseEntity.ok(pagedResourcesAssembler.toModel(foundPersons, personDTOModelAssembler));
     }
 }
@@ -10,17 +10,24 @@ import at.saekenz.cinerator.model.user.UserDTO;
 import at.saekenz.cinerator.model.user.UserDTOAssembler;
 import at.saekenz.cinerator.model.user.UserMapper;
 import at.saekenz.cinerator.service.IReviewService;
+import at.saekenz.cinerator.util.CollectionModelBuilderService;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.ResponseBuilderService;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.validator.constraints.Range;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 @RestController
 @RequestMapping("/reviews")
 public class ReviewController {
@@ -36,6 +43,12 @@ public class ReviewController {
     @Autowired
     private IReviewService reviewService;
 
+    @Autowired
+    CollectionModelBuilderService collectionModelBuilderService;
+
+    @Autowired
+    ResponseBuilderService responseBuilderService;
+
     private final PagedResourcesAssembler<ReviewDTO> pagedResourcesAssembler = new PagedResourcesAssembler<>(
             new HateoasPageableHandlerMethodArgumentResolver(), null);
 
@@ -72,6 +85,38 @@ public class ReviewController {
         return ResponseEntity.ok(pagedResourcesAssembler.toModel(reviews, reviewDTOModelAssembler));
     }
 
+    /**
+     * Fetch {@link Review} resources page by page (keyset pagination). Pages are addressed by a cursor
+     * instead of a page number, so fetching a page does not get slower the deeper it is.
+     *
+     * @param size number of {@link Review} resources returned for each page
+     * @param sortField attribute that determines how returned resources will be sorted
+     * @param sortDirection order of sorting (can be ASC or DESC)
+     * @param cursor continuation token of a {@code next} or {@code prev} link (overrides the sort parameters)
+     * @param withCount whether the total number of reviews is returned in the X-Total-Count header
+     * @return {@link CollectionModel} object with the {@link Review} resources of the page and links to the
+     * adjacent pages wrapped in {@link ResponseEntity<>}
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<ReviewDTO>>> scrollReviews(
+            @RequestParam(name = "size", defaultValue = "5") int size,
+            @RequestParam(name = "sortField", defaultValue = "id") String sortField,
+            @RequestParam(name = "sortDirection", defaultValue = "ASC") String sortDirection,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "withCount", defaultValue = "false") boolean withCount) {
+        KeysetPage<ReviewDTO> reviews = reviewService.findAllKeyset(size, sortField, sortDirection, cursor, withCount)
+                .map(reviewMapper::toDTO);
+
+        CollectionModel<EntityModel<ReviewDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromKeysetPage(reviews, reviewDTOModelAssembler,
+                        linkTo(methodOn(ReviewController.class)
+                                .scrollReviews(size, sortField, sortDirection, cursor, withCount)).withSelfRel(),
+                        token -> linkTo(methodOn(ReviewController.class)
+                                .scrollReviews(size, sortField, sortDirection, token, withCount)).withSelfRel());
+
+        return responseBuilderService.buildKeysetPageResponse(collectionModel, reviews);
+    }
+
     /**
      * Fetch a specific {@link Review} by its {@code id}.
      *
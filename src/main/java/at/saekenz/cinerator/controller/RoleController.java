@@ -5,6 +5,8 @@ import at.saekenz.cinerator.model.role.RoleDTO;
 import at.saekenz.cinerator.model.role.RoleDTOModelAssembler;
 import at.saekenz.cinerator.model.role.RoleMapper;
 import at.saekenz.cinerator.service.IRoleService;
+import at.saekenz.cinerator.util.CollectionModelBuilderService;
+import at.saekenz.cinerator.util.KeysetPage;
 import at.saekenz.cinerator.util.ResponseBuilderService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -12,11 +14,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 @RestController
 @RequestMapping("/roles")
 public class RoleController {
@@ -24,6 +30,9 @@ public class RoleController {
     @Autowired
     IRoleService roleService;
 
+    @Autowired
+    CollectionModelBuilderService collectionModelBuilderService;
+
     @Autowired
     RoleMapper roleMapper;
 
@@ -61,6 +70,38 @@ public class RoleController {
         return ResponseEntity.ok(pagedResourcesAssembler.toModel(roles, roleDTOModelAssembler));
     }
 
+    /**
+     * Fetch {@link Role} resources page by page (keyset pagination). Pages are addressed by a cursor
+     * instead of a page number, so fetching a page does not get slower the deeper it is.
+     *
+     * @param size number of {@link Role} resources returned for each page
+     * @param sortField attribute that determines how returned resources will be sorted
+     * @param sortDirection order of sorting (can be ASC or DESC)
+     * @param cursor continuation token of a {@code next} or {@code prev} link (overrides the sort parameters)
+     * @param withCount whether the total number of roles is returned in the X-Total-Count header
+     * @return {@link CollectionModel} object with the {@link Role} resources of the page and links to the
+     * adjacent pages wrapped in {@link ResponseEntity<>}
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<RoleDTO>>> scrollRoles(
+            @RequestParam(name = "size", defaultValue = "5") int size,
+            @RequestParam(name = "sortField", defaultValue = "id") String sortField,
+            @RequestParam(name = "sortDirection", defaultValue = "ASC") String sortDirection,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "withCount", defaultValue = "false") boolean withCount) {
+        KeysetPage<RoleDTO> roles = roleService.findAllKeyset(size, sortField, sortDirection, cursor, withCount)
+                .map(roleMapper::toDTO);
+
+        CollectionModel<EntityModel<RoleDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromKeysetPage(roles, roleDTOModelAssembler,
+                        linkTo(methodOn(RoleController.class)
+                                .scrollRoles(size, sortField, sortDirection, cursor, withCount)).withSelfRel(),
+                        token -> linkTo(methodOn(RoleController.class)
+                                .scrollRoles(size, sortField, sortDirection, token, withCount)).withSelfRel());
+
+        return responseBuilderService.buildKeysetPageResponse(collectionModel, roles);
+    }
+
     /**
      * Fetch a specific {@link Role} by its {@code id}.
      *
@@ -8,11 +8,18 @@ import at.saekenz.cinerator.model.userlist.UserList;
 import at.saekenz.cinerator.model.userlist.UserListDTO;
 import at.saekenz.cinerator.model.userlist.UserListDTOModelAssembler;
 import at.saekenz.cinerator.model.userlist.UserListMapper;
+import at.saekenz.cinerator.service.IFeedService;
+import at.saekenz.cinerator.service.IRecommendationService;
 import at.saekenz.cinerator.service.IUserService;
 import at.saekenz.cinerator.util.CollectionModelBuilderService;
+import at.saekenz.cinerator.util.ConditionalGet;
+import at.saekenz.cinerator.util.EVersionedResource;
+import at.saekenz.cinerator.util.KeysetPage;
 import at.saekenz.cinerator.util.ResponseBuilderService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.hibernate.validator.constraints.Range;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -26,6 +33,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -46,6 +54,12 @@ public class UserController {
     @Autowired
     IUserService userService;
 
+    @Autowired
+    IFeedService feedService;
+
+    @Autowired
+    IRecommendationService recommendationService;
+
     @Autowired
     ResponseBuilderService responseBuilderService;
 
@@ -94,6 +108,7 @@ public class UserController {
      * @return {@link PagedModel} object with sorted/filtered {@link User} resources wrapped
      * in {@link ResponseEntity<>}
      */
+    @ConditionalGet(EVersionedResource.USERS)
     @GetMapping
     public ResponseEntity<PagedModel<EntityModel<UserDTO>>> findAll(
             @RequestParam(name = "page", defaultValue = "0") int page,
@@ -106,6 +121,39 @@ public class UserController {
         return ResponseEntity.ok(pagedResourcesAssembler.toModel(users, userDTOAssembler));
     }
 
+    /**
+     * Fetch {@link User} resources page by page (keyset pagination). Pages are addressed by a cursor
+     * instead of a page number, so fetching a page does not get slower the deeper it is.
+     *
+     * @param size number of {@link User} resources returned for each page
+     * @param sortField attribute that determines how returned resources will be sorted
+     * @param sortDirection order of sorting (can be ASC or DESC)
+     * @param cursor continuation token of a {@code next} or {@code prev} link (overrides the sort parameters)
+     * @param withCount whether the total number of users is returned in the X-Total-Count header
+     * @return {@link CollectionModel} object with the {@link User} resources of the page and links to the
+     * adjacent pages wrapped in {@link ResponseEntity<>}
+     */
+    @ConditionalGet(EVersionedResource.USERS)
+    @GetMapping("/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<UserDTO>>> scrollUsers(
+            @RequestParam(name = "size", defaultValue = "5") int size,
+            @RequestParam(name = "sortField", defaultValue = "id") String sortField,
+            @RequestParam(name = "sortDirection", defaultValue = "ASC") String sortDirection,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "withCount", defaultValue = "false") boolean withCount) {
+        KeysetPage<UserDTO> users = userService.findAllKeyset(size, sortField, sortDirection, cursor, withCount)
+                .map(userMapper::toDTO);
+
+        CollectionModel<EntityModel<UserDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromKeysetPage(users, userDTOAssembler,
+                        linkTo(methodOn(UserController.class)
+                                .scrollUsers(size, sortField, sortDirection, cursor, withCount)).withSelfRel(),
+                        token -> linkTo(methodOn(UserController.class)
+                                .scrollUsers(size, sortField, sortDirection, token, withCount)).withSelfRel());
+
+        return responseBuilderService.buildKeysetPageResponse(collectionModel, users);
+    }
+
     /**
      * Fetch a specific {@link User} by their {@code id}.
      *
@@ -113,6 +161,7 @@ public class UserController {
      * @return {@link ResponseEntity<>} containing 200 Ok status and the {@link User} resource (or a
      * 404 Not Found status if no {@link User} exists with the specified {@code id}.)
      */
+    @ConditionalGet(EVersionedResource.USER)
     @GetMapping("/{id}")
     public ResponseEntity<EntityModel<UserDTO>> findById(@NotNull @Range(min = 1) @PathVariable Long id) {
         User foundUser = userService.findUserById(id);
@@ -179,6 +228,7 @@ public class UserController {
      * @return {@link ResponseEntity} containing a 200 Ok status and a collection of the found
      * {@link User} resources.
      */
+    @ConditionalGet(EVersionedResource.USERS)
     @GetMapping("/search")
     public ResponseEntity<CollectionModel<EntityModel<UserDTO>>> searchUsers(
             @RequestParam(required = false) String name, @RequestParam(required = false) String username,
@@ -236,6 +286,23 @@ public class UserController {
         return ResponseEntity.ok(movieDTOAssembler.toModel(movieMapper.toDTO(foundMovie)));
     }
 
+    /**
+     * Checks which of the movies specified by {@code movieIds} are part of the watchlist of {@link User}
+     * identified by {@code userId} (e.g. to mark the movies of a result page). The watchlist itself is not
+     * loaded.
+     *
+     * @param userId the ID of the {@link User} whose watchlist is checked
+     * @param movieIds IDs of up to 100 {@link Movie} resources
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the membership of every {@link Movie}
+     * (or a 404 Not Found status if the {@link User} does not exist).
+     */
+    @GetMapping("/{userId}/watchlist/contains")
+    public ResponseEntity<Map<Long, Boolean>> findWatchlistMemberships(
+            @NotNull @Range(min = 1) @PathVariable Long userId,
+            @NotEmpty @Size(max = 100) @RequestParam List<Long> movieIds) {
+        return ResponseEntity.ok(userService.findWatchlistMemberships(userId, movieIds));
+    }
+
     /**
      * Adds a {@link Movie} resource specified by {@code movieId} to the watchlist belonging to {@link User}
      * identified by {@code userId}
@@ -272,6 +339,38 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Adds and removes several {@link Movie} resources of the watchlist belonging to {@link User} identified by
+     * {@code userId} at once. Movies that are already (or not) part of the watchlist are skipped.
+     *
+     * @param userId the ID of the {@link User} whose watchlist is to be updated
+     * @param movieBatchUpdateDTO a DTO containing the IDs of up to 5000 movies to be added and removed
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the movies that were added and removed.
+     * It returns a 404 Not Found status if the {@link User} or a {@link Movie} to be added does not exist.
+     */
+    @PatchMapping("/{userId}/watchlist")
+    public ResponseEntity<MovieBatchResultDTO> updateWatchlist(
+            @NotNull @Range(min = 1) @PathVariable Long userId,
+            @Valid @RequestBody MovieBatchUpdateDTO movieBatchUpdateDTO) {
+        return ResponseEntity.ok(userService.updateWatchlist(userId, movieBatchUpdateDTO));
+    }
+
+    /**
+     * Replaces the {@link Movie} resources of the watchlist belonging to {@link User} identified by
+     * {@code userId}. Only the difference to the current watchlist is written.
+     *
+     * @param userId the ID of the {@link User} whose watchlist is to be replaced
+     * @param movieBatchReplaceDTO a DTO containing the IDs of up to 5000 movies the watchlist is to consist of
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the movies that were added and removed.
+     * It returns a 404 Not Found status if the {@link User} or one of the movies does not exist.
+     */
+    @PostMapping("/{userId}/watchlist/replace")
+    public ResponseEntity<MovieBatchResultDTO> replaceWatchlist(
+            @NotNull @Range(min = 1) @PathVariable Long userId,
+            @Valid @RequestBody MovieBatchReplaceDTO movieBatchReplaceDTO) {
+        return ResponseEntity.ok(userService.replaceWatchlist(userId, movieBatchReplaceDTO));
+    }
+
 // ------------------------------------------ REVIEWS -----------------------------------------------------------------
 
     /**
@@ -281,6 +380,7 @@ public class UserController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and a collection of {@link Review} resources
      * (or a 404 Not Found status if the {@link User} does not exist).
      */
+    @ConditionalGet(EVersionedResource.REVIEWS)
     @GetMapping("/{userId}/reviews")
     public ResponseEntity<CollectionModel<EntityModel<ReviewDTO>>> findReviewsByUser(
             @NotNull @Range(min = 1) @PathVariable Long userId) {
@@ -302,6 +402,7 @@ public class UserController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and a collection of {@link Movie} resources
      * (or a 404 Not Found status if the {@link User} does not exist).
      */
+    @ConditionalGet(EVersionedResource.MOVIES_WITH_REVIEWS)
     @GetMapping("/{userId}/movies/liked")
     public ResponseEntity<CollectionModel<EntityModel<MovieDTO>>> findMoviesLikedByUser(
             @NotNull @Range(min = 1) @PathVariable Long userId) {
@@ -324,6 +425,7 @@ public class UserController {
      * @return {@link ResponseEntity<>} containing a 200 Ok status and a collection of {@link Movie} resources
      * (or a 404 Not Found status if the {@link User} does not exist).
      */
+    @ConditionalGet(EVersionedResource.MOVIES_WITH_REVIEWS)
     @GetMapping("/{userId}/movies/rated/{rating}")
     public ResponseEntity<CollectionModel<EntityModel<MovieDTO>>> findMoviesRatedByUser(
             @NotNull @Range(min = 1) @PathVariable Long userId,
@@ -339,6 +441,57 @@ public class UserController {
         return ResponseEntity.ok(collectionModel);
     }
 
+    /**
+     * Fetches the home feed of {@link User} with {@code id}: the latest {@link Review} resources of every
+     * {@link User} they follow, newest first. Pages are linked through a {@code next} link.
+     *
+     * @param id the ID of the {@link User} whose feed is to be retrieved
+     * @param size number of {@link Review} resources per page
+     * @param cursor continuation token taken from the {@code next} link of the previous page
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and a collection of {@link Review} resources
+     * (or a 404 Not Found status if the {@link User} does not exist).
+     */
+    @GetMapping("/{id}/feed")
+    public ResponseEntity<CollectionModel<EntityModel<ReviewDTO>>> findFeedByUser(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        KeysetPage<ReviewDTO> feed = feedService.findFeed(id, size, cursor);
+
+        if (feed.content().isEmpty()) { return ResponseEntity.ok(CollectionModel.empty()); }
+
+        CollectionModel<EntityModel<ReviewDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromKeysetPage(feed, reviewAssembler,
+                        linkTo(methodOn(UserController.class).findFeedByUser(id, size, cursor)).withSelfRel(),
+                        token -> linkTo(methodOn(UserController.class).findFeedByUser(id, size, token)).withSelfRel());
+
+        return responseBuilderService.buildKeysetPageResponse(collectionModel, feed);
+    }
+
+    /**
+     * Fetches personalized {@link Movie} recommendations for {@link User} with {@code id}, based on their
+     * ratings, watchlist and the users they follow. Movies the {@link User} already reviewed are left out.
+     *
+     * @param id the ID of the {@link User} for which recommendations are to be retrieved
+     * @param size maximum number of recommended {@link Movie} resources
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and a collection of {@link Movie} resources,
+     * best match first (or a 404 Not Found status if the {@link User} does not exist).
+     */
+    @GetMapping("/{id}/recommendations")
+    public ResponseEntity<CollectionModel<EntityModel<MovieDTO>>> findRecommendationsByUser(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @Range(min = 1, max = 100) @RequestParam(name = "size", defaultValue = "20") int size) {
+        List<MovieDTO> recommendations = recommendationService.findRecommendations(id, size);
+
+        if (recommendations.isEmpty()) { return ResponseEntity.ok(CollectionModel.empty()); }
+
+        CollectionModel<EntityModel<MovieDTO>> collectionModel = CollectionModel.of(
+                recommendations.stream().map(movieDTOAssembler::toModel).toList(),
+                linkTo(methodOn(UserController.class).findRecommendationsByUser(id, size)).withSelfRel());
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
 // ----------------------------------------- FOLLOWERS ----------------------------------------------------------------
 
     /**
@@ -3,11 +3,15 @@ package at.saekenz.cinerator.controller;
 import at.saekenz.cinerator.model.movie.*;
 import at.saekenz.cinerator.model.user.*;
 import at.saekenz.cinerator.model.userlist.*;
+import at.saekenz.cinerator.service.IMovieService;
 import at.saekenz.cinerator.service.IUserListService;
 import at.saekenz.cinerator.util.CollectionModelBuilderService;
+import at.saekenz.cinerator.util.KeysetPage;
 import at.saekenz.cinerator.util.ResponseBuilderService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.hibernate.validator.constraints.Range;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -20,6 +24,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -31,6 +36,9 @@ public class UserListController {
     @Autowired
     IUserListService userListService;
 
+    @Autowired
+    IMovieService movieService;
+
     @Autowired
     UserListMapper userListMapper;
 
@@ -45,14 +53,23 @@ public class UserListController {
 
     private final UserListDTOModelAssembler userListDTOAssembler;
     private final UserDTOAssembler userDTOAssembler;
+    private final MovieDTOModelAssembler movieDTOAssembler;
 
     private final PagedResourcesAssembler<UserListDTO> pagedResourcesAssembler = new PagedResourcesAssembler<>(
             new HateoasPageableHandlerMethodArgumentResolver(), null);
 
+    private final PagedResourcesAssembler<MovieDTO> moviePagedResourcesAssembler = new PagedResourcesAssembler<>(
+            new HateoasPageableHandlerMethodArgumentResolver(), null);
+
+    private final PagedResourcesAssembler<UserListEntryDTO> entryPagedResourcesAssembler =
+            new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+
     public UserListController(UserListDTOModelAssembler userListDTOAssembler,
-                              UserDTOAssembler userDTOAssembler) {
+                              UserDTOAssembler userDTOAssembler,
+                              MovieDTOModelAssembler movieDTOAssembler) {
         this.userListDTOAssembler = userListDTOAssembler;
         this.userDTOAssembler = userDTOAssembler;
+        this.movieDTOAssembler = movieDTOAssembler;
     }
 
     /**
@@ -77,6 +94,38 @@ public class UserListController {
         return ResponseEntity.ok(pagedResourcesAssembler.toModel(userLists, userListDTOAssembler));
     }
 
+    /**
+     * Fetch {@link UserList} resources page by page (keyset pagination). Pages are addressed by a cursor
+     * instead of a page number, so fetching a page does not get slower the deeper it is.
+     *
+     * @param size number of {@link UserList} resources returned for each page
+     * @param sortField attribute that determines how returned resources will be sorted
+     * @param sortDirection order of sorting (can be ASC or DESC)
+     * @param cursor continuation token of a {@code next} or {@code prev} link (overrides the sort parameters)
+     * @param withCount whether the total number of user lists is returned in the X-Total-Count header
+     * @return {@link CollectionModel} object with the {@link UserList} resources of the page and links to the
+     * adjacent pages wrapped in {@link ResponseEntity<>}
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<UserListDTO>>> scrollUserLists(
+            @RequestParam(name = "size", defaultValue = "5") int size,
+            @RequestParam(name = "sortField", defaultValue = "id") String sortField,
+            @RequestParam(name = "sortDirection", defaultValue = "ASC") String sortDirection,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "withCount", defaultValue = "false") boolean withCount) {
+        KeysetPage<UserListDTO> userLists = userListService.findAllKeyset(size, sortField, sortDirection, cursor, withCount)
+                .map(userListMapper::toDTO);
+
+        CollectionModel<EntityModel<UserListDTO>> collectionModel = collectionModelBuilderService
+                .createCollectionModelFromKeysetPage(userLists, userListDTOAssembler,
+                        linkTo(methodOn(UserListController.class)
+                                .scrollUserLists(size, sortField, sortDirection, cursor, withCount)).withSelfRel(),
+                        token -> linkTo(methodOn(UserListController.class)
+                                .scrollUserLists(size, sortField, sortDirection, token, withCount)).withSelfRel());
+
+        return responseBuilderService.buildKeysetPageResponse(collectionModel, userLists);
+    }
+
     /**
      * Fetch a specific {@link UserList} by its {@code id}.
      *
@@ -183,28 +232,78 @@ public class UserListController {
     }
 
     /**
-     * Fetches movies from a {@link UserList} specified by {@code id}.
+     * Fetches movies from a {@link UserList} specified by {@code id}, in the order of the list.
      *
      * @param id the ID of the {@link UserList} for which the movies are to be retrieved
-     * @return {@link ResponseEntity<>} containing a 200 Ok status and the movies associated with this
-     * {@link UserList} (or a 404 Not Found status if the {@link UserList} does not exist).
+     * @param page number of the page returned
+     * @param size number of {@link Movie} resources returned for each page
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and a {@link PagedModel} of the movies
+     * associated with this {@link UserList} (or a 404 Not Found status if the {@link UserList} does not exist).
      */
     @GetMapping("/{id}/movies")
-    public ResponseEntity<CollectionModel<EntityModel<MovieDTO>>> findMoviesByUserList(
-            @NotNull @Range(min = 1) @PathVariable Long id) {
-        List<Movie> foundMovies = userListService.findMoviesByUserListId(id);
+    public ResponseEntity<PagedModel<EntityModel<MovieDTO>>> findMoviesByUserList(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        Page<MovieDTO> movies = movieService.findMovieDTOs(userListService.findMoviesByUserListId(id, page, size));
 
-        if (foundMovies.isEmpty()) { return ResponseEntity.ok(CollectionModel.empty()); }
+        return ResponseEntity.ok(moviePagedResourcesAssembler.toModel(movies, movieDTOAssembler));
+    }
 
-        CollectionModel<EntityModel<MovieDTO>> collectionModel = collectionModelBuilderService
-                .createCollectionModelFromList(foundMovies,
-                linkTo(methodOn(UserListController.class).findMoviesByUserList(id)).withSelfRel());
+    /**
+     * Fetches the entries of a {@link UserList} specified by {@code id}, in the order of the list. Unlike
+     * {@link #findMoviesByUserList} the entries contain their position, note and the time they were added at.
+     *
+     * @param id the ID of the {@link UserList} for which the entries are to be retrieved
+     * @param page number of the page returned
+     * @param size number of {@link UserListEntry} resources returned for each page
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and a {@link PagedModel} of the entries
+     * (or a 404 Not Found status if the {@link UserList} does not exist).
+     */
+    @GetMapping("/{id}/entries")
+    public ResponseEntity<PagedModel<EntityModel<UserListEntryDTO>>> findEntriesByUserList(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        Page<UserListEntryDTO> entries = userListService.findEntriesByUserListId(id, page, size);
 
-        return ResponseEntity.ok(collectionModel);
+        return ResponseEntity.ok(entryPagedResourcesAssembler.toModel(entries, entry -> toEntryModel(id, entry)));
     }
 
     /**
-     * Adds a {@link Movie} to the {@link UserList} specified by {@code id}.
+     * Fetches the entry of the {@link Movie} specified by {@code movieId} in the {@link UserList} specified
+     * by {@code id}.
+     *
+     * @param id the ID of the {@link UserList}
+     * @param movieId the ID of the {@link Movie}
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the {@link UserListEntry} (or a 404 Not
+     * Found status if the {@link UserList} does not exist or the {@link Movie} is not part of it).
+     */
+    @GetMapping("/{id}/entries/{movieId}")
+    public ResponseEntity<EntityModel<UserListEntryDTO>> findEntryByUserList(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @NotNull @Range(min = 1) @PathVariable Long movieId) {
+        return ResponseEntity.ok(toEntryModel(id, userListService.findEntry(id, movieId)));
+    }
+
+    /**
+     * Checks which of the movies specified by {@code movieIds} are part of the {@link UserList} specified by
+     * {@code id}. The movies of the {@link UserList} are not loaded.
+     *
+     * @param id the ID of the {@link UserList} that is checked
+     * @param movieIds IDs of up to 100 {@link Movie} resources
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the membership of every {@link Movie}
+     * (or a 404 Not Found status if the {@link UserList} does not exist).
+     */
+    @GetMapping("/{id}/movies/contains")
+    public ResponseEntity<Map<Long, Boolean>> findUserListMemberships(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @NotEmpty @Size(max = 100) @RequestParam List<Long> movieIds) {
+        return ResponseEntity.ok(userListService.findUserListMemberships(id, movieIds));
+    }
+
+    /**
+     * Adds a {@link Movie} at the end of the {@link UserList} specified by {@code id}.
      *
      * @param id the ID of the {@link UserList} to which the {@link Movie} is to be added
      * @param movieId the ID of the {@link Movie} to be added
@@ -221,6 +320,78 @@ public class UserListController {
         return responseBuilderService.buildNoContentResponseWithLocation(entityModel);
     }
 
+    /**
+     * Adds and removes several {@link Movie} resources of the {@link UserList} specified by {@code id} at once,
+     * e.g. to import a list. New movies are added at the end, in the order of the request. Movies that are
+     * already (or not) part of the {@link UserList} are skipped.
+     *
+     * @param id the ID of the {@link UserList} that is to be updated
+     * @param movieBatchUpdateDTO a DTO containing the IDs of up to 5000 movies to be added and removed
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the movies that were added and removed.
+     * It returns a 404 Not Found status if the {@link UserList} or a {@link Movie} to be added does not exist.
+     */
+    @PatchMapping("/{id}/movies")
+    public ResponseEntity<MovieBatchResultDTO> updateMoviesOfUserList(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @Valid @RequestBody MovieBatchUpdateDTO movieBatchUpdateDTO) {
+        return ResponseEntity.ok(userListService.updateMoviesOfUserList(id, movieBatchUpdateDTO));
+    }
+
+    /**
+     * Replaces the {@link Movie} resources of the {@link UserList} specified by {@code id}. Only the difference
+     * is written, movies that stay on the {@link UserList} keep their position and note.
+     *
+     * @param id the ID of the {@link UserList} that is to be updated
+     * @param movieBatchReplaceDTO a DTO containing the IDs of up to 5000 movies the list is to consist of
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the movies that were added and removed.
+     * It returns a 404 Not Found status if the {@link UserList} or one of the movies does not exist.
+     */
+    @PostMapping("/{id}/movies/replace")
+    public ResponseEntity<MovieBatchResultDTO> replaceMoviesOfUserList(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @Valid @RequestBody MovieBatchReplaceDTO movieBatchReplaceDTO) {
+        return ResponseEntity.ok(userListService.replaceMoviesOfUserList(id, movieBatchReplaceDTO));
+    }
+
+    /**
+     * Adds a {@link Movie} to the {@link UserList} specified by {@code id} at a specific position.
+     *
+     * @param id the ID of the {@link UserList} to which the {@link Movie} is to be added
+     * @param userListEntryCreationDTO a DTO containing the {@link Movie}, the entry it is placed next to
+     *                                 (none to append it) and an optional note
+     * @return {@link ResponseEntity<>} containing a 201 Created status and the created {@link UserListEntry}.
+     * It returns a 404 Not Found status if the {@link UserList}, the {@link Movie} or the neighbouring entry does
+     * not exist or a 400 Bad Request status if the {@link Movie} is already present in this {@link UserList}.
+     */
+    @PostMapping("/{id}/entries")
+    public ResponseEntity<EntityModel<UserListEntryDTO>> addEntryToUserList(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @Valid @RequestBody UserListEntryCreationDTO userListEntryCreationDTO) {
+        UserListEntryDTO entry = userListService.addEntryToUserList(id, userListEntryCreationDTO);
+
+        return responseBuilderService.buildCreatedResponseWithBody(toEntryModel(id, entry));
+    }
+
+    /**
+     * Moves the entry of the {@link Movie} specified by {@code movieId} within the {@link UserList} specified
+     * by {@code id} and/or replaces its note. Only the moved entry is written.
+     *
+     * @param id the ID of the {@link UserList}
+     * @param movieId the ID of the {@link Movie} whose entry is updated
+     * @param userListEntryUpdateDTO a DTO containing the entry it is placed next to and/or the new note
+     * @return {@link ResponseEntity<>} containing a 200 Ok status and the updated {@link UserListEntry} (or a
+     * 404 Not Found status if the {@link UserList} or one of the entries does not exist).
+     */
+    @PatchMapping("/{id}/entries/{movieId}")
+    public ResponseEntity<EntityModel<UserListEntryDTO>> updateEntry(
+            @NotNull @Range(min = 1) @PathVariable Long id,
+            @NotNull @Range(min = 1) @PathVariable Long movieId,
+            @Valid @RequestBody UserListEntryUpdateDTO userListEntryUpdateDTO) {
+        UserListEntryDTO entry = userListService.updateEntry(id, movieId, userListEntryUpdateDTO);
+
+        return ResponseEntity.ok(toEntryModel(id, entry));
+    }
+
     /**
      *  Removes a {@link Movie} resource specified by {@code movieId} from the {@link UserList}
      *  specified by by {@code userId}
@@ -237,4 +408,12 @@ public class UserListController {
 
         return ResponseEntity.noContent().build();
     }
+
+    private EntityModel<UserListEntryDTO> toEntryModel(Long userListId, UserListEntryDTO entry) {
+        return EntityModel.of(entry,
+                linkTo(methodOn(UserListController.class).findEntryByUserList(userListId, entry.movieId()))
+                        .withSelfRel(),
+                linkTo(methodOn(MovieController.class).findMovieById(entry.movieId())).withRel("movie"),
+                linkTo(methodOn(UserListController.class).findById(userListId)).withRel("list"));
+    }
 }
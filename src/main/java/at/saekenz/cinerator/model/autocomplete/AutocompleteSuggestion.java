@@ -0,0 +1,12 @@
+package at.saekenz.cinerator.model.autocomplete;
+
+/**
+ * A movie title or person name completing the text typed so far.
+ *
+ * @param type {@link EAutocompleteType#getParamName()} of the suggested resource
+ * @param id id of the suggested resource
+ * @param label title or name of the suggested resource
+ * @param weight popularity of the suggested resource (number of reviews of the movie, or of the
+ *               movies of the person), suggestions with a higher weight are listed first
+ */
+public record AutocompleteSuggestion(String type, Long id, String label, long weight) {}
@@ -0,0 +1,24 @@
+package at.saekenz.cinerator.model.autocomplete;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Kinds of resources suggested by {@code GET /autocomplete} (selected with {@code ?types=...}).
+ */
+public enum EAutocompleteType {
+    MOVIE("movie"),
+    PERSON("person");
+
+    private final String paramName;
+
+    EAutocompleteType(String paramName) { this.paramName = paramName; }
+
+    public String getParamName() { return paramName; }
+
+    public static Optional<EAutocompleteType> fromParamName(String paramName) {
+        return Arrays.stream(values())
+                .filter(type -> type.paramName.equalsIgnoreCase(paramName.trim()))
+                .findFirst();
+    }
+}
@@ -4,22 +4,29 @@ import at.saekenz.cinerator.controller.CastInfoController;
 import at.saekenz.cinerator.controller.MovieController;
 import at.saekenz.cinerator.controller.PersonController;
 import at.saekenz.cinerator.controller.RoleController;
+import at.saekenz.cinerator.util.LinkTemplate;
+import at.saekenz.cinerator.util.TemplatedModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Component
-public class CastInfoDTOModelAssembler implements RepresentationModelAssembler<CastInfoDTO, EntityModel<CastInfoDTO>> {
+public class CastInfoDTOModelAssembler extends TemplatedModelAssembler<CastInfoDTO> {
+
+    private static final LinkTemplate SELF = template(methodOn(CastInfoController.class).findCastInfoById(null));
+    private static final LinkTemplate MOVIE = template(methodOn(MovieController.class).findMovieById(null));
+    private static final LinkTemplate PERSON = template(methodOn(PersonController.class).findPersonById(null));
+    private static final LinkTemplate ROLE = template(methodOn(RoleController.class).findRoleById(null));
 
     @Override
     public EntityModel<CastInfoDTO> toModel(CastInfoDTO castInfoDTO) {
+        String baseUri = baseUri();
+
         return EntityModel.of(castInfoDTO,
-                linkTo(methodOn(CastInfoController.class).findCastInfoById(castInfoDTO.getId())).withSelfRel(),
-                linkTo(methodOn(MovieController.class).findMovieById(castInfoDTO.getMovieId())).withRel("movie"),
-                linkTo(methodOn(PersonController.class).findPersonById(castInfoDTO.getPersonId())).withRel("person"),
-                linkTo(methodOn(RoleController.class).findRoleById(castInfoDTO.getRoleId())).withRel("role"));
+                SELF.expand(baseUri, castInfoDTO.getId()).withSelfRel(),
+                MOVIE.expand(baseUri, castInfoDTO.getMovieId()).withRel("movie"),
+                PERSON.expand(baseUri, castInfoDTO.getPersonId()).withRel("person"),
+                ROLE.expand(baseUri, castInfoDTO.getRoleId()).withRel("role"));
     }
 }
@@ -0,0 +1,9 @@
+package at.saekenz.cinerator.model.castinfo;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.validator.constraints.Range;
+
+public record CastInfoImportDTO(@NotNull @Range(min = 1) Long personId,
+                                @NotBlank String role,
+                                String characterName) {}
@@ -3,10 +3,15 @@ package at.saekenz.cinerator.model.country;
 import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.person.Person;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "countries")
 public class Country {
 
@@ -17,6 +22,11 @@ public class Country {
     @Column(nullable = false, unique = true)
     private String name;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @ManyToMany(mappedBy = "countries")
     private Set<Movie> movies;
 
@@ -52,6 +62,8 @@ public class Country {
         this.id = id;
     }
 
+    public long getVersion() { return version; }
+
     public String getName() {
         return name;
     }
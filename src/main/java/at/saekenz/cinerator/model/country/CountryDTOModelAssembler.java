@@ -1,19 +1,23 @@
 package at.saekenz.cinerator.model.country;
 
 import at.saekenz.cinerator.controller.CountryController;
+import at.saekenz.cinerator.util.LinkTemplate;
+import at.saekenz.cinerator.util.TemplatedModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Component
-public class CountryDTOModelAssembler implements RepresentationModelAssembler<CountryDTO, EntityModel<CountryDTO>> {
+public class CountryDTOModelAssembler extends TemplatedModelAssembler<CountryDTO> {
+
+    private static final LinkTemplate SELF = template(methodOn(CountryController.class).findCountryById(null));
 
     @Override
     public EntityModel<CountryDTO> toModel(CountryDTO countryDTO) {
+        String baseUri = baseUri();
+
         return EntityModel.of(countryDTO,
-                linkTo(methodOn(CountryController.class).findCountryById(countryDTO.id())).withSelfRel());
+                SELF.expand(baseUri, countryDTO.id()).withSelfRel());
     }
 }
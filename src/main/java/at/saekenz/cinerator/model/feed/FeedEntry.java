@@ -0,0 +1,69 @@
+package at.saekenz.cinerator.model.feed;
+
+import at.saekenz.cinerator.model.review.Review;
+import at.saekenz.cinerator.model.user.User;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * A {@link Review} in the materialized home timeline of a {@link User}. Entries are written when a
+ * followed {@link User} publishes a review (fan-out on write) and are read newest first, i.e. in
+ * descending order of the review id.
+ */
+@Entity
+@Table(name = "feed_entries")
+public class FeedEntry {
+
+    @EmbeddedId
+    private FeedEntryKey id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("userId")
+    @JoinColumn(name = "USR_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("reviewId")
+    @JoinColumn(name = "REV_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Review review;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    public FeedEntry() {}
+
+    public FeedEntry(FeedEntryKey id, User user, Review review) {
+        this.id = id;
+        this.user = user;
+        this.review = review;
+    }
+
+    public FeedEntryKey getId() { return id; }
+
+    public void setId(FeedEntryKey id) { this.id = id; }
+
+    public User getUser() { return user; }
+
+    public void setUser(User user) { this.user = user; }
+
+    public Review getReview() { return review; }
+
+    public void setReview(Review review) { this.review = review; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    @Override
+    public String toString() {
+        return "FeedEntry{" +
+                "id=" + id +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+package at.saekenz.cinerator.model.feed;
+
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class FeedEntryKey implements Serializable {
+
+    Long userId;
+
+    Long reviewId;
+
+    public FeedEntryKey() {}
+
+    public FeedEntryKey(Long userId, Long reviewId) {
+        this.userId = userId;
+        this.reviewId = reviewId;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getReviewId() { return reviewId; }
+
+    public void setReviewId(Long reviewId) { this.reviewId = reviewId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FeedEntryKey feedEntryKey)) return false;
+        return Objects.equals(userId, feedEntryKey.userId) && Objects.equals(reviewId, feedEntryKey.reviewId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, reviewId);
+    }
+
+    @Override
+    public String toString() {
+        return "FeedEntryKey{" +
+                "userId=" + userId +
+                ", reviewId=" + reviewId +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+package at.saekenz.cinerator.model.feed;
+
+import at.saekenz.cinerator.model.user.User;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a {@link User} whose follower count exceeded the fan-out limit. Reviews of such users are not
+ * copied into the timelines of their followers; they are merged into a feed when it is read
+ * (fan-out on read).
+ */
+@Entity
+@Table(name = "feed_pull_authors")
+public class FeedPullAuthor {
+
+    @Id
+    private Long userId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "USR_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    public FeedPullAuthor() {}
+
+    public FeedPullAuthor(User user) {
+        this.user = user;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public User getUser() { return user; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    @Override
+    public String toString() {
+        return "FeedPullAuthor{" +
+                "userId=" + userId +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -2,25 +2,29 @@ package at.saekenz.cinerator.model.follow;
 
 import at.saekenz.cinerator.controller.FollowController;
 import at.saekenz.cinerator.controller.UserController;
+import at.saekenz.cinerator.util.LinkTemplate;
+import at.saekenz.cinerator.util.TemplatedModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Component
-public class FollowDTOModelAssembler implements RepresentationModelAssembler<FollowDTO, EntityModel<FollowDTO>> {
+public class FollowDTOModelAssembler extends TemplatedModelAssembler<FollowDTO> {
+
+    private static final LinkTemplate SELF = template(methodOn(FollowController.class).findByFollowKey(null, null));
+    private static final LinkTemplate USER = template(methodOn(UserController.class).findById(null));
 
     @Override
     public EntityModel<FollowDTO> toModel(FollowDTO follow) {
         Long userId = follow.getUserId();
         Long followerId = follow.getFollowerId();
 
-        return EntityModel.of(follow,
-                linkTo(methodOn(FollowController.class).findByFollowKey(userId, followerId)).withSelfRel(),
-                linkTo(methodOn(UserController.class).findById(userId)).withRel("user"),
-                linkTo(methodOn(UserController.class).findById(followerId)).withRel("follower"));
+        String baseUri = baseUri();
 
+        return EntityModel.of(follow,
+                SELF.expand(baseUri, userId, followerId).withSelfRel(),
+                USER.expand(baseUri, userId).withRel("user"),
+                USER.expand(baseUri, followerId).withRel("follower"));
     }
 }
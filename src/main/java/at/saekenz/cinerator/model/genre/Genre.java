@@ -2,10 +2,15 @@ package at.saekenz.cinerator.model.genre;
 
 import at.saekenz.cinerator.model.movie.Movie;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "genres")
 public class Genre {
 
@@ -16,6 +21,11 @@ public class Genre {
     @Column(nullable = false, unique = true)
     private String name;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @ManyToMany(mappedBy = "genres")
     private Set<Movie> movies;
 
@@ -40,6 +50,8 @@ public class Genre {
         this.id = id;
     }
 
+    public long getVersion() { return version; }
+
     public String getName() {
         return name;
     }
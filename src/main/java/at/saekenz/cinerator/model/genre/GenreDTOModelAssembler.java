@@ -1,19 +1,23 @@
 package at.saekenz.cinerator.model.genre;
 
 import at.saekenz.cinerator.controller.GenreController;
+import at.saekenz.cinerator.util.LinkTemplate;
+import at.saekenz.cinerator.util.TemplatedModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Component
-public class GenreDTOModelAssembler implements RepresentationModelAssembler<GenreDTO, EntityModel<GenreDTO>> {
+public class GenreDTOModelAssembler extends TemplatedModelAssembler<GenreDTO> {
+
+    private static final LinkTemplate SELF = template(methodOn(GenreController.class).findGenreById(null));
 
     @Override
     public EntityModel<GenreDTO> toModel(GenreDTO genre) {
+        String baseUri = baseUri();
+
         return EntityModel.of(genre,
-                linkTo(methodOn(GenreController.class).findGenreById(genre.id())).withSelfRel());
+                SELF.expand(baseUri, genre.id()).withSelfRel());
     }
 }
@@ -0,0 +1,26 @@
+package at.saekenz.cinerator.model.movie;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Associations that can be embedded into a {@link Movie} resource with {@code ?expand=...}.
+ */
+public enum EMovieExpansion {
+    REVIEWS("reviews"),
+    CAST("cast"),
+    GENRES("genres"),
+    COUNTRIES("countries");
+
+    private final String paramName;
+
+    EMovieExpansion(String paramName) { this.paramName = paramName; }
+
+    public String getParamName() { return paramName; }
+
+    public static Optional<EMovieExpansion> fromParamName(String paramName) {
+        return Arrays.stream(values())
+                .filter(expansion -> expansion.paramName.equalsIgnoreCase(paramName.trim()))
+                .findFirst();
+    }
+}
@@ -0,0 +1,18 @@
+package at.saekenz.cinerator.model.movie;
+
+/**
+ * Dimensions of the faceted {@link Movie} search. Values of {@code DECADE} are the first year of the decade
+ * (e.g. {@code 1990}), values of {@code RUNTIME} are buckets like {@code 90-119} (minutes).
+ */
+public enum EMovieFacet {
+    GENRE("genre"),
+    COUNTRY("country"),
+    DECADE("decade"),
+    RUNTIME("runtime");
+
+    private final String paramName;
+
+    EMovieFacet(String paramName) { this.paramName = paramName; }
+
+    public String getParamName() { return paramName; }
+}
@@ -0,0 +1,6 @@
+package at.saekenz.cinerator.model.movie;
+
+public enum EMovieImportStatus {
+    IMPORTED,
+    REJECTED
+}
@@ -5,18 +5,22 @@ import at.saekenz.cinerator.model.country.Country;
 import at.saekenz.cinerator.model.genre.Genre;
 import at.saekenz.cinerator.model.review.Review;
 import at.saekenz.cinerator.model.user.User;
-import at.saekenz.cinerator.model.userlist.UserList;
 import com.fasterxml.jackson.annotation.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 @Entity
 @Table(name = "movies")
+@SecondaryTable(name = MovieStats.TABLE, pkJoinColumns = @PrimaryKeyJoinColumn(name = "MOV_ID"))
 public class Movie {
 
     @Id
@@ -32,11 +36,21 @@ public class Movie {
     @Column(nullable = false)
     private String runtime;
 
-    @Column(nullable = false)
+    // Stored normalized (see normalizeImdbId), so lookups can use the unique index without LOWER()
+    @Column(nullable = false, unique = true)
     private String imdbId;
 
     private String posterUrl;
 
+    // Incremented on every update (including changes of genres/countries). Serves as optimistic lock and,
+    // together with the version of the stats, as validator of conditional requests (see ConditionalGet)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    // Only the ids are cached, the genres/countries themselves come from their own cache region
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany
     @JoinTable(
             name = "movie_genres",
@@ -44,6 +58,7 @@ public class Movie {
             inverseJoinColumns = @JoinColumn(name = "GEN_ID"))
     private Set<Genre> genres;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany
     @JoinTable(
             name = "movie_countries",
@@ -57,11 +72,6 @@ public class Movie {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private List<User> user;
 
-    @ManyToMany(mappedBy = "movielist")
-    @JsonIgnore
-    @OnDelete(action = OnDeleteAction.CASCADE)
-    private List<UserList> userlist;
-
     @OneToMany(mappedBy = "movie")
     @OnDelete(action = OnDeleteAction.CASCADE)
     private List<Review> reviews;
@@ -70,6 +80,9 @@ public class Movie {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Set<CastInfo> castInfos;
 
+    @Embedded
+    private MovieStats stats = new MovieStats();
+
     public Movie() {
 
     }
@@ -79,7 +92,7 @@ public class Movie {
         this.title = title;
         this.releaseDate = releaseDate;
         this.runtime = runtime;
-        this.imdbId = imdbId;
+        this.imdbId = normalizeImdbId(imdbId);
         this.posterUrl = posterUrl;
     }
 
@@ -115,7 +128,14 @@ public class Movie {
 
     public String getImdbId() { return imdbId; }
 
-    public void setImdbId(String imdbId) { this.imdbId = imdbId; }
+    public void setImdbId(String imdbId) { this.imdbId = normalizeImdbId(imdbId); }
+
+    /**
+     * @return canonical form of an IMDb id (trimmed and in lower case, e.g. {@code tt0133093})
+     */
+    public static String normalizeImdbId(String imdbId) {
+        return imdbId == null ? null : imdbId.trim().toLowerCase(Locale.ROOT);
+    }
 
     public String getPosterUrl() { return posterUrl; }
 
@@ -137,14 +157,14 @@ public class Movie {
 
     public void setCountries(Set<Country> countries) { this.countries = countries; }
 
-    public List<UserList> getUserlist() { return userlist; }
-
-    public void setUserlist(List<UserList> userlist) { this.userlist = userlist; }
-
     public Set<CastInfo> getCastInfos() { return castInfos; }
 
     public void setCastInfos(Set<CastInfo> castInfos) { this.castInfos = castInfos; }
 
+    public MovieStats getStats() { return stats; }
+
+    public long getVersion() { return version; }
+
     @Override
     public String toString() {
         return "Movie{" +
@@ -157,7 +177,6 @@ public class Movie {
                 ", genres=" + genres +
                 ", countries=" + countries +
                 ", user=" + user +
-                ", userlist=" + userlist +
                 ", reviews=" + reviews +
                 ", castInfos=" + castInfos +
                 '}';
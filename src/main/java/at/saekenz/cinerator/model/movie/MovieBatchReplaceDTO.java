@@ -0,0 +1,15 @@
+package at.saekenz.cinerator.model.movie;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.hibernate.validator.constraints.Range;
+
+import java.util.List;
+
+/**
+ * Replaces the movies of a watchlist or user list with {@code movieIds}. Movies that stay on the list keep
+ * their position, new ones are added at the end in this order.
+ */
+public record MovieBatchReplaceDTO(@NotNull @Size(max = 5000) List<@NotNull @Range(min = 1) Long> movieIds) {
+
+}
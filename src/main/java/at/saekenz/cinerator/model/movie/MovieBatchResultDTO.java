@@ -0,0 +1,13 @@
+package at.saekenz.cinerator.model.movie;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch update of a watchlist or user list. Movies that already were (or were not) part of
+ * the list are neither in {@code added} nor in {@code removed}.
+ */
+public record MovieBatchResultDTO(List<Long> added,
+                                  List<Long> removed,
+                                  int total) {
+
+}
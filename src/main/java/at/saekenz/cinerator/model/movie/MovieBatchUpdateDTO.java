@@ -0,0 +1,20 @@
+package at.saekenz.cinerator.model.movie;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.hibernate.validator.constraints.Range;
+
+import java.util.List;
+
+/**
+ * Adds the movies in {@code add} (in this order) to a watchlist or user list and removes the movies in
+ * {@code remove} from it. Either may be omitted.
+ */
+public record MovieBatchUpdateDTO(@Size(max = 5000) List<@NotNull @Range(min = 1) Long> add,
+                                  @Size(max = 5000) List<@NotNull @Range(min = 1) Long> remove) {
+
+    public MovieBatchUpdateDTO {
+        add = add == null ? List.of() : add;
+        remove = remove == null ? List.of() : remove;
+    }
+}
@@ -13,6 +13,7 @@ public class MovieDTO {
     private String country;
     private String imdbId;
     private String posterUrl;
+    private MovieStatsDTO stats;
 
     public MovieDTO() {}
 
@@ -102,6 +103,14 @@ public class MovieDTO {
         this.country = country;
     }
 
+    public MovieStatsDTO getStats() {
+        return stats;
+    }
+
+    public void setStats(MovieStatsDTO stats) {
+        this.stats = stats;
+    }
+
     public int getReleaseYear() {
         return releaseDate != null ? releaseDate.getYear() : 0;
     }
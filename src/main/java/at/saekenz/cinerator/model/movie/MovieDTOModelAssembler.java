@@ -1,23 +1,31 @@
 package at.saekenz.cinerator.model.movie;
 
 import at.saekenz.cinerator.controller.MovieController;
+import at.saekenz.cinerator.util.LinkTemplate;
+import at.saekenz.cinerator.util.TemplatedModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Component
-public class MovieDTOModelAssembler implements RepresentationModelAssembler<MovieDTO, EntityModel<MovieDTO>> {
+public class MovieDTOModelAssembler extends TemplatedModelAssembler<MovieDTO> {
+
+    private static final LinkTemplate SELF = template(methodOn(MovieController.class).findMovieById(null));
+    private static final LinkTemplate REVIEWS = template(methodOn(MovieController.class).findReviewsByMovie(null));
+    private static final LinkTemplate ACTORS = template(methodOn(MovieController.class).findActorsByMovie(null));
+    private static final LinkTemplate GENRES = template(methodOn(MovieController.class).findGenresByMovie(null));
+    private static final LinkTemplate COUNTRIES = template(methodOn(MovieController.class).findCountriesByMovie(null));
 
     @Override
     public EntityModel<MovieDTO> toModel(MovieDTO movieDTO) {
+        String baseUri = baseUri();
+
         return EntityModel.of(movieDTO,
-                linkTo(methodOn(MovieController.class).findMovieById(movieDTO.getId())).withSelfRel(),
-                linkTo(methodOn(MovieController.class).findReviewsByMovie(movieDTO.getId())).withRel("reviews"),
-                linkTo(methodOn(MovieController.class).findActorsByMovie(movieDTO.getId())).withRel("actors"),
-                linkTo(methodOn(MovieController.class).findGenresByMovie(movieDTO.getId())).withRel("genres"),
-                linkTo(methodOn(MovieController.class).findCountriesByMovie(movieDTO.getId())).withRel("countries"));
+                SELF.expand(baseUri, movieDTO.getId()).withSelfRel(),
+                REVIEWS.expand(baseUri, movieDTO.getId()).withRel("reviews"),
+                ACTORS.expand(baseUri, movieDTO.getId()).withRel("actors"),
+                GENRES.expand(baseUri, movieDTO.getId()).withRel("genres"),
+                COUNTRIES.expand(baseUri, movieDTO.getId()).withRel("countries"));
     }
 }
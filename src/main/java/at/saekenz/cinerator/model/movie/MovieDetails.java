@@ -0,0 +1,22 @@
+package at.saekenz.cinerator.model.movie;
+
+import at.saekenz.cinerator.model.country.Country;
+import at.saekenz.cinerator.model.genre.Genre;
+import at.saekenz.cinerator.model.person.Person;
+import at.saekenz.cinerator.model.review.ReviewDTO;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link Movie} together with the associations requested through {@code expansions}. Associations
+ * that were not requested are empty.
+ */
+public record MovieDetails(MovieDTO movie,
+                           Set<EMovieExpansion> expansions,
+                           List<ReviewDTO> reviews,
+                           List<Person> actors,
+                           List<Person> directors,
+                           List<Genre> genres,
+                           List<Country> countries) {
+}
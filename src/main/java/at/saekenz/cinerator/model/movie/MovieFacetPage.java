@@ -0,0 +1,16 @@
+package at.saekenz.cinerator.model.movie;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.hateoas.PagedModel;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of {@link Movie} resources found by a faceted search, together with the number of matching movies
+ * per facet value (facet parameter name -> value -> count). The movies are embedded by the controller.
+ */
+public record MovieFacetPage(@JsonIgnore List<MovieDTO> movies,
+                             PagedModel.PageMetadata page,
+                             Map<String, Map<String, Integer>> facets) {
+}
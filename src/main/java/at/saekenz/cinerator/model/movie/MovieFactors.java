@@ -0,0 +1,48 @@
+package at.saekenz.cinerator.model.movie;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Latent factors of a {@link Movie} learned by the recommendation training job (see
+ * {@code RecommendationServiceImpl}). {@code factors} holds the vector as little-endian 32 bit floats,
+ * {@code bias} the general popularity of the movie.
+ */
+@Entity
+@Table(name = "movie_factors")
+public class MovieFactors {
+
+    @Id
+    private Long movieId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "MOV_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Movie movie;
+
+    @Column(nullable = false)
+    private float bias;
+
+    @Column(nullable = false)
+    private byte[] factors;
+
+    public MovieFactors() {}
+
+    public Long getMovieId() { return movieId; }
+
+    public Movie getMovie() { return movie; }
+
+    public float getBias() { return bias; }
+
+    public byte[] getFactors() { return factors; }
+
+    @Override
+    public String toString() {
+        return "MovieFactors{" +
+                "movieId=" + movieId +
+                ", bias=" + bias +
+                '}';
+    }
+}
@@ -0,0 +1,21 @@
+package at.saekenz.cinerator.model.movie;
+
+import at.saekenz.cinerator.model.castinfo.CastInfoImportDTO;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A single row of a bulk {@link Movie} import. In contrast to {@link MovieCreationDTO}, genres, countries
+ * and roles are referenced by name, so dumps from other systems can be imported without id lookups.
+ */
+public record MovieImportDTO(@NotBlank String title,
+                             @NotNull @PastOrPresent LocalDate releaseDate,
+                             @NotBlank String runtime,
+                             @NotBlank @Pattern(regexp = "^tt\\d{6,9}$") String imdbId,
+                             String posterUrl,
+                             @NotEmpty List<String> genres,
+                             @NotEmpty List<String> countries,
+                             List<@Valid CastInfoImportDTO> cast) {}
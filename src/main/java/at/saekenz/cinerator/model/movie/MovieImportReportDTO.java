@@ -0,0 +1,8 @@
+package at.saekenz.cinerator.model.movie;
+
+import java.util.List;
+
+public record MovieImportReportDTO(int total,
+                                   int imported,
+                                   int rejected,
+                                   List<MovieImportResultDTO> results) {}
@@ -0,0 +1,18 @@
+package at.saekenz.cinerator.model.movie;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MovieImportResultDTO(int row,
+                                   EMovieImportStatus status,
+                                   Long movieId,
+                                   String message) {
+
+    public static MovieImportResultDTO imported(int row, Long movieId) {
+        return new MovieImportResultDTO(row, EMovieImportStatus.IMPORTED, movieId, null);
+    }
+
+    public static MovieImportResultDTO rejected(int row, String message) {
+        return new MovieImportResultDTO(row, EMovieImportStatus.REJECTED, null, message);
+    }
+}
@@ -68,10 +68,28 @@ public class MovieMapper implements EntityMapper<Movie, MovieDTO> {
 
         movieDTO.setImdbId(movie.getImdbId());
         movieDTO.setPosterUrl(movie.getPosterUrl());
+        movieDTO.setStats(toDTO(movie.getStats()));
 
         return movieDTO;
     }
 
+    public MovieDTO toDTO(MovieSummaryView movieSummary) {
+        MovieDTO movieDTO = new MovieDTO(movieSummary.id(), movieSummary.title(), movieSummary.releaseDate(),
+                movieSummary.runtime(), movieSummary.director(), movieSummary.genre(),
+                movieSummary.country(), movieSummary.imdbId(), movieSummary.posterUrl());
+        movieDTO.setStats(movieSummary.stats());
+
+        return movieDTO;
+    }
+
+    public MovieStatsDTO toDTO(MovieStats movieStats) {
+        // Hibernate leaves the embeddable null if a movie has no movie_stats row (yet)
+        if (movieStats == null) { return MovieStatsDTO.empty(); }
+
+        return new MovieStatsDTO(movieStats.getReviewCount(), movieStats.getAverageRating(),
+                movieStats.getLikeCount(), movieStats.getRatingHistogram());
+    }
+
     private <T> String convertCollectionToString(Collection<T> collection, Function<T, String> mapper) {
         return Optional.ofNullable(collection)
                 .orElse(Collections.emptyList())
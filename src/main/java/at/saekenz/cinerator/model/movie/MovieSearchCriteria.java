@@ -0,0 +1,36 @@
+package at.saekenz.cinerator.model.movie;
+
+import java.time.LocalDate;
+
+/**
+ * Holds the optional parameters of a {@link Movie} search. Every {@code null} (or blank) value
+ * is ignored, so only the supplied parameters end up as predicates in the generated query.
+ */
+public record MovieSearchCriteria(String title,
+                                  LocalDate releaseDate,
+                                  Integer releaseYear,
+                                  String runtime,
+                                  String imdbId,
+                                  String genre,
+                                  String country) {
+
+    public static MovieSearchCriteria byTitle(String title) {
+        return new MovieSearchCriteria(title, null, null, null, null, null, null);
+    }
+
+    public static MovieSearchCriteria byImdbId(String imdbId) {
+        return new MovieSearchCriteria(null, null, null, null, imdbId, null, null);
+    }
+
+    public static MovieSearchCriteria byGenre(String genre) {
+        return new MovieSearchCriteria(null, null, null, null, null, genre, null);
+    }
+
+    public static MovieSearchCriteria byCountry(String country) {
+        return new MovieSearchCriteria(null, null, null, null, null, null, country);
+    }
+
+    public static MovieSearchCriteria byReleaseYear(int releaseYear) {
+        return new MovieSearchCriteria(null, null, releaseYear, null, null, null, null);
+    }
+}
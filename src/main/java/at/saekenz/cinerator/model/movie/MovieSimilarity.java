@@ -0,0 +1,57 @@
+package at.saekenz.cinerator.model.movie;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One of the precomputed nearest neighbours of a {@link Movie}. Rows are written in bulk by the
+ * recommendation batch (see {@code MovieSimilarityServiceImpl}), {@code rank} starts at 1 for the most
+ * similar movie.
+ */
+@Entity
+@Table(name = "movie_similarities")
+public class MovieSimilarity {
+
+    @EmbeddedId
+    private MovieSimilarityKey id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("movieId")
+    @JoinColumn(name = "MOV_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Movie movie;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("similarMovieId")
+    @JoinColumn(name = "SIMILAR_MOV_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Movie similarMovie;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "similarity_rank", nullable = false)
+    private int rank;
+
+    public MovieSimilarity() {}
+
+    public MovieSimilarityKey getId() { return id; }
+
+    public Movie getMovie() { return movie; }
+
+    public Movie getSimilarMovie() { return similarMovie; }
+
+    public double getScore() { return score; }
+
+    public int getRank() { return rank; }
+
+    @Override
+    public String toString() {
+        return "MovieSimilarity{" +
+                "id=" + id +
+                ", score=" + score +
+                ", rank=" + rank +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+package at.saekenz.cinerator.model.movie;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class MovieSimilarityKey implements Serializable {
+
+    @Column(name = "movie_id")
+    Long movieId;
+
+    @Column(name = "similar_movie_id")
+    Long similarMovieId;
+
+    public MovieSimilarityKey() {}
+
+    public MovieSimilarityKey(Long movieId, Long similarMovieId) {
+        this.movieId = movieId;
+        this.similarMovieId = similarMovieId;
+    }
+
+    public Long getMovieId() { return movieId; }
+
+    public void setMovieId(Long movieId) { this.movieId = movieId; }
+
+    public Long getSimilarMovieId() { return similarMovieId; }
+
+    public void setSimilarMovieId(Long similarMovieId) { this.similarMovieId = similarMovieId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MovieSimilarityKey that)) return false;
+        return Objects.equals(movieId, that.movieId) && Objects.equals(similarMovieId, that.similarMovieId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(movieId, similarMovieId);
+    }
+
+    @Override
+    public String toString() {
+        return "MovieSimilarityKey{" +
+                "movieId=" + movieId +
+                ", similarMovieId=" + similarMovieId +
+                '}';
+    }
+}
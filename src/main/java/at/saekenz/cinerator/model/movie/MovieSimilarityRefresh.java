@@ -0,0 +1,36 @@
+package at.saekenz.cinerator.model.movie;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Marks a {@link Movie} whose reviews or list memberships changed since the last recommendation run.
+ * The incremental run only recomputes the neighbours of marked movies.
+ */
+@Entity
+@Table(name = "movie_similarity_refresh")
+public class MovieSimilarityRefresh {
+
+    @Id
+    private Long movieId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "MOV_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Movie movie;
+
+    public MovieSimilarityRefresh() {}
+
+    public Long getMovieId() { return movieId; }
+
+    public Movie getMovie() { return movie; }
+
+    @Override
+    public String toString() {
+        return "MovieSimilarityRefresh{" +
+                "movieId=" + movieId +
+                '}';
+    }
+}
@@ -0,0 +1,94 @@
+package at.saekenz.cinerator.model.movie;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed review aggregates of a {@link Movie}, stored in the {@code movie_stats} table (one row
+ * per movie). The columns are never written by Hibernate after the row was created: they are updated
+ * incrementally with SQL whenever a review is added, edited or removed and rebuilt periodically from
+ * the reviews table (see {@link at.saekenz.cinerator.service.IMovieStatsService}).
+ */
+@Embeddable
+public class MovieStats {
+
+    public static final String TABLE = "movie_stats";
+
+    /**
+     * Attributes a {@link Movie} listing can be sorted by (prefixed with {@code stats.}).
+     */
+    public static final Set<String> SORTABLE_FIELDS = Set.of("reviewCount", "averageRating", "likeCount");
+
+    @ColumnDefault("0")
+    @Column(table = TABLE, name = "review_count", nullable = false, updatable = false)
+    private long reviewCount;
+
+    @ColumnDefault("0")
+    @Column(table = TABLE, name = "rating_sum", nullable = false, updatable = false)
+    private long ratingSum;
+
+    @ColumnDefault("0")
+    @Column(table = TABLE, name = "average_rating", nullable = false, updatable = false)
+    private double averageRating;
+
+    @ColumnDefault("0")
+    @Column(table = TABLE, name = "rating_1_count", nullable = false, updatable = false)
+    private long rating1Count;
+
+    @ColumnDefault("0")
+    @Column(table = TABLE, name = "rating_2_count", nullable = false, updatable = false)
+    private long rating2Count;
+
+    @ColumnDefault("0")
+    @Column(table = TABLE, name = "rating_3_count", nullable = false, updatable = false)
+    private long rating3Count;
+
+    @ColumnDefault("0")
+    @Column(table = TABLE, name = "rating_4_count", nullable = false, updatable = false)
+    private long rating4Count;
+
+    @ColumnDefault("0")
+    @Column(table = TABLE, name = "rating_5_count", nullable = false, updatable = false)
+    private long rating5Count;
+
+    @ColumnDefault("0")
+    @Column(table = TABLE, name = "like_count", nullable = false, updatable = false)
+    private long likeCount;
+
+    // Incremented with every change of the counters, part of the validator of a movie's ETag
+    @ColumnDefault("0")
+    @Column(table = TABLE, name = "version", nullable = false, updatable = false)
+    private long version;
+
+    public MovieStats() {}
+
+    public long getReviewCount() { return reviewCount; }
+
+    public long getRatingSum() { return ratingSum; }
+
+    public double getAverageRating() { return averageRating; }
+
+    public long getLikeCount() { return likeCount; }
+
+    public long getVersion() { return version; }
+
+    /**
+     * @return number of reviews for every rating (1 to 5)
+     */
+    public Map<Integer, Long> getRatingHistogram() {
+        return MovieStatsDTO.histogram(rating1Count, rating2Count, rating3Count, rating4Count, rating5Count);
+    }
+
+    @Override
+    public String toString() {
+        return "MovieStats{" +
+                "reviewCount=" + reviewCount +
+                ", averageRating=" + averageRating +
+                ", likeCount=" + likeCount +
+                '}';
+    }
+}
@@ -0,0 +1,28 @@
+package at.saekenz.cinerator.model.movie;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public record MovieStatsDTO(long reviewCount,
+                            double averageRating,
+                            long likeCount,
+                            Map<Integer, Long> ratingHistogram) {
+
+    public static MovieStatsDTO empty() {
+        return new MovieStatsDTO(0, 0, 0, histogram(0, 0, 0, 0, 0));
+    }
+
+    /**
+     * @return {@link Map} with the number of reviews for every rating (1 to 5), ordered by rating
+     */
+    public static Map<Integer, Long> histogram(long rating1Count, long rating2Count, long rating3Count,
+                                               long rating4Count, long rating5Count) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, rating1Count);
+        histogram.put(2, rating2Count);
+        histogram.put(3, rating3Count);
+        histogram.put(4, rating4Count);
+        histogram.put(5, rating5Count);
+        return histogram;
+    }
+}
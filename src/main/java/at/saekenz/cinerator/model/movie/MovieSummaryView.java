@@ -0,0 +1,22 @@
+package at.saekenz.cinerator.model.movie;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of a {@link Movie} that already contains its directors, genres and countries
+ * as comma separated strings
+ * and its precomputed review statistics. Filled by a single query (see
+ * {@link at.saekenz.cinerator.repository.MovieSummaryRepository}), so listing movies does not
+ * require loading the lazy associations of every single {@link Movie}.
+ */
+public record MovieSummaryView(Long id,
+                               String title,
+                               LocalDate releaseDate,
+                               String runtime,
+                               String director,
+                               String genre,
+                               String country,
+                               String imdbId,
+                               String posterUrl,
+                               MovieStatsDTO stats) {
+}
@@ -3,6 +3,7 @@ package at.saekenz.cinerator.model.person;
 import at.saekenz.cinerator.model.castinfo.CastInfo;
 import at.saekenz.cinerator.model.country.Country;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -29,6 +30,15 @@ public class Person {
     @Column(nullable = false)
     private String height;
 
+    // Numeric copy of height, so searches can use a range on an index instead of matching text
+    @Column(name = "height_cm")
+    private Integer heightCm;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @ManyToOne
     @JoinColumn(name = "COU_ID")
     private Country birthCountry;
@@ -43,14 +53,14 @@ public class Person {
         this.name = name;
         this.birthDate = birthDate;
         this.deathDate = deathDate;
-        this.height = height;
+        setHeight(height);
     }
 
     public Person(String name, LocalDate birthDate, LocalDate deathDate, String height, Country birthCountry) {
         this.name = name;
         this.birthDate = birthDate;
         this.deathDate = deathDate;
-        this.height = height;
+        setHeight(height);
         this.birthCountry = birthCountry;
     }
 
@@ -58,6 +68,8 @@ public class Person {
         return id;
     }
 
+    public long getVersion() { return version; }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -92,6 +104,11 @@ public class Person {
 
     public void setHeight(String height) {
         this.height = height;
+        this.heightCm = PersonHeight.toCentimeters(height);
+    }
+
+    public Integer getHeightCm() {
+        return heightCm;
     }
 
     public Country getBirthCountry() {
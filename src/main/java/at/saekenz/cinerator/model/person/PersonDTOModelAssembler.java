@@ -1,21 +1,26 @@
 package at.saekenz.cinerator.model.person;
 
 import at.saekenz.cinerator.controller.PersonController;
+import at.saekenz.cinerator.util.LinkTemplate;
+import at.saekenz.cinerator.util.TemplatedModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Component
-public class PersonDTOModelAssembler implements RepresentationModelAssembler<PersonDTO, EntityModel<PersonDTO>> {
+public class PersonDTOModelAssembler extends TemplatedModelAssembler<PersonDTO> {
+
+    private static final LinkTemplate SELF = template(methodOn(PersonController.class).findPersonById(null));
+    private static final LinkTemplate BIRTH_COUNTRY =
+            template(methodOn(PersonController.class).findCountryByPerson(null));
 
     @Override
     public EntityModel<PersonDTO> toModel(PersonDTO person) {
+        String baseUri = baseUri();
+
         return EntityModel.of(person,
-                linkTo(methodOn(PersonController.class).findPersonById(person.getId())).withSelfRel(),
-                linkTo(methodOn(PersonController.class).findCountryByPerson(person.getBirthCountry().id()))
-                        .withRel("birthCountry"));
+                SELF.expand(baseUri, person.getId()).withSelfRel(),
+                BIRTH_COUNTRY.expand(baseUri, person.getBirthCountry().id()).withRel("birthCountry"));
     }
 }
@@ -0,0 +1,68 @@
+package at.saekenz.cinerator.model.person;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Converts the free-text heights of {@link Person} resources (e.g. {@code "1.83 m (6')"}) into centimeters.
+ * The first number of the text is taken as the height: in meters if it has decimals or is smaller than 3,
+ * in centimeters otherwise.
+ */
+public final class PersonHeight {
+
+    private static final Pattern NUMBER = Pattern.compile("(\\d{1,3})(?:[.,](\\d+))?");
+
+    private PersonHeight() {
+
+    }
+
+    /**
+     * @param height height as entered (e.g. {@code "1.83 m (6')"} or {@code "183 cm"})
+     * @return height in centimeters (rounded down) or {@code null} if {@code height} does not contain a number
+     */
+    public static Integer toCentimeters(String height) {
+        return parse(height).map(CentimeterRange::from).orElse(null);
+    }
+
+    /**
+     * Range of heights a (possibly imprecise) search term stands for: {@code "1.8"} matches every height
+     * from 180 up to 189 cm, {@code "1.83"} and {@code "183"} only 183 cm.
+     *
+     * @param height search term
+     * @return {@link CentimeterRange} matching the term, empty if it does not contain a number
+     */
+    public static Optional<CentimeterRange> toCentimeterRange(String height) {
+        return parse(height);
+    }
+
+    private static Optional<CentimeterRange> parse(String height) {
+        if (height == null) { return Optional.empty(); }
+
+        Matcher matcher = NUMBER.matcher(height);
+        if (!matcher.find()) { return Optional.empty(); }
+
+        int whole = Integer.parseInt(matcher.group(1));
+        String decimals = matcher.group(2);
+
+        if (decimals == null && whole >= 3) {
+            return Optional.of(new CentimeterRange(whole, whole + 1));
+        }
+        if (decimals == null) {
+            return Optional.of(new CentimeterRange(whole * 100, whole * 100 + 100));
+        }
+        if (decimals.length() == 1) {
+            int from = whole * 100 + Integer.parseInt(decimals) * 10;
+            return Optional.of(new CentimeterRange(from, from + 10));
+        }
+
+        int from = whole * 100 + Integer.parseInt(decimals.substring(0, 2));
+        return Optional.of(new CentimeterRange(from, from + 1));
+    }
+
+    /**
+     * @param from lower bound in centimeters (inclusive)
+     * @param to upper bound in centimeters (exclusive)
+     */
+    public record CentimeterRange(int from, int to) {}
+}
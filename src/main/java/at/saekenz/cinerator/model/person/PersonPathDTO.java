@@ -0,0 +1,13 @@
+package at.saekenz.cinerator.model.person;
+
+import at.saekenz.cinerator.model.movie.MovieDTO;
+
+import java.util.List;
+
+/**
+ * Shortest connection of two persons through the movies they worked on ("degrees of separation").
+ * {@code movies[i]} links {@code persons[i]} and {@code persons[i + 1]}.
+ */
+public record PersonPathDTO(int degrees,
+                            List<PersonDTO> persons,
+                            List<MovieDTO> movies) {}
@@ -0,0 +1,19 @@
+package at.saekenz.cinerator.model.person;
+
+import java.time.LocalDate;
+
+/**
+ * Holds the optional parameters of a {@link Person} search. Every {@code null} (or blank) value
+ * is ignored, so only the supplied parameters end up as predicates in the generated query.
+ */
+public record PersonSearchCriteria(String name,
+                                   LocalDate birthDate,
+                                   LocalDate deathDate,
+                                   String height,
+                                   String country,
+                                   Integer age) {
+
+    public static PersonSearchCriteria byName(String name) {
+        return new PersonSearchCriteria(name, null, null, null, null, null);
+    }
+}
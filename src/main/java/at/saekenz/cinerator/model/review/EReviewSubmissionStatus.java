@@ -0,0 +1,7 @@
+package at.saekenz.cinerator.model.review;
+
+public enum EReviewSubmissionStatus {
+    PENDING,
+    COMPLETED,
+    FAILED
+}
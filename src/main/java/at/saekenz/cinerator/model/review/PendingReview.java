@@ -0,0 +1,12 @@
+package at.saekenz.cinerator.model.review;
+
+import java.util.UUID;
+
+/**
+ * A {@link Review} that was accepted by the write-behind queue but not yet written to the database.
+ * {@code ticket} identifies the submission until then.
+ */
+public record PendingReview(UUID ticket,
+                            Long movieId,
+                            ReviewCreationDTO review) {
+}
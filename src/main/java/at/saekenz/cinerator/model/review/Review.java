@@ -4,18 +4,22 @@ import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.user.User;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.UUID;
 
 @Entity
 @Table(name = "reviews")
 public class Review {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    // Sequence based ids (pooled) keep Hibernate's JDBC insert batching usable for reviews
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
     private Long id;
 
     private String comment;
@@ -28,6 +32,15 @@ public class Review {
     name = "isLiked")
     private boolean isLiked;
 
+    // Set for reviews written through the write-behind queue, a replayed submission is recognized by it
+    @Column(unique = true, updatable = false)
+    private UUID submissionTicket;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "USR_ID")
     @OnDelete(action = OnDeleteAction.CASCADE)
@@ -56,6 +69,8 @@ public class Review {
         return id;
     }
 
+    public long getVersion() { return version; }
+
     public String getComment() {
         return comment;
     }
@@ -88,6 +103,10 @@ public class Review {
         this.user = user;
     }
 
+    public UUID getSubmissionTicket() { return submissionTicket; }
+
+    public void setSubmissionTicket(UUID submissionTicket) { this.submissionTicket = submissionTicket; }
+
     public Movie getMovie() { return movie; }
 
     public Long getMovieId() { return movie.getId(); }
@@ -2,22 +2,29 @@ package at.saekenz.cinerator.model.review;
 
 import at.saekenz.cinerator.controller.MovieController;
 import at.saekenz.cinerator.controller.ReviewController;
+import at.saekenz.cinerator.util.LinkTemplate;
+import at.saekenz.cinerator.util.TemplatedModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Component
-public class ReviewDTOModelAssembler implements RepresentationModelAssembler<ReviewDTO, EntityModel<ReviewDTO>> {
+public class ReviewDTOModelAssembler extends TemplatedModelAssembler<ReviewDTO> {
+
+    private static final LinkTemplate SELF = template(methodOn(ReviewController.class).findDTOById(null));
+    private static final LinkTemplate MOVIE = template(methodOn(ReviewController.class).findMovieByReviewId(null));
+    private static final LinkTemplate USER = template(methodOn(ReviewController.class).findUserByReviewId(null));
+    private static final LinkTemplate REMOVE = template(methodOn(MovieController.class).removeReviewById(null, null));
 
     @Override
     public EntityModel<ReviewDTO> toModel(ReviewDTO reviewDTO) {
+        String baseUri = baseUri();
+
         return EntityModel.of(reviewDTO,
-                linkTo(methodOn(ReviewController.class).findDTOById(reviewDTO.getId())).withSelfRel(),
-                linkTo(methodOn(ReviewController.class).findMovieByReviewId(reviewDTO.getId())).withRel("movie"),
-                linkTo(methodOn(ReviewController.class).findUserByReviewId(reviewDTO.getId())).withRel("user"),
-                linkTo(methodOn(MovieController.class).removeReviewById(reviewDTO.getMovieId(), reviewDTO.getId())).withRel("remove"));
+                SELF.expand(baseUri, reviewDTO.getId()).withSelfRel(),
+                MOVIE.expand(baseUri, reviewDTO.getId()).withRel("movie"),
+                USER.expand(baseUri, reviewDTO.getId()).withRel("user"),
+                REMOVE.expand(baseUri, reviewDTO.getMovieId(), reviewDTO.getId()).withRel("remove"));
     }
 }
@@ -0,0 +1,25 @@
+package at.saekenz.cinerator.model.review;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReviewSubmissionDTO(UUID ticket,
+                                  EReviewSubmissionStatus status,
+                                  Long movieId,
+                                  Long reviewId,
+                                  String message) {
+
+    public static ReviewSubmissionDTO pending(UUID ticket, Long movieId) {
+        return new ReviewSubmissionDTO(ticket, EReviewSubmissionStatus.PENDING, movieId, null, null);
+    }
+
+    public static ReviewSubmissionDTO completed(UUID ticket, Long movieId, Long reviewId) {
+        return new ReviewSubmissionDTO(ticket, EReviewSubmissionStatus.COMPLETED, movieId, reviewId, null);
+    }
+
+    public static ReviewSubmissionDTO failed(UUID ticket, Long movieId, String message) {
+        return new ReviewSubmissionDTO(ticket, EReviewSubmissionStatus.FAILED, movieId, null, message);
+    }
+}
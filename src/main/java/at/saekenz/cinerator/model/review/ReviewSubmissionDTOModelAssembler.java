@@ -0,0 +1,31 @@
+package at.saekenz.cinerator.model.review;
+
+import at.saekenz.cinerator.controller.MovieController;
+import at.saekenz.cinerator.controller.ReviewController;
+import at.saekenz.cinerator.util.LinkTemplate;
+import at.saekenz.cinerator.util.TemplatedModelAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@Component
+public class ReviewSubmissionDTOModelAssembler extends TemplatedModelAssembler<ReviewSubmissionDTO> {
+
+    private static final LinkTemplate SELF = template(methodOn(MovieController.class)
+            .findReviewSubmission(null, null));
+    private static final LinkTemplate REVIEW = template(methodOn(ReviewController.class).findDTOById(null));
+
+    @Override
+    public EntityModel<ReviewSubmissionDTO> toModel(ReviewSubmissionDTO submissionDTO) {
+        String baseUri = baseUri();
+        EntityModel<ReviewSubmissionDTO> entityModel = EntityModel.of(submissionDTO,
+                SELF.expand(baseUri, submissionDTO.movieId(), submissionDTO.ticket()).withSelfRel());
+
+        if (submissionDTO.reviewId() != null) {
+            entityModel.add(REVIEW.expand(baseUri, submissionDTO.reviewId()).withRel("review"));
+        }
+
+        return entityModel;
+    }
+}
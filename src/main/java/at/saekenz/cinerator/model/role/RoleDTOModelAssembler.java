@@ -1,19 +1,23 @@
 package at.saekenz.cinerator.model.role;
 
 import at.saekenz.cinerator.controller.RoleController;
+import at.saekenz.cinerator.util.LinkTemplate;
+import at.saekenz.cinerator.util.TemplatedModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Component
-public class RoleDTOModelAssembler implements RepresentationModelAssembler<RoleDTO, EntityModel<RoleDTO>> {
+public class RoleDTOModelAssembler extends TemplatedModelAssembler<RoleDTO> {
+
+    private static final LinkTemplate SELF = template(methodOn(RoleController.class).findRoleById(null));
 
     @Override
     public EntityModel<RoleDTO> toModel(RoleDTO roleDTO) {
+        String baseUri = baseUri();
+
         return EntityModel.of(roleDTO,
-                linkTo(methodOn(RoleController.class).findRoleById(roleDTO.id())).withSelfRel());
+                SELF.expand(baseUri, roleDTO.id()).withSelfRel());
     }
 }
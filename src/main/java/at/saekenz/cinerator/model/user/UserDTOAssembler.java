@@ -1,25 +1,34 @@
 package at.saekenz.cinerator.model.user;
 
 import at.saekenz.cinerator.controller.UserController;
+import at.saekenz.cinerator.util.LinkTemplate;
+import at.saekenz.cinerator.util.TemplatedModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Component
-public class UserDTOAssembler implements RepresentationModelAssembler<UserDTO, EntityModel<UserDTO>> {
+public class UserDTOAssembler extends TemplatedModelAssembler<UserDTO> {
+
+    private static final LinkTemplate SELF = template(methodOn(UserController.class).findById(null));
+    private static final LinkTemplate WATCHLIST = template(methodOn(UserController.class).findWatchlistByUser(null));
+    private static final LinkTemplate REVIEWS = template(methodOn(UserController.class).findReviewsByUser(null));
+    private static final LinkTemplate FOLLOWING = template(methodOn(UserController.class).findFollowingByUser(null));
+    private static final LinkTemplate FOLLOWERS = template(methodOn(UserController.class).findFollowersByUser(null));
+    private static final LinkTemplate LIKED_MOVIES =
+            template(methodOn(UserController.class).findMoviesLikedByUser(null));
 
     @Override
     public EntityModel<UserDTO> toModel(UserDTO userDTO) {
+        String baseUri = baseUri();
 
         return EntityModel.of(userDTO,
-                linkTo(methodOn(UserController.class).findById(userDTO.getId())).withSelfRel(),
-                linkTo(methodOn(UserController.class).findWatchlistByUser(userDTO.getId())).withRel("watchlist"),
-                linkTo(methodOn(UserController.class).findReviewsByUser(userDTO.getId())).withRel("reviews"),
-                linkTo(methodOn(UserController.class).findFollowingByUser(userDTO.getId())).withRel("following"),
-                linkTo(methodOn(UserController.class).findFollowersByUser(userDTO.getId())).withRel("followers"),
-                linkTo(methodOn(UserController.class).findMoviesLikedByUser(userDTO.getId())).withRel("likedMovies"));
+                SELF.expand(baseUri, userDTO.getId()).withSelfRel(),
+                WATCHLIST.expand(baseUri, userDTO.getId()).withRel("watchlist"),
+                REVIEWS.expand(baseUri, userDTO.getId()).withRel("reviews"),
+                FOLLOWING.expand(baseUri, userDTO.getId()).withRel("following"),
+                FOLLOWERS.expand(baseUri, userDTO.getId()).withRel("followers"),
+                LIKED_MOVIES.expand(baseUri, userDTO.getId()).withRel("likedMovies"));
     }
 }
@@ -0,0 +1,41 @@
+package at.saekenz.cinerator.model.user;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Latent factors of a {@link User} learned by the recommendation training job (see
+ * {@code RecommendationServiceImpl}). {@code factors} holds the vector as little-endian 32 bit floats.
+ */
+@Entity
+@Table(name = "user_factors")
+public class UserFactors {
+
+    @Id
+    private Long userId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "USR_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(nullable = false)
+    private byte[] factors;
+
+    public UserFactors() {}
+
+    public Long getUserId() { return userId; }
+
+    public User getUser() { return user; }
+
+    public byte[] getFactors() { return factors; }
+
+    @Override
+    public String toString() {
+        return "UserFactors{" +
+                "userId=" + userId +
+                '}';
+    }
+}
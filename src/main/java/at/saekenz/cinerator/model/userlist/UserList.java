@@ -1,6 +1,5 @@
 package at.saekenz.cinerator.model.userlist;
 
-import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.user.User;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -8,7 +7,6 @@ import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
-import java.util.Set;
 
 @Entity
 @Table(name = "userlists")
@@ -35,22 +33,13 @@ public class UserList {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
-    @ManyToMany
-    @JoinTable(
-            name = "userlist_movies",
-            joinColumns = @JoinColumn(name = "USRLIST_ID"),
-            inverseJoinColumns = @JoinColumn(name = "MOV_ID"))
-    private Set<Movie> movielist;
-
     public UserList() {}
 
-    public UserList(String name, String description, boolean isPrivate,
-                    User user, Set<Movie> movielist) {
+    public UserList(String name, String description, boolean isPrivate, User user) {
         this.name = name;
         this.description = description;
         this.isPrivate = isPrivate;
         this.user = user;
-        this.movielist = movielist;
     }
 
     public Long getId() {
@@ -100,20 +89,4 @@ public class UserList {
     public void setUser(User user) {
         this.user = user;
     }
-
-    public Set<Movie> getMovielist() {
-        return movielist;
-    }
-
-    public void setMovielist(Set<Movie> movielist) {
-        this.movielist = movielist;
-    }
-
-    public boolean addMovie(Movie movie) {
-        return movielist.add(movie);
-    }
-
-    public boolean removeMovieById(Long id) {
-        return movielist.removeIf(movie -> movie.getId().equals(id));
-    }
 }
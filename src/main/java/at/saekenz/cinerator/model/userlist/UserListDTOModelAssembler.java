@@ -1,24 +1,30 @@
 package at.saekenz.cinerator.model.userlist;
 
 import at.saekenz.cinerator.controller.UserListController;
+import at.saekenz.cinerator.util.LinkTemplate;
+import at.saekenz.cinerator.util.TemplatedModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Component
-public class UserListDTOModelAssembler implements RepresentationModelAssembler<UserListDTO, EntityModel<UserListDTO>> {
+public class UserListDTOModelAssembler extends TemplatedModelAssembler<UserListDTO> {
+
+    private static final LinkTemplate SELF = template(methodOn(UserListController.class).findById(null));
+    private static final LinkTemplate USER = template(methodOn(UserListController.class).findUserByUserList(null));
+    private static final LinkTemplate MOVIES =
+            template(methodOn(UserListController.class).findMoviesByUserList(null, 0, 0));
 
     @Override
     public EntityModel<UserListDTO> toModel(UserListDTO userListDTO) {
         Long userId = userListDTO.getUserId();
 
+        String baseUri = baseUri();
+
         return EntityModel.of(userListDTO,
-                linkTo(methodOn(UserListController.class).findById(userId)).withSelfRel(),
-                linkTo(methodOn(UserListController.class).findUserByUserList(userId)).withRel("user"),
-                linkTo(methodOn(UserListController.class).findMoviesByUserList(userId)).withRel("movies"));
+                SELF.expand(baseUri, userId).withSelfRel(),
+                USER.expand(baseUri, userId).withRel("user"),
+                MOVIES.expand(baseUri, userId).withRel("movies"));
     }
-
 }
@@ -0,0 +1,86 @@
+package at.saekenz.cinerator.model.userlist;
+
+import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.util.FractionalIndex;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * A {@link Movie} on a {@link UserList}. Entries are ordered by {@code position}, a key generated by
+ * {@link FractionalIndex} that sorts in byte order (hence the "C" collation). A new key can always be
+ * generated between two neighbours, so inserting or moving an entry only writes that entry.
+ */
+@Entity
+@Table(name = "userlist_entries")
+public class UserListEntry {
+
+    @EmbeddedId
+    private UserListEntryKey id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("userListId")
+    @JoinColumn(name = "USRLIST_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private UserList userList;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("movieId")
+    @JoinColumn(name = "MOV_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Movie movie;
+
+    @Column(nullable = false, columnDefinition = "varchar(255) COLLATE \"C\"")
+    private String position;
+
+    @Column(length = 1000)
+    private String note;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime addedAt;
+
+    public UserListEntry() {}
+
+    public UserListEntry(UserList userList, Movie movie, String position, String note) {
+        this.id = new UserListEntryKey(userList.getId(), movie.getId());
+        this.userList = userList;
+        this.movie = movie;
+        this.position = position;
+        this.note = note;
+    }
+
+    public UserListEntryKey getId() { return id; }
+
+    public void setId(UserListEntryKey id) { this.id = id; }
+
+    public UserList getUserList() { return userList; }
+
+    public void setUserList(UserList userList) { this.userList = userList; }
+
+    public Movie getMovie() { return movie; }
+
+    public void setMovie(Movie movie) { this.movie = movie; }
+
+    public String getPosition() { return position; }
+
+    public void setPosition(String position) { this.position = position; }
+
+    public String getNote() { return note; }
+
+    public void setNote(String note) { this.note = note; }
+
+    public LocalDateTime getAddedAt() { return addedAt; }
+
+    @Override
+    public String toString() {
+        return "UserListEntry{" +
+                "id=" + id +
+                ", position='" + position + '\'' +
+                ", addedAt=" + addedAt +
+                '}';
+    }
+}
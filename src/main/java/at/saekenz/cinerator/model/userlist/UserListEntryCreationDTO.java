@@ -0,0 +1,16 @@
+package at.saekenz.cinerator.model.userlist;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.hibernate.validator.constraints.Range;
+
+/**
+ * Adds a movie directly after {@code afterMovieId} or before {@code beforeMovieId} (at most one of them),
+ * or at the end of the list if neither is given.
+ */
+public record UserListEntryCreationDTO(@NotNull @Range(min = 1) Long movieId,
+                                       Long afterMovieId,
+                                       Long beforeMovieId,
+                                       @Size(max = 1000) String note) {
+
+}
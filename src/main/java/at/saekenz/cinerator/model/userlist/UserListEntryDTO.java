@@ -0,0 +1,14 @@
+package at.saekenz.cinerator.model.userlist;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param position ordering key of the entry, entries of a list are sorted by it (byte order)
+ */
+public record UserListEntryDTO(Long movieId,
+                               String title,
+                               String position,
+                               String note,
+                               LocalDateTime addedAt) {
+
+}
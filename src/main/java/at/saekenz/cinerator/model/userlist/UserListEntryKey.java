@@ -0,0 +1,50 @@
+package at.saekenz.cinerator.model.userlist;
+
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class UserListEntryKey implements Serializable {
+
+    Long userListId;
+
+    Long movieId;
+
+    public UserListEntryKey() {}
+
+    public UserListEntryKey(Long userListId, Long movieId) {
+        this.userListId = userListId;
+        this.movieId = movieId;
+    }
+
+    public Long getUserListId() { return userListId; }
+
+    public void setUserListId(Long userListId) { this.userListId = userListId; }
+
+    public Long getMovieId() { return movieId; }
+
+    public void setMovieId(Long movieId) { this.movieId = movieId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserListEntryKey userListEntryKey)) return false;
+        return Objects.equals(userListId, userListEntryKey.userListId)
+                && Objects.equals(movieId, userListEntryKey.movieId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userListId, movieId);
+    }
+
+    @Override
+    public String toString() {
+        return "UserListEntryKey{" +
+                "userListId=" + userListId +
+                ", movieId=" + movieId +
+                '}';
+    }
+}
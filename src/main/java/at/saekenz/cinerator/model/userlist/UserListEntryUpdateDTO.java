@@ -0,0 +1,13 @@
+package at.saekenz.cinerator.model.userlist;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * Moves an entry directly after {@code afterMovieId} or before {@code beforeMovieId} (at most one of them)
+ * and/or replaces its note. Fields that are {@code null} are left unchanged.
+ */
+public record UserListEntryUpdateDTO(Long afterMovieId,
+                                     Long beforeMovieId,
+                                     @Size(max = 1000) String note) {
+
+}
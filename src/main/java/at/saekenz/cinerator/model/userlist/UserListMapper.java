@@ -4,8 +4,6 @@ import at.saekenz.cinerator.model.user.User;
 import at.saekenz.cinerator.util.EntityMapper;
 import org.springframework.stereotype.Component;
 
-import java.util.Set;
-
 @Component
 public class UserListMapper implements EntityMapper<UserList, UserListDTO> {
 
@@ -26,15 +24,13 @@ public class UserListMapper implements EntityMapper<UserList, UserListDTO> {
         return new UserList(userListCreationDTO.name(),
                 userListCreationDTO.description(),
                 userListCreationDTO.isPrivate(),
-                user,
-                Set.of());
+                user);
     }
 
     public UserList toUserList(UserListDTO userListDTO, User user) {
         return new UserList(userListDTO.getName(),
                 userListDTO.getDescription(),
                 userListDTO.isPrivate(),
-                user,
-                Set.of());
+                user);
     }
 }
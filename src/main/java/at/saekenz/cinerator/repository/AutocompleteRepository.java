@@ -0,0 +1,57 @@
+package at.saekenz.cinerator.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.function.Consumer;
+
+/**
+ * Reads the titles and names the autocomplete index is built from together with their popularity:
+ * the number of reviews of a movie, and for a person the number of reviews of the movies they worked on.
+ * Callers are responsible for transaction handling.
+ */
+@Repository
+public class AutocompleteRepository {
+
+    private static final String REVIEW_COUNTS = """
+            SELECT r.mov_id, count(*) AS review_count
+            FROM reviews r
+            GROUP BY r.mov_id
+            """;
+
+    private static final String MOVIE_QUERY = """
+            SELECT m.id, m.title AS label, COALESCE(rc.review_count, 0) AS weight
+            FROM movies m
+            LEFT JOIN (%s) rc ON rc.mov_id = m.id
+            """.formatted(REVIEW_COUNTS);
+
+    private static final String PERSON_QUERY = """
+            SELECT p.id, p.name AS label, COALESCE(sum(rc.review_count), 0) AS weight
+            FROM persons p
+            LEFT JOIN (SELECT DISTINCT c.per_id, c.mov_id FROM castinfos c) pm ON pm.per_id = p.id
+            LEFT JOIN (%s) rc ON rc.mov_id = pm.mov_id
+            GROUP BY p.id, p.name
+            """.formatted(REVIEW_COUNTS);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AutocompleteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void forEachMovie(Consumer<AutocompleteRow> consumer) {
+        forEach(MOVIE_QUERY, consumer);
+    }
+
+    public void forEachPerson(Consumer<AutocompleteRow> consumer) {
+        forEach(PERSON_QUERY, consumer);
+    }
+
+    private void forEach(String sql, Consumer<AutocompleteRow> consumer) {
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> consumer.accept(
+                new AutocompleteRow(rs.getLong("id"), rs.getString("label"), rs.getLong("weight"))));
+    }
+
+    public record AutocompleteRow(long id, String label, long weight) {}
+}
@@ -0,0 +1,29 @@
+package at.saekenz.cinerator.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Streams the person-movie pairs of {@code castinfos} the cast graph is built from.
+ * Callers are responsible for transaction handling.
+ */
+@Repository
+public class CastGraphRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CastGraphRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @FunctionalInterface
+    public interface CastInfoHandler {
+        void accept(long personId, long movieId);
+    }
+
+    public void forEachCastInfo(CastInfoHandler handler) {
+        jdbcTemplate.query("SELECT per_id, mov_id FROM castinfos WHERE per_id IS NOT NULL AND mov_id IS NOT NULL",
+                (RowCallbackHandler) rs -> handler.accept(rs.getLong(1), rs.getLong(2)));
+    }
+}
@@ -1,11 +1,30 @@
 package at.saekenz.cinerator.repository;
 
 import at.saekenz.cinerator.model.country.Country;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+/**
+ * Country rows are reference data that hardly ever change. Entities are kept in Hibernate's
+ * second-level cache, the result lists of the lookups below in its query cache. Both are invalidated
+ * by Hibernate whenever a country is written through the persistence context.
+ */
 public interface CountryRepository extends JpaRepository<Country, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Country> findAll();
+
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Country> findAllById(Iterable<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Country> findByName(String name);
 }
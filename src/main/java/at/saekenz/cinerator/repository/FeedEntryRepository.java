@@ -0,0 +1,89 @@
+package at.saekenz.cinerator.repository;
+
+import at.saekenz.cinerator.model.feed.FeedEntry;
+import at.saekenz.cinerator.model.feed.FeedEntryKey;
+import at.saekenz.cinerator.model.review.ReviewDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and maintains the materialized home timelines ({@code feed_entries}). The write statements copy
+ * review ids in a single statement per event, callers are responsible for transaction handling.
+ */
+public interface FeedEntryRepository extends JpaRepository<FeedEntry, FeedEntryKey> {
+
+    @Query("SELECT new at.saekenz.cinerator.model.review.ReviewDTO(r.id, m.id, m.title, " +
+            "EXTRACT(YEAR FROM(m.releaseDate)), u.id, u.username, r.rating, r.isLiked, r.reviewDate, r.comment) " +
+            "FROM FeedEntry f " +
+            "JOIN f.review r " +
+            "JOIN r.user u " +
+            "JOIN r.movie m " +
+            "WHERE f.id.userId = :userId AND f.id.reviewId < :before " +
+            "ORDER BY f.id.reviewId DESC")
+    List<ReviewDTO> findFeedReviews(@Param("userId") Long userId, @Param("before") Long before, Limit limit);
+
+    @Query("SELECT new at.saekenz.cinerator.model.review.ReviewDTO(r.id, m.id, m.title, " +
+            "EXTRACT(YEAR FROM(m.releaseDate)), u.id, u.username, r.rating, r.isLiked, r.reviewDate, r.comment) " +
+            "FROM Review r " +
+            "JOIN r.user u " +
+            "JOIN r.movie m " +
+            "WHERE u.id IN :authorIds AND r.id < :before " +
+            "ORDER BY r.id DESC")
+    List<ReviewDTO> findReviewsByAuthors(@Param("authorIds") Collection<Long> authorIds,
+                                         @Param("before") Long before, Limit limit);
+
+    @Query("SELECT p.userId FROM FeedPullAuthor p, Follow f " +
+            "WHERE f.id.userId = p.userId AND f.id.followerId = :userId")
+    List<Long> findFollowedPullAuthorIds(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(p) > 0 FROM FeedPullAuthor p WHERE p.userId = :userId")
+    boolean isPullAuthor(@Param("userId") Long userId);
+
+    /**
+     * Counts the followers of {@link at.saekenz.cinerator.model.user.User} with {@code userId}, but stops
+     * at {@code limit}, so users with huge follower counts are not scanned completely.
+     */
+    @Query(value = "SELECT count(*) FROM (SELECT 1 FROM followers WHERE usr_id = :userId LIMIT :limit) f",
+            nativeQuery = true)
+    long countFollowersUpTo(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO feed_pull_authors (usr_id, created_at) VALUES (:userId, now()) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertPullAuthor(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO feed_entries (usr_id, rev_id, created_at) " +
+            "SELECT f.fol_id, :reviewId, now() FROM followers f WHERE f.usr_id = :authorId " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int fanOut(@Param("authorId") Long authorId, @Param("reviewId") Long reviewId);
+
+    @Modifying
+    @Query(value = "INSERT INTO feed_entries (usr_id, rev_id, created_at) " +
+            "SELECT :followerId, r.id, now() FROM reviews r WHERE r.usr_id = :authorId " +
+            "ORDER BY r.id DESC LIMIT :limit " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int backfill(@Param("authorId") Long authorId, @Param("followerId") Long followerId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM feed_entries fe USING reviews r " +
+            "WHERE fe.rev_id = r.id AND fe.usr_id = :followerId AND r.usr_id = :authorId", nativeQuery = true)
+    int deleteByAuthor(@Param("authorId") Long authorId, @Param("followerId") Long followerId);
+
+    /**
+     * Removes every entry of a timeline that is older than its newest {@code maxEntries} entries.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM feed_entries fe " +
+            "USING (SELECT usr_id, rev_id, " +
+            "row_number() OVER (PARTITION BY usr_id ORDER BY rev_id DESC) AS position " +
+            "FROM feed_entries) t " +
+            "WHERE fe.usr_id = t.usr_id AND fe.rev_id = t.rev_id AND t.position > :maxEntries", nativeQuery = true)
+    int trimTimelines(@Param("maxEntries") int maxEntries);
+}
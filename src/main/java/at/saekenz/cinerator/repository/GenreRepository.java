@@ -1,9 +1,26 @@
 package at.saekenz.cinerator.repository;
 
-
 import at.saekenz.cinerator.model.genre.Genre;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+/**
+ * Genre rows are reference data that hardly ever change. Entities are kept in Hibernate's
+ * second-level cache, the result lists of the lookups below in its query cache. Both are invalidated
+ * by Hibernate whenever a genre is written through the persistence context.
+ */
 public interface GenreRepository extends JpaRepository<Genre, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Genre> findAll();
+
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Genre> findAllById(Iterable<Long> ids);
 }
@@ -0,0 +1,41 @@
+package at.saekenz.cinerator.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Reads the IMDb ids of the movies for the in-memory id map. Both queries are answered by the unique
+ * index on movies.imdb_id, which works because ids are stored normalized (see
+ * {@link at.saekenz.cinerator.model.movie.Movie#normalizeImdbId}).
+ * Callers are responsible for transaction handling.
+ */
+@Repository
+public class ImdbIdRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImdbIdRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void forEachMovie(Consumer<ImdbIdRow> consumer) {
+        jdbcTemplate.query("SELECT id, imdb_id FROM movies", (RowCallbackHandler) rs -> consumer.accept(
+                new ImdbIdRow(rs.getLong("id"), rs.getString("imdb_id"))));
+    }
+
+    /**
+     * @param imdbId normalized IMDb id
+     * @return id of the movie with {@code imdbId}
+     */
+    public Optional<Long> findMovieId(String imdbId) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM movies WHERE imdb_id = ?", Long.class, imdbId);
+        return ids.stream().findFirst();
+    }
+
+    public record ImdbIdRow(long movieId, String imdbId) {}
+}
@@ -0,0 +1,109 @@
+package at.saekenz.cinerator.repository;
+
+import at.saekenz.cinerator.model.movie.Movie;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes {@link Movie} rows (and their join table rows) with plain JDBC batch inserts. Used for bulk
+ * imports, where going through the persistence context would mean one INSERT round trip per row.
+ * Callers are responsible for transaction handling.
+ */
+@Repository
+public class MovieBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public MovieBatchRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public record JoinRow(Long movieId, Long referenceId) {}
+
+    public record CastInfoRow(Long movieId, Long personId, Long roleId, String characterName) {}
+
+    /**
+     * Reserves {@code count} values of the identity sequence of the movies table with a single query,
+     * so movies can be inserted in batches with known ids.
+     *
+     * @param count number of ids to reserve
+     * @return {@link List} of reserved ids
+     */
+    public List<Long> reserveMovieIds(int count) {
+        return jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('movies', 'id')) FROM generate_series(1, ?)",
+                Long.class, count);
+    }
+
+    public void insertMovies(List<Movie> movies) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO movies (id, title, release_date, runtime, imdb_id, poster_url) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                movies, BATCH_SIZE, (ps, movie) -> {
+                    ps.setLong(1, movie.getId());
+                    ps.setString(2, movie.getTitle());
+                    ps.setDate(3, Date.valueOf(movie.getReleaseDate()));
+                    ps.setString(4, movie.getRuntime());
+                    ps.setString(5, movie.getImdbId());
+                    ps.setString(6, movie.getPosterUrl());
+                });
+
+        // Empty statistics row (all counters default to 0), normally created by Hibernate with the movie
+        jdbcTemplate.batchUpdate("INSERT INTO movie_stats (mov_id) VALUES (?)",
+                movies, BATCH_SIZE, (ps, movie) -> ps.setLong(1, movie.getId()));
+    }
+
+    public void insertMovieGenres(List<JoinRow> rows) {
+        insertJoinRows("INSERT INTO movie_genres (mov_id, gen_id) VALUES (?, ?)", rows);
+    }
+
+    public void insertMovieCountries(List<JoinRow> rows) {
+        insertJoinRows("INSERT INTO movie_countries (mov_id, cou_id) VALUES (?, ?)", rows);
+    }
+
+    public void insertCastInfos(List<CastInfoRow> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO castinfos (mov_id, per_id, role_id, character_name) VALUES (?, ?, ?, ?)",
+                rows, BATCH_SIZE, (ps, row) -> {
+                    ps.setLong(1, row.movieId());
+                    ps.setLong(2, row.personId());
+                    ps.setLong(3, row.roleId());
+                    ps.setString(4, row.characterName());
+                });
+    }
+
+    public Set<Long> findExistingPersonIds(Collection<Long> ids) {
+        if (ids.isEmpty()) { return Set.of(); }
+
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT id FROM persons WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), Long.class));
+    }
+
+    public Set<String> findExistingImdbIds(Collection<String> normalizedImdbIds) {
+        if (normalizedImdbIds.isEmpty()) { return Set.of(); }
+
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT imdb_id FROM movies WHERE imdb_id IN (:imdbIds)",
+                new MapSqlParameterSource("imdbIds", normalizedImdbIds), String.class));
+    }
+
+    private void insertJoinRows(String sql, List<JoinRow> rows) {
+        jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.movieId());
+            ps.setLong(2, row.referenceId());
+        });
+    }
+}
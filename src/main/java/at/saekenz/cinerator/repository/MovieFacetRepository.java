@@ -0,0 +1,76 @@
+package at.saekenz.cinerator.repository;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reads the attributes of movies the faceted search index is built from, with the names of their genres
+ * and countries aggregated into arrays by the database.
+ * Callers are responsible for transaction handling.
+ */
+@Repository
+public class MovieFacetRepository {
+
+    private static final String FACET_QUERY = """
+            SELECT m.id, m.title, m.release_date, m.runtime,
+                   ARRAY(SELECT g.name
+                         FROM movie_genres mg
+                         JOIN genres g ON g.id = mg.gen_id
+                         WHERE mg.mov_id = m.id) AS genres,
+                   ARRAY(SELECT c.name
+                         FROM movie_countries mc
+                         JOIN countries c ON c.id = mc.cou_id
+                         WHERE mc.mov_id = m.id) AS countries
+            FROM movies m
+            """;
+
+    private static final RowMapper<MovieFacetRow> FACET_ROW_MAPPER = (rs, rowNum) -> new MovieFacetRow(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getObject("release_date", LocalDate.class),
+            rs.getString("runtime"),
+            toList(rs.getArray("genres")),
+            toList(rs.getArray("countries")));
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public MovieFacetRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public void forEachMovie(Consumer<MovieFacetRow> consumer) {
+        namedParameterJdbcTemplate.query(FACET_QUERY,
+                (RowCallbackHandler) rs -> consumer.accept(FACET_ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    /**
+     * @return rows of the movies identified by {@code ids}, ids without a matching movie are skipped
+     */
+    public List<MovieFacetRow> findAllByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) { return List.of(); }
+
+        return namedParameterJdbcTemplate.query(FACET_QUERY + "WHERE m.id IN (:ids)",
+                new MapSqlParameterSource("ids", Set.copyOf(ids)), FACET_ROW_MAPPER);
+    }
+
+    private static List<String> toList(Array array) throws SQLException {
+        return array == null ? List.of()
+                : Arrays.stream((String[]) array.getArray()).filter(Objects::nonNull).toList();
+    }
+
+    public record MovieFacetRow(long id, String title, LocalDate releaseDate, String runtime,
+                                List<String> genres, List<String> countries) {}
+}
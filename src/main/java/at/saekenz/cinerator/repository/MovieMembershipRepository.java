@@ -0,0 +1,136 @@
+package at.saekenz.cinerator.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Reads and writes the join tables of watchlists ({@code user_watchlist}) and user lists
+ * ({@code userlist_entries}) directly, so membership changes never have to initialize the movie
+ * collection of a {@link at.saekenz.cinerator.model.user.User} or load the entries of a
+ * {@link at.saekenz.cinerator.model.userlist.UserList}.
+ * The batch methods write every row with a single statement (or JDBC batch), callers are responsible for
+ * transaction handling.
+ */
+@Repository
+public class MovieMembershipRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public MovieMembershipRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public List<Long> findMovieIds(MovieList list, Long ownerId) {
+        return jdbcTemplate.queryForList(
+                String.format("SELECT mov_id FROM %s WHERE %s = ?", list.table, list.ownerColumn),
+                Long.class, ownerId);
+    }
+
+    /**
+     * Not supported for {@link MovieList#USER_LIST}, user list entries need a position and are inserted by
+     * {@link UserListEntryRepository#insertEntry}.
+     *
+     * @return {@code true} if the movie was added, {@code false} if it already was part of the list
+     */
+    public boolean insert(MovieList list, Long ownerId, Long movieId) {
+        if (list == MovieList.USER_LIST) {
+            throw new IllegalArgumentException("User list entries need a position, use UserListEntryRepository!");
+        }
+
+        return jdbcTemplate.update(
+                String.format("INSERT INTO %s (%s, mov_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                        list.table, list.ownerColumn),
+                ownerId, movieId) == 1;
+    }
+
+    /**
+     * @return {@code true} if the movie was removed, {@code false} if it was not part of the list
+     */
+    public boolean delete(MovieList list, Long ownerId, Long movieId) {
+        return jdbcTemplate.update(
+                String.format("DELETE FROM %s WHERE %s = ? AND mov_id = ?", list.table, list.ownerColumn),
+                ownerId, movieId) == 1;
+    }
+
+    public Set<Long> findExistingMovieIds(Collection<Long> movieIds) {
+        if (movieIds.isEmpty()) { return Set.of(); }
+
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT id FROM movies WHERE id IN (:movieIds)",
+                new MapSqlParameterSource("movieIds", movieIds), Long.class));
+    }
+
+    /**
+     * Batch version of {@link #insert}, movies that already are part of the list are skipped. Not supported for
+     * {@link MovieList#USER_LIST}, see {@link #insertUserListEntries}.
+     */
+    public void insertAll(MovieList list, Long ownerId, List<Long> movieIds) {
+        if (list == MovieList.USER_LIST) {
+            throw new IllegalArgumentException("User list entries need a position, use insertUserListEntries!");
+        }
+
+        jdbcTemplate.batchUpdate(
+                String.format("INSERT INTO %s (%s, mov_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                        list.table, list.ownerColumn),
+                movieIds, BATCH_SIZE, (ps, movieId) -> {
+                    ps.setLong(1, ownerId);
+                    ps.setLong(2, movieId);
+                });
+    }
+
+    /**
+     * Inserts the entries of {@code movieIds} (without a note), movies that already are part of the user list
+     * are skipped. The entry of {@code movieIds[i]} is placed at {@code positions[i]}, the positions are
+     * generated by the caller (see {@link UserListEntryRepository#findLastPosition}).
+     */
+    public void insertUserListEntries(Long userListId, List<Long> movieIds, List<String> positions) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO userlist_entries (usrlist_id, mov_id, position, added_at) VALUES (?, ?, ?, now()) " +
+                        "ON CONFLICT (usrlist_id, mov_id) DO NOTHING",
+                IntStream.range(0, movieIds.size()).boxed().toList(), BATCH_SIZE, (ps, i) -> {
+                    ps.setLong(1, userListId);
+                    ps.setLong(2, movieIds.get(i));
+                    ps.setString(3, positions.get(i));
+                });
+    }
+
+    /**
+     * Batch version of {@link #delete}, removes every movie of {@code movieIds} with a single statement.
+     */
+    public void deleteAll(MovieList list, Long ownerId, Collection<Long> movieIds) {
+        if (movieIds.isEmpty()) { return; }
+
+        namedParameterJdbcTemplate.update(
+                String.format("DELETE FROM %s WHERE %s = :ownerId AND mov_id IN (:movieIds)",
+                        list.table, list.ownerColumn),
+                new MapSqlParameterSource("ownerId", ownerId).addValue("movieIds", movieIds));
+    }
+
+    /**
+     * Join tables holding movies that belong to an owner.
+     */
+    public enum MovieList {
+        WATCHLIST("user_watchlist", "usr_id"),
+        USER_LIST("userlist_entries", "usrlist_id");
+
+        private final String table;
+        private final String ownerColumn;
+
+        MovieList(String table, String ownerColumn) {
+            this.table = table;
+            this.ownerColumn = ownerColumn;
+        }
+    }
+}
@@ -3,15 +3,18 @@ package at.saekenz.cinerator.repository;
 import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.person.Person;
 import at.saekenz.cinerator.model.review.Review;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+public interface MovieRepository extends JpaRepository<Movie, Long>, JpaSpecificationExecutor<Movie> {
 
     List<Movie> findByGenres_Name(@Param("genre") String genre);
 
@@ -23,8 +26,30 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
     @Query("SELECT m FROM Movie m WHERE EXTRACT(YEAR FROM m.releaseDate) = :yearReleased")
     List<Movie> findByYearReleased(@Param("yearReleased") int yearReleased);
 
-    @Query("SELECT m FROM Movie m WHERE LOWER(m.imdbId) = LOWER(:imdbId)")
-    Optional<Movie> findByImdbId(@Param("imdbId") String imdbId);
+    // imdbId is stored normalized (see Movie.normalizeImdbId), the unique index answers both lookups
+    boolean existsByImdbId(String imdbId);
+
+    boolean existsByImdbIdAndIdNot(String imdbId, Long id);
+
+    /**
+     * Loads a {@link Movie} with its genres and countries. Together with {@link #findWithCastById}
+     * (called in the same transaction) this initializes everything a movie detail page needs with two
+     * statements, without the cartesian product of fetching all three collections at once.
+     */
+    @EntityGraph(attributePaths = {"genres", "countries"})
+    @Query("SELECT m FROM Movie m WHERE m.id = :id")
+    Optional<Movie> findWithGenresAndCountriesById(@Param("id") Long id);
+
+    @Query("SELECT m FROM Movie m " +
+            "LEFT JOIN FETCH m.castInfos c " +
+            "LEFT JOIN FETCH c.person p " +
+            "LEFT JOIN FETCH p.birthCountry " +
+            "LEFT JOIN FETCH c.role " +
+            "WHERE m.id = :id")
+    Optional<Movie> findWithCastById(@Param("id") Long id);
+
+    @Query("SELECT m.id FROM Movie m WHERE m.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT r FROM Movie m JOIN m.reviews r WHERE " +
             "m.id = :movieId AND r.id = :reviewId")
@@ -38,21 +63,15 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
             "c.role.id = 2 AND m.id = :movieId")
     List<Person> findDirectorsByMovieId(@Param("movieId") Long movieId);
 
+    @Query("SELECT m.id FROM Movie m WHERE m.id > :lastId ORDER BY m.id")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
 
+    @Query("SELECT DISTINCT m FROM Movie m LEFT JOIN FETCH m.genres LEFT JOIN FETCH m.countries WHERE " +
+            "m.id IN :ids ORDER BY m.id")
+    List<Movie> findAllWithGenresAndCountriesByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT m FROM Movie m LEFT JOIN m.genres g LEFT JOIN m.countries c WHERE " +
-            "(LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%')) OR :title IS NULL) AND " +
-            "(m.releaseDate = :releaseDate OR CAST(:releaseDate as timestamp) IS NULL) AND " +
-            "(CAST(EXTRACT(YEAR FROM m.releaseDate) AS INTEGER) = :releaseYear OR :releaseYear IS NULL) AND " +
-            "(LOWER(m.runtime) LIKE LOWER(CONCAT('%', :runtime, '%')) OR :runtime IS NULL) AND " +
-            "(LOWER(m.imdbId) LIKE LOWER(CONCAT('%', :imdbId, '%')) OR :imdbId IS NULL) AND " +
-            "(LOWER(g.name) LIKE LOWER(CONCAT('%', :genre, '%')) OR :genre IS NULL) AND " +
-            "(LOWER(c.name) LIKE LOWER(CONCAT('%', :country, '%')) OR :country IS NULL)")
-    List<Movie> findMoviesBySearchParams(@Param("title") String title,
-                                         @Param("releaseDate") LocalDate releaseDate,
-                                         @Param("releaseYear") Integer releaseYear,
-                                         @Param("runtime") String runtime,
-                                         @Param("imdbId") String imdbId,
-                                         @Param("genre") String genre,
-                                         @Param("country") String country);
+    // Initializes the castInfos of movies already loaded into the persistence context
+    @Query("SELECT DISTINCT m FROM Movie m LEFT JOIN FETCH m.castInfos c LEFT JOIN FETCH c.person " +
+            "LEFT JOIN FETCH c.role WHERE m.id IN :ids")
+    List<Movie> fetchCastInfosByIdIn(@Param("ids") Collection<Long> ids);
 }
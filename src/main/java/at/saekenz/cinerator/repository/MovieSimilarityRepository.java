@@ -0,0 +1,114 @@
+package at.saekenz.cinerator.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads the signals the movie recommendations are derived from and maintains the precomputed neighbours
+ * ({@code movie_similarities}) and the refresh queue ({@code movie_similarity_refresh}). Callers are
+ * responsible for transaction handling.
+ */
+@Repository
+public class MovieSimilarityRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovieSimilarityRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A signal connecting a movie with something else (a user, a list or a person).
+     */
+    @FunctionalInterface
+    public interface SignalHandler {
+        void accept(long movieId, long referenceId);
+    }
+
+    /**
+     * Users who liked or rated a movie with at least 4 stars.
+     */
+    public void forEachLike(SignalHandler handler) {
+        stream("SELECT mov_id, usr_id FROM reviews WHERE is_liked OR rating >= 4", handler);
+    }
+
+    public void forEachListMembership(SignalHandler handler) {
+        stream("SELECT mov_id, usrlist_id FROM userlist_entries", handler);
+    }
+
+    public void forEachWatchlistMembership(SignalHandler handler) {
+        stream("SELECT mov_id, usr_id FROM user_watchlist", handler);
+    }
+
+    public void forEachCastMember(SignalHandler handler) {
+        stream("SELECT DISTINCT mov_id, per_id FROM castinfos", handler);
+    }
+
+    public List<Long> findSimilarMovieIds(Long movieId) {
+        return jdbcTemplate.queryForList(
+                "SELECT similar_mov_id FROM movie_similarities WHERE mov_id = ? ORDER BY similarity_rank",
+                Long.class, movieId);
+    }
+
+    public void markForRefresh(Long movieId) {
+        jdbcTemplate.update("INSERT INTO movie_similarity_refresh (mov_id) VALUES (?) ON CONFLICT DO NOTHING",
+                movieId);
+    }
+
+    public void markForRefresh(Collection<Long> movieIds) {
+        jdbcTemplate.batchUpdate("INSERT INTO movie_similarity_refresh (mov_id) VALUES (?) ON CONFLICT DO NOTHING",
+                List.copyOf(movieIds), BATCH_SIZE, (ps, movieId) -> ps.setLong(1, movieId));
+    }
+
+    /**
+     * Puts claimed movies back into the refresh queue (see {@link #claimRefreshQueue}). Movies that were
+     * deleted in the meantime are skipped, so a single statement re-queues all the others.
+     */
+    public void requeue(Collection<Long> movieIds) {
+        jdbcTemplate.update("INSERT INTO movie_similarity_refresh (mov_id) SELECT id FROM movies WHERE id = ANY(?) " +
+                        "ON CONFLICT DO NOTHING",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", movieIds.toArray())));
+    }
+
+    /**
+     * Removes every movie from the refresh queue.
+     *
+     * @return ids of the removed movies
+     */
+    public List<Long> claimRefreshQueue() {
+        return jdbcTemplate.queryForList("DELETE FROM movie_similarity_refresh RETURNING mov_id", Long.class);
+    }
+
+    public void deleteAll() {
+        jdbcTemplate.update("DELETE FROM movie_similarities");
+        jdbcTemplate.update("DELETE FROM movie_similarity_refresh");
+    }
+
+    public void deleteByMovieIds(Collection<Long> movieIds) {
+        jdbcTemplate.batchUpdate("DELETE FROM movie_similarities WHERE mov_id = ?",
+                List.copyOf(movieIds), BATCH_SIZE, (ps, movieId) -> ps.setLong(1, movieId));
+    }
+
+    public void insertAll(List<SimilarityRow> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO movie_similarities (mov_id, similar_mov_id, score, similarity_rank) VALUES (?, ?, ?, ?)",
+                rows, BATCH_SIZE, (ps, row) -> {
+                    ps.setLong(1, row.movieId());
+                    ps.setLong(2, row.similarMovieId());
+                    ps.setDouble(3, row.score());
+                    ps.setInt(4, row.rank());
+                });
+    }
+
+    public record SimilarityRow(long movieId, long similarMovieId, double score, int rank) {}
+
+    private void stream(String sql, SignalHandler handler) {
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> handler.accept(rs.getLong(1), rs.getLong(2)));
+    }
+}
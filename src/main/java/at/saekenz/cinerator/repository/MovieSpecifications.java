@@ -0,0 +1,97 @@
+package at.saekenz.cinerator.repository;
+
+import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.movie.MovieSearchCriteria;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static at.saekenz.cinerator.repository.SearchPredicates.containsIgnoreCase;
+import static at.saekenz.cinerator.repository.SearchPredicates.hasText;
+import static at.saekenz.cinerator.repository.SearchPredicates.isCountQuery;
+
+/**
+ * Builds {@link Specification} objects for {@link Movie} searches. Only parameters that were actually
+ * supplied are turned into predicates, which keeps the generated SQL simple enough for Postgres to use
+ * the trigram (lower(title), lower(name)) and B-tree (release_date) indexes created in
+ * {@code db/trigram-indexes.sql} and {@code db/search-indexes.sql}. Genre and country filters are expressed as correlated EXISTS
+ * sub-queries instead of joins, so a movie is never returned (or counted) more than once.
+ */
+public final class MovieSpecifications {
+
+    private MovieSpecifications() {
+
+    }
+
+    /**
+     * Creates a {@link Specification} matching every {@link Movie} that fulfills all supplied criteria.
+     * If a title is part of the criteria, results are ranked by relevance (exact match, prefix match,
+     * word prefix match and finally substring match; shorter titles first). Otherwise, they are ordered
+     * by {@code id}. The ranking is only applied if the caller does not request an explicit sort order.
+     *
+     * @param criteria parameters of the search
+     * @return {@link Specification} for the search
+     */
+    public static Specification<Movie> matching(MovieSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (hasText(criteria.title())) {
+                predicates.add(containsIgnoreCase(cb, root.<String>get("title"), criteria.title()));
+            }
+            if (criteria.releaseDate() != null) {
+                predicates.add(cb.equal(root.<LocalDate>get("releaseDate"), criteria.releaseDate()));
+            }
+            if (criteria.releaseYear() != null) {
+                // Range instead of EXTRACT(YEAR ...) so the release_date index can be used
+                LocalDate firstDay = LocalDate.of(criteria.releaseYear(), 1, 1);
+                predicates.add(cb.greaterThanOrEqualTo(root.<LocalDate>get("releaseDate"), firstDay));
+                predicates.add(cb.lessThan(root.<LocalDate>get("releaseDate"), firstDay.plusYears(1)));
+            }
+            if (hasText(criteria.runtime())) {
+                predicates.add(containsIgnoreCase(cb, root.<String>get("runtime"), criteria.runtime()));
+            }
+            if (hasText(criteria.imdbId())) {
+                predicates.add(containsIgnoreCase(cb, root.<String>get("imdbId"), criteria.imdbId()));
+            }
+            if (hasText(criteria.genre())) {
+                predicates.add(hasAssociatedName(root, query, cb, "genres", criteria.genre()));
+            }
+            if (hasText(criteria.country())) {
+                predicates.add(hasAssociatedName(root, query, cb, "countries", criteria.country()));
+            }
+
+            if (!isCountQuery(query) && query.getOrderList().isEmpty()) {
+                query.orderBy(relevanceOrder(root, cb, criteria));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static Predicate hasAssociatedName(Root<Movie> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                               String association, String name) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<Movie> correlatedRoot = subquery.correlate(root);
+        Join<Movie, ?> joined = correlatedRoot.join(association);
+
+        subquery.select(joined.<Long>get("id"))
+                .where(containsIgnoreCase(cb, joined.<String>get("name"), name));
+
+        return cb.exists(subquery);
+    }
+
+    private static List<Order> relevanceOrder(Root<Movie> root, CriteriaBuilder cb, MovieSearchCriteria criteria) {
+        List<Order> orders = new ArrayList<>();
+
+        if (hasText(criteria.title())) {
+            orders.addAll(SearchPredicates.relevanceOrder(cb, root.<String>get("title"), criteria.title()));
+        }
+        orders.add(cb.asc(root.<Long>get("id")));
+
+        return orders;
+    }
+}
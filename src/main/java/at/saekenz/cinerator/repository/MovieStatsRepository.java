@@ -0,0 +1,135 @@
+package at.saekenz.cinerator.repository;
+
+import at.saekenz.cinerator.model.movie.MovieStats;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Maintains the {@code movie_stats} rows backing {@link MovieStats}. All updates are relative
+ * ({@code column = column + delta}), so concurrent review writes for the same movie do not overwrite
+ * each other. Callers are responsible for transaction handling.
+ */
+@Repository
+public class MovieStatsRepository {
+
+    private static final String APPLY_DELTA = """
+            UPDATE movie_stats
+            SET review_count = review_count + ?,
+                rating_sum = rating_sum + ?,
+                rating_1_count = rating_1_count + ?,
+                rating_2_count = rating_2_count + ?,
+                rating_3_count = rating_3_count + ?,
+                rating_4_count = rating_4_count + ?,
+                rating_5_count = rating_5_count + ?,
+                like_count = like_count + ?,
+                average_rating = CASE WHEN review_count + ? > 0
+                                      THEN (rating_sum + ?)::double precision / (review_count + ?)
+                                      ELSE 0 END,
+                version = version + 1
+            WHERE mov_id = ?
+            """;
+
+    private static final String INSERT_MISSING = """
+            INSERT INTO movie_stats (mov_id)
+            SELECT m.id FROM movies m
+            WHERE NOT EXISTS (SELECT 1 FROM movie_stats s WHERE s.mov_id = m.id)
+            """;
+
+    private static final String REBUILD = """
+            UPDATE movie_stats s
+            SET review_count = COALESCE(a.review_count, 0),
+                rating_sum = COALESCE(a.rating_sum, 0),
+                rating_1_count = COALESCE(a.rating_1_count, 0),
+                rating_2_count = COALESCE(a.rating_2_count, 0),
+                rating_3_count = COALESCE(a.rating_3_count, 0),
+                rating_4_count = COALESCE(a.rating_4_count, 0),
+                rating_5_count = COALESCE(a.rating_5_count, 0),
+                like_count = COALESCE(a.like_count, 0),
+                average_rating = COALESCE(a.rating_sum::double precision / a.review_count, 0),
+                version = s.version + 1
+            FROM movies m
+            LEFT JOIN (SELECT r.mov_id,
+                              count(*) AS review_count,
+                              sum(r.rating) AS rating_sum,
+                              count(*) FILTER (WHERE r.rating = 1) AS rating_1_count,
+                              count(*) FILTER (WHERE r.rating = 2) AS rating_2_count,
+                              count(*) FILTER (WHERE r.rating = 3) AS rating_3_count,
+                              count(*) FILTER (WHERE r.rating = 4) AS rating_4_count,
+                              count(*) FILTER (WHERE r.rating = 5) AS rating_5_count,
+                              count(*) FILTER (WHERE r.is_liked) AS like_count
+                       FROM reviews r
+                       GROUP BY r.mov_id) a ON a.mov_id = m.id
+            WHERE s.mov_id = m.id
+              AND (s.review_count, s.rating_sum, s.rating_1_count, s.rating_2_count, s.rating_3_count,
+                   s.rating_4_count, s.rating_5_count, s.like_count) IS DISTINCT FROM
+                  (COALESCE(a.review_count, 0), COALESCE(a.rating_sum, 0), COALESCE(a.rating_1_count, 0),
+                   COALESCE(a.rating_2_count, 0), COALESCE(a.rating_3_count, 0), COALESCE(a.rating_4_count, 0),
+                   COALESCE(a.rating_5_count, 0), COALESCE(a.like_count, 0))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovieStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds {@code delta} to the statistics of the movie identified by {@code movieId}.
+     *
+     * @param movieId id of the movie
+     * @param delta changes of the single counters (may be negative)
+     * @return number of updated rows (0 if the movie has no statistics row)
+     */
+    public int applyDelta(Long movieId, MovieStatsDelta delta) {
+        long[] ratingCounts = delta.ratingCounts();
+        return jdbcTemplate.update(APPLY_DELTA,
+                delta.reviewCount(), delta.ratingSum(),
+                ratingCounts[0], ratingCounts[1], ratingCounts[2], ratingCounts[3], ratingCounts[4],
+                delta.likeCount(),
+                delta.reviewCount(), delta.ratingSum(), delta.reviewCount(),
+                movieId);
+    }
+
+    /**
+     * Creates missing statistics rows and recomputes every row from the reviews table. Only rows that
+     * drifted are written, so the {@code version} of unchanged rows (and the ETags of their movies) stays
+     * the same.
+     *
+     * @return number of rebuilt rows
+     */
+    public int rebuildAll() {
+        jdbcTemplate.update(INSERT_MISSING);
+        return jdbcTemplate.update(REBUILD);
+    }
+
+    /**
+     * Change of the statistics of one movie caused by adding, editing or removing reviews.
+     */
+    public record MovieStatsDelta(long reviewCount, long ratingSum, long[] ratingCounts, long likeCount) {
+
+        public static MovieStatsDelta added(int rating, boolean liked) {
+            return ofReview(rating, liked, 1);
+        }
+
+        public static MovieStatsDelta removed(int rating, boolean liked) {
+            return ofReview(rating, liked, -1);
+        }
+
+        private static MovieStatsDelta ofReview(int rating, boolean liked, int sign) {
+            long[] ratingCounts = new long[5];
+            if (rating >= 1 && rating <= 5) {
+                ratingCounts[rating - 1] = sign;
+            }
+            return new MovieStatsDelta(sign, (long) sign * rating, ratingCounts, liked ? sign : 0);
+        }
+
+        public MovieStatsDelta plus(MovieStatsDelta other) {
+            long[] ratingCounts = new long[5];
+            for (int i = 0; i < ratingCounts.length; i++) {
+                ratingCounts[i] = this.ratingCounts[i] + other.ratingCounts[i];
+            }
+            return new MovieStatsDelta(reviewCount + other.reviewCount, ratingSum + other.ratingSum,
+                    ratingCounts, likeCount + other.likeCount);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package at.saekenz.cinerator.repository;
+
+import at.saekenz.cinerator.model.movie.MovieStatsDTO;
+import at.saekenz.cinerator.model.movie.MovieSummaryView;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads {@link MovieSummaryView} rows for a set of movie ids with one query. Directors, genres and
+ * countries are aggregated by the database ({@code string_agg}) instead of being collected from the
+ * lazy associations of each {@link at.saekenz.cinerator.model.movie.Movie}. Review statistics are read
+ * from the precomputed {@code movie_stats} row.
+ */
+@Repository
+public class MovieSummaryRepository {
+
+    private static final String SUMMARY_QUERY = """
+            SELECT m.id, m.title, m.release_date, m.runtime, m.imdb_id, m.poster_url,
+                   COALESCE(s.review_count, 0) AS review_count, COALESCE(s.average_rating, 0) AS average_rating,
+                   COALESCE(s.like_count, 0) AS like_count,
+                   COALESCE(s.rating_1_count, 0) AS rating_1_count, COALESCE(s.rating_2_count, 0) AS rating_2_count,
+                   COALESCE(s.rating_3_count, 0) AS rating_3_count, COALESCE(s.rating_4_count, 0) AS rating_4_count,
+                   COALESCE(s.rating_5_count, 0) AS rating_5_count,
+                   COALESCE((SELECT string_agg(p.name, ', ' ORDER BY p.name)
+                             FROM castinfos ci
+                             JOIN persons p ON p.id = ci.per_id
+                             JOIN roles r ON r.id = ci.role_id
+                             WHERE ci.mov_id = m.id AND r.role = 'Director'), '') AS director,
+                   COALESCE((SELECT string_agg(g.name, ', ' ORDER BY g.name)
+                             FROM movie_genres mg
+                             JOIN genres g ON g.id = mg.gen_id
+                             WHERE mg.mov_id = m.id), '') AS genre,
+                   COALESCE((SELECT string_agg(c.name, ', ' ORDER BY c.name)
+                             FROM movie_countries mc
+                             JOIN countries c ON c.id = mc.cou_id
+                             WHERE mc.mov_id = m.id), '') AS country
+            FROM movies m
+            LEFT JOIN movie_stats s ON s.mov_id = m.id
+            WHERE m.id IN (:ids)
+            """;
+
+    private static final RowMapper<MovieSummaryView> SUMMARY_ROW_MAPPER = (rs, rowNum) -> new MovieSummaryView(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getObject("release_date", LocalDate.class),
+            rs.getString("runtime"),
+            rs.getString("director"),
+            rs.getString("genre"),
+            rs.getString("country"),
+            rs.getString("imdb_id"),
+            rs.getString("poster_url"),
+            new MovieStatsDTO(rs.getLong("review_count"), rs.getDouble("average_rating"), rs.getLong("like_count"),
+                    MovieStatsDTO.histogram(rs.getLong("rating_1_count"), rs.getLong("rating_2_count"),
+                            rs.getLong("rating_3_count"), rs.getLong("rating_4_count"),
+                            rs.getLong("rating_5_count"))));
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public MovieSummaryRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Loads the summaries of the movies identified by {@code ids}. The returned {@link List} keeps the
+     * order of {@code ids}; ids without a matching movie are skipped.
+     *
+     * @param ids ids of the movies
+     * @return {@link List} of {@link MovieSummaryView} objects in the order of {@code ids}
+     */
+    public List<MovieSummaryView> findAllByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) { return List.of(); }
+
+        Map<Long, MovieSummaryView> summaries = namedParameterJdbcTemplate.query(SUMMARY_QUERY,
+                        new MapSqlParameterSource("ids", Set.copyOf(ids)), SUMMARY_ROW_MAPPER)
+                .stream()
+                .collect(Collectors.toMap(MovieSummaryView::id, Function.identity()));
+
+        return ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,115 @@
+package at.saekenz.cinerator.repository;
+
+import at.saekenz.cinerator.model.person.Person;
+import at.saekenz.cinerator.model.person.PersonHeight;
+import at.saekenz.cinerator.model.person.PersonSearchCriteria;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static at.saekenz.cinerator.repository.SearchPredicates.containsIgnoreCase;
+import static at.saekenz.cinerator.repository.SearchPredicates.hasText;
+import static at.saekenz.cinerator.repository.SearchPredicates.isCountQuery;
+
+/**
+ * Builds {@link Specification} objects for {@link Person} searches. Like {@link MovieSpecifications}, only
+ * supplied parameters become predicates, and none of them wraps an indexed column into a function:
+ * an age is translated into a range of birth dates and a height into a range of centimeters, so Postgres
+ * can answer both from the B-tree indexes in {@code db/search-indexes.sql}. The birth country is only
+ * joined if it is searched for.
+ */
+public final class PersonSpecifications {
+
+    private PersonSpecifications() {
+
+    }
+
+    /**
+     * Creates a {@link Specification} matching every {@link Person} that fulfills all supplied criteria.
+     * If a name is part of the criteria, results are ranked by relevance (exact match, prefix match,
+     * word prefix match and finally substring match; shorter names first). Otherwise, they are ordered
+     * by {@code id}. The ranking is only applied if the caller does not request an explicit sort order.
+     *
+     * @param criteria parameters of the search
+     * @return {@link Specification} for the search
+     */
+    public static Specification<Person> matching(PersonSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (hasText(criteria.name())) {
+                predicates.add(containsIgnoreCase(cb, root.<String>get("name"), criteria.name()));
+            }
+            if (criteria.birthDate() != null) {
+                predicates.add(cb.equal(root.<LocalDate>get("birthDate"), criteria.birthDate()));
+            }
+            if (criteria.deathDate() != null) {
+                predicates.add(cb.equal(root.<LocalDate>get("deathDate"), criteria.deathDate()));
+            }
+            if (hasText(criteria.height())) {
+                predicates.add(hasHeight(root, cb, criteria.height()));
+            }
+            if (hasText(criteria.country())) {
+                Join<Person, ?> birthCountry = root.join("birthCountry");
+                predicates.add(containsIgnoreCase(cb, birthCountry.<String>get("name"), criteria.country()));
+            }
+            if (criteria.age() != null) {
+                predicates.add(hasAge(root, cb, criteria.age(), LocalDate.now()));
+            }
+
+            if (!isCountQuery(query) && query.getOrderList().isEmpty()) {
+                query.orderBy(relevanceOrder(root, cb, criteria));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Heights containing a number are matched on {@code heightCm}, anything else on the entered text.
+     */
+    private static Predicate hasHeight(Root<Person> root, CriteriaBuilder cb, String height) {
+        Optional<PersonHeight.CentimeterRange> range = PersonHeight.toCentimeterRange(height);
+        if (range.isEmpty()) {
+            return containsIgnoreCase(cb, root.<String>get("height"), height);
+        }
+
+        Path<Integer> heightCm = root.get("heightCm");
+        return cb.and(cb.greaterThanOrEqualTo(heightCm, range.get().from()),
+                cb.lessThan(heightCm, range.get().to()));
+    }
+
+    /**
+     * Anyone aged {@code age} was born at least {@code age} years ago. For living persons that bound and
+     * the one a year earlier are exact. The age of deceased persons depends on their date of death, it is
+     * only computed for the rows left after the birth date range was applied.
+     */
+    private static Predicate hasAge(Root<Person> root, CriteriaBuilder cb, int age, LocalDate today) {
+        Path<LocalDate> birthDate = root.get("birthDate");
+        Path<LocalDate> deathDate = root.get("deathDate");
+
+        Predicate living = cb.and(cb.isNull(deathDate),
+                cb.greaterThan(birthDate, today.minusYears(age + 1L)));
+
+        Expression<Integer> ageAtDeath = cb.function("date_part", Integer.class, cb.literal("year"),
+                cb.function("age", String.class, deathDate, birthDate));
+        Predicate deceased = cb.and(cb.isNotNull(deathDate), cb.equal(ageAtDeath, age));
+
+        return cb.and(cb.lessThanOrEqualTo(birthDate, today.minusYears(age)), cb.or(living, deceased));
+    }
+
+    private static List<Order> relevanceOrder(Root<Person> root, CriteriaBuilder cb, PersonSearchCriteria criteria) {
+        List<Order> orders = new ArrayList<>();
+
+        if (hasText(criteria.name())) {
+            orders.addAll(SearchPredicates.relevanceOrder(cb, root.<String>get("name"), criteria.name()));
+        }
+        orders.add(cb.asc(root.<Long>get("id")));
+
+        return orders;
+    }
+}
@@ -0,0 +1,131 @@
+package at.saekenz.cinerator.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Reads the interactions the personalized recommendations are trained on and stores the learned
+ * factor vectors ({@code user_factors}, {@code movie_factors}). Vectors are stored as little-endian
+ * 32 bit floats. Callers are responsible for transaction handling.
+ */
+@Repository
+public class RecommendationRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Ratings are mapped to a preference between 0 (1 star) and 1 (5 stars), a like adds a quarter.
+     * Watchlist entries and movies liked by followed users count as positive, but weaker signals.
+     */
+    private static final String INTERACTION_QUERY = """
+            SELECT usr_id, mov_id,
+                   CAST(LEAST(1.0, (rating - 1) / 4.0 + CASE WHEN is_liked THEN 0.25 ELSE 0 END) AS real),
+                   CAST(1.0 AS real)
+            FROM reviews
+            UNION ALL
+            SELECT usr_id, mov_id, CAST(1.0 AS real), CAST(? AS real)
+            FROM user_watchlist
+            UNION ALL
+            SELECT f.fol_id, r.mov_id, CAST(1.0 AS real), CAST(? AS real)
+            FROM followers f
+            JOIN reviews r ON r.usr_id = f.usr_id
+            WHERE r.is_liked OR r.rating >= 4
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecommendationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @FunctionalInterface
+    public interface InteractionHandler {
+        void accept(long userId, long movieId, float preference, float weight);
+    }
+
+    @FunctionalInterface
+    public interface MovieFactorsHandler {
+        void accept(long movieId, float bias, float[] factors);
+    }
+
+    public void forEachInteraction(float watchlistWeight, float followWeight, InteractionHandler handler) {
+        jdbcTemplate.query(INTERACTION_QUERY, (RowCallbackHandler) rs -> handler.accept(rs.getLong(1),
+                rs.getLong(2), rs.getFloat(3), rs.getFloat(4)), watchlistWeight, followWeight);
+    }
+
+    public void forEachMovieId(LongConsumer consumer) {
+        jdbcTemplate.query("SELECT id FROM movies", (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1)));
+    }
+
+    public void forEachMovieFactors(MovieFactorsHandler handler) {
+        jdbcTemplate.query("SELECT mov_id, bias, factors FROM movie_factors", (RowCallbackHandler) rs ->
+                handler.accept(rs.getLong(1), rs.getFloat(2), decode(rs.getBytes(3))));
+    }
+
+    public Optional<float[]> findUserFactors(Long userId) {
+        return jdbcTemplate.query("SELECT factors FROM user_factors WHERE usr_id = ?",
+                        (rs, rowNum) -> decode(rs.getBytes(1)), userId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * @return ids of the movies the user reviewed or put on the watchlist
+     */
+    public List<Long> findReviewedOrWatchlistedMovieIds(Long userId) {
+        return jdbcTemplate.queryForList(
+                "SELECT mov_id FROM reviews WHERE usr_id = ? UNION SELECT mov_id FROM user_watchlist WHERE usr_id = ?",
+                Long.class, userId, userId);
+    }
+
+    /**
+     * Replaces every stored user vector. The vector of {@code userIds[i]} is
+     * {@code factors[i * rank, (i + 1) * rank)}.
+     */
+    public void replaceUserFactors(long[] userIds, float[] factors, int rank) {
+        jdbcTemplate.update("DELETE FROM user_factors");
+        jdbcTemplate.batchUpdate("INSERT INTO user_factors (usr_id, factors) VALUES (?, ?)",
+                indexes(userIds.length), BATCH_SIZE, (ps, i) -> {
+                    ps.setLong(1, userIds[i]);
+                    ps.setBytes(2, encode(factors, i * rank, rank));
+                });
+    }
+
+    /**
+     * Replaces every stored movie vector. The vector of {@code movieIds[i]} is
+     * {@code factors[i * rank, (i + 1) * rank)}.
+     */
+    public void replaceMovieFactors(long[] movieIds, float[] biases, float[] factors, int rank) {
+        jdbcTemplate.update("DELETE FROM movie_factors");
+        jdbcTemplate.batchUpdate("INSERT INTO movie_factors (mov_id, bias, factors) VALUES (?, ?, ?)",
+                indexes(movieIds.length), BATCH_SIZE, (ps, i) -> {
+                    ps.setLong(1, movieIds[i]);
+                    ps.setFloat(2, biases[i]);
+                    ps.setBytes(3, encode(factors, i * rank, rank));
+                });
+    }
+
+    private static List<Integer> indexes(int count) {
+        return IntStream.range(0, count).boxed().toList();
+    }
+
+    private static byte[] encode(float[] values, int offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(values, offset, length);
+        return buffer.array();
+    }
+
+    private static float[] decode(byte[] bytes) {
+        float[] values = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(values);
+        return values;
+    }
+}
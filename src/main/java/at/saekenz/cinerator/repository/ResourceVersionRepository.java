@@ -0,0 +1,125 @@
+package at.saekenz.cinerator.repository;
+
+import at.saekenz.cinerator.util.EVersionedResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * Looks up the versions of {@link EVersionedResource} representations without loading the entities.
+ * A single resource is versioned by the {@code version} columns of its row and of the rows embedded in
+ * its representation (e.g. the persons a movie's directors are taken from). Rows without a version column,
+ * such as a movie's credits and their roles (directors are picked by role name), contribute a hash of the
+ * columns the representation depends on. A collection is versioned by the change counters of the tables it
+ * may be read from, which triggers increment on every committed write (see {@code db/resource-versions.sql}).
+ * Timestamps (users) are compared with microsecond precision.
+ * <p>
+ * Callers are responsible for transaction handling.
+ */
+@Repository
+public class ResourceVersionRepository {
+
+    private static final String MOVIE_VERSION = """
+            SELECT m.version,
+                   s.version,
+                   (SELECT COALESCE(md5(string_agg(concat_ws(':', c.id, c.per_id, c.role_id, p.version, r.role),
+                                                   ',' ORDER BY c.id)), '')
+                    FROM castinfos c
+                    LEFT JOIN persons p ON p.id = c.per_id
+                    LEFT JOIN roles r ON r.id = c.role_id
+                    WHERE c.mov_id = m.id),
+                   (SELECT COALESCE(sum(g.version), 0)
+                    FROM movie_genres mg JOIN genres g ON g.id = mg.gen_id
+                    WHERE mg.mov_id = m.id),
+                   (SELECT COALESCE(sum(c.version), 0)
+                    FROM movie_countries mc JOIN countries c ON c.id = mc.cou_id
+                    WHERE mc.mov_id = m.id)
+            FROM movies m
+            LEFT JOIN movie_stats s ON s.mov_id = m.id
+            WHERE m.id = ?
+            """;
+
+    private static final String PERSON_VERSION = """
+            SELECT p.version, c.version
+            FROM persons p
+            LEFT JOIN countries c ON c.id = p.cou_id
+            WHERE p.id = ?
+            """;
+
+    private static final String COUNTRY_VERSION = "SELECT version FROM countries WHERE id = ?";
+
+    private static final String GENRE_VERSION = "SELECT version FROM genres WHERE id = ?";
+
+    private static final String REVIEW_VERSION = """
+            SELECT r.version, m.version, %s
+            FROM reviews r
+            JOIN movies m ON m.id = r.mov_id
+            JOIN users u ON u.id = r.usr_id
+            WHERE r.id = ?
+            """.formatted(epochMicros("u.updated_at"));
+
+    private static final String USER_VERSION = "SELECT %s FROM users u WHERE u.id = ?"
+            .formatted(epochMicros("u.updated_at"));
+
+    private static final String TABLE_VERSIONS = """
+            SELECT string_agg(table_name || ':' || version, '.' ORDER BY table_name)
+            FROM (SELECT table_name, sum(version) AS version
+                  FROM resource_versions
+                  WHERE table_name IN (:tables)
+                  GROUP BY table_name) v
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public ResourceVersionRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Finds the current version of a resource.
+     *
+     * @param resource type of the resource
+     * @param id id of a single resource (ignored for collections)
+     * @return version of the resource or an empty {@link Optional} if the single resource does not exist
+     */
+    public Optional<String> findVersion(EVersionedResource resource, Long id) {
+        if (resource.isCollection()) {
+            return Optional.ofNullable(namedParameterJdbcTemplate.queryForObject(TABLE_VERSIONS,
+                    Map.of("tables", resource.getTables()), String.class));
+        }
+
+        return switch (resource) {
+            case MOVIE -> queryVersion(MOVIE_VERSION, id);
+            case PERSON -> queryVersion(PERSON_VERSION, id);
+            case COUNTRY -> queryVersion(COUNTRY_VERSION, id);
+            case GENRE -> queryVersion(GENRE_VERSION, id);
+            case REVIEW -> queryVersion(REVIEW_VERSION, id);
+            case USER -> queryVersion(USER_VERSION, id);
+            default -> throw new IllegalArgumentException("Unsupported resource: " + resource);
+        };
+    }
+
+    private Optional<String> queryVersion(String sql, Object... args) {
+        return jdbcTemplate.query(sql, rs -> rs.next() ? Optional.of(joinColumns(rs)) : Optional.empty(), args);
+    }
+
+    private static String joinColumns(ResultSet rs) throws SQLException {
+        StringJoiner version = new StringJoiner(".");
+        for (int column = 1; column <= rs.getMetaData().getColumnCount(); column++) {
+            version.add(String.valueOf(rs.getString(column)));
+        }
+        return version.toString();
+    }
+
+    private static String epochMicros(String timestamp) {
+        return String.format("COALESCE((extract(EPOCH FROM %s) * 1000000)::bigint, 0)", timestamp);
+    }
+}
@@ -4,8 +4,12 @@ import at.saekenz.cinerator.model.review.Review;
 import at.saekenz.cinerator.model.review.ReviewDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
@@ -16,4 +20,21 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
             "JOIN r.movie m " +
             "WHERE r.id = :id")
     public Optional<ReviewDTO> findDTOById(Long id);
+
+    @Query("SELECT new at.saekenz.cinerator.model.review.ReviewDTO(r.id, m.id, m.title, " +
+            "EXTRACT(YEAR FROM(m.releaseDate)), u.id, u.username, r.rating, r.isLiked, r.reviewDate, r.comment) " +
+            "FROM Review r " +
+            "JOIN r.user u " +
+            "JOIN r.movie m " +
+            "WHERE m.id = :movieId " +
+            "ORDER BY r.reviewDate DESC, r.id DESC")
+    List<ReviewDTO> findDTOsByMovieId(@Param("movieId") Long movieId);
+
+    /**
+     * Returns the reviews already written for any of the given write-behind submissions.
+     *
+     * @param tickets tickets of review submissions
+     * @return {@link List} of the reviews that carry one of the {@code tickets}
+     */
+    List<Review> findBySubmissionTicketIn(Collection<UUID> tickets);
 }
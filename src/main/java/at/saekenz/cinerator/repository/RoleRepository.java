@@ -1,8 +1,26 @@
 package at.saekenz.cinerator.repository;
 
 import at.saekenz.cinerator.model.role.Role;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+/**
+ * Role rows are reference data that hardly ever change. Entities are kept in Hibernate's
+ * second-level cache, the result lists of the lookups below in its query cache. Both are invalidated
+ * by Hibernate whenever a role is written through the persistence context.
+ */
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Role> findAll();
+
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Role> findAllById(Iterable<Long> ids);
 }
@@ -0,0 +1,63 @@
+package at.saekenz.cinerator.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Predicate and ordering helpers shared by the search {@link org.springframework.data.jpa.domain.Specification}s.
+ * Text is always compared as {@code lower(attribute)}, the expression the trigram indexes are created on.
+ */
+final class SearchPredicates {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private SearchPredicates() {
+
+    }
+
+    static Predicate containsIgnoreCase(CriteriaBuilder cb, Expression<String> expression, String value) {
+        String pattern = "%" + escapeLike(normalize(value)) + "%";
+        return cb.like(cb.lower(expression), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Ranks values matching {@code value} exactly first, followed by prefix matches, word prefix matches
+     * and finally substring matches. Within a rank, shorter values come first.
+     */
+    static List<Order> relevanceOrder(CriteriaBuilder cb, Expression<String> expression, String value) {
+        String term = normalize(value);
+        Expression<String> lowered = cb.lower(expression);
+
+        Expression<Integer> rank = cb.<Integer>selectCase()
+                .when(cb.equal(lowered, term), 0)
+                .when(cb.like(lowered, escapeLike(term) + "%", LIKE_ESCAPE), 1)
+                .when(cb.like(lowered, "% " + escapeLike(term) + "%", LIKE_ESCAPE), 2)
+                .otherwise(3);
+
+        return List.of(cb.asc(rank), cb.asc(cb.length(expression)));
+    }
+
+    static boolean isCountQuery(CriteriaQuery<?> query) {
+        return Long.class.equals(query.getResultType()) || long.class.equals(query.getResultType());
+    }
+
+    static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,102 @@
+package at.saekenz.cinerator.repository;
+
+import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.userlist.UserListEntry;
+import at.saekenz.cinerator.model.userlist.UserListEntryDTO;
+import at.saekenz.cinerator.model.userlist.UserListEntryKey;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads and writes the entries of user lists ({@code userlist_entries}). Pages and neighbouring positions
+ * are read through the unique index on (usrlist_id, position), every write except a rebalance (see
+ * {@link #lockMovieIdsByUserListId}) touches a single row.
+ */
+public interface UserListEntryRepository extends JpaRepository<UserListEntry, UserListEntryKey> {
+
+    @Query(value = "SELECT e.movie FROM UserListEntry e WHERE e.id.userListId = :userListId ORDER BY e.position",
+            countQuery = "SELECT COUNT(e) FROM UserListEntry e WHERE e.id.userListId = :userListId")
+    Page<Movie> findMoviesByUserListId(@Param("userListId") Long userListId, Pageable pageable);
+
+    @Query(value = "SELECT new at.saekenz.cinerator.model.userlist.UserListEntryDTO(m.id, m.title, e.position, " +
+            "e.note, e.addedAt) " +
+            "FROM UserListEntry e " +
+            "JOIN e.movie m " +
+            "WHERE e.id.userListId = :userListId " +
+            "ORDER BY e.position",
+            countQuery = "SELECT COUNT(e) FROM UserListEntry e WHERE e.id.userListId = :userListId")
+    Page<UserListEntryDTO> findEntriesByUserListId(@Param("userListId") Long userListId, Pageable pageable);
+
+    @Query("SELECT new at.saekenz.cinerator.model.userlist.UserListEntryDTO(m.id, m.title, e.position, " +
+            "e.note, e.addedAt) " +
+            "FROM UserListEntry e " +
+            "JOIN e.movie m " +
+            "WHERE e.id.userListId = :userListId AND e.id.movieId = :movieId")
+    Optional<UserListEntryDTO> findEntry(@Param("userListId") Long userListId, @Param("movieId") Long movieId);
+
+    @Query("SELECT e.position FROM UserListEntry e WHERE e.id.userListId = :userListId AND e.id.movieId = :movieId")
+    Optional<String> findPosition(@Param("userListId") Long userListId, @Param("movieId") Long movieId);
+
+    @Query("SELECT MAX(e.position) FROM UserListEntry e WHERE e.id.userListId = :userListId")
+    Optional<String> findLastPosition(@Param("userListId") Long userListId);
+
+    @Query("SELECT MIN(e.position) FROM UserListEntry e " +
+            "WHERE e.id.userListId = :userListId AND e.position > :position")
+    Optional<String> findNextPosition(@Param("userListId") Long userListId, @Param("position") String position);
+
+    @Query("SELECT MAX(e.position) FROM UserListEntry e " +
+            "WHERE e.id.userListId = :userListId AND e.position < :position")
+    Optional<String> findPreviousPosition(@Param("userListId") Long userListId, @Param("position") String position);
+
+    /**
+     * @return {@code 1} if the entry was added, {@code 0} if the movie already was part of the list
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO userlist_entries (usrlist_id, mov_id, position, note, added_at) " +
+            "VALUES (:userListId, :movieId, :position, :note, now()) " +
+            "ON CONFLICT (usrlist_id, mov_id) DO NOTHING", nativeQuery = true)
+    int insertEntry(@Param("userListId") Long userListId, @Param("movieId") Long movieId,
+                    @Param("position") String position, @Param("note") String note);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserListEntry e SET e.position = :position " +
+            "WHERE e.id.userListId = :userListId AND e.id.movieId = :movieId")
+    int updatePosition(@Param("userListId") Long userListId, @Param("movieId") Long movieId,
+                       @Param("position") String position);
+
+    /**
+     * Locks every entry of the user list for a rebalance, which parks all entries with
+     * {@link #parkPositions} and then assigns them fresh positions in this order.
+     *
+     * @return ids of the movies of the user list, ordered by position
+     */
+    @Query(value = "SELECT mov_id FROM userlist_entries WHERE usrlist_id = :userListId ORDER BY position " +
+            "FOR UPDATE", nativeQuery = true)
+    List<Long> lockMovieIdsByUserListId(@Param("userListId") Long userListId);
+
+    /**
+     * Moves every entry of the user list to a temporary position after all generated ones, so new positions
+     * can be assigned one entry at a time without colliding with the old ones in the unique index.
+     */
+    @Modifying
+    @Query(value = "UPDATE userlist_entries SET position = '~' || mov_id WHERE usrlist_id = :userListId",
+            nativeQuery = true)
+    int parkPositions(@Param("userListId") Long userListId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserListEntry e SET e.note = :note " +
+            "WHERE e.id.userListId = :userListId AND e.id.movieId = :movieId")
+    int updateNote(@Param("userListId") Long userListId, @Param("movieId") Long movieId,
+                   @Param("note") String note);
+}
@@ -1,6 +1,5 @@
 package at.saekenz.cinerator.repository;
 
-import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.user.User;
 import at.saekenz.cinerator.model.userlist.UserList;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -22,8 +21,4 @@ public interface UserListRepository extends JpaRepository<UserList, Long> {
     @Query("SELECT ul.user FROM UserList ul WHERE " +
             "ul.id = :userListId")
     User findUserByUserListId(@Param("userListId") Long userListId);
-
-    @Query("SELECT ul.movielist FROM UserList ul WHERE " +
-            "ul.id = :userListId")
-    List<Movie> findMoviesByUserListId(@Param("userListId") Long userListId);
 }
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,6 +51,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
                                        @Param("email") String email,
                                        @Param("role") String role);
 
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT m FROM User u JOIN u.watchlist m WHERE " +
             "u.id = :userId and m.id = :movieId")
     Optional<Movie> findMovieInUsersWatchlist(@Param("userId") Long userId, @Param("movieId") Long movieId);
@@ -72,7 +76,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Modifying
     @Transactional
-    @Query("UPDATE User u SET u.enabled = TRUE WHERE u.id = :userId")
+    @Query("UPDATE User u SET u.enabled = TRUE, u.updatedAt = LOCAL DATETIME WHERE u.id = :userId")
     int enableUser(@Param("userId") Long userId);
 
     // TODO: use for findReviews!
@@ -0,0 +1,167 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.autocomplete.AutocompleteSuggestion;
+import at.saekenz.cinerator.model.autocomplete.EAutocompleteType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Movie titles and person names in one {@link RadixTrie} per {@link EAutocompleteType}. Labels are normalized
+ * (lower case, without accents and punctuation) and stored under the whole label and under every later word,
+ * so "mat" completes "The Matrix" and "pacino" completes "Al Pacino".
+ * <p>
+ * Not thread-safe, see {@link AutocompleteServiceImpl}.
+ */
+final class AutocompleteIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Bumped whenever the layout written by write() changes, older snapshots are ignored
+    private static final int SNAPSHOT_FORMAT = 1;
+
+    // Labels with more words are only found by the first ones
+    private static final int MAX_KEYS_PER_LABEL = 8;
+
+    private final Map<EAutocompleteType, RadixTrie> tries = new EnumMap<>(EAutocompleteType.class);
+    private final Map<EAutocompleteType, Map<Long, Item>> items = new EnumMap<>(EAutocompleteType.class);
+
+    AutocompleteIndex() {
+        for (EAutocompleteType type : EAutocompleteType.values()) {
+            tries.put(type, new RadixTrie());
+            items.put(type, new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds the resource or replaces its label and weight.
+     */
+    void put(EAutocompleteType type, long id, String label, long weight) {
+        remove(type, id);
+
+        Item item = new Item(label, weight, keys(label));
+        item.keys().forEach(key -> tries.get(type).add(key, id, weight));
+        items.get(type).put(id, item);
+    }
+
+    /**
+     * Adds the resource or replaces its label, a resource that was already indexed keeps its weight.
+     */
+    void putLabel(EAutocompleteType type, long id, String label) {
+        Item item = items.get(type).get(id);
+        if (item != null && item.label().equals(label)) { return; }
+
+        put(type, id, label, item == null ? 0 : item.weight());
+    }
+
+    void remove(EAutocompleteType type, long id) {
+        Item item = items.get(type).remove(id);
+        if (item == null) { return; }
+
+        item.keys().forEach(key -> tries.get(type).remove(key, id));
+    }
+
+    int size() {
+        return items.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * @param query text typed so far, the last word may be incomplete
+     * @param types types of the suggested resources
+     * @param limit maximum number of suggestions
+     * @return suggestions of every type, most popular first (ties by label)
+     */
+    List<AutocompleteSuggestion> suggest(String query, Collection<EAutocompleteType> types, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) { return List.of(); }
+
+        List<AutocompleteSuggestion> suggestions = new ArrayList<>();
+        for (EAutocompleteType type : types) {
+            for (long id : tries.get(type).top(prefix, limit)) {
+                Item item = items.get(type).get(id);
+                suggestions.add(new AutocompleteSuggestion(type.getParamName(), id, item.label(), item.weight()));
+            }
+        }
+
+        return suggestions.stream()
+                .sorted(Comparator.comparingLong(AutocompleteSuggestion::weight).reversed()
+                        .thenComparing(AutocompleteSuggestion::label)
+                        .thenComparing(AutocompleteSuggestion::id))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Writes every indexed resource, {@link #read} rebuilds the tries from them. That only costs the
+     * inserts, not the queries aggregating the weights.
+     */
+    void write(DataOutput out) throws IOException {
+        out.writeInt(SNAPSHOT_FORMAT);
+        for (EAutocompleteType type : EAutocompleteType.values()) {
+            Map<Long, Item> typeItems = items.get(type);
+            out.writeInt(typeItems.size());
+            for (Map.Entry<Long, Item> entry : typeItems.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeUTF(entry.getValue().label());
+                out.writeLong(entry.getValue().weight());
+            }
+        }
+    }
+
+    /**
+     * @throws IOException if the snapshot cannot be read or was written in another format
+     */
+    static AutocompleteIndex read(DataInput in) throws IOException {
+        int format = in.readInt();
+        if (format != SNAPSHOT_FORMAT) {
+            throw new IOException(String.format("Snapshot format %s is not supported!", format));
+        }
+
+        AutocompleteIndex index = new AutocompleteIndex();
+        for (EAutocompleteType type : EAutocompleteType.values()) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                index.put(type, in.readLong(), in.readUTF(), in.readLong());
+            }
+        }
+        return index;
+    }
+
+    private static Set<String> keys(String label) {
+        String normalized = normalize(label);
+        Set<String> keys = new LinkedHashSet<>();
+        if (normalized.isEmpty()) { return keys; }
+
+        keys.add(normalized);
+        int start = normalized.indexOf(' ');
+        while (start >= 0 && keys.size() < MAX_KEYS_PER_LABEL) {
+            keys.add(normalized.substring(start + 1));
+            start = normalized.indexOf(' ', start + 1);
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) { return ""; }
+
+        String withoutAccents = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("");
+        return SEPARATORS.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private record Item(String label, long weight, Set<String> keys) {}
+}
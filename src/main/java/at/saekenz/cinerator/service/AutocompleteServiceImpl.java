@@ -0,0 +1,169 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.autocomplete.AutocompleteSuggestion;
+import at.saekenz.cinerator.model.autocomplete.EAutocompleteType;
+import at.saekenz.cinerator.repository.AutocompleteRepository;
+import at.saekenz.cinerator.repository.ResourceVersionRepository;
+import at.saekenz.cinerator.util.EVersionedResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Suggests movie titles and person names while they are typed, from an in-memory {@link AutocompleteIndex}
+ * (no database access per request). The index is updated by the movie and person services whenever they
+ * save or delete one and rebuilt periodically, which also refreshes the weights (see {@link LoadableIndex}).
+ * <p>
+ * Every index loaded from the database is written to a snapshot file together with the version of the
+ * tables it is read from ({@link EVersionedResource#SUGGESTIONS}). The first request after a restart loads
+ * the snapshot instead of aggregating the review counts again, unless one of them changed in the meantime.
+ */
+@Service
+public class AutocompleteServiceImpl implements IAutocompleteService {
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteServiceImpl.class);
+
+    @Autowired
+    private AutocompleteRepository autocompleteRepository;
+
+    @Autowired
+    private ResourceVersionRepository resourceVersionRepository;
+
+    @Value("${cinerator.autocomplete.snapshot-file}")
+    private Path snapshotFile;
+
+    private final LoadableIndex<AutocompleteIndex> index = new LoadableIndex<>();
+
+    /**
+     * Finds the movies and/or persons whose title or name has a word starting with {@code query}.
+     *
+     * @param query text typed so far
+     * @param types names of the suggested types (see {@link EAutocompleteType}), empty for every type
+     * @param size maximum number of suggestions
+     * @return {@link List} of {@link AutocompleteSuggestion} objects, most popular first
+     */
+    @Override
+    public List<AutocompleteSuggestion> suggest(String query, Collection<String> types, int size) {
+        Set<EAutocompleteType> suggestedTypes = EnumSet.noneOf(EAutocompleteType.class);
+        for (String value : types) {
+            if (value.isBlank()) { continue; }
+            suggestedTypes.add(EAutocompleteType.fromParamName(value).orElseThrow(
+                    () -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            String.format("Autocomplete type %s is invalid!", value))));
+        }
+        if (suggestedTypes.isEmpty()) { suggestedTypes = EnumSet.allOf(EAutocompleteType.class); }
+
+        Set<EAutocompleteType> requestedTypes = suggestedTypes;
+        index.loadIfAbsent(() -> loadIndex(true));
+        return index.read(autocompleteIndex -> autocompleteIndex.suggest(query, requestedTypes, size));
+    }
+
+    @Override
+    public void movieSaved(Long movieId, String title) {
+        index.update(autocompleteIndex -> autocompleteIndex.putLabel(EAutocompleteType.MOVIE, movieId, title));
+    }
+
+    @Override
+    public void personSaved(Long personId, String name) {
+        index.update(autocompleteIndex -> autocompleteIndex.putLabel(EAutocompleteType.PERSON, personId, name));
+    }
+
+    @Override
+    public void movieRemoved(Long movieId) {
+        index.update(autocompleteIndex -> autocompleteIndex.remove(EAutocompleteType.MOVIE, movieId));
+    }
+
+    @Override
+    public void personRemoved(Long personId) {
+        index.update(autocompleteIndex -> autocompleteIndex.remove(EAutocompleteType.PERSON, personId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${cinerator.autocomplete.rebuild-delay}",
+            initialDelayString = "${cinerator.autocomplete.rebuild-delay}")
+    public void rebuild() {
+        index.load(() -> loadIndex(false));
+    }
+
+    private AutocompleteIndex loadIndex(boolean fromSnapshot) {
+        // Read before the index, so a snapshot never claims a newer version than its contents
+        String version = resourceVersionRepository.findVersion(EVersionedResource.SUGGESTIONS, null).orElse("");
+        AutocompleteIndex loaded = fromSnapshot ? readSnapshot(version) : null;
+
+        if (loaded == null) {
+            loaded = loadFromDatabase();
+            writeSnapshot(version, loaded);
+        }
+        return loaded;
+    }
+
+    private AutocompleteIndex loadFromDatabase() {
+        AutocompleteIndex loaded = new AutocompleteIndex();
+        autocompleteRepository.forEachMovie(row -> loaded.put(EAutocompleteType.MOVIE, row.id(), row.label(),
+                row.weight()));
+        autocompleteRepository.forEachPerson(row -> loaded.put(EAutocompleteType.PERSON, row.id(), row.label(),
+                row.weight()));
+
+        log.info("Loaded autocomplete index with {} titles and names.", loaded.size());
+        return loaded;
+    }
+
+    /**
+     * @return the index of the snapshot or {@code null} if there is none or it was taken at another version
+     */
+    private AutocompleteIndex readSnapshot(String version) {
+        if (!Files.exists(snapshotFile)) { return null; }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (!version.equals(in.readUTF())) { return null; }
+
+            AutocompleteIndex loaded = AutocompleteIndex.read(in);
+            log.info("Loaded autocomplete index with {} titles and names from {}.", loaded.size(), snapshotFile);
+            return loaded;
+        }
+        catch (IOException e) {
+            log.warn("Autocomplete snapshot {} could not be read: {}", snapshotFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the snapshot atomically. A failure only costs the next restart a load from the database.
+     */
+    private void writeSnapshot(String version, AutocompleteIndex snapshot) {
+        Path temporaryFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            if (snapshotFile.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+            }
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                out.writeUTF(version);
+                snapshot.write(out);
+            }
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            log.warn("Autocomplete snapshot {} could not be written: {}", snapshotFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,573 @@
+package at.saekenz.cinerator.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable bipartite graph of persons and the movies they worked on (one edge per cast info), stored
+ * in compressed sparse row arrays twice: the movies of every person and the persons of every movie. Ids
+ * are assigned densely by the database, so they are used as row indexes directly. Rows are sorted; a
+ * person credited with several roles in one movie has one edge per role, queries skip the duplicates.
+ * <p>
+ * Changes create a new graph (copy on write), so readers never have to synchronize. The new graph shares
+ * the arrays and only keeps the rows of the persons and movies that changed since they were built (overflow
+ * rows, which replace the rows in the arrays). Once there are too many of them, the arrays are rebuilt.
+ */
+final class CastGraph {
+
+    // Overflow rows are merged into the arrays once there are more than this many, or 1/64 of the edges
+    private static final int MIN_COMPACTION_ROWS = 1024;
+
+    private static final int[] NO_EDGES = new int[0];
+
+    private final int[] personOffsets;
+    private final int[] personMovies;
+    private final int[] movieOffsets;
+    private final int[] moviePersons;
+    private final Map<Integer, int[]> personRows;
+    private final Map<Integer, int[]> movieRows;
+    private final int edgeCount;
+
+    /**
+     * Shortest connection of two persons: {@code movies[i]} links {@code persons[i]} and {@code persons[i + 1]}.
+     */
+    record Path(long[] persons, long[] movies) {}
+
+    private CastGraph(int[] personOffsets, int[] personMovies, int[] movieOffsets, int[] moviePersons) {
+        this(personOffsets, personMovies, movieOffsets, moviePersons, Map.of(), Map.of(), personMovies.length);
+    }
+
+    private CastGraph(int[] personOffsets, int[] personMovies, int[] movieOffsets, int[] moviePersons,
+                      Map<Integer, int[]> personRows, Map<Integer, int[]> movieRows, int edgeCount) {
+        this.personOffsets = personOffsets;
+        this.personMovies = personMovies;
+        this.movieOffsets = movieOffsets;
+        this.moviePersons = moviePersons;
+        this.personRows = personRows;
+        this.movieRows = movieRows;
+        this.edgeCount = edgeCount;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @return ids of every person sharing at least one movie with {@code personId}, ascending
+     */
+    long[] costars(long personId) {
+        int[] coPersons = coPersons(personId);
+        int distinct = 0;
+        for (int i = 0; i < coPersons.length; i++) {
+            if (i == 0 || coPersons[i] != coPersons[i - 1]) { coPersons[distinct++] = coPersons[i]; }
+        }
+
+        long[] costars = new long[distinct];
+        for (int i = 0; i < distinct; i++) { costars[i] = coPersons[i]; }
+        return costars;
+    }
+
+    /**
+     * @return ids of the (at most {@code size}) persons sharing the most movies with {@code personId},
+     * ties are ordered by id
+     */
+    long[] collaborators(long personId, int size) {
+        int[] coPersons = coPersons(personId);
+
+        // Run lengths are the numbers of shared movies, packed as (shared movies << 32 | inverted id)
+        // so one ascending sort orders by shared movies and id
+        long[] ranked = new long[coPersons.length];
+        int distinct = 0;
+        for (int i = 0; i < coPersons.length; ) {
+            int j = i;
+            while (j < coPersons.length && coPersons[j] == coPersons[i]) { j++; }
+            ranked[distinct++] = ((long) (j - i) << 32) | (Integer.MAX_VALUE - coPersons[i]);
+            i = j;
+        }
+        Arrays.sort(ranked, 0, distinct);
+
+        long[] collaborators = new long[Math.min(size, distinct)];
+        for (int i = 0; i < collaborators.length; i++) {
+            collaborators[i] = Integer.MAX_VALUE - (int) ranked[distinct - 1 - i];
+        }
+        return collaborators;
+    }
+
+    /**
+     * Finds a shortest chain of persons connecting {@code fromPersonId} and {@code toPersonId} where
+     * every two neighbours worked on the same movie (bidirectional breadth-first search, always
+     * expanding the side whose frontier has fewer edges).
+     *
+     * @param maxDegrees maximum number of movies on the path
+     * @return shortest {@link Path} or an empty {@link Optional} if there is none within {@code maxDegrees}
+     */
+    Optional<Path> shortestPath(long fromPersonId, long toPersonId, int maxDegrees) {
+        if (!hasMovies(fromPersonId) || !hasMovies(toPersonId)) { return Optional.empty(); }
+
+        int from = (int) fromPersonId;
+        int to = (int) toPersonId;
+        if (from == to) { return Optional.of(new Path(new long[]{fromPersonId}, new long[0])); }
+
+        ParentMap forward = new ParentMap();
+        ParentMap backward = new ParentMap();
+        forward.put(from, -1, -1);
+        backward.put(to, -1, -1);
+        Frontier forwardFrontier = new Frontier(from);
+        Frontier backwardFrontier = new Frontier(to);
+
+        for (int degrees = 0; degrees < maxDegrees; degrees++) {
+            boolean expandForward = frontierEdges(forwardFrontier) <= frontierEdges(backwardFrontier);
+            Frontier frontier = expandForward ? forwardFrontier : backwardFrontier;
+            ParentMap visited = expandForward ? forward : backward;
+            ParentMap other = expandForward ? backward : forward;
+
+            Frontier next = new Frontier();
+            for (int i = 0; i < frontier.size; i++) {
+                int person = frontier.persons[i];
+                Row movies = movies(person);
+                for (int m = movies.from; m < movies.to; m++) {
+                    if (m > movies.from && movies.ids[m] == movies.ids[m - 1]) { continue; }
+                    int movie = movies.ids[m];
+
+                    Row persons = persons(movie);
+                    for (int p = persons.from; p < persons.to; p++) {
+                        int coPerson = persons.ids[p];
+                        if (visited.contains(coPerson)) { continue; }
+
+                        visited.put(coPerson, person, movie);
+                        if (other.contains(coPerson)) { return Optional.of(path(coPerson, forward, backward)); }
+                        next.add(coPerson);
+                    }
+                }
+            }
+
+            if (next.size == 0) { return Optional.empty(); }
+            if (expandForward) { forwardFrontier = next; } else { backwardFrontier = next; }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Applies {@code changes} to a copy of this graph. Only the rows of the affected persons and movies are
+     * copied, unless the overflow rows are merged into new arrays.
+     */
+    CastGraph apply(Changes changes) {
+        Editor editor = new Editor();
+        for (long movieId : changes.removedMovies) { editor.removeMovie(toIndex(movieId)); }
+        for (long personId : changes.removedPersons) { editor.removePerson(toIndex(personId)); }
+        for (long edge : changes.removedEdges) { editor.removeEdge((int) (edge >>> 32), (int) edge); }
+        for (long edge : changes.addedEdges) { editor.addEdge((int) (edge >>> 32), (int) edge); }
+
+        CastGraph changed = new CastGraph(personOffsets, personMovies, movieOffsets, moviePersons,
+                editor.personRows, editor.movieRows, editor.edgeCount);
+        int overflowRows = editor.personRows.size() + editor.movieRows.size();
+        return overflowRows > Math.max(MIN_COMPACTION_ROWS, editor.edgeCount / 64) ? changed.compact() : changed;
+    }
+
+    private CastGraph compact() {
+        int personCount = personOffsets.length - 1;
+        for (int person : personRows.keySet()) { personCount = Math.max(personCount, person + 1); }
+
+        Builder builder = builder();
+        for (int person = 0; person < personCount; person++) {
+            Row movies = movies(person);
+            for (int m = movies.from; m < movies.to; m++) { builder.add(person, movies.ids[m]); }
+        }
+        return builder.build();
+    }
+
+    private Row movies(int person) {
+        int[] row = personRows.isEmpty() ? null : personRows.get(person);
+        if (row != null) { return new Row(row, 0, row.length); }
+        if (person + 1 >= personOffsets.length) { return Row.EMPTY; }
+        return new Row(personMovies, personOffsets[person], personOffsets[person + 1]);
+    }
+
+    private Row persons(int movie) {
+        int[] row = movieRows.isEmpty() ? null : movieRows.get(movie);
+        if (row != null) { return new Row(row, 0, row.length); }
+        if (movie + 1 >= movieOffsets.length) { return Row.EMPTY; }
+        return new Row(moviePersons, movieOffsets[movie], movieOffsets[movie + 1]);
+    }
+
+    private boolean hasMovies(long personId) {
+        if (personId < 0 || personId >= Integer.MAX_VALUE) { return false; }
+
+        Row movies = movies((int) personId);
+        return movies.from < movies.to;
+    }
+
+    /**
+     * @return ids of the persons of every (distinct) movie of {@code personId} without {@code personId}
+     * itself, sorted. A person appears once for every shared movie.
+     */
+    private int[] coPersons(long personId) {
+        if (!hasMovies(personId)) { return new int[0]; }
+        int person = (int) personId;
+
+        int[] coPersons = new int[16];
+        int size = 0;
+        Row movies = movies(person);
+        for (int m = movies.from; m < movies.to; m++) {
+            if (m > movies.from && movies.ids[m] == movies.ids[m - 1]) { continue; }
+            int movie = movies.ids[m];
+
+            Row persons = persons(movie);
+            for (int p = persons.from; p < persons.to; p++) {
+                int coPerson = persons.ids[p];
+                if (coPerson == person || (p > persons.from && coPerson == persons.ids[p - 1])) { continue; }
+                if (size == coPersons.length) { coPersons = Arrays.copyOf(coPersons, size * 2); }
+                coPersons[size++] = coPerson;
+            }
+        }
+
+        coPersons = Arrays.copyOf(coPersons, size);
+        Arrays.sort(coPersons);
+        return coPersons;
+    }
+
+    private long frontierEdges(Frontier frontier) {
+        long edges = 0;
+        for (int i = 0; i < frontier.size; i++) {
+            Row movies = movies(frontier.persons[i]);
+            edges += movies.to - movies.from;
+        }
+        return edges;
+    }
+
+    private static Path path(int meeting, ParentMap forward, ParentMap backward) {
+        int length = forward.depth(meeting) + backward.depth(meeting);
+        long[] persons = new long[length + 1];
+        long[] movies = new long[length];
+
+        int position = forward.depth(meeting);
+        persons[position] = meeting;
+        for (int person = meeting, i = position - 1; i >= 0; i--) {
+            movies[i] = forward.movie(person);
+            person = forward.parent(person);
+            persons[i] = person;
+        }
+        for (int person = meeting, i = position; i < length; i++) {
+            movies[i] = backward.movie(person);
+            person = backward.parent(person);
+            persons[i + 1] = person;
+        }
+
+        return new Path(persons, movies);
+    }
+
+    private static long edge(long personId, long movieId) {
+        return (personId << 32) | movieId;
+    }
+
+    private static int toIndex(long id) {
+        if (id < 0 || id >= Integer.MAX_VALUE - 1) {
+            throw new IllegalArgumentException(String.format("Id %s can not be used as graph index!", id));
+        }
+        return (int) id;
+    }
+
+    /**
+     * Slice {@code [from, to)} of {@code ids} holding a (sorted) row.
+     */
+    private static final class Row {
+        private static final Row EMPTY = new Row(NO_EDGES, 0, 0);
+
+        private final int[] ids;
+        private final int from;
+        private final int to;
+
+        private Row(int[] ids, int from, int to) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOfRange(ids, from, to);
+        }
+    }
+
+    /**
+     * Copies the overflow rows of this graph and replaces the rows of every person and movie it changes,
+     * keeping both directions of every edge consistent.
+     */
+    private final class Editor {
+        private final Map<Integer, int[]> personRows = new HashMap<>(CastGraph.this.personRows);
+        private final Map<Integer, int[]> movieRows = new HashMap<>(CastGraph.this.movieRows);
+        private int edgeCount = CastGraph.this.edgeCount;
+
+        void addEdge(int person, int movie) {
+            personRows.put(person, insert(movies(person), movie));
+            movieRows.put(movie, insert(persons(movie), person));
+            edgeCount++;
+        }
+
+        void removeEdge(int person, int movie) {
+            int[] movies = movies(person);
+            int m = Arrays.binarySearch(movies, movie);
+            if (m < 0) { return; }
+
+            int[] persons = persons(movie);
+            personRows.put(person, remove(movies, m));
+            movieRows.put(movie, remove(persons, Arrays.binarySearch(persons, person)));
+            edgeCount--;
+        }
+
+        void removeMovie(int movie) {
+            int[] persons = persons(movie);
+            for (int p = 0; p < persons.length; p++) {
+                if (p > 0 && persons[p] == persons[p - 1]) { continue; }
+                personRows.put(persons[p], removeAll(movies(persons[p]), movie));
+            }
+            movieRows.put(movie, NO_EDGES);
+            edgeCount -= persons.length;
+        }
+
+        void removePerson(int person) {
+            int[] movies = movies(person);
+            for (int m = 0; m < movies.length; m++) {
+                if (m > 0 && movies[m] == movies[m - 1]) { continue; }
+                movieRows.put(movies[m], removeAll(persons(movies[m]), person));
+            }
+            personRows.put(person, NO_EDGES);
+            edgeCount -= movies.length;
+        }
+
+        private int[] movies(int person) {
+            int[] row = personRows.get(person);
+            return row != null ? row : CastGraph.this.movies(person).toArray();
+        }
+
+        private int[] persons(int movie) {
+            int[] row = movieRows.get(movie);
+            return row != null ? row : CastGraph.this.persons(movie).toArray();
+        }
+
+        private static int[] insert(int[] row, int id) {
+            int position = Arrays.binarySearch(row, id);
+            if (position < 0) { position = -position - 1; }
+
+            int[] inserted = new int[row.length + 1];
+            System.arraycopy(row, 0, inserted, 0, position);
+            inserted[position] = id;
+            System.arraycopy(row, position, inserted, position + 1, row.length - position);
+            return inserted;
+        }
+
+        private static int[] remove(int[] row, int position) {
+            int[] removed = new int[row.length - 1];
+            System.arraycopy(row, 0, removed, 0, position);
+            System.arraycopy(row, position + 1, removed, position, row.length - position - 1);
+            return removed;
+        }
+
+        private static int[] removeAll(int[] row, int id) {
+            return Arrays.stream(row).filter(other -> other != id).toArray();
+        }
+    }
+
+    /**
+     * Edges to add and remove. Removing an edge removes one cast info, removing a movie or a person
+     * removes every edge of it.
+     */
+    static final class Changes {
+        private final long[] addedEdges;
+        private final long[] removedEdges;
+        private final Set<Long> removedMovies;
+        private final Set<Long> removedPersons;
+
+        private Changes(long[] addedEdges, long[] removedEdges, Set<Long> removedMovies, Set<Long> removedPersons) {
+            this.addedEdges = addedEdges;
+            this.removedEdges = removedEdges;
+            this.removedMovies = removedMovies;
+            this.removedPersons = removedPersons;
+        }
+
+        static Changes added(long[] personIds, long[] movieIds) {
+            return new Changes(edges(personIds, movieIds), new long[0], Set.of(), Set.of());
+        }
+
+        static Changes replaced(long oldPersonId, long oldMovieId, long newPersonId, long newMovieId) {
+            return new Changes(new long[]{edge(toIndex(newPersonId), toIndex(newMovieId))},
+                    new long[]{edge(toIndex(oldPersonId), toIndex(oldMovieId))}, Set.of(), Set.of());
+        }
+
+        static Changes removed(long personId, long movieId) {
+            return new Changes(new long[0], new long[]{edge(toIndex(personId), toIndex(movieId))},
+                    Set.of(), Set.of());
+        }
+
+        static Changes movieRemoved(long movieId) {
+            return new Changes(new long[0], new long[0], Set.of(movieId), Set.of());
+        }
+
+        static Changes personRemoved(long personId) {
+            return new Changes(new long[0], new long[0], Set.of(), Set.of(personId));
+        }
+
+        private static long[] edges(long[] personIds, long[] movieIds) {
+            long[] edges = new long[personIds.length];
+            for (int i = 0; i < edges.length; i++) {
+                edges[i] = edge(toIndex(personIds[i]), toIndex(movieIds[i]));
+            }
+            return edges;
+        }
+    }
+
+    /**
+     * Collects edges in primitive arrays and lays them out with counting sorts: first by movie, then
+     * the movie rows are distributed to the person rows (which end up sorted by movie) and those back
+     * to the movie rows (which end up sorted by person).
+     */
+    static final class Builder {
+        private int[] edgePersons = new int[1024];
+        private int[] edgeMovies = new int[1024];
+        private int size;
+        private int maxPerson = -1;
+        private int maxMovie = -1;
+
+        private Builder() {
+
+        }
+
+        Builder add(long personId, long movieId) {
+            if (size == edgePersons.length) {
+                edgePersons = Arrays.copyOf(edgePersons, size * 2);
+                edgeMovies = Arrays.copyOf(edgeMovies, size * 2);
+            }
+
+            int person = toIndex(personId);
+            int movie = toIndex(movieId);
+            edgePersons[size] = person;
+            edgeMovies[size] = movie;
+            size++;
+            maxPerson = Math.max(maxPerson, person);
+            maxMovie = Math.max(maxMovie, movie);
+
+            return this;
+        }
+
+        CastGraph build() {
+            int[] movieOffsets = offsets(edgeMovies, maxMovie + 1);
+            int[] personOffsets = offsets(edgePersons, maxPerson + 1);
+
+            int[] moviePersons = new int[size];
+            int[] next = Arrays.copyOf(movieOffsets, movieOffsets.length);
+            for (int i = 0; i < size; i++) { moviePersons[next[edgeMovies[i]]++] = edgePersons[i]; }
+
+            int[] personMovies = new int[size];
+            next = Arrays.copyOf(personOffsets, personOffsets.length);
+            for (int movie = 0; movie + 1 < movieOffsets.length; movie++) {
+                for (int p = movieOffsets[movie]; p < movieOffsets[movie + 1]; p++) {
+                    personMovies[next[moviePersons[p]]++] = movie;
+                }
+            }
+
+            next = Arrays.copyOf(movieOffsets, movieOffsets.length);
+            for (int person = 0; person + 1 < personOffsets.length; person++) {
+                for (int m = personOffsets[person]; m < personOffsets[person + 1]; m++) {
+                    moviePersons[next[personMovies[m]]++] = person;
+                }
+            }
+
+            return new CastGraph(personOffsets, personMovies, movieOffsets, moviePersons);
+        }
+
+        private int[] offsets(int[] rows, int rowCount) {
+            int[] offsets = new int[rowCount + 1];
+            for (int i = 0; i < size; i++) { offsets[rows[i] + 1]++; }
+            for (int row = 0; row < rowCount; row++) { offsets[row + 1] += offsets[row]; }
+            return offsets;
+        }
+    }
+
+    /**
+     * Open addressing map from a visited person to the person and movie it was reached from.
+     */
+    private static final class ParentMap {
+        private int[] keys = new int[64];
+        private long[] values = new long[64];
+        private int[] depths = new int[64];
+        private int size;
+
+        boolean contains(int person) {
+            return keys[slot(person, keys)] == person + 1;
+        }
+
+        void put(int person, int parent, int movie) {
+            if ((size + 1) * 2 > keys.length) { grow(); }
+
+            int slot = slot(person, keys);
+            keys[slot] = person + 1;
+            values[slot] = ((long) parent << 32) | (movie & 0xFFFFFFFFL);
+            depths[slot] = parent < 0 ? 0 : depth(parent) + 1;
+            size++;
+        }
+
+        int parent(int person) {
+            return (int) (values[slot(person, keys)] >> 32);
+        }
+
+        int movie(int person) {
+            return (int) values[slot(person, keys)];
+        }
+
+        int depth(int person) {
+            return depths[slot(person, keys)];
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            long[] oldValues = values;
+            int[] oldDepths = depths;
+            keys = new int[oldKeys.length * 2];
+            values = new long[oldKeys.length * 2];
+            depths = new int[oldKeys.length * 2];
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = slot(oldKeys[i] - 1, keys);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                    depths[slot] = oldDepths[i];
+                }
+            }
+        }
+
+        private static int slot(int person, int[] keys) {
+            int mask = keys.length - 1;
+            int slot = (person * 0x9E3779B9) & mask;
+            while (keys[slot] != 0 && keys[slot] != person + 1) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    private static final class Frontier {
+        private int[] persons = new int[16];
+        private int size;
+
+        private Frontier() {
+
+        }
+
+        private Frontier(int person) {
+            add(person);
+        }
+
+        private void add(int person) {
+            if (size == persons.length) { persons = Arrays.copyOf(persons, size * 2); }
+            persons[size++] = person;
+        }
+    }
+}
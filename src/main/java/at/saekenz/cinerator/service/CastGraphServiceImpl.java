@@ -0,0 +1,227 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.MovieDTO;
+import at.saekenz.cinerator.model.movie.MovieMapper;
+import at.saekenz.cinerator.model.movie.MovieSummaryView;
+import at.saekenz.cinerator.model.person.Person;
+import at.saekenz.cinerator.model.person.PersonMapper;
+import at.saekenz.cinerator.model.person.PersonPathDTO;
+import at.saekenz.cinerator.repository.CastGraphRepository;
+import at.saekenz.cinerator.repository.MovieBatchRepository.CastInfoRow;
+import at.saekenz.cinerator.repository.MovieSummaryRepository;
+import at.saekenz.cinerator.repository.PersonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answers multi-hop questions about cast and crew (co-stars, frequent collaborators, degrees of
+ * separation) from an in-memory {@link CastGraph} instead of chains of self-joins on {@code castinfos}.
+ * The graph is loaded on first use, updated in place by the cast info, movie and person services after
+ * their changes were written and rebuilt periodically, which also picks up changes of other instances.
+ */
+@Service
+public class CastGraphServiceImpl implements ICastGraphService {
+    private static final Logger log = LoggerFactory.getLogger(CastGraphServiceImpl.class);
+
+    @Autowired
+    private CastGraphRepository castGraphRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private MovieSummaryRepository movieSummaryRepository;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    @Autowired
+    private MovieMapper movieMapper;
+
+    private volatile CastGraph graph;
+
+    // Serializes loading and copy on write updates, readers only read the volatile field
+    private final ReentrantLock graphLock = new ReentrantLock();
+
+    /**
+     * Finds every {@link Person} that worked on at least one movie together with the {@link Person}
+     * with {@code personId}.
+     *
+     * @param personId the ID of the {@link Person}
+     * @return {@link List} of {@link Person} objects ordered by id
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Person> findCostars(Long personId) {
+        requirePerson(personId);
+        return findPersons(currentGraph().costars(personId));
+    }
+
+    /**
+     * Finds the persons that worked on the most movies together with the {@link Person} with {@code personId}.
+     *
+     * @param personId the ID of the {@link Person}
+     * @param size maximum number of persons
+     * @return {@link List} of {@link Person} objects, most shared movies first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Person> findFrequentCollaborators(Long personId, int size) {
+        requirePerson(personId);
+        return findPersons(currentGraph().collaborators(personId, size));
+    }
+
+    /**
+     * Finds a shortest chain of persons connecting two persons, where every two neighbours in the chain
+     * worked on the same movie.
+     *
+     * @param fromPersonId the ID of the first {@link Person}
+     * @param toPersonId the ID of the second {@link Person}
+     * @param maxDegrees maximum number of movies in the chain
+     * @return {@link PersonPathDTO} with the persons and movies of the chain
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PersonPathDTO findPath(Long fromPersonId, Long toPersonId, int maxDegrees) {
+        requirePerson(fromPersonId);
+        requirePerson(toPersonId);
+
+        CastGraph.Path path = currentGraph().shortestPath(fromPersonId, toPersonId, maxDegrees).orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.NOT_FOUND, String.format(
+                        "Person with id %s and Person with id %s are not connected within %s degrees!",
+                        fromPersonId, toPersonId, maxDegrees)));
+
+        List<Long> movieIds = Arrays.stream(path.movies()).boxed().toList();
+        Map<Long, MovieSummaryView> movies = movieSummaryRepository.findAllByIdIn(movieIds).stream()
+                .collect(Collectors.toMap(MovieSummaryView::id, Function.identity()));
+
+        List<MovieDTO> movieDTOs = movieIds.stream()
+                .map(movies::get)
+                .filter(Objects::nonNull)
+                .map(movieMapper::toDTO)
+                .toList();
+
+        return new PersonPathDTO(path.movies().length,
+                findPersons(path.persons()).stream().map(personMapper::toDTO).toList(),
+                movieDTOs);
+    }
+
+    @Override
+    public void castInfoAdded(Long personId, Long movieId) {
+        update(CastGraph.Changes.added(new long[]{personId}, new long[]{movieId}));
+    }
+
+    @Override
+    public void castInfosAdded(List<CastInfoRow> castInfos) {
+        if (castInfos.isEmpty()) { return; }
+
+        long[] personIds = castInfos.stream().mapToLong(CastInfoRow::personId).toArray();
+        long[] movieIds = castInfos.stream().mapToLong(CastInfoRow::movieId).toArray();
+        update(CastGraph.Changes.added(personIds, movieIds));
+    }
+
+    @Override
+    public void castInfoChanged(Long oldPersonId, Long oldMovieId, Long newPersonId, Long newMovieId) {
+        if (Objects.equals(oldPersonId, newPersonId) && Objects.equals(oldMovieId, newMovieId)) { return; }
+
+        update(CastGraph.Changes.replaced(oldPersonId, oldMovieId, newPersonId, newMovieId));
+    }
+
+    @Override
+    public void castInfoRemoved(Long personId, Long movieId) {
+        update(CastGraph.Changes.removed(personId, movieId));
+    }
+
+    @Override
+    public void movieRemoved(Long movieId) {
+        update(CastGraph.Changes.movieRemoved(movieId));
+    }
+
+    @Override
+    public void personRemoved(Long personId) {
+        update(CastGraph.Changes.personRemoved(personId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${cinerator.cast-graph.rebuild-delay}",
+            initialDelayString = "${cinerator.cast-graph.rebuild-delay}")
+    public void rebuild() {
+        graphLock.lock();
+        try {
+            graph = loadGraph();
+        }
+        finally {
+            graphLock.unlock();
+        }
+    }
+
+    private void requirePerson(Long personId) {
+        if (!personRepository.existsById(personId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    String.format("Person with id %s could not be found!", personId));
+        }
+    }
+
+    private List<Person> findPersons(long[] personIds) {
+        List<Long> ids = Arrays.stream(personIds).boxed().toList();
+        Map<Long, Person> persons = personRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Person::getId, Function.identity()));
+
+        return ids.stream()
+                .map(persons::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Applies {@code changes} to the loaded graph. Nothing is done before the graph was loaded, since
+     * loading reads the changes from the database anyway.
+     */
+    private void update(CastGraph.Changes changes) {
+        graphLock.lock();
+        try {
+            if (graph != null) { graph = graph.apply(changes); }
+        }
+        finally {
+            graphLock.unlock();
+        }
+    }
+
+    private CastGraph currentGraph() {
+        CastGraph current = graph;
+        if (current == null) {
+            graphLock.lock();
+            try {
+                if (graph == null) { graph = loadGraph(); }
+                current = graph;
+            }
+            finally {
+                graphLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private CastGraph loadGraph() {
+        CastGraph.Builder builder = CastGraph.builder();
+        castGraphRepository.forEachCastInfo(builder::add);
+
+        CastGraph loaded = builder.build();
+        log.info("Loaded cast graph with {} cast infos.", loaded.edgeCount());
+        return loaded;
+    }
+}
@@ -6,6 +6,8 @@ import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.person.Person;
 import at.saekenz.cinerator.model.role.Role;
 import at.saekenz.cinerator.repository.CastInfoRepository;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.KeysetPaginationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -28,6 +30,12 @@ public class CastInfoServiceImpl implements ICastInfoService {
     @Autowired
     private CastInfoRepository castInfoRepository;
 
+    @Autowired
+    private KeysetPaginationService keysetPaginationService;
+
+    @Autowired
+    private ICastGraphService castGraphService;
+
     public CastInfoServiceImpl(IMovieService movieService,
                                IPersonService personService,
                                IRoleService roleService) {
@@ -65,8 +73,9 @@ public class CastInfoServiceImpl implements ICastInfoService {
 
     @Override
     public void deleteById(Long id) {
-        findCastInfoById(id);
+        CastInfo castInfo = findCastInfoById(id);
         castInfoRepository.deleteById(id);
+        castGraphService.castInfoRemoved(castInfo.getPerson().getId(), castInfo.getMovie().getId());
     }
 
     @Override
@@ -77,19 +86,30 @@ public class CastInfoServiceImpl implements ICastInfoService {
         return castInfoRepository.findAll(pageable);
     }
 
+    @Override
+    public KeysetPage<CastInfo> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                              boolean withCount) {
+        return keysetPaginationService.findAll(CastInfo.class, size, sortField, sortDirection, cursor, withCount);
+    }
+
     @Override
     public CastInfo createCastInfo(CastInfoCreationDTO castInfoCreationDTO) {
         Movie movie = movieService.getReferenceById(castInfoCreationDTO.getMovieId());
         Person person = personService.getReferenceById(castInfoCreationDTO.getPersonId());
         Role role = roleService.getReferenceById(castInfoCreationDTO.getRoleId());
 
-        return save(new CastInfo(movie, person, role,
+        CastInfo savedCastInfo = save(new CastInfo(movie, person, role,
                 castInfoCreationDTO.getCharacterName()));
+        castGraphService.castInfoAdded(castInfoCreationDTO.getPersonId(), castInfoCreationDTO.getMovieId());
+
+        return savedCastInfo;
     }
 
     @Override
     public CastInfo updateCastInfo(Long id, CastInfoCreationDTO castInfoCreationDTO) {
         CastInfo existingCastInfo = findCastInfoById(id);
+        Long oldPersonId = existingCastInfo.getPerson().getId();
+        Long oldMovieId = existingCastInfo.getMovie().getId();
 
         if (!Objects.equals(castInfoCreationDTO.getMovieId(), existingCastInfo.getMovie().getId())) {
             Movie updatedMovie = movieService.getReferenceById(castInfoCreationDTO.getMovieId());
@@ -108,6 +128,10 @@ public class CastInfoServiceImpl implements ICastInfoService {
 
         existingCastInfo.setCharacterName(castInfoCreationDTO.getCharacterName());
 
-        return save(existingCastInfo);
+        CastInfo savedCastInfo = save(existingCastInfo);
+        castGraphService.castInfoChanged(oldPersonId, oldMovieId,
+                castInfoCreationDTO.getPersonId(), castInfoCreationDTO.getMovieId());
+
+        return savedCastInfo;
     }
 }
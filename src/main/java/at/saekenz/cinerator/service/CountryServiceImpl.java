@@ -4,6 +4,8 @@ import at.saekenz.cinerator.model.country.Country;
 import at.saekenz.cinerator.model.country.CountryDTO;
 import at.saekenz.cinerator.model.country.CountryMapper;
 import at.saekenz.cinerator.repository.CountryRepository;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.KeysetPaginationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -22,6 +24,9 @@ public class CountryServiceImpl implements ICountryService {
     @Autowired
     private CountryRepository countryRepository;
 
+    @Autowired
+    private KeysetPaginationService keysetPaginationService;
+
     @Autowired
     private CountryMapper countryMapper;
 
@@ -71,6 +76,12 @@ public class CountryServiceImpl implements ICountryService {
         return countryRepository.findAll(pageable);
     }
 
+    @Override
+    public KeysetPage<Country> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                             boolean withCount) {
+        return keysetPaginationService.findAll(Country.class, size, sortField, sortDirection, cursor, withCount);
+    }
+
     @Override
     public Country updateCountry(Long id, CountryDTO countryDTO) {
         Country existingCountry = findCountryById(id);
@@ -0,0 +1,152 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.review.Review;
+import at.saekenz.cinerator.model.review.ReviewDTO;
+import at.saekenz.cinerator.repository.FeedEntryRepository;
+import at.saekenz.cinerator.repository.UserRepository;
+import at.saekenz.cinerator.util.KeysetPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the home timelines of users. A new review is copied into the timeline of every follower of
+ * its author with a single INSERT ... SELECT (fan-out on write), so reading a feed is an index range
+ * scan that only touches one page of entries, no matter how many users are followed. Authors with more
+ * than {@code cinerator.feed.fan-out-limit} followers are marked as pull authors instead; their reviews
+ * are merged into the feed when it is read (fan-out on read). Timelines are trimmed to
+ * {@code cinerator.feed.max-entries} entries on a schedule.
+ */
+@Service
+public class FeedServiceImpl implements IFeedService {
+    private static final Logger log = LoggerFactory.getLogger(FeedServiceImpl.class);
+
+    @Autowired
+    private FeedEntryRepository feedEntryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${cinerator.feed.fan-out-limit}")
+    private int fanOutLimit;
+
+    @Value("${cinerator.feed.max-entries}")
+    private int maxEntries;
+
+    /**
+     * Reads one page of the feed of {@link at.saekenz.cinerator.model.user.User} with {@code userId},
+     * newest reviews first.
+     *
+     * @param userId the ID of the user whose feed is read
+     * @param size maximum number of reviews on the page
+     * @param cursor id of the last review of the previous page ({@code null} for the first page)
+     * @return {@link KeysetPage} of reviews with the cursor of the next page (if there is one)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ReviewDTO> findFeed(Long userId, int size, String cursor) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    String.format("User with id %s could not be found!", userId));
+        }
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be at least 1!");
+        }
+
+        Long before = parseCursor(cursor);
+        Limit limit = Limit.of(size + 1);
+
+        List<ReviewDTO> reviews = feedEntryRepository.findFeedReviews(userId, before, limit);
+
+        List<Long> pullAuthorIds = feedEntryRepository.findFollowedPullAuthorIds(userId);
+        if (!pullAuthorIds.isEmpty()) {
+            reviews = merge(reviews, feedEntryRepository.findReviewsByAuthors(pullAuthorIds, before, limit));
+        }
+
+        boolean hasNext = reviews.size() > size;
+        List<ReviewDTO> content = hasNext ? reviews.subList(0, size) : reviews;
+        String nextCursor = hasNext ? String.valueOf(content.get(content.size() - 1).getId()) : null;
+
+        return new KeysetPage<>(content, nextCursor, null, null);
+    }
+
+    @Override
+    @Transactional
+    public void reviewAdded(Review review) {
+        Long authorId = review.getUser().getId();
+
+        if (feedEntryRepository.isPullAuthor(authorId)) { return; }
+
+        if (feedEntryRepository.countFollowersUpTo(authorId, fanOutLimit + 1) > fanOutLimit) {
+            feedEntryRepository.insertPullAuthor(authorId);
+            log.info("User with id {} exceeded the fan-out limit, their reviews are merged into feeds on read.",
+                    authorId);
+            return;
+        }
+
+        int entries = feedEntryRepository.fanOut(authorId, review.getId());
+        log.debug("Review with id {} was added to {} feeds.", review.getId(), entries);
+    }
+
+    @Override
+    @Transactional
+    public void userFollowed(Long userId, Long followerId) {
+        if (feedEntryRepository.isPullAuthor(userId)) { return; }
+
+        feedEntryRepository.backfill(userId, followerId, maxEntries);
+    }
+
+    @Override
+    @Transactional
+    public void userUnfollowed(Long userId, Long followerId) {
+        feedEntryRepository.deleteByAuthor(userId, followerId);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${cinerator.feed.trim-cron}")
+    public void trimTimelines() {
+        int removed = feedEntryRepository.trimTimelines(maxEntries);
+        log.info("Removed {} entries exceeding the feed size of {}.", removed, maxEntries);
+    }
+
+    /**
+     * Merges two lists that are ordered by descending review id. A review can be part of both lists if
+     * its author became a pull author after it was fanned out.
+     */
+    private List<ReviewDTO> merge(List<ReviewDTO> pushed, List<ReviewDTO> pulled) {
+        Map<Long, ReviewDTO> merged = new LinkedHashMap<>();
+        pushed.forEach(review -> merged.put(review.getId(), review));
+        pulled.forEach(review -> merged.putIfAbsent(review.getId(), review));
+
+        List<ReviewDTO> reviews = new ArrayList<>(merged.values());
+        reviews.sort(Comparator.comparing(ReviewDTO::getId).reversed());
+
+        return reviews;
+    }
+
+    private Long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) { return Long.MAX_VALUE; }
+
+        try {
+            return Long.parseLong(cursor);
+        }
+        catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("Cursor %s is invalid!", cursor));
+        }
+    }
+}
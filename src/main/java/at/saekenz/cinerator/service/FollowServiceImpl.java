@@ -3,6 +3,8 @@ package at.saekenz.cinerator.service;
 import at.saekenz.cinerator.model.follow.Follow;
 import at.saekenz.cinerator.model.follow.FollowKey;
 import at.saekenz.cinerator.repository.FollowRepository;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.KeysetPaginationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -21,6 +23,9 @@ public class FollowServiceImpl implements IFollowService{
     @Autowired
     private FollowRepository followRepository;
 
+    @Autowired
+    private KeysetPaginationService keysetPaginationService;
+
     @Override
     public List<Follow> findAll() {
         return followRepository.findAll();
@@ -56,4 +61,10 @@ public class FollowServiceImpl implements IFollowService{
 
         return followRepository.findAll(pageable);
     }
+
+    @Override
+    public KeysetPage<Follow> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                            boolean withCount) {
+        return keysetPaginationService.findAll(Follow.class, size, sortField, sortDirection, cursor, withCount);
+    }
 }
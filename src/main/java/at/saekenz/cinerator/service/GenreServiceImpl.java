@@ -4,6 +4,8 @@ import at.saekenz.cinerator.model.genre.Genre;
 import at.saekenz.cinerator.model.genre.GenreDTO;
 import at.saekenz.cinerator.model.genre.GenreMapper;
 import at.saekenz.cinerator.repository.GenreRepository;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.KeysetPaginationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -21,6 +23,9 @@ public class GenreServiceImpl implements IGenreService {
 
     @Autowired
     private GenreRepository genreRepository;
+
+    @Autowired
+    private KeysetPaginationService keysetPaginationService;
     @Autowired
     private GenreMapper genreMapper;
 
@@ -65,6 +70,12 @@ public class GenreServiceImpl implements IGenreService {
         return genreRepository.findAll(pageable);
     }
 
+    @Override
+    public KeysetPage<Genre> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                           boolean withCount) {
+        return keysetPaginationService.findAll(Genre.class, size, sortField, sortDirection, cursor, withCount);
+    }
+
     @Override
     public Genre createGenre(GenreDTO genreDTO) {
         Genre newGenre = genreMapper.toGenre(genreDTO);
@@ -0,0 +1,21 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.autocomplete.AutocompleteSuggestion;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface IAutocompleteService {
+
+    List<AutocompleteSuggestion> suggest(String query, Collection<String> types, int size);
+
+    void movieSaved(Long movieId, String title);
+
+    void personSaved(Long personId, String name);
+
+    void movieRemoved(Long movieId);
+
+    void personRemoved(Long personId);
+
+    void rebuild();
+}
@@ -0,0 +1,30 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.person.Person;
+import at.saekenz.cinerator.model.person.PersonPathDTO;
+import at.saekenz.cinerator.repository.MovieBatchRepository.CastInfoRow;
+
+import java.util.List;
+
+public interface ICastGraphService {
+
+    List<Person> findCostars(Long personId);
+
+    List<Person> findFrequentCollaborators(Long personId, int size);
+
+    PersonPathDTO findPath(Long fromPersonId, Long toPersonId, int maxDegrees);
+
+    void castInfoAdded(Long personId, Long movieId);
+
+    void castInfosAdded(List<CastInfoRow> castInfos);
+
+    void castInfoChanged(Long oldPersonId, Long oldMovieId, Long newPersonId, Long newMovieId);
+
+    void castInfoRemoved(Long personId, Long movieId);
+
+    void movieRemoved(Long movieId);
+
+    void personRemoved(Long personId);
+
+    void rebuild();
+}
@@ -2,6 +2,7 @@ package at.saekenz.cinerator.service;
 
 import at.saekenz.cinerator.model.castinfo.CastInfo;
 import at.saekenz.cinerator.model.castinfo.CastInfoCreationDTO;
+import at.saekenz.cinerator.util.KeysetPage;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -23,6 +24,9 @@ public interface ICastInfoService {
 
     Page<CastInfo> findAllPaged(int page, int size, String sortField, String sortDirection);
 
+    KeysetPage<CastInfo> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                       boolean withCount);
+
     CastInfo createCastInfo(CastInfoCreationDTO castInfoCreationDTO);
 
     CastInfo updateCastInfo(Long id, CastInfoCreationDTO castInfoCreationDTO);
@@ -2,6 +2,7 @@ package at.saekenz.cinerator.service;
 
 import at.saekenz.cinerator.model.country.Country;
 import at.saekenz.cinerator.model.country.CountryDTO;
+import at.saekenz.cinerator.util.KeysetPage;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -25,6 +26,9 @@ public interface ICountryService {
 
     Page<Country> findAllPaged(int page, int size, String sortField, String sortDirection);
 
+    KeysetPage<Country> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                      boolean withCount);
+
     Country updateCountry(Long id, CountryDTO countryDTO);
 
     Country createCountry(CountryDTO countryDTO);
@@ -0,0 +1,18 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.review.Review;
+import at.saekenz.cinerator.model.review.ReviewDTO;
+import at.saekenz.cinerator.util.KeysetPage;
+
+public interface IFeedService {
+
+    KeysetPage<ReviewDTO> findFeed(Long userId, int size, String cursor);
+
+    void reviewAdded(Review review);
+
+    void userFollowed(Long userId, Long followerId);
+
+    void userUnfollowed(Long userId, Long followerId);
+
+    void trimTimelines();
+}
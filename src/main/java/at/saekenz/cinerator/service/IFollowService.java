@@ -2,6 +2,7 @@ package at.saekenz.cinerator.service;
 
 import at.saekenz.cinerator.model.follow.Follow;
 import at.saekenz.cinerator.model.follow.FollowKey;
+import at.saekenz.cinerator.util.KeysetPage;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -20,4 +21,7 @@ public interface IFollowService {
     void deleteByKey(FollowKey followKey);
 
     Page<Follow> findAllPaged(int page, int size, String sortField, String sortDirection);
+
+    KeysetPage<Follow> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                     boolean withCount);
 }
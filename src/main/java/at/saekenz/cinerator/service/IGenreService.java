@@ -2,6 +2,7 @@ package at.saekenz.cinerator.service;
 
 import at.saekenz.cinerator.model.genre.Genre;
 import at.saekenz.cinerator.model.genre.GenreDTO;
+import at.saekenz.cinerator.util.KeysetPage;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -23,6 +24,9 @@ public interface IGenreService {
 
     Page<Genre> findAllPaged(int page, int size, String sortField, String sortDirection);
 
+    KeysetPage<Genre> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                    boolean withCount);
+
     Genre createGenre(GenreDTO roleDTO);
 
     Genre updateGenre(Long id, GenreDTO roleDTO);
@@ -0,0 +1,14 @@
+package at.saekenz.cinerator.service;
+
+import java.util.Optional;
+
+public interface IImdbIdLookupService {
+
+    Optional<Long> findMovieId(String imdbId);
+
+    void movieSaved(Long movieId, String imdbId);
+
+    void movieRemoved(Long movieId);
+
+    void invalidate(String imdbId);
+}
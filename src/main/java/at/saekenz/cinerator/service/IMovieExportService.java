@@ -0,0 +1,9 @@
+package at.saekenz.cinerator.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IMovieExportService {
+
+    long exportAsNdjson(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,19 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.EMovieFacet;
+import at.saekenz.cinerator.model.movie.MovieFacetPage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface IMovieFacetService {
+
+    MovieFacetPage search(String title, Map<EMovieFacet, List<String>> filters, int page, int size);
+
+    void moviesSaved(Collection<Long> movieIds);
+
+    void movieRemoved(Long movieId);
+
+    void rebuild();
+}
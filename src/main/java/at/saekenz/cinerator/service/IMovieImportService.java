@@ -0,0 +1,15 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.MovieImportDTO;
+import at.saekenz.cinerator.model.movie.MovieImportReportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface IMovieImportService {
+
+    MovieImportReportDTO importMovies(List<MovieImportDTO> movies);
+
+    MovieImportReportDTO importMoviesFromCsv(InputStream csv) throws IOException;
+}
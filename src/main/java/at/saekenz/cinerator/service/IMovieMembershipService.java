@@ -0,0 +1,47 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.MovieBatchResultDTO;
+import at.saekenz.cinerator.repository.MovieMembershipRepository.MovieList;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface IMovieMembershipService {
+
+    boolean contains(MovieList list, Long ownerId, Long movieId);
+
+    Map<Long, Boolean> containsAll(MovieList list, Long ownerId, Collection<Long> movieIds);
+
+    boolean add(MovieList list, Long ownerId, Long movieId);
+
+    boolean remove(MovieList list, Long ownerId, Long movieId);
+
+    MovieBatchResultDTO update(MovieList list, Long ownerId, Collection<Long> add, Collection<Long> remove);
+
+    MovieBatchResultDTO update(MovieList list, Long ownerId, Collection<Long> add, Collection<Long> remove,
+                               EntryPositions positions);
+
+    MovieBatchResultDTO replace(MovieList list, Long ownerId, Collection<Long> movieIds);
+
+    MovieBatchResultDTO replace(MovieList list, Long ownerId, Collection<Long> movieIds, EntryPositions positions);
+
+    void movieAdded(MovieList list, Long ownerId, Long movieId);
+
+    void evict(MovieList list, Long ownerId);
+
+    void movieRemoved(Long movieId);
+
+    /**
+     * Generates the positions of the movies a batch update appends to a user list. Called within the
+     * transaction of the update, with the movies that are not part of the list yet.
+     */
+    @FunctionalInterface
+    interface EntryPositions {
+
+        /**
+         * @return position of every movie in {@code movieIds}, in the same order
+         */
+        List<String> append(Long userListId, List<Long> movieIds);
+    }
+}
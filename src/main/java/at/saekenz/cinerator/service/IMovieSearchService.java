@@ -0,0 +1,14 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.movie.MovieSearchCriteria;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public interface IMovieSearchService {
+
+    List<Movie> search(MovieSearchCriteria criteria);
+
+    Page<Movie> search(MovieSearchCriteria criteria, int page, int size);
+}
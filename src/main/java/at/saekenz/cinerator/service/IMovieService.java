@@ -4,13 +4,17 @@ import at.saekenz.cinerator.model.country.Country;
 import at.saekenz.cinerator.model.genre.Genre;
 import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.movie.MovieCreationDTO;
+import at.saekenz.cinerator.model.movie.MovieDTO;
+import at.saekenz.cinerator.model.movie.MovieDetails;
 import at.saekenz.cinerator.model.person.Person;
 import at.saekenz.cinerator.model.review.Review;
 import at.saekenz.cinerator.model.review.ReviewCreationDTO;
 import at.saekenz.cinerator.model.review.ReviewUpdateDTO;
+import at.saekenz.cinerator.util.KeysetPage;
 import org.springframework.data.domain.Page;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +28,8 @@ public interface IMovieService {
 
     Movie getReferenceById(Long id);
 
+    Movie findMovieByImdbId(String imdbId);
+
     List<Movie> findByTitle(String title);
 
     Movie save(Movie movie);
@@ -38,12 +44,19 @@ public interface IMovieService {
 
     Page<Movie> findAllPaged(int page, int size, String sortField, String sortDirection);
 
+    KeysetPage<Movie> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                    boolean withCount);
+
     Movie createMovie(MovieCreationDTO movieCreationDTO);
 
     Movie updateMovie(Long id, MovieCreationDTO movieCreationDTO);
 
-    List<Movie> findMoviesBySearchParams(String title, LocalDate releaseDate, Integer releaseYear, String runtime,
-                             String imdbId, String genre, String country);
+    Page<Movie> findMoviesBySearchParams(String title, LocalDate releaseDate, Integer releaseYear, String runtime,
+                             String imdbId, String genre, String country, int page, int size);
+
+    List<MovieDTO> findMovieDTOs(Collection<Movie> movies);
+
+    Page<MovieDTO> findMovieDTOs(Page<Movie> movies);
 
     List<Review> findReviewsByMovieId(Long id);
 
@@ -62,4 +75,6 @@ public interface IMovieService {
     List<Genre> findGenresByMovieId(Long movieId);
 
     List<Country> findCountriesByMovieId(Long movieId);
+
+    MovieDetails findMovieDetails(Long id, Collection<String> expand);
 }
@@ -0,0 +1,19 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.MovieDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface IMovieSimilarityService {
+
+    List<MovieDTO> findSimilarMovies(Long movieId);
+
+    void movieTouched(Long movieId);
+
+    void moviesTouched(Collection<Long> movieIds);
+
+    void rebuildAll();
+
+    void refreshTouched();
+}
@@ -0,0 +1,12 @@
+package at.saekenz.cinerator.service;
+
+public interface IMovieStatsService {
+
+    void reviewAdded(Long movieId, int rating, boolean liked);
+
+    void reviewEdited(Long movieId, int oldRating, boolean oldLiked, int newRating, boolean newLiked);
+
+    void reviewRemoved(Long movieId, int rating, boolean liked);
+
+    void rebuildAll();
+}
@@ -6,6 +6,7 @@ import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.person.Person;
 import at.saekenz.cinerator.model.person.PersonDTO;
 import at.saekenz.cinerator.model.role.Role;
+import at.saekenz.cinerator.util.KeysetPage;
 import org.springframework.data.domain.Page;
 
 import java.time.LocalDate;
@@ -24,13 +25,16 @@ public interface IPersonService {
 
     void deleteById(Long id);
 
-    List<Person> findPersonsBySearchParams(String name, LocalDate birthDate, LocalDate deathDate, String height,
-                                           String country, Integer age);
+    Page<Person> findPersonsBySearchParams(String name, LocalDate birthDate, LocalDate deathDate, String height,
+                                           String country, Integer age, int page, int size);
 
     List<Movie> findMoviesByPersonIdAndRole(Long personId, String role);
 
     Page<Person> findAllPaged(int page, int size, String sortField, String sortDirection);
 
+    KeysetPage<Person> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                     boolean withCount);
+
     Country findCountryByPersonId(Long personId);
 
     Person updatePerson(Long id, PersonDTO personDTO);
@@ -0,0 +1,14 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.MovieDTO;
+
+import java.util.List;
+
+public interface IRecommendationService {
+
+    List<MovieDTO> findRecommendations(Long userId, int size);
+
+    void train();
+
+    void reloadModel();
+}
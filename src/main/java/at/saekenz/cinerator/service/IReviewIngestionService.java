@@ -0,0 +1,13 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.review.ReviewCreationDTO;
+import at.saekenz.cinerator.model.review.ReviewSubmissionDTO;
+
+import java.util.UUID;
+
+public interface IReviewIngestionService {
+
+    ReviewSubmissionDTO submitReview(Long movieId, ReviewCreationDTO reviewCreationDTO);
+
+    ReviewSubmissionDTO findSubmission(Long movieId, UUID ticket);
+}
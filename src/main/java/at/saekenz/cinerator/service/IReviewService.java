@@ -4,6 +4,7 @@ import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.review.Review;
 import at.saekenz.cinerator.model.review.ReviewDTO;
 import at.saekenz.cinerator.model.user.User;
+import at.saekenz.cinerator.util.KeysetPage;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -15,6 +16,9 @@ public interface IReviewService {
 
     Page<Review> findAllPaged(int page, int size, String sortField, String sortDirection);
 
+    KeysetPage<Review> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                     boolean withCount);
+
     Optional<Review> findById(Long id);
 
     Optional<ReviewDTO> findDTOById(Long id);
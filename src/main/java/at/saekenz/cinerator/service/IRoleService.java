@@ -2,6 +2,7 @@ package at.saekenz.cinerator.service;
 
 import at.saekenz.cinerator.model.role.Role;
 import at.saekenz.cinerator.model.role.RoleDTO;
+import at.saekenz.cinerator.util.KeysetPage;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -23,6 +24,9 @@ public interface IRoleService {
 
     Page<Role> findAllPaged(int page, int size, String sortField, String sortDirection);
 
+    KeysetPage<Role> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                   boolean withCount);
+
     Role createRole(RoleDTO roleDTO);
 
     Role updateRole(Long id, RoleDTO roleDTO);
@@ -1,13 +1,22 @@
 package at.saekenz.cinerator.service;
 
 import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.movie.MovieBatchReplaceDTO;
+import at.saekenz.cinerator.model.movie.MovieBatchResultDTO;
+import at.saekenz.cinerator.model.movie.MovieBatchUpdateDTO;
 import at.saekenz.cinerator.model.user.User;
 import at.saekenz.cinerator.model.userlist.UserList;
 import at.saekenz.cinerator.model.userlist.UserListCreationDTO;
 import at.saekenz.cinerator.model.userlist.UserListDTO;
+import at.saekenz.cinerator.model.userlist.UserListEntryCreationDTO;
+import at.saekenz.cinerator.model.userlist.UserListEntryDTO;
+import at.saekenz.cinerator.model.userlist.UserListEntryUpdateDTO;
+import at.saekenz.cinerator.util.KeysetPage;
 import org.springframework.data.domain.Page;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface IUserListService {
@@ -30,15 +39,32 @@ public interface IUserListService {
 
     Page<UserList> findAllPaged(int page, int size, String sortField, String sortDirection);
 
+    KeysetPage<UserList> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                       boolean withCount);
+
     UserList createUserList(UserListCreationDTO userListCreationDTO);
 
     UserList updateUserList(Long id, UserListDTO userListDTO);
 
     User findUserByUserListId(Long userListId);
 
-    List<Movie> findMoviesByUserListId(Long userListId);
+    Page<Movie> findMoviesByUserListId(Long userListId, int page, int size);
+
+    Page<UserListEntryDTO> findEntriesByUserListId(Long userListId, int page, int size);
+
+    Map<Long, Boolean> findUserListMemberships(Long userListId, Collection<Long> movieIds);
 
     UserList addMovieToUserListById(Long userListId, Long movieId);
 
+    UserListEntryDTO findEntry(Long userListId, Long movieId);
+
+    UserListEntryDTO addEntryToUserList(Long userListId, UserListEntryCreationDTO userListEntryCreationDTO);
+
+    UserListEntryDTO updateEntry(Long userListId, Long movieId, UserListEntryUpdateDTO userListEntryUpdateDTO);
+
     void removeMovieFromUserListId(Long userListId, Long movieId);
+
+    MovieBatchResultDTO updateMoviesOfUserList(Long userListId, MovieBatchUpdateDTO movieBatchUpdateDTO);
+
+    MovieBatchResultDTO replaceMoviesOfUserList(Long userListId, MovieBatchReplaceDTO movieBatchReplaceDTO);
 }
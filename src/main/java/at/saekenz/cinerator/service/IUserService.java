@@ -2,14 +2,20 @@ package at.saekenz.cinerator.service;
 
 import at.saekenz.cinerator.model.follow.Follow;
 import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.movie.MovieBatchReplaceDTO;
+import at.saekenz.cinerator.model.movie.MovieBatchResultDTO;
+import at.saekenz.cinerator.model.movie.MovieBatchUpdateDTO;
 import at.saekenz.cinerator.model.review.Review;
 import at.saekenz.cinerator.model.user.User;
 import at.saekenz.cinerator.model.user.UserCreationDTO;
 import at.saekenz.cinerator.model.user.UserDTO;
 import at.saekenz.cinerator.model.userlist.UserList;
+import at.saekenz.cinerator.util.KeysetPage;
 import org.springframework.data.domain.Page;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface IUserService {
@@ -44,16 +50,25 @@ public interface IUserService {
 
     Page<User> findAllPaged(int page, int size, String sortField, String sortDirection);
 
+    KeysetPage<User> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                   boolean withCount);
+
     User createUser(UserCreationDTO userCreationDTO);
 
     User updateUser(Long id, UserDTO userDTO);
 
     Movie findMovieInUsersWatchlist(Long userId, Long movieId);
 
+    Map<Long, Boolean> findWatchlistMemberships(Long userId, Collection<Long> movieIds);
+
     User addMovieToWatchlistById(Long userId, Long movieId);
 
     void removeMovieFromWatchlistById(Long userId, Long movieId);
 
+    MovieBatchResultDTO updateWatchlist(Long userId, MovieBatchUpdateDTO movieBatchUpdateDTO);
+
+    MovieBatchResultDTO replaceWatchlist(Long userId, MovieBatchReplaceDTO movieBatchReplaceDTO);
+
     List<Review> findReviewsByUserId(Long userId);
 
     List<User> findFollowersByUserId(Long userId);
@@ -0,0 +1,146 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.repository.ImdbIdRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves IMDb ids to movie ids from memory. Ids of the usual form ({@code tt} followed by digits) are
+ * packed into a single long, so the whole catalog fits into two primitive {@link LongLongMap}s
+ * (IMDb id to movie id and back, the latter for removals) instead of boxed map entries.
+ * <p>
+ * The map is loaded once the application is ready and updated by the movie services on every write. Ids
+ * that are not in it are looked up in the database (a unique index probe) and remembered if they exist,
+ * so rows written by other means are picked up as well. A hit may still be stale if a movie was changed
+ * behind the application's back, callers verify it and {@link #invalidate} the id if it does not match
+ * (see {@link LoadableIndex}).
+ */
+@Service
+public class ImdbIdLookupServiceImpl implements IImdbIdLookupService {
+    private static final Logger log = LoggerFactory.getLogger(ImdbIdLookupServiceImpl.class);
+
+    // Up to 17 digits, so the value shifted by DIGIT_COUNT_BITS still fits into a positive long
+    private static final Pattern PACKABLE_IMDB_ID = Pattern.compile("tt\\d{1,17}");
+
+    // The number of digits is kept as well, tt0133093 and tt133093 are different ids
+    private static final int DIGIT_COUNT_BITS = 5;
+
+    @Autowired
+    private ImdbIdRepository imdbIdRepository;
+
+    private final LoadableIndex<IdMap> idMap = new LoadableIndex<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            idMap.load(this::loadIdMap);
+        }
+        catch (DataAccessException e) {
+            log.warn("IMDb id map could not be loaded, ids are looked up in the database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param imdbId IMDb id in any case (e.g. {@code TT0133093})
+     * @return id of the movie with {@code imdbId}
+     */
+    @Override
+    public Optional<Long> findMovieId(String imdbId) {
+        String normalizedImdbId = Movie.normalizeImdbId(imdbId);
+        long key = pack(normalizedImdbId);
+
+        if (key > 0) {
+            long movieId = idMap.read(map -> map.movieId(key), 0L);
+            if (movieId > 0) { return Optional.of(movieId); }
+        }
+
+        Optional<Long> movieId = imdbIdRepository.findMovieId(normalizedImdbId);
+        movieId.ifPresent(id -> movieSaved(id, normalizedImdbId));
+        return movieId;
+    }
+
+    @Override
+    public void movieSaved(Long movieId, String imdbId) {
+        long key = pack(Movie.normalizeImdbId(imdbId));
+        idMap.update(map -> {
+            map.remove(movieId);
+            if (key > 0) { map.put(movieId, key); }
+        });
+    }
+
+    @Override
+    public void movieRemoved(Long movieId) {
+        idMap.update(map -> map.remove(movieId));
+    }
+
+    @Override
+    public void invalidate(String imdbId) {
+        long key = pack(Movie.normalizeImdbId(imdbId));
+        if (key > 0) { idMap.update(map -> map.removeKey(key)); }
+    }
+
+    private IdMap loadIdMap() {
+        IdMap loaded = new IdMap();
+        imdbIdRepository.forEachMovie(row -> {
+            long key = pack(row.imdbId());
+            if (key > 0) { loaded.put(row.movieId(), key); }
+        });
+
+        log.info("Loaded IMDb id map with {} ids.", loaded.size());
+        return loaded;
+    }
+
+    /**
+     * @return {@code imdbId} packed into a positive long or {@code 0} if it is not of the usual form
+     */
+    private static long pack(String imdbId) {
+        if (imdbId == null || !PACKABLE_IMDB_ID.matcher(imdbId).matches()) { return 0; }
+
+        int digits = imdbId.length() - 2;
+        return Long.parseLong(imdbId, 2, imdbId.length(), 10) << DIGIT_COUNT_BITS | digits;
+    }
+
+    /**
+     * Both directions of the mapping, kept consistent with each other. Not thread-safe.
+     */
+    private static final class IdMap {
+        private final LongLongMap movieIdsByKey = new LongLongMap();
+        private final LongLongMap keysByMovieId = new LongLongMap();
+
+        long movieId(long key) {
+            return movieIdsByKey.get(key);
+        }
+
+        void put(long movieId, long key) {
+            // A key belongs to one movie (unique index), drop whatever an outdated entry pointed to
+            long previousMovieId = movieIdsByKey.put(key, movieId);
+            if (previousMovieId > 0 && previousMovieId != movieId) { keysByMovieId.remove(previousMovieId); }
+
+            long previousKey = keysByMovieId.put(movieId, key);
+            if (previousKey > 0 && previousKey != key) { movieIdsByKey.remove(previousKey); }
+        }
+
+        void remove(long movieId) {
+            long key = keysByMovieId.remove(movieId);
+            if (key > 0) { movieIdsByKey.remove(key); }
+        }
+
+        void removeKey(long key) {
+            long movieId = movieIdsByKey.remove(key);
+            if (movieId > 0) { keysByMovieId.remove(movieId); }
+        }
+
+        int size() {
+            return movieIdsByKey.size();
+        }
+    }
+}
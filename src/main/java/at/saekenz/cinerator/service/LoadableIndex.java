@@ -0,0 +1,152 @@
+package at.saekenz.cinerator.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Holder of an in-memory index that is loaded from the database and kept up to date by the services that
+ * write its rows. The index itself does not have to be thread-safe: queries share the read lock, changes
+ * take the write lock. A load builds the new index without holding either of them, records the changes
+ * applied in the meantime and replays them on the new index before swapping it in. Loads are serialized,
+ * queries and changes never wait for them.
+ *
+ * @param <T> type of the index
+ */
+final class LoadableIndex<T> {
+
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    // Serializes loads of the index
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile T index;
+
+    // Changes applied while a load is running, guarded by the write lock (null if no load is running)
+    private List<Consumer<? super T>> pendingChanges;
+
+    /**
+     * Replaces the index with the one built by {@code loader}. If the loader fails, the current index is kept.
+     */
+    void load(Supplier<? extends T> loader) {
+        loadLock.lock();
+        try {
+            doLoad(loader);
+        }
+        finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Loads the index with {@code loader} unless it was loaded before.
+     */
+    void loadIfAbsent(Supplier<? extends T> loader) {
+        if (index != null) { return; }
+
+        loadLock.lock();
+        try {
+            if (index == null) { doLoad(loader); }
+        }
+        finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * @return result of {@code query} on the loaded index
+     * @throws IllegalStateException if the index was not loaded yet
+     */
+    <R> R read(Function<? super T, ? extends R> query) {
+        indexLock.readLock().lock();
+        try {
+            if (index == null) { throw new IllegalStateException("Index was not loaded yet!"); }
+            return query.apply(index);
+        }
+        finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return result of {@code query} on the loaded index or {@code notLoaded} if it was not loaded yet
+     */
+    <R> R read(Function<? super T, ? extends R> query, R notLoaded) {
+        indexLock.readLock().lock();
+        try {
+            return index != null ? query.apply(index) : notLoaded;
+        }
+        finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies {@code change} to the loaded index and to the one being loaded. Changes have to be applied
+     * after they were written, so replaying them on an index loaded in the meantime is safe.
+     */
+    void update(Consumer<? super T> change) {
+        indexLock.writeLock().lock();
+        try {
+            if (index != null) { change.accept(index); }
+            if (pendingChanges != null) { pendingChanges.add(change); }
+        }
+        finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Changes made before the first load can be skipped, the load reads them from the database.
+     */
+    boolean isLoadedOrLoading() {
+        if (index != null) { return true; }
+
+        indexLock.readLock().lock();
+        try {
+            return pendingChanges != null;
+        }
+        finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private void doLoad(Supplier<? extends T> loader) {
+        indexLock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        }
+        finally {
+            indexLock.writeLock().unlock();
+        }
+
+        T loaded;
+        try {
+            loaded = loader.get();
+        }
+        catch (RuntimeException e) {
+            indexLock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            }
+            finally {
+                indexLock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        indexLock.writeLock().lock();
+        try {
+            pendingChanges.forEach(change -> change.accept(loaded));
+            pendingChanges = null;
+            index = loaded;
+        }
+        finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package at.saekenz.cinerator.service;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map assigning consecutive int indexes to long keys (without boxing).
+ */
+final class LongIndex {
+    private long[] keys = new long[1024];
+    private int[] slots = new int[1024];
+    private long[] keysByIndex = new long[512];
+    private int size;
+
+    int indexOf(long key) {
+        int slot = find(key, keys, slots);
+        if (slots[slot] != 0) { return slots[slot] - 1; }
+
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+            slot = find(key, keys, slots);
+        }
+        if (size == keysByIndex.length) { keysByIndex = Arrays.copyOf(keysByIndex, size * 2); }
+
+        keys[slot] = key;
+        slots[slot] = size + 1;
+        keysByIndex[size] = key;
+        return size++;
+    }
+
+    int find(long key) {
+        int slot = find(key, keys, slots);
+        return slots[slot] - 1;
+    }
+
+    long keyAt(int index) {
+        return keysByIndex[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] newKeys = new long[keys.length * 2];
+        int[] newSlots = new int[slots.length * 2];
+        for (int i = 0; i < keys.length; i++) {
+            if (slots[i] != 0) {
+                int slot = find(keys[i], newKeys, newSlots);
+                newKeys[slot] = keys[i];
+                newSlots[slot] = slots[i];
+            }
+        }
+        keys = newKeys;
+        slots = newSlots;
+    }
+
+    private static int find(long key, long[] keys, int[] slots) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (slots[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,96 @@
+package at.saekenz.cinerator.service;
+
+/**
+ * Open addressing hash map from long keys to positive long values (without boxing). A value of {@code 0}
+ * marks an empty slot, removals shift the following entries back instead of leaving tombstones.
+ */
+final class LongLongMap {
+    private long[] keys = new long[1024];
+    private long[] values = new long[1024];
+    private int size;
+
+    /**
+     * @return value of {@code key} or {@code 0} if there is none
+     */
+    long get(long key) {
+        return values[find(key, keys, values)];
+    }
+
+    /**
+     * @return previous value of {@code key} or {@code 0} if there was none
+     */
+    long put(long key, long value) {
+        if (value <= 0) { throw new IllegalArgumentException("Values have to be positive!"); }
+
+        int slot = find(key, keys, values);
+        long previous = values[slot];
+        if (previous == 0) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+                slot = find(key, keys, values);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * @return removed value of {@code key} or {@code 0} if there was none
+     */
+    long remove(long key) {
+        int mask = keys.length - 1;
+        int slot = find(key, keys, values);
+        long previous = values[slot];
+        if (previous == 0) { return 0; }
+
+        // Move every later entry of the probe sequence that would no longer be found into the gap
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (values[next] != 0) {
+            int home = home(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = 0;
+        size--;
+        return previous;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] newKeys = new long[keys.length * 2];
+        long[] newValues = new long[values.length * 2];
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != 0) {
+                int slot = find(keys[i], newKeys, newValues);
+                newKeys[slot] = keys[i];
+                newValues[slot] = values[i];
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+
+    private static int find(long key, long[] keys, long[] values) {
+        int mask = keys.length - 1;
+        int slot = home(key, mask);
+        while (values[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int home(long key, int mask) {
+        return Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+    }
+}
@@ -0,0 +1,166 @@
+package at.saekenz.cinerator.service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Learns user and movie factor vectors from weighted (user, movie, preference) interactions with
+ * stochastic gradient descent, so that {@code bias(movie) + user · movie} approximates the preference.
+ * Every observed interaction is followed by {@code negativeSamples} random movies with a target of 0,
+ * otherwise the model would learn that users like everything (implicit feedback has no negatives).
+ * <p>
+ * Vectors are stored in flat float arrays, the vector of the user with index {@code u} is
+ * {@code userFactors[u * rank, (u + 1) * rank)}.
+ */
+final class MatrixFactorization {
+
+    private static final float NEGATIVE_WEIGHT = 0.5f;
+    private static final float LEARNING_RATE_DECAY = 0.95f;
+    private static final long SEED = 42;
+
+    private final int rank;
+    private final int epochs;
+    private final float learningRate;
+    private final float regularization;
+    private final int negativeSamples;
+
+    private final LongIndex users = new LongIndex();
+    private final LongIndex movies = new LongIndex();
+
+    private int[] entryUsers = new int[1024];
+    private int[] entryMovies = new int[1024];
+    private float[] entryPreferences = new float[1024];
+    private float[] entryWeights = new float[1024];
+    private int size;
+
+    private float[] userFactors;
+    private float[] movieFactors;
+    private float[] movieBiases;
+
+    MatrixFactorization(int rank, int epochs, float learningRate, float regularization, int negativeSamples) {
+        this.rank = rank;
+        this.epochs = epochs;
+        this.learningRate = learningRate;
+        this.regularization = regularization;
+        this.negativeSamples = negativeSamples;
+    }
+
+    /**
+     * Registers a movie without interactions, so it still receives a vector (and can be sampled as negative).
+     */
+    void addMovie(long movieId) {
+        movies.indexOf(movieId);
+    }
+
+    void addInteraction(long userId, long movieId, float preference, float weight) {
+        if (size == entryUsers.length) {
+            entryUsers = Arrays.copyOf(entryUsers, size * 2);
+            entryMovies = Arrays.copyOf(entryMovies, size * 2);
+            entryPreferences = Arrays.copyOf(entryPreferences, size * 2);
+            entryWeights = Arrays.copyOf(entryWeights, size * 2);
+        }
+
+        entryUsers[size] = users.indexOf(userId);
+        entryMovies[size] = movies.indexOf(movieId);
+        entryPreferences[size] = preference;
+        entryWeights[size] = weight;
+        size++;
+    }
+
+    void train() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int movieCount = movies.size();
+
+        userFactors = initialFactors(users.size(), random);
+        movieFactors = initialFactors(movieCount, random);
+        movieBiases = new float[movieCount];
+        if (size == 0) { return; }
+
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) { order[i] = i; }
+
+        float rate = learningRate;
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            shuffle(order, random);
+
+            for (int entry : order) {
+                int user = entryUsers[entry];
+                step(user, entryMovies[entry], entryPreferences[entry], entryWeights[entry], rate);
+
+                for (int s = 0; s < negativeSamples; s++) {
+                    step(user, random.nextInt(movieCount), 0f, NEGATIVE_WEIGHT, rate);
+                }
+            }
+            rate *= LEARNING_RATE_DECAY;
+        }
+    }
+
+    int rank() {
+        return rank;
+    }
+
+    long[] userIds() {
+        return keys(users);
+    }
+
+    long[] movieIds() {
+        return keys(movies);
+    }
+
+    float[] userFactors() {
+        return userFactors;
+    }
+
+    float[] movieFactors() {
+        return movieFactors;
+    }
+
+    float[] movieBiases() {
+        return movieBiases;
+    }
+
+    private void step(int user, int movie, float target, float weight, float rate) {
+        int userOffset = user * rank;
+        int movieOffset = movie * rank;
+
+        float prediction = movieBiases[movie];
+        for (int f = 0; f < rank; f++) {
+            prediction += userFactors[userOffset + f] * movieFactors[movieOffset + f];
+        }
+        float error = weight * (target - prediction);
+
+        movieBiases[movie] += rate * (error - regularization * movieBiases[movie]);
+        for (int f = 0; f < rank; f++) {
+            float userValue = userFactors[userOffset + f];
+            float movieValue = movieFactors[movieOffset + f];
+            userFactors[userOffset + f] += rate * (error * movieValue - regularization * userValue);
+            movieFactors[movieOffset + f] += rate * (error * userValue - regularization * movieValue);
+        }
+    }
+
+    private float[] initialFactors(int count, SplittableRandom random) {
+        float scale = (float) (0.1 / Math.sqrt(rank));
+        float[] factors = new float[count * rank];
+        for (int i = 0; i < factors.length; i++) {
+            factors[i] = (float) random.nextGaussian() * scale;
+        }
+        return factors;
+    }
+
+    private static void shuffle(int[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    private static long[] keys(LongIndex index) {
+        long[] keys = new long[index.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = index.keyAt(i);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,106 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.movie.MovieDTO;
+import at.saekenz.cinerator.model.movie.MovieMapper;
+import at.saekenz.cinerator.repository.MovieRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Exports the whole {@link Movie} catalog. Movies are read in keyset-paginated chunks (ordered by id),
+ * each chunk in its own short read-only transaction, so the export neither keeps the whole catalog in
+ * memory nor holds a pooled connection while the client is still consuming the response.
+ */
+@Service
+public class MovieExportServiceImpl implements IMovieExportService {
+    private static final Logger log = LoggerFactory.getLogger(MovieExportServiceImpl.class);
+
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieMapper movieMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectWriter movieDTOWriter;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${cinerator.export.chunk-size:500}")
+    private int chunkSize;
+
+    public MovieExportServiceImpl(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.movieDTOWriter = objectMapper.writerFor(MovieDTO.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes every {@link Movie} as one JSON document per line (NDJSON) to {@code outputStream}.
+     *
+     * @param outputStream stream the movies are written to
+     * @return number of exported movies
+     * @throws IOException if writing to {@code outputStream} fails
+     */
+    @Override
+    public long exportAsNdjson(OutputStream outputStream) throws IOException {
+        long exported = 0;
+        Long lastId = 0L;
+
+        while (true) {
+            List<MovieDTO> chunk = loadChunk(lastId);
+            if (chunk.isEmpty()) { break; }
+
+            for (MovieDTO movieDTO : chunk) {
+                outputStream.write(movieDTOWriter.writeValueAsBytes(movieDTO));
+                outputStream.write(LINE_SEPARATOR);
+            }
+            outputStream.flush();
+
+            exported += chunk.size();
+            lastId = chunk.get(chunk.size() - 1).getId();
+        }
+
+        log.info("Exported {} movies as NDJSON.", exported);
+        return exported;
+    }
+
+    private List<MovieDTO> loadChunk(Long lastId) {
+        List<MovieDTO> chunk = readOnlyTransaction.execute(status -> {
+            List<Long> ids = movieRepository.findIdsAfter(lastId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) { return List.of(); }
+
+            // Two fetch queries instead of lazy loading per movie (collections are Sets, so no cartesian issue)
+            List<Movie> movies = movieRepository.findAllWithGenresAndCountriesByIdIn(ids);
+            movieRepository.fetchCastInfosByIdIn(ids);
+
+            return movies.stream()
+                    .map(movieMapper::toDTO)
+                    .toList();
+        });
+
+        // The persistence context may outlive the transaction (open-in-view), so detach the chunk
+        entityManager.clear();
+
+        return chunk == null ? List.of() : chunk;
+    }
+}
@@ -0,0 +1,236 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.EMovieFacet;
+import at.saekenz.cinerator.repository.MovieFacetRepository.MovieFacetRow;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index of movie ids per facet value (e.g. every movie of the genre "Drama"), stored as
+ * compressed bitmaps. A search intersects the bitmaps of the selected values and counts every facet value
+ * with {@link RoaringBitmap#andCardinality}, so it never materializes more than one bitmap per facet.
+ * <p>
+ * Several values of the same facet match movies with any of them, values of different facets have to match
+ * all. The counts of a facet ignore the facet's own selection (but apply every other one), so they tell how
+ * many movies a request would match after adding the value to the selection.
+ * <p>
+ * Not thread-safe, see {@link MovieFacetServiceImpl}. Movie ids have to fit into an {@code int}.
+ */
+final class MovieFacetIndex {
+
+    private static final Pattern RUNTIME_MINUTES = Pattern.compile("\\d+");
+
+    // Upper bounds (exclusive) of the runtime buckets, the last bucket is open-ended
+    private static final int[] RUNTIME_BOUNDS = {90, 120, 150};
+    private static final List<String> RUNTIME_BUCKETS = List.of("under-90", "90-119", "120-149", "150-plus");
+
+    private final RoaringBitmap movies = new RoaringBitmap();
+    private final Map<EMovieFacet, Map<String, RoaringBitmap>> postings = new EnumMap<>(EMovieFacet.class);
+    private final Map<Integer, IndexedMovie> indexedMovies = new HashMap<>();
+
+    MovieFacetIndex() {
+        for (EMovieFacet facet : EMovieFacet.values()) {
+            postings.put(facet, new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds the movie of {@code row} or replaces its previous values.
+     */
+    void put(MovieFacetRow row) {
+        int movieId = toIndex(row.id());
+        removeIndexed(movieId);
+
+        Map<EMovieFacet, List<String>> values = new EnumMap<>(EMovieFacet.class);
+        values.put(EMovieFacet.GENRE, row.genres());
+        values.put(EMovieFacet.COUNTRY, row.countries());
+        values.put(EMovieFacet.DECADE, decade(row.releaseDate()));
+        values.put(EMovieFacet.RUNTIME, runtimeBucket(row.runtime()));
+
+        values.forEach((facet, facetValues) -> facetValues.forEach(value -> postings.get(facet)
+                .computeIfAbsent(value, key -> new RoaringBitmap())
+                .add(movieId)));
+
+        movies.add(movieId);
+        indexedMovies.put(movieId, new IndexedMovie(normalize(row.title()), values));
+    }
+
+    void remove(long movieId) {
+        if (movieId < 0 || movieId > Integer.MAX_VALUE) { return; }
+        removeIndexed((int) movieId);
+    }
+
+    int size() {
+        return movies.getCardinality();
+    }
+
+    /**
+     * @param title part of the title every matching movie has to contain ({@code null} for any title)
+     * @param filters selected values per facet, compared case-insensitively
+     * @param offset number of matching movies to skip
+     * @param limit maximum number of movie ids returned
+     * @return ids of the matching movies in ascending order, the number of matches and the counts per facet value
+     */
+    Result search(String title, Map<EMovieFacet, ? extends Collection<String>> filters, int offset, int limit) {
+        RoaringBitmap base = title == null || title.isBlank() ? movies : matchTitle(normalize(title));
+
+        Map<EMovieFacet, RoaringBitmap> selections = new EnumMap<>(EMovieFacet.class);
+        filters.forEach((facet, values) -> {
+            if (!values.isEmpty()) { selections.put(facet, union(facet, values)); }
+        });
+
+        RoaringBitmap matches = intersect(base, selections, null);
+
+        Map<EMovieFacet, Map<String, Integer>> counts = new EnumMap<>(EMovieFacet.class);
+        for (EMovieFacet facet : EMovieFacet.values()) {
+            RoaringBitmap facetBase = selections.containsKey(facet) ? intersect(base, selections, facet) : matches;
+            counts.put(facet, count(facet, facetBase));
+        }
+
+        return new Result(matches.getLongCardinality(), page(matches, offset, limit), counts);
+    }
+
+    private void removeIndexed(int movieId) {
+        IndexedMovie indexedMovie = indexedMovies.remove(movieId);
+        if (indexedMovie == null) { return; }
+
+        indexedMovie.values().forEach((facet, facetValues) -> facetValues.forEach(value -> {
+            Map<String, RoaringBitmap> facetPostings = postings.get(facet);
+            RoaringBitmap bitmap = facetPostings.get(value);
+            if (bitmap == null) { return; }
+
+            bitmap.remove(movieId);
+            if (bitmap.isEmpty()) { facetPostings.remove(value); }
+        }));
+        movies.remove(movieId);
+    }
+
+    private RoaringBitmap matchTitle(String term) {
+        RoaringBitmap matches = new RoaringBitmap();
+        indexedMovies.forEach((movieId, indexedMovie) -> {
+            if (indexedMovie.title().contains(term)) { matches.add(movieId.intValue()); }
+        });
+        return matches;
+    }
+
+    private RoaringBitmap union(EMovieFacet facet, Collection<String> values) {
+        RoaringBitmap union = new RoaringBitmap();
+        postings.get(facet).forEach((value, bitmap) -> {
+            if (values.stream().anyMatch(value::equalsIgnoreCase)) { union.or(bitmap); }
+        });
+        return union;
+    }
+
+    /**
+     * Intersects {@code base} with the selections of every facet except {@code excludedFacet}.
+     */
+    private static RoaringBitmap intersect(RoaringBitmap base, Map<EMovieFacet, RoaringBitmap> selections,
+                                           EMovieFacet excludedFacet) {
+        RoaringBitmap result = base;
+        for (Map.Entry<EMovieFacet, RoaringBitmap> selection : selections.entrySet()) {
+            if (selection.getKey() != excludedFacet) {
+                result = RoaringBitmap.and(result, selection.getValue());
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Integer> count(EMovieFacet facet, RoaringBitmap base) {
+        Map<String, Integer> counts = new HashMap<>();
+        postings.get(facet).forEach((value, bitmap) -> {
+            int count = RoaringBitmap.andCardinality(base, bitmap);
+            if (count > 0) { counts.put(value, count); }
+        });
+        return sorted(facet, counts);
+    }
+
+    /**
+     * Genres and countries are listed by count (most frequent first), decades and runtimes in their natural order.
+     */
+    private static Map<String, Integer> sorted(EMovieFacet facet, Map<String, Integer> counts) {
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+
+        switch (facet) {
+            case DECADE -> sorted.putAll(new TreeMap<>(counts));
+            case RUNTIME -> RUNTIME_BUCKETS.forEach(bucket -> {
+                if (counts.containsKey(bucket)) { sorted.put(bucket, counts.get(bucket)); }
+            });
+            default -> counts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        }
+
+        return sorted;
+    }
+
+    private static long[] page(RoaringBitmap matches, int offset, int limit) {
+        int cardinality = matches.getCardinality();
+        if (offset >= cardinality || limit <= 0) { return new long[0]; }
+
+        long[] movieIds = new long[Math.min(limit, cardinality - offset)];
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(matches.select(offset));
+
+        for (int i = 0; i < movieIds.length; i++) {
+            movieIds[i] = iterator.next();
+        }
+        return movieIds;
+    }
+
+    private static List<String> decade(LocalDate releaseDate) {
+        if (releaseDate == null) { return List.of(); }
+        return List.of(String.valueOf(Math.floorDiv(releaseDate.getYear(), 10) * 10));
+    }
+
+    /**
+     * Runtimes are stored as text (e.g. "142 min"), the first number is taken as the runtime in minutes.
+     */
+    private static List<String> runtimeBucket(String runtime) {
+        if (runtime == null) { return List.of(); }
+
+        Matcher matcher = RUNTIME_MINUTES.matcher(runtime);
+        if (!matcher.find()) { return List.of(); }
+
+        int minutes;
+        try {
+            minutes = Integer.parseInt(matcher.group());
+        } catch (NumberFormatException e) {
+            return List.of();
+        }
+
+        int bucket = 0;
+        while (bucket < RUNTIME_BOUNDS.length && minutes >= RUNTIME_BOUNDS[bucket]) {
+            bucket++;
+        }
+        return List.of(RUNTIME_BUCKETS.get(bucket));
+    }
+
+    private static String normalize(String title) {
+        return title == null ? "" : title.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int toIndex(long movieId) {
+        if (movieId < 0 || movieId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Movie id %s is out of range!", movieId));
+        }
+        return (int) movieId;
+    }
+
+    record Result(long total, long[] movieIds, Map<EMovieFacet, Map<String, Integer>> counts) {}
+
+    private record IndexedMovie(String title, Map<EMovieFacet, List<String>> values) {}
+}
@@ -0,0 +1,111 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.EMovieFacet;
+import at.saekenz.cinerator.model.movie.MovieDTO;
+import at.saekenz.cinerator.model.movie.MovieFacetPage;
+import at.saekenz.cinerator.model.movie.MovieMapper;
+import at.saekenz.cinerator.repository.MovieFacetRepository;
+import at.saekenz.cinerator.repository.MovieFacetRepository.MovieFacetRow;
+import at.saekenz.cinerator.repository.MovieSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Answers faceted {@link at.saekenz.cinerator.model.movie.Movie} searches from an in-memory
+ * {@link MovieFacetIndex}: matches and facet counts cost a few bitmap intersections, only the movies of the
+ * requested page are read from the database. The index is loaded on first use, updated by the movie
+ * services after their changes were written and rebuilt periodically, which also picks up changes of other
+ * instances and renamed genres or countries (see {@link LoadableIndex}).
+ */
+@Service
+public class MovieFacetServiceImpl implements IMovieFacetService {
+    private static final Logger log = LoggerFactory.getLogger(MovieFacetServiceImpl.class);
+
+    @Autowired
+    private MovieFacetRepository movieFacetRepository;
+
+    @Autowired
+    private MovieSummaryRepository movieSummaryRepository;
+
+    @Autowired
+    private MovieMapper movieMapper;
+
+    private final LoadableIndex<MovieFacetIndex> index = new LoadableIndex<>();
+
+    /**
+     * Finds the movies matching {@code title} and {@code filters} and counts the matches per facet value.
+     *
+     * @param title part of the title of the searched for movies ({@code null} for any title)
+     * @param filters selected values per facet. Movies have to match one of the values of every facet
+     * @param page number of the page returned
+     * @param size number of movies per page
+     * @return {@link MovieFacetPage} with the movies of the requested page (ordered by id) and the facet counts
+     */
+    @Override
+    public MovieFacetPage search(String title, Map<EMovieFacet, List<String>> filters, int page, int size) {
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+
+        index.loadIfAbsent(this::loadIndex);
+        MovieFacetIndex.Result result = index.read(facetIndex -> facetIndex.search(title, filters, offset, size));
+
+        List<Long> movieIds = Arrays.stream(result.movieIds()).boxed().toList();
+        List<MovieDTO> movies = movieSummaryRepository.findAllByIdIn(movieIds).stream()
+                .map(movieMapper::toDTO)
+                .toList();
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        result.counts().forEach((facet, counts) -> facets.put(facet.getParamName(), counts));
+
+        return new MovieFacetPage(movies, new PagedModel.PageMetadata(size, page, result.total()), facets);
+    }
+
+    /**
+     * Reads the movies identified by {@code movieIds} again and replaces their entries in the index
+     * (ids of movies that no longer exist are removed).
+     */
+    @Override
+    public void moviesSaved(Collection<Long> movieIds) {
+        if (movieIds.isEmpty() || !index.isLoadedOrLoading()) { return; }
+
+        List<MovieFacetRow> rows = movieFacetRepository.findAllByIdIn(movieIds);
+        Set<Long> foundIds = rows.stream().map(MovieFacetRow::id).collect(Collectors.toSet());
+        List<Long> missingIds = movieIds.stream().filter(movieId -> !foundIds.contains(movieId)).toList();
+
+        index.update(facetIndex -> {
+            rows.forEach(facetIndex::put);
+            missingIds.forEach(facetIndex::remove);
+        });
+    }
+
+    @Override
+    public void movieRemoved(Long movieId) {
+        index.update(facetIndex -> facetIndex.remove(movieId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${cinerator.facets.rebuild-delay}",
+            initialDelayString = "${cinerator.facets.rebuild-delay}")
+    public void rebuild() {
+        index.load(this::loadIndex);
+    }
+
+    private MovieFacetIndex loadIndex() {
+        MovieFacetIndex loaded = new MovieFacetIndex();
+        movieFacetRepository.forEachMovie(loaded::put);
+
+        log.info("Loaded faceted search index with {} movies.", loaded.size());
+        return loaded;
+    }
+}
@@ -0,0 +1,108 @@
+package at.saekenz.cinerator.service;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable in-memory copy of every movie vector. Scoring a user is a single pass over one flat float
+ * array (a dot product per movie), which takes milliseconds even for a large catalogue.
+ */
+final class MovieFactorIndex {
+
+    static final MovieFactorIndex EMPTY = new MovieFactorIndex(new long[0], new float[0], new float[0], 0);
+
+    private record Candidate(long movieId, float score) {}
+
+    private final long[] movieIds;
+    private final float[] biases;
+    private final float[] factors;
+    private final int rank;
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    MovieFactorIndex(long[] movieIds, float[] biases, float[] factors, int rank) {
+        this.movieIds = movieIds;
+        this.biases = biases;
+        this.factors = factors;
+        this.rank = rank;
+    }
+
+    /**
+     * Finds the {@code n} movies with the highest predicted preference of a user.
+     *
+     * @param userFactors vector of the user ({@code null} if the user has none, movies are ranked by bias only)
+     * @param excludedMovieIds sorted ids of movies that must not be returned
+     * @param n maximum number of movies
+     * @return ids of the movies, best first
+     */
+    long[] topN(float[] userFactors, long[] excludedMovieIds, int n) {
+        boolean personalized = userFactors != null && userFactors.length == rank;
+        PriorityQueue<Candidate> best = new PriorityQueue<>(n + 1,
+                (a, b) -> Float.compare(a.score(), b.score()));
+
+        for (int movie = 0; movie < movieIds.length; movie++) {
+            float score = biases[movie];
+            if (personalized) {
+                int offset = movie * rank;
+                for (int f = 0; f < rank; f++) {
+                    score += userFactors[f] * factors[offset + f];
+                }
+            }
+
+            if (best.size() == n && score <= best.peek().score()) { continue; }
+            if (Arrays.binarySearch(excludedMovieIds, movieIds[movie]) >= 0) { continue; }
+
+            best.add(new Candidate(movieIds[movie], score));
+            if (best.size() > n) { best.poll(); }
+        }
+
+        long[] result = new long[best.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = best.poll().movieId();
+        }
+        return result;
+    }
+
+    /**
+     * Collects movie vectors of equal length one by one (as they are streamed from the database).
+     */
+    static final class Builder {
+        private long[] movieIds = new long[1024];
+        private float[] biases = new float[1024];
+        private float[] factors = new float[0];
+        private int rank = -1;
+        private int size;
+
+        private Builder() {
+
+        }
+
+        Builder add(long movieId, float bias, float[] movieFactors) {
+            if (rank < 0) {
+                rank = movieFactors.length;
+                factors = new float[movieIds.length * rank];
+            }
+            if (size == movieIds.length) {
+                movieIds = Arrays.copyOf(movieIds, size * 2);
+                biases = Arrays.copyOf(biases, size * 2);
+                factors = Arrays.copyOf(factors, size * 2 * rank);
+            }
+
+            movieIds[size] = movieId;
+            biases[size] = bias;
+            System.arraycopy(movieFactors, 0, factors, size * rank, rank);
+            size++;
+
+            return this;
+        }
+
+        MovieFactorIndex build() {
+            if (size == 0) { return EMPTY; }
+
+            return new MovieFactorIndex(Arrays.copyOf(movieIds, size), Arrays.copyOf(biases, size),
+                    Arrays.copyOf(factors, size * rank), rank);
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.castinfo.CastInfoImportDTO;
+import at.saekenz.cinerator.model.country.Country;
+import at.saekenz.cinerator.model.genre.Genre;
+import at.saekenz.cinerator.model.movie.*;
+import at.saekenz.cinerator.model.role.Role;
+import at.saekenz.cinerator.repository.CountryRepository;
+import at.saekenz.cinerator.repository.GenreRepository;
+import at.saekenz.cinerator.repository.MovieBatchRepository;
+import at.saekenz.cinerator.repository.MovieBatchRepository.CastInfoRow;
+import at.saekenz.cinerator.repository.MovieBatchRepository.JoinRow;
+import at.saekenz.cinerator.repository.RoleRepository;
+import at.saekenz.cinerator.util.CsvLineParser;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports large numbers of {@link Movie} resources. Rows are processed in chunks: genre, country and
+ * role names are resolved against lookup tables that are loaded once per import, referenced persons
+ * and already existing IMDb ids are checked with one query per chunk, and every accepted chunk is
+ * written with JDBC batch inserts in its own transaction. Rows that cannot be imported are reported
+ * individually instead of failing the whole import.
+ */
+@Service
+public class MovieImportServiceImpl implements IMovieImportService {
+    private static final Logger log = LoggerFactory.getLogger(MovieImportServiceImpl.class);
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("title", "releaseDate", "runtime",
+            "imdbId", "genres", "countries");
+
+    // Separates multiple values (genres, countries, cast entries) within one CSV field
+    private static final String CSV_VALUE_SEPARATOR = "\\|";
+
+    // Separates personId, role and characterName of a cast entry within a CSV field
+    private static final String CSV_CAST_SEPARATOR = ":";
+
+    @Autowired
+    private MovieBatchRepository movieBatchRepository;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ICastGraphService castGraphService;
+
+    @Autowired
+    private IMovieFacetService movieFacetService;
+
+    @Autowired
+    private IAutocompleteService autocompleteService;
+
+    @Autowired
+    private IImdbIdLookupService imdbIdLookupService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${cinerator.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public MovieImportServiceImpl(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private record ImportCandidate(int row, MovieImportDTO movie, String error) {}
+
+    private record ResolvedMovie(int row, MovieImportDTO movie, Set<Long> genreIds, Set<Long> countryIds,
+                                 List<CastInfoRow> cast, String error) {
+
+        static ResolvedMovie rejected(int row, String error) {
+            return new ResolvedMovie(row, null, Set.of(), Set.of(), List.of(), error);
+        }
+    }
+
+    /**
+     * State of a single import: the reference lookup tables (keyed by lower-case name),
+     * the IMDb ids imported so far and the per-row results.
+     */
+    private static final class ImportSession {
+        private final Map<String, Long> genreIds;
+        private final Map<String, Long> countryIds;
+        private final Map<String, Long> roleIds;
+        private final Set<String> importedImdbIds = new HashSet<>();
+        private final List<MovieImportResultDTO> results = new ArrayList<>();
+        private int imported;
+        private int rejected;
+
+        private ImportSession(Map<String, Long> genreIds, Map<String, Long> countryIds, Map<String, Long> roleIds) {
+            this.genreIds = genreIds;
+            this.countryIds = countryIds;
+            this.roleIds = roleIds;
+        }
+
+        private void imported(int row, Long movieId) {
+            results.add(MovieImportResultDTO.imported(row, movieId));
+            imported++;
+        }
+
+        private void rejected(int row, String message) {
+            results.add(MovieImportResultDTO.rejected(row, message));
+            rejected++;
+        }
+
+        private MovieImportReportDTO toReport() {
+            results.sort(Comparator.comparingInt(MovieImportResultDTO::row));
+            return new MovieImportReportDTO(imported + rejected, imported, rejected, results);
+        }
+    }
+
+    @Override
+    public MovieImportReportDTO importMovies(List<MovieImportDTO> movies) {
+        ImportSession session = openSession();
+        List<ImportCandidate> chunk = new ArrayList<>(chunkSize);
+        int row = 0;
+
+        for (MovieImportDTO movie : movies) {
+            chunk.add(new ImportCandidate(++row, movie, null));
+            if (chunk.size() >= chunkSize) {
+                importChunk(session, chunk);
+                chunk.clear();
+            }
+        }
+        importChunk(session, chunk);
+
+        return logAndReport(session);
+    }
+
+    @Override
+    public MovieImportReportDTO importMoviesFromCsv(InputStream csv) throws IOException {
+        ImportSession session = openSession();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = readCsvHeader(reader.readLine());
+            List<ImportCandidate> chunk = new ArrayList<>(chunkSize);
+            int row = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) { continue; }
+
+                chunk.add(parseCsvRow(++row, line, columns));
+                if (chunk.size() >= chunkSize) {
+                    importChunk(session, chunk);
+                    chunk.clear();
+                }
+            }
+            importChunk(session, chunk);
+        }
+
+        return logAndReport(session);
+    }
+
+    private ImportSession openSession() {
+        return new ImportSession(
+                lookupTable(genreRepository.findAll(), Genre::getName, Genre::getId),
+                lookupTable(countryRepository.findAll(), Country::getName, Country::getId),
+                lookupTable(roleRepository.findAll(), Role::getRole, Role::getId));
+    }
+
+    private <T> Map<String, Long> lookupTable(List<T> entities, Function<T, String> name, Function<T, Long> id) {
+        return entities.stream()
+                .collect(Collectors.toUnmodifiableMap(e -> normalize(name.apply(e)), id, (a, b) -> a));
+    }
+
+    private MovieImportReportDTO logAndReport(ImportSession session) {
+        MovieImportReportDTO report = session.toReport();
+        log.info("Movie import finished: {} rows, {} imported, {} rejected.",
+                report.total(), report.imported(), report.rejected());
+
+        return report;
+    }
+
+    private void importChunk(ImportSession session, List<ImportCandidate> chunk) {
+        if (chunk.isEmpty()) { return; }
+
+        // Lookup tables are read-only at this point, so rows can be validated and resolved in parallel
+        List<ResolvedMovie> resolvedMovies = chunk.parallelStream()
+                .map(candidate -> resolve(session, candidate))
+                .toList();
+
+        Set<Long> personIds = resolvedMovies.stream()
+                .filter(r -> r.error() == null)
+                .flatMap(r -> r.cast().stream())
+                .map(CastInfoRow::personId)
+                .collect(Collectors.toSet());
+        Set<Long> existingPersonIds = movieBatchRepository.findExistingPersonIds(personIds);
+
+        Set<String> imdbIds = resolvedMovies.stream()
+                .filter(r -> r.error() == null)
+                .map(r -> Movie.normalizeImdbId(r.movie().imdbId()))
+                .collect(Collectors.toSet());
+        Set<String> existingImdbIds = movieBatchRepository.findExistingImdbIds(imdbIds);
+
+        List<ResolvedMovie> accepted = new ArrayList<>();
+        for (ResolvedMovie resolvedMovie : resolvedMovies) {
+            String error = resolvedMovie.error() != null ? resolvedMovie.error()
+                    : checkReferences(session, resolvedMovie, existingPersonIds, existingImdbIds);
+
+            if (error != null) {
+                session.rejected(resolvedMovie.row(), error);
+            }
+            else {
+                accepted.add(resolvedMovie);
+            }
+        }
+
+        if (accepted.isEmpty()) { return; }
+
+        try {
+            List<Long> movieIds = transactionTemplate.execute(status -> writeChunk(accepted));
+            List<CastInfoRow> castInfoRows = new ArrayList<>();
+            for (int i = 0; i < accepted.size(); i++) {
+                Long movieId = movieIds.get(i);
+                session.imported(accepted.get(i).row(), movieId);
+                autocompleteService.movieSaved(movieId, accepted.get(i).movie().title());
+                imdbIdLookupService.movieSaved(movieId, accepted.get(i).movie().imdbId());
+                accepted.get(i).cast().forEach(c -> castInfoRows.add(
+                        new CastInfoRow(movieId, c.personId(), c.roleId(), c.characterName())));
+            }
+            castGraphService.castInfosAdded(castInfoRows);
+            movieFacetService.moviesSaved(movieIds);
+        }
+        catch (DataAccessException e) {
+            log.warn("Could not write chunk of {} movies: {}", accepted.size(), e.getMostSpecificCause().getMessage());
+            for (ResolvedMovie resolvedMovie : accepted) {
+                session.importedImdbIds.remove(Movie.normalizeImdbId(resolvedMovie.movie().imdbId()));
+                session.rejected(resolvedMovie.row(), String.format("Movie could not be written: %s",
+                        e.getMostSpecificCause().getMessage()));
+            }
+        }
+    }
+
+    private String checkReferences(ImportSession session, ResolvedMovie resolvedMovie,
+                                   Set<Long> existingPersonIds, Set<String> existingImdbIds) {
+        String imdbId = Movie.normalizeImdbId(resolvedMovie.movie().imdbId());
+        if (existingImdbIds.contains(imdbId) || session.importedImdbIds.contains(imdbId)) {
+            return String.format("Movie with imdbId %s already exists!", resolvedMovie.movie().imdbId());
+        }
+
+        for (CastInfoRow castInfoRow : resolvedMovie.cast()) {
+            if (!existingPersonIds.contains(castInfoRow.personId())) {
+                return String.format("Person with id %s could not be found!", castInfoRow.personId());
+            }
+        }
+
+        session.importedImdbIds.add(imdbId);
+        return null;
+    }
+
+    private List<Long> writeChunk(List<ResolvedMovie> accepted) {
+        List<Long> movieIds = movieBatchRepository.reserveMovieIds(accepted.size());
+
+        List<Movie> movies = new ArrayList<>(accepted.size());
+        List<JoinRow> genreRows = new ArrayList<>();
+        List<JoinRow> countryRows = new ArrayList<>();
+        List<CastInfoRow> castInfoRows = new ArrayList<>();
+
+        for (int i = 0; i < accepted.size(); i++) {
+            ResolvedMovie resolvedMovie = accepted.get(i);
+            MovieImportDTO dto = resolvedMovie.movie();
+            Long movieId = movieIds.get(i);
+
+            Movie movie = new Movie(dto.title().trim(), dto.releaseDate(), dto.runtime().trim(),
+                    dto.imdbId(), dto.posterUrl());
+            movie.setId(movieId);
+            movies.add(movie);
+
+            resolvedMovie.genreIds().forEach(genreId -> genreRows.add(new JoinRow(movieId, genreId)));
+            resolvedMovie.countryIds().forEach(countryId -> countryRows.add(new JoinRow(movieId, countryId)));
+            resolvedMovie.cast().forEach(c -> castInfoRows.add(
+                    new CastInfoRow(movieId, c.personId(), c.roleId(), c.characterName())));
+        }
+
+        movieBatchRepository.insertMovies(movies);
+        movieBatchRepository.insertMovieGenres(genreRows);
+        movieBatchRepository.insertMovieCountries(countryRows);
+        movieBatchRepository.insertCastInfos(castInfoRows);
+
+        return movieIds;
+    }
+
+    private ResolvedMovie resolve(ImportSession session, ImportCandidate candidate) {
+        if (candidate.error() != null) { return ResolvedMovie.rejected(candidate.row(), candidate.error()); }
+
+        MovieImportDTO movie = candidate.movie();
+        if (movie == null) { return ResolvedMovie.rejected(candidate.row(), "Row must not be empty!"); }
+
+        Set<ConstraintViolation<MovieImportDTO>> violations = validator.validate(movie);
+        if (!violations.isEmpty()) {
+            return ResolvedMovie.rejected(candidate.row(), violations.stream()
+                    .map(v -> String.format("%s %s", v.getPropertyPath(), v.getMessage()))
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        Set<Long> genreIds = new HashSet<>();
+        for (String genre : movie.genres()) {
+            Long genreId = session.genreIds.get(normalize(genre));
+            if (genreId == null) {
+                return ResolvedMovie.rejected(candidate.row(),
+                        String.format("Genre %s could not be found!", genre));
+            }
+            genreIds.add(genreId);
+        }
+
+        Set<Long> countryIds = new HashSet<>();
+        for (String country : movie.countries()) {
+            Long countryId = session.countryIds.get(normalize(country));
+            if (countryId == null) {
+                return ResolvedMovie.rejected(candidate.row(),
+                        String.format("Country %s could not be found!", country));
+            }
+            countryIds.add(countryId);
+        }
+
+        List<CastInfoRow> cast = new ArrayList<>();
+        for (CastInfoImportDTO castInfo : Optional.ofNullable(movie.cast()).orElse(List.of())) {
+            Long roleId = session.roleIds.get(normalize(castInfo.role()));
+            if (roleId == null) {
+                return ResolvedMovie.rejected(candidate.row(),
+                        String.format("Role %s could not be found!", castInfo.role()));
+            }
+            cast.add(new CastInfoRow(null, castInfo.personId(), roleId, castInfo.characterName()));
+        }
+
+        return new ResolvedMovie(candidate.row(), movie, genreIds, countryIds, cast, null);
+    }
+
+// ------------------------------------------- CSV --------------------------------------------------------------------
+
+    private Map<String, Integer> readCsvHeader(String headerLine) {
+        if (headerLine == null || headerLine.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV import requires a header row!");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = CsvLineParser.parseLine(headerLine);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+
+        List<String> missingColumns = REQUIRED_CSV_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missingColumns.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("CSV import is missing required columns: %s", String.join(", ", missingColumns)));
+        }
+
+        return columns;
+    }
+
+    private ImportCandidate parseCsvRow(int row, String line, Map<String, Integer> columns) {
+        try {
+            List<String> fields = CsvLineParser.parseLine(line);
+            String releaseDate = csvField(fields, columns, "releaseDate");
+
+            MovieImportDTO movie = new MovieImportDTO(
+                    csvField(fields, columns, "title"),
+                    releaseDate != null ? LocalDate.parse(releaseDate) : null,
+                    csvField(fields, columns, "runtime"),
+                    csvField(fields, columns, "imdbId"),
+                    csvField(fields, columns, "posterUrl"),
+                    csvValues(csvField(fields, columns, "genres")),
+                    csvValues(csvField(fields, columns, "countries")),
+                    csvValues(csvField(fields, columns, "cast")).stream()
+                            .map(this::parseCastEntry)
+                            .toList());
+
+            return new ImportCandidate(row, movie, null);
+        }
+        catch (IllegalArgumentException | DateTimeException e) {
+            return new ImportCandidate(row, null, String.format("Row could not be parsed: %s", e.getMessage()));
+        }
+    }
+
+    // Cast entries have the format personId:role[:characterName]
+    private CastInfoImportDTO parseCastEntry(String entry) {
+        String[] parts = entry.split(CSV_CAST_SEPARATOR, 3);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException(String.format("Invalid cast entry '%s'", entry));
+        }
+
+        return new CastInfoImportDTO(Long.valueOf(parts[0].trim()), parts[1].trim(),
+                parts.length == 3 ? parts[2].trim() : null);
+    }
+
+    private String csvField(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) { return null; }
+
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> csvValues(String field) {
+        if (field == null) { return List.of(); }
+
+        return Arrays.stream(field.split(CSV_VALUE_SEPARATOR))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,287 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.MovieBatchResultDTO;
+import at.saekenz.cinerator.repository.MovieMembershipRepository;
+import at.saekenz.cinerator.repository.MovieMembershipRepository.MovieList;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Answers whether movies are part of a watchlist or user list. The movie ids of a list are kept in a
+ * compressed bitmap per list, which is built from the join table on first access and kept up to date by
+ * {@link #add} and {@link #remove}. The join tables stay the single source of truth, the bitmaps only
+ * save the round trip to the database (and the initialization of the movie collections).
+ * <p>
+ * Writes are single auto-committed statements, batch updates run their statements in one transaction.
+ * The cached bitmap is updated (after the commit) with {@code computeIfPresent}, which waits for a
+ * concurrent load of the same list to finish. Deleting an owner or a movie drops it from the cache.
+ * <p>
+ * A bitmap is reloaded at the latest {@code max-age} after it was built, regardless of how often it is
+ * used or updated, so writes of other instances (or straight to the database) show up within that time.
+ */
+@Service
+public class MovieMembershipServiceImpl implements IMovieMembershipService {
+
+    private final MovieMembershipRepository movieMembershipRepository;
+
+    private final IMovieSimilarityService movieSimilarityService;
+
+    private final Cache<MembershipKey, Roaring64Bitmap> bitmaps;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public MovieMembershipServiceImpl(MovieMembershipRepository movieMembershipRepository,
+                                      IMovieSimilarityService movieSimilarityService,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${cinerator.membership.cache-size}") long cacheSize,
+                                      @Value("${cinerator.membership.max-age}") Duration maxAge) {
+        this.movieMembershipRepository = movieMembershipRepository;
+        this.movieSimilarityService = movieSimilarityService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bitmaps = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<MembershipKey, Roaring64Bitmap>() {
+                    @Override
+                    public long expireAfterCreate(MembershipKey key, Roaring64Bitmap bitmap, long currentTime) {
+                        return maxAge.toNanos();
+                    }
+
+                    // Local updates and reads keep the remaining time, the bitmap may miss remote writes
+                    @Override
+                    public long expireAfterUpdate(MembershipKey key, Roaring64Bitmap bitmap, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(MembershipKey key, Roaring64Bitmap bitmap, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public boolean contains(MovieList list, Long ownerId, Long movieId) {
+        Roaring64Bitmap bitmap = bitmap(list, ownerId);
+        synchronized (bitmap) {
+            return bitmap.contains(movieId);
+        }
+    }
+
+    /**
+     * Checks several movies at once, e.g. to mark the movies of a result page that are on a watchlist.
+     *
+     * @return membership of every movie in {@code movieIds}, in the order of {@code movieIds}
+     */
+    @Override
+    public Map<Long, Boolean> containsAll(MovieList list, Long ownerId, Collection<Long> movieIds) {
+        Roaring64Bitmap bitmap = bitmap(list, ownerId);
+        Map<Long, Boolean> memberships = new LinkedHashMap<>();
+
+        synchronized (bitmap) {
+            movieIds.forEach(movieId -> memberships.put(movieId, bitmap.contains(movieId)));
+        }
+
+        return memberships;
+    }
+
+    @Override
+    public boolean add(MovieList list, Long ownerId, Long movieId) {
+        boolean added = movieMembershipRepository.insert(list, ownerId, movieId);
+        if (added) { movieAdded(list, ownerId, movieId); }
+
+        return added;
+    }
+
+    @Override
+    public boolean remove(MovieList list, Long ownerId, Long movieId) {
+        boolean removed = movieMembershipRepository.delete(list, ownerId, movieId);
+        if (removed) {
+            update(list, ownerId, bitmap -> bitmap.removeLong(movieId));
+            movieSimilarityService.movieTouched(movieId);
+        }
+
+        return removed;
+    }
+
+    /**
+     * Adds and removes several movies at once. Movies that already are (or are not) part of the list are
+     * skipped, so repeating a request changes nothing. Not supported for {@link MovieList#USER_LIST}, whose
+     * entries need {@link EntryPositions}.
+     */
+    @Override
+    public MovieBatchResultDTO update(MovieList list, Long ownerId, Collection<Long> add, Collection<Long> remove) {
+        return update(list, ownerId, add, remove, null);
+    }
+
+    /**
+     * Adds and removes several movies at once. Movies that already are (or are not) part of the list are
+     * skipped, so repeating a request changes nothing. New movies are added in the order of {@code add}, user
+     * list entries at the positions generated by {@code positions}.
+     *
+     * @throws ResponseStatusException 400 Bad Request if a movie is both added and removed, 404 Not Found if
+     * a movie to be added does not exist
+     */
+    @Override
+    public MovieBatchResultDTO update(MovieList list, Long ownerId, Collection<Long> add, Collection<Long> remove,
+                                      EntryPositions positions) {
+        Set<Long> added = new LinkedHashSet<>(add);
+        Set<Long> removed = new LinkedHashSet<>(remove);
+        removed.stream().filter(added::contains).findFirst().ifPresent(movieId -> {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("Movie with id %s cannot be added and removed at once!", movieId));
+        });
+
+        return apply(list, ownerId, added, positions, existing -> new Changes(
+                added.stream().filter(movieId -> !existing.contains(movieId)).toList(),
+                removed.stream().filter(existing::contains).toList()));
+    }
+
+    /**
+     * Replaces the movies of a list with {@code movieIds}. Not supported for {@link MovieList#USER_LIST},
+     * whose entries need {@link EntryPositions}.
+     */
+    @Override
+    public MovieBatchResultDTO replace(MovieList list, Long ownerId, Collection<Long> movieIds) {
+        return replace(list, ownerId, movieIds, null);
+    }
+
+    /**
+     * Replaces the movies of a list with {@code movieIds}. Only the difference to the current movies is
+     * written, so movies that stay on a user list keep their position and note. New user list entries are
+     * added at the positions generated by {@code positions}.
+     *
+     * @throws ResponseStatusException 404 Not Found if a movie does not exist
+     */
+    @Override
+    public MovieBatchResultDTO replace(MovieList list, Long ownerId, Collection<Long> movieIds,
+                                       EntryPositions positions) {
+        Set<Long> replacement = new LinkedHashSet<>(movieIds);
+
+        return apply(list, ownerId, replacement, positions, existing -> new Changes(
+                replacement.stream().filter(movieId -> !existing.contains(movieId)).toList(),
+                existing.stream().filter(movieId -> !replacement.contains(movieId)).toList()));
+    }
+
+    /**
+     * Records a movie that the caller already inserted into the join table, e.g. a user list entry, whose
+     * position only the caller can generate.
+     */
+    @Override
+    public void movieAdded(MovieList list, Long ownerId, Long movieId) {
+        update(list, ownerId, bitmap -> bitmap.addLong(movieId));
+        movieSimilarityService.movieTouched(movieId);
+    }
+
+    /**
+     * Drops the cached bitmap of a list. Has to be called if the join table was changed without passing
+     * through this service (e.g. by deleting the owning entity).
+     */
+    @Override
+    public void evict(MovieList list, Long ownerId) {
+        bitmaps.invalidate(new MembershipKey(list, ownerId));
+    }
+
+    /**
+     * Validates the movies to be added with one query, reads the current movies of the list with another one
+     * and writes the difference computed by {@code changes} with one batched INSERT and one DELETE. All of it
+     * runs in a single transaction.
+     */
+    private MovieBatchResultDTO apply(MovieList list, Long ownerId, Set<Long> movieIds, EntryPositions positions,
+                                      Function<Set<Long>, Changes> changes) {
+        if (list == MovieList.USER_LIST && positions == null) {
+            throw new IllegalArgumentException("User list entries need a position, pass EntryPositions!");
+        }
+
+        MovieBatchResultDTO result = transactionTemplate.execute(status -> {
+            Set<Long> missingMovieIds = new TreeSet<>(movieIds);
+            missingMovieIds.removeAll(movieMembershipRepository.findExistingMovieIds(movieIds));
+            if (!missingMovieIds.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        String.format("Movies with ids %s could not be found!", missingMovieIds));
+            }
+
+            Set<Long> existing = new LinkedHashSet<>(movieMembershipRepository.findMovieIds(list, ownerId));
+            Changes diff = changes.apply(existing);
+
+            movieMembershipRepository.deleteAll(list, ownerId, diff.removed());
+            if (!diff.added().isEmpty()) { insertAll(list, ownerId, diff.added(), positions); }
+
+            return new MovieBatchResultDTO(diff.added(), diff.removed(),
+                    existing.size() + diff.added().size() - diff.removed().size());
+        });
+
+        update(list, ownerId, bitmap -> {
+            result.added().forEach(bitmap::addLong);
+            result.removed().forEach(bitmap::removeLong);
+        });
+        movieSimilarityService.moviesTouched(Stream.concat(result.added().stream(), result.removed().stream())
+                .toList());
+
+        return result;
+    }
+
+    private void insertAll(MovieList list, Long ownerId, List<Long> movieIds, EntryPositions positions) {
+        if (list == MovieList.USER_LIST) {
+            movieMembershipRepository.insertUserListEntries(ownerId, movieIds, positions.append(ownerId, movieIds));
+        }
+        else {
+            movieMembershipRepository.insertAll(list, ownerId, movieIds);
+        }
+    }
+
+    /**
+     * Removes a deleted movie from every cached bitmap (its join table rows are deleted with it).
+     */
+    @Override
+    public void movieRemoved(Long movieId) {
+        bitmaps.asMap().keySet().forEach(key ->
+                update(key.list(), key.ownerId(), bitmap -> bitmap.removeLong(movieId)));
+    }
+
+    private Roaring64Bitmap bitmap(MovieList list, Long ownerId) {
+        return bitmaps.get(new MembershipKey(list, ownerId), key -> {
+            Roaring64Bitmap bitmap = new Roaring64Bitmap();
+            movieMembershipRepository.findMovieIds(key.list(), key.ownerId()).forEach(bitmap::addLong);
+            bitmap.runOptimize();
+            return bitmap;
+        });
+    }
+
+    private void update(MovieList list, Long ownerId, Consumer<Roaring64Bitmap> change) {
+        bitmaps.asMap().computeIfPresent(new MembershipKey(list, ownerId), (key, bitmap) -> {
+            synchronized (bitmap) {
+                change.accept(bitmap);
+            }
+            return bitmap;
+        });
+    }
+
+    private record MembershipKey(MovieList list, Long ownerId) {
+    }
+
+    private record Changes(List<Long> added, List<Long> removed) {
+    }
+}
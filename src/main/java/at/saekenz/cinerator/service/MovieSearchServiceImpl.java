@@ -0,0 +1,40 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.movie.MovieSearchCriteria;
+import at.saekenz.cinerator.repository.MovieRepository;
+import at.saekenz.cinerator.repository.MovieSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Executes {@link Movie} searches. Queries are built from {@link MovieSpecifications} so that only the
+ * supplied parameters are applied, and results are ranked by relevance when a title is searched for.
+ */
+@Service
+public class MovieSearchServiceImpl implements IMovieSearchService {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Movie> search(MovieSearchCriteria criteria) {
+        return movieRepository.findAll(MovieSpecifications.matching(criteria));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Movie> search(MovieSearchCriteria criteria, int page, int size) {
+        // Unsorted on purpose: the specification applies the relevance ordering itself
+        Pageable pageable = PageRequest.of(page, size);
+
+        return movieRepository.findAll(MovieSpecifications.matching(criteria), pageable);
+    }
+}
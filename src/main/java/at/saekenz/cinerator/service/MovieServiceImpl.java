@@ -1,10 +1,16 @@
 package at.saekenz.cinerator.service;
 
+import at.saekenz.cinerator.model.castinfo.CastInfo;
 import at.saekenz.cinerator.model.country.Country;
 import at.saekenz.cinerator.model.genre.Genre;
+import at.saekenz.cinerator.model.movie.EMovieExpansion;
 import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.movie.MovieCreationDTO;
+import at.saekenz.cinerator.model.movie.MovieDTO;
+import at.saekenz.cinerator.model.movie.MovieDetails;
 import at.saekenz.cinerator.model.movie.MovieMapper;
+import at.saekenz.cinerator.model.movie.MovieSearchCriteria;
+import at.saekenz.cinerator.model.movie.MovieStats;
 import at.saekenz.cinerator.model.person.Person;
 import at.saekenz.cinerator.model.review.Review;
 import at.saekenz.cinerator.model.review.ReviewCreationDTO;
@@ -12,18 +18,25 @@ import at.saekenz.cinerator.model.review.ReviewMapper;
 import at.saekenz.cinerator.model.review.ReviewUpdateDTO;
 import at.saekenz.cinerator.model.user.User;
 import at.saekenz.cinerator.repository.*;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.KeysetPaginationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +49,9 @@ public class MovieServiceImpl implements IMovieService{
     @Autowired
     private MovieRepository movieRepository;
 
+    @Autowired
+    private KeysetPaginationService keysetPaginationService;
+
     @Autowired
     private MovieMapper movieMapper;
 
@@ -54,6 +70,36 @@ public class MovieServiceImpl implements IMovieService{
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private IMovieSearchService movieSearchService;
+
+    @Autowired
+    private MovieSummaryRepository movieSummaryRepository;
+
+    @Autowired
+    private IMovieStatsService movieStatsService;
+
+    @Autowired
+    private ICastGraphService castGraphService;
+
+    @Autowired
+    private IMovieFacetService movieFacetService;
+
+    @Autowired
+    private IAutocompleteService autocompleteService;
+
+    @Autowired
+    private IFeedService feedService;
+
+    @Autowired
+    private IMovieSimilarityService movieSimilarityService;
+
+    @Autowired
+    private IImdbIdLookupService imdbIdLookupService;
+
+    @Autowired
+    private IMovieMembershipService movieMembershipService;
+
     @Override
     public List<Movie> findAll() {
        return movieRepository.findAll();
@@ -76,58 +122,80 @@ public class MovieServiceImpl implements IMovieService{
         return movieRepository.getReferenceById(id);
     }
 
+    @Override
+    public Movie findMovieByImdbId(String imdbId) {
+        return resolveImdbId(imdbId).orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        String.format("Movie with imdbId %s could not be found!", imdbId)));
+    }
+
     @Override
     public List<Movie> findByTitle(String title) {
         if(title.matches("^tt\\d{6,9}$")) {
-            return movieRepository.findMoviesBySearchParams(null, null, null,
-                    null, title, null, null);
+            return resolveImdbId(title).stream().toList();
         }
         else {
-            return movieRepository.findMoviesBySearchParams(title, null, null,
-                    null, null, null, null);
+            return movieSearchService.search(MovieSearchCriteria.byTitle(title));
         }
     }
 
     @Override
     public Movie save(Movie movie) {
-        return movieRepository.save(movie);
+        Movie savedMovie = movieRepository.save(movie);
+        autocompleteService.movieSaved(savedMovie.getId(), savedMovie.getTitle());
+        imdbIdLookupService.movieSaved(savedMovie.getId(), savedMovie.getImdbId());
+
+        return savedMovie;
     }
 
     @Override
     public void deleteById(Long id) {
         findMovieById(id);
         movieRepository.deleteById(id);
+        castGraphService.movieRemoved(id);
+        movieFacetService.movieRemoved(id);
+        autocompleteService.movieRemoved(id);
+        imdbIdLookupService.movieRemoved(id);
+        movieMembershipService.movieRemoved(id);
     }
 
     @Override
     public List<Movie> findByGenre(String genre) {
-        return movieRepository.findMoviesBySearchParams(null,null,null,
-                null,null, genre,null);
+        return movieSearchService.search(MovieSearchCriteria.byGenre(genre));
     }
 
     @Override
     public List<Movie> findByCountry(String country) {
-        return movieRepository.findMoviesBySearchParams(null,null,null,
-                null,null, null, country);
+        return movieSearchService.search(MovieSearchCriteria.byCountry(country));
     }
 
     @Override
     public List<Movie> findByYear(int year) {
-        return movieRepository.findMoviesBySearchParams(null,null,year,
-                null,null, null, null);
+        return movieSearchService.search(MovieSearchCriteria.byReleaseYear(year));
     }
 
     @Override
     public Page<Movie> findAllPaged(int page, int size, String sortField, String sortDirection) {
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortField);
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), toSortPath(sortField));
         Pageable pageable = PageRequest.of(page, size, sort);
 
         return movieRepository.findAll(pageable);
     }
 
+    @Override
+    public KeysetPage<Movie> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                           boolean withCount) {
+        return keysetPaginationService.findAll(Movie.class, size, toSortPath(sortField), sortDirection, cursor,
+                withCount);
+    }
+
     @Override
     public Movie createMovie(MovieCreationDTO movieCreationDTO) {
         Movie newMovie = movieMapper.toMovie(movieCreationDTO);
+        if (movieRepository.existsByImdbId(newMovie.getImdbId())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    String.format("Movie with imdbId %s already exists!", movieCreationDTO.imdbId()));
+        }
 
         Set<Genre> genres = Set.copyOf(genreRepository.findAllById(movieCreationDTO.genreIds()));
         newMovie.setGenres(genres);
@@ -135,12 +203,19 @@ public class MovieServiceImpl implements IMovieService{
         Set<Country> countries = Set.copyOf(countryRepository.findAllById(movieCreationDTO.countryIds()));
         newMovie.setCountries(countries);
 
-        return save(newMovie);
+        Movie savedMovie = save(newMovie);
+        movieFacetService.moviesSaved(List.of(savedMovie.getId()));
+
+        return savedMovie;
     }
 
     @Override
     public Movie updateMovie(Long id, MovieCreationDTO movieCreationDTO) {
         Movie foundMovie = findMovieById(id);
+        if (movieRepository.existsByImdbIdAndIdNot(Movie.normalizeImdbId(movieCreationDTO.imdbId()), id)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    String.format("Movie with imdbId %s already exists!", movieCreationDTO.imdbId()));
+        }
 
         foundMovie.setTitle(movieCreationDTO.title());
         foundMovie.setReleaseDate(movieCreationDTO.releaseDate());
@@ -154,14 +229,43 @@ public class MovieServiceImpl implements IMovieService{
         Set<Country> countrySet = new HashSet<>(countryRepository.findAllById(movieCreationDTO.countryIds()));
         foundMovie.setCountries(countrySet);
 
-        return save(foundMovie);
+        Movie savedMovie = save(foundMovie);
+        movieFacetService.moviesSaved(List.of(savedMovie.getId()));
+
+        return savedMovie;
     }
 
     @Override
-    public List<Movie> findMoviesBySearchParams(String title, LocalDate releaseDate, Integer releaseYear,
-                                                String runtime, String imdbId, String genre, String country) {
-        return movieRepository.findMoviesBySearchParams(title, releaseDate, releaseYear,
+    @Transactional(readOnly = true)
+    public Page<Movie> findMoviesBySearchParams(String title, LocalDate releaseDate, Integer releaseYear,
+                                                String runtime, String imdbId, String genre, String country,
+                                                int page, int size) {
+        MovieSearchCriteria criteria = new MovieSearchCriteria(title, releaseDate, releaseYear,
                 runtime, imdbId, genre, country);
+
+        return movieSearchService.search(criteria, page, size);
+    }
+
+    /**
+     * Maps {@code movies} to {@link MovieDTO} objects with a single summary query instead of
+     * initializing the cast, genres and countries of every {@link Movie} one by one.
+     *
+     * @param movies movies that will be mapped (only their ids are accessed)
+     * @return {@link List} of {@link MovieDTO} objects in the order of {@code movies}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<MovieDTO> findMovieDTOs(Collection<Movie> movies) {
+        List<Long> ids = movies.stream().map(Movie::getId).toList();
+
+        return movieSummaryRepository.findAllByIdIn(ids).stream()
+                .map(movieMapper::toDTO)
+                .toList();
+    }
+
+    @Override
+    public Page<MovieDTO> findMovieDTOs(Page<Movie> movies) {
+        return new PageImpl<>(findMovieDTOs(movies.getContent()), movies.getPageable(), movies.getTotalElements());
     }
 
     @Override
@@ -178,6 +282,7 @@ public class MovieServiceImpl implements IMovieService{
     }
 
     @Override
+    @Transactional
     public Review addReviewToMovie(Long movieId, ReviewCreationDTO reviewCreationDTO) {
         Review newReview = reviewMapper.toReview(reviewCreationDTO);
         Movie reviewedMovie = findMovieById(movieId);
@@ -188,22 +293,39 @@ public class MovieServiceImpl implements IMovieService{
         newReview.setUser(reviewingUser);
         newReview.setMovie(reviewedMovie);
 
-        return reviewRepository.save(newReview);
+        // Flushed right away, the feed fan-out references the review from native SQL
+        Review savedReview = reviewRepository.saveAndFlush(newReview);
+        movieStatsService.reviewAdded(movieId, savedReview.getRating(), savedReview.isLiked());
+        feedService.reviewAdded(savedReview);
+        movieSimilarityService.movieTouched(movieId);
+
+        return savedReview;
     }
 
     @Override
+    @Transactional
     public Review editReviewForMovie(Long movieId, Long reviewId, ReviewUpdateDTO reviewUpdateDTO) {
         Review foundReview = findReviewByMovieId(movieId, reviewId);
+        int oldRating = foundReview.getRating();
+        boolean oldLiked = foundReview.isLiked();
         foundReview.updateFromDTO(reviewUpdateDTO);
 
-        return reviewRepository.save(foundReview);
+        Review savedReview = reviewRepository.save(foundReview);
+        movieStatsService.reviewEdited(movieId, oldRating, oldLiked, savedReview.getRating(), savedReview.isLiked());
+        movieSimilarityService.movieTouched(movieId);
+
+        return savedReview;
     }
 
     @Override
+    @Transactional
     public void removeReviewFromMovie(Long movieId, Long reviewId) {
-        if (findReviewByMovieId(movieId, reviewId) != null) {
+        Review foundReview = findReviewByMovieId(movieId, reviewId);
+        if (foundReview != null) {
             log.info("Review with id {} removed from Movie with id {}.", reviewId, movieId);
             reviewRepository.deleteById(reviewId);
+            movieStatsService.reviewRemoved(movieId, foundReview.getRating(), foundReview.isLiked());
+            movieSimilarityService.movieTouched(movieId);
         }
         else {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
@@ -233,4 +355,82 @@ public class MovieServiceImpl implements IMovieService{
     public List<Country> findCountriesByMovieId(Long movieId) {
         return List.copyOf(findMovieById(movieId).getCountries());
     }
+
+    /**
+     * Loads the {@link Movie} with {@code id} and the associations named in {@code expand} with a fixed
+     * number of statements: one for the movie with its genres and countries, one for its cast (needed
+     * for the directors of the {@link MovieDTO} anyway) and one for its reviews if they are requested.
+     *
+     * @param id the ID of the {@link Movie}
+     * @param expand names of the associations to load (see {@link EMovieExpansion})
+     * @return {@link MovieDetails} of the {@link Movie}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public MovieDetails findMovieDetails(Long id, Collection<String> expand) {
+        Set<EMovieExpansion> expansions = EnumSet.noneOf(EMovieExpansion.class);
+        for (String value : expand) {
+            if (value.isBlank()) { continue; }
+            expansions.add(EMovieExpansion.fromParamName(value).orElseThrow(
+                    () -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            String.format("Expand value %s is invalid!", value))));
+        }
+
+        Movie movie = movieRepository.findWithGenresAndCountriesById(id).orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        String.format("Movie with id %s could not be found!", id)));
+        movieRepository.findWithCastById(id);
+
+        List<CastInfo> cast = movie.getCastInfos().stream()
+                .sorted(Comparator.comparing(CastInfo::getId))
+                .toList();
+        boolean withCast = expansions.contains(EMovieExpansion.CAST);
+
+        return new MovieDetails(movieMapper.toDTO(movie),
+                expansions,
+                expansions.contains(EMovieExpansion.REVIEWS) ? reviewRepository.findDTOsByMovieId(id) : List.of(),
+                withCast ? findPersonsWithRole(cast, "Actor") : List.of(),
+                withCast ? findPersonsWithRole(cast, "Director") : List.of(),
+                expansions.contains(EMovieExpansion.GENRES)
+                        ? movie.getGenres().stream().sorted(Comparator.comparing(Genre::getId)).toList()
+                        : List.of(),
+                expansions.contains(EMovieExpansion.COUNTRIES)
+                        ? movie.getCountries().stream().sorted(Comparator.comparing(Country::getId)).toList()
+                        : List.of());
+    }
+
+    /**
+     * Resolves an IMDb id with the in-memory id map and a primary key lookup. A movie found through a
+     * stale map entry is not returned, the entry is dropped and the id resolved again.
+     */
+    private Optional<Movie> resolveImdbId(String imdbId) {
+        String normalizedImdbId = Movie.normalizeImdbId(imdbId);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Optional<Long> movieId = imdbIdLookupService.findMovieId(normalizedImdbId);
+            if (movieId.isEmpty()) { return Optional.empty(); }
+
+            Optional<Movie> movie = movieRepository.findById(movieId.get());
+            if (movie.isPresent() && normalizedImdbId.equals(movie.get().getImdbId())) { return movie; }
+
+            imdbIdLookupService.invalidate(normalizedImdbId);
+        }
+        return Optional.empty();
+    }
+
+    private List<Person> findPersonsWithRole(List<CastInfo> cast, String role) {
+        return cast.stream()
+                .filter(castInfo -> role.equals(castInfo.getRole().getRole()))
+                .map(CastInfo::getPerson)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Maps the public name of a sort field to its attribute path. Review statistics (e.g. averageRating)
+     * live in the embedded {@link MovieStats}.
+     */
+    private String toSortPath(String sortField) {
+        return MovieStats.SORTABLE_FIELDS.contains(sortField) ? "stats." + sortField : sortField;
+    }
 }
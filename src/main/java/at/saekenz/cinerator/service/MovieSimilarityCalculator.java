@@ -0,0 +1,280 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.repository.MovieSimilarityRepository.SimilarityRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Computes item-item cosine similarities over sparse, weighted feature vectors of movies (e.g. "liked by
+ * user 7", "part of list 3", "features person 12"). Movies and features are mapped to dense int indexes,
+ * vectors are stored in compressed sparse row arrays twice: per movie and, as inverted index, per feature.
+ * The neighbours of a movie are found by walking the inverted index of its features, so only movies that
+ * share at least one feature are ever compared.
+ * <p>
+ * Features shared by more than {@code maxFeatureFrequency} movies (e.g. a user who liked everything)
+ * carry little information but make the comparison quadratic, they are ignored.
+ */
+final class MovieSimilarityCalculator {
+
+    private record Candidate(int movie, double score) {}
+
+    private static final Comparator<Candidate> WORST_FIRST = Comparator.comparingDouble(Candidate::score)
+            .thenComparing(Comparator.comparingInt(Candidate::movie).reversed());
+
+    private final LongIndex movies;
+
+    private final int[] movieOffsets;
+    private final int[] movieFeatures;
+    private final float[] movieWeights;
+    private final double[] norms;
+
+    private final int[] featureOffsets;
+    private final int[] featureMovies;
+    private final float[] featureWeights;
+
+    private final ThreadLocal<Accumulator> accumulators;
+
+    private MovieSimilarityCalculator(LongIndex movies, int[] movieOffsets, int[] movieFeatures,
+                                      float[] movieWeights, double[] norms, int[] featureOffsets,
+                                      int[] featureMovies, float[] featureWeights) {
+        this.movies = movies;
+        this.movieOffsets = movieOffsets;
+        this.movieFeatures = movieFeatures;
+        this.movieWeights = movieWeights;
+        this.norms = norms;
+        this.featureOffsets = featureOffsets;
+        this.featureMovies = featureMovies;
+        this.featureWeights = featureWeights;
+        this.accumulators = ThreadLocal.withInitial(() -> new Accumulator(movies.size()));
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    long[] movieIds() {
+        long[] ids = new long[movies.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = movies.keyAt(i);
+        }
+        return ids;
+    }
+
+    /**
+     * Computes the {@code k} most similar movies of every movie in {@code movieIds} in parallel.
+     * Movies without any features have no neighbours.
+     *
+     * @param movieIds ids of the movies whose neighbours are computed
+     * @param k maximum number of neighbours per movie
+     * @param pool {@link ForkJoinPool} the computation runs in
+     * @return neighbours ordered by movie and rank
+     */
+    List<SimilarityRow> topNeighbours(long[] movieIds, int k, ForkJoinPool pool) {
+        int[] targets = Arrays.stream(movieIds)
+                .mapToInt(movies::find)
+                .filter(index -> index >= 0)
+                .toArray();
+
+        return pool.submit(() -> IntStream.of(targets)
+                        .parallel()
+                        .mapToObj(movie -> topNeighbours(movie, k))
+                        .flatMap(List::stream)
+                        .toList())
+                .join();
+    }
+
+    private List<SimilarityRow> topNeighbours(int movie, int k) {
+        if (norms[movie] == 0) { return List.of(); }
+
+        Accumulator accumulator = accumulators.get();
+
+        for (int i = movieOffsets[movie]; i < movieOffsets[movie + 1]; i++) {
+            int feature = movieFeatures[i];
+            float weight = movieWeights[i];
+
+            for (int j = featureOffsets[feature]; j < featureOffsets[feature + 1]; j++) {
+                int other = featureMovies[j];
+                if (other != movie) {
+                    accumulator.add(other, weight * featureWeights[j]);
+                }
+            }
+        }
+
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1, WORST_FIRST);
+        for (int i = 0; i < accumulator.touchedCount; i++) {
+            int other = accumulator.touched[i];
+            best.add(new Candidate(other, accumulator.scores[other] / (norms[movie] * norms[other])));
+            if (best.size() > k) { best.poll(); }
+        }
+        accumulator.reset();
+
+        List<Candidate> ranked = new ArrayList<>(best);
+        ranked.sort(WORST_FIRST.reversed());
+
+        List<SimilarityRow> neighbours = new ArrayList<>(ranked.size());
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            Candidate candidate = ranked.get(rank);
+            neighbours.add(new SimilarityRow(movies.keyAt(movie), movies.keyAt(candidate.movie()),
+                    candidate.score(), rank + 1));
+        }
+
+        return neighbours;
+    }
+
+    /**
+     * Dot products of one movie with all other movies. Only the touched entries are reset, so the arrays
+     * are allocated once per thread.
+     */
+    private static final class Accumulator {
+        private final double[] scores;
+        private final int[] touched;
+        private int touchedCount;
+
+        private Accumulator(int size) {
+            this.scores = new double[size];
+            this.touched = new int[size];
+        }
+
+        private void add(int movie, double value) {
+            if (scores[movie] == 0) { touched[touchedCount++] = movie; }
+            scores[movie] += value;
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    /**
+     * Collects (movie, feature, weight) triples in primitive arrays. A feature is identified by its type
+     * and id, a feature added twice for the same movie keeps its highest weight.
+     */
+    static final class Builder {
+        private final LongIndex movies = new LongIndex();
+        private final LongIndex features = new LongIndex();
+
+        private int[] entryMovies = new int[1024];
+        private int[] entryFeatures = new int[1024];
+        private float[] entryWeights = new float[1024];
+        private int size;
+
+        private Builder() {
+
+        }
+
+        Builder add(long movieId, int featureType, long featureId, float weight) {
+            if (size == entryMovies.length) {
+                entryMovies = Arrays.copyOf(entryMovies, size * 2);
+                entryFeatures = Arrays.copyOf(entryFeatures, size * 2);
+                entryWeights = Arrays.copyOf(entryWeights, size * 2);
+            }
+
+            entryMovies[size] = movies.indexOf(movieId);
+            entryFeatures[size] = features.indexOf(((long) featureType << 56) | featureId);
+            entryWeights[size] = weight;
+            size++;
+
+            return this;
+        }
+
+        MovieSimilarityCalculator build(int maxFeatureFrequency) {
+            int movieCount = movies.size();
+            int featureCount = features.size();
+
+            // Rows per movie, every entry packed as (feature << 32 | weight bits) so a row can be sorted
+            // by feature with a primitive sort. Positive float bits keep the order of the floats.
+            int[] offsets = new int[movieCount + 1];
+            for (int i = 0; i < size; i++) { offsets[entryMovies[i] + 1]++; }
+            for (int m = 0; m < movieCount; m++) { offsets[m + 1] += offsets[m]; }
+
+            long[] packed = new long[size];
+            int[] next = Arrays.copyOf(offsets, movieCount);
+            for (int i = 0; i < size; i++) {
+                packed[next[entryMovies[i]]++] = ((long) entryFeatures[i] << 32)
+                        | (Float.floatToIntBits(entryWeights[i]) & 0xFFFFFFFFL);
+            }
+
+            // Sort and deduplicate rows, then count the movies of every feature
+            int[] rowLengths = new int[movieCount];
+            int[] frequencies = new int[featureCount];
+            for (int m = 0; m < movieCount; m++) {
+                Arrays.sort(packed, offsets[m], offsets[m + 1]);
+                int length = 0;
+                for (int i = offsets[m]; i < offsets[m + 1]; i++) {
+                    boolean lastOfFeature = i + 1 == offsets[m + 1] || feature(packed[i + 1]) != feature(packed[i]);
+                    if (lastOfFeature) {
+                        packed[offsets[m] + length++] = packed[i];
+                        frequencies[feature(packed[i])]++;
+                    }
+                }
+                rowLengths[m] = length;
+            }
+
+            // Compact rows without overly frequent features
+            int[] movieOffsets = new int[movieCount + 1];
+            for (int m = 0; m < movieCount; m++) {
+                int kept = 0;
+                for (int i = offsets[m]; i < offsets[m] + rowLengths[m]; i++) {
+                    if (frequencies[feature(packed[i])] <= maxFeatureFrequency) { kept++; }
+                }
+                movieOffsets[m + 1] = movieOffsets[m] + kept;
+            }
+
+            int[] movieFeatures = new int[movieOffsets[movieCount]];
+            float[] movieWeights = new float[movieOffsets[movieCount]];
+            double[] norms = new double[movieCount];
+            int[] featureOffsets = new int[featureCount + 1];
+
+            for (int m = 0; m < movieCount; m++) {
+                int position = movieOffsets[m];
+                double squares = 0;
+                for (int i = offsets[m]; i < offsets[m] + rowLengths[m]; i++) {
+                    int feature = feature(packed[i]);
+                    if (frequencies[feature] <= maxFeatureFrequency) {
+                        float weight = weight(packed[i]);
+                        movieFeatures[position] = feature;
+                        movieWeights[position] = weight;
+                        position++;
+                        squares += (double) weight * weight;
+                        featureOffsets[feature + 1]++;
+                    }
+                }
+                norms[m] = Math.sqrt(squares);
+            }
+
+            // Inverted index (movies per feature)
+            for (int f = 0; f < featureCount; f++) { featureOffsets[f + 1] += featureOffsets[f]; }
+
+            int[] featureMovies = new int[featureOffsets[featureCount]];
+            float[] featureWeights = new float[featureOffsets[featureCount]];
+            int[] featurePositions = Arrays.copyOf(featureOffsets, featureCount);
+            for (int m = 0; m < movieCount; m++) {
+                for (int i = movieOffsets[m]; i < movieOffsets[m + 1]; i++) {
+                    int position = featurePositions[movieFeatures[i]]++;
+                    featureMovies[position] = m;
+                    featureWeights[position] = movieWeights[i];
+                }
+            }
+
+            return new MovieSimilarityCalculator(movies, movieOffsets, movieFeatures, movieWeights, norms,
+                    featureOffsets, featureMovies, featureWeights);
+        }
+
+        private static int feature(long packedEntry) {
+            return (int) (packedEntry >>> 32);
+        }
+
+        private static float weight(long packedEntry) {
+            return Float.intBitsToFloat((int) packedEntry);
+        }
+    }
+}
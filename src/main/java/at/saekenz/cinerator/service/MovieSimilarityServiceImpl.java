@@ -0,0 +1,175 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.MovieDTO;
+import at.saekenz.cinerator.model.movie.MovieMapper;
+import at.saekenz.cinerator.repository.MovieRepository;
+import at.saekenz.cinerator.repository.MovieSimilarityRepository;
+import at.saekenz.cinerator.repository.MovieSimilarityRepository.SimilarityRow;
+import at.saekenz.cinerator.repository.MovieSummaryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Item-to-item recommendations ("similar movies"). Movies are compared by the cosine similarity of
+ * sparse vectors built from likes (reviews that are liked or rated with at least 4 stars), user list and
+ * watchlist co-membership and shared cast members. The {@code cinerator.similarity.neighbours} most
+ * similar movies of every movie are stored in {@code movie_similarities}, so serving them is a single
+ * index lookup.
+ * <p>
+ * All neighbours are rebuilt on a schedule. In between, the review and list write paths mark the movies
+ * they touch and only those are recomputed by {@link #refreshTouched()}. The vectors of all movies are
+ * loaded in both cases, since any movie can become a neighbour.
+ * <p>
+ * Signals are read in a read-only transaction and the neighbours written back in a separate one, the
+ * computation in between does not hold a database connection.
+ */
+@Service
+public class MovieSimilarityServiceImpl implements IMovieSimilarityService {
+    private static final Logger log = LoggerFactory.getLogger(MovieSimilarityServiceImpl.class);
+
+    private static final int LIKE = 1;
+    private static final int LIST = 2;
+    private static final int WATCHLIST = 3;
+    private static final int CAST = 4;
+
+    private static final float LIKE_WEIGHT = 1.0f;
+    private static final float LIST_WEIGHT = 1.0f;
+    private static final float WATCHLIST_WEIGHT = 0.5f;
+    private static final float CAST_WEIGHT = 0.5f;
+
+    @Autowired
+    private MovieSimilarityRepository movieSimilarityRepository;
+
+    @Autowired
+    private MovieSummaryRepository movieSummaryRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieMapper movieMapper;
+
+    @Value("${cinerator.similarity.neighbours}")
+    private int neighbours;
+
+    @Value("${cinerator.similarity.max-feature-frequency}")
+    private int maxFeatureFrequency;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public MovieSimilarityServiceImpl(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public List<MovieDTO> findSimilarMovies(Long movieId) {
+        if (!movieRepository.existsById(movieId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    String.format("Movie with id %s could not be found!", movieId));
+        }
+
+        return movieSummaryRepository.findAllByIdIn(movieSimilarityRepository.findSimilarMovieIds(movieId))
+                .stream()
+                .map(movieMapper::toDTO)
+                .toList();
+    }
+
+    @Override
+    public void movieTouched(Long movieId) {
+        movieSimilarityRepository.markForRefresh(movieId);
+    }
+
+    @Override
+    public void moviesTouched(Collection<Long> movieIds) {
+        if (!movieIds.isEmpty()) { movieSimilarityRepository.markForRefresh(movieIds); }
+    }
+
+    @Override
+    @Scheduled(cron = "${cinerator.similarity.rebuild-cron}")
+    public void rebuildAll() {
+        MovieSimilarityCalculator calculator = readOnlyTransaction.execute(status -> loadCalculator());
+        List<SimilarityRow> rows = calculator.topNeighbours(calculator.movieIds(), neighbours, pool);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            movieSimilarityRepository.deleteAll();
+            movieSimilarityRepository.insertAll(rows);
+        });
+
+        log.info("Rebuilt {} similarities of {} movies.", rows.size(), calculator.movieIds().length);
+    }
+
+    /**
+     * Recomputes the neighbours of the movies in the refresh queue. The queue is claimed in its own
+     * transaction, movies touched while the neighbours are computed are queued again and picked up by the
+     * next run. If the refresh fails, the claimed movies that still exist are put back into the queue.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${cinerator.similarity.refresh-delay}",
+            initialDelayString = "${cinerator.similarity.refresh-delay}")
+    public void refreshTouched() {
+        List<Long> movieIds = movieSimilarityRepository.claimRefreshQueue();
+        if (movieIds.isEmpty()) { return; }
+
+        try {
+            long[] targets = movieIds.stream().mapToLong(Long::longValue).toArray();
+            List<SimilarityRow> rows = readOnlyTransaction.execute(status -> loadCalculator())
+                    .topNeighbours(targets, neighbours, pool);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                movieSimilarityRepository.deleteByMovieIds(movieIds);
+                movieSimilarityRepository.insertAll(rows);
+            });
+        }
+        catch (RuntimeException e) {
+            // The claim was committed, without the movies being queued again they wait for the nightly rebuild
+            try {
+                movieSimilarityRepository.requeue(movieIds);
+            }
+            catch (RuntimeException requeueFailure) {
+                e.addSuppressed(requeueFailure);
+            }
+            throw e;
+        }
+
+        log.info("Refreshed similarities of {} movies.", movieIds.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private MovieSimilarityCalculator loadCalculator() {
+        MovieSimilarityCalculator.Builder builder = MovieSimilarityCalculator.builder();
+
+        movieSimilarityRepository.forEachLike(
+                (movieId, userId) -> builder.add(movieId, LIKE, userId, LIKE_WEIGHT));
+        movieSimilarityRepository.forEachListMembership(
+                (movieId, userListId) -> builder.add(movieId, LIST, userListId, LIST_WEIGHT));
+        movieSimilarityRepository.forEachWatchlistMembership(
+                (movieId, userId) -> builder.add(movieId, WATCHLIST, userId, WATCHLIST_WEIGHT));
+        movieSimilarityRepository.forEachCastMember(
+                (movieId, personId) -> builder.add(movieId, CAST, personId, CAST_WEIGHT));
+
+        return builder.build(maxFeatureFrequency);
+    }
+}
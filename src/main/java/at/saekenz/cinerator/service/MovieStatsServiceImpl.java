@@ -0,0 +1,58 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.repository.MovieStatsRepository;
+import at.saekenz.cinerator.repository.MovieStatsRepository.MovieStatsDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the precomputed review statistics of movies up to date. The review write paths report their
+ * changes, which are applied as relative updates within the caller's transaction. Since reviews can
+ * also disappear without passing through these paths (e.g. cascading deletes of users), all
+ * statistics are additionally rebuilt from the reviews table on a schedule.
+ */
+@Service
+public class MovieStatsServiceImpl implements IMovieStatsService {
+    private static final Logger log = LoggerFactory.getLogger(MovieStatsServiceImpl.class);
+
+    @Autowired
+    private MovieStatsRepository movieStatsRepository;
+
+    @Override
+    @Transactional
+    public void reviewAdded(Long movieId, int rating, boolean liked) {
+        apply(movieId, MovieStatsDelta.added(rating, liked));
+    }
+
+    @Override
+    @Transactional
+    public void reviewEdited(Long movieId, int oldRating, boolean oldLiked, int newRating, boolean newLiked) {
+        if (oldRating == newRating && oldLiked == newLiked) { return; }
+
+        apply(movieId, MovieStatsDelta.removed(oldRating, oldLiked).plus(MovieStatsDelta.added(newRating, newLiked)));
+    }
+
+    @Override
+    @Transactional
+    public void reviewRemoved(Long movieId, int rating, boolean liked) {
+        apply(movieId, MovieStatsDelta.removed(rating, liked));
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${cinerator.stats.rebuild-cron}")
+    public void rebuildAll() {
+        int rebuilt = movieStatsRepository.rebuildAll();
+        log.info("Rebuilt review statistics of {} movies.", rebuilt);
+    }
+
+    private void apply(Long movieId, MovieStatsDelta delta) {
+        if (movieStatsRepository.applyDelta(movieId, delta) == 0) {
+            log.warn("No statistics found for Movie with id {}. They will be created by the next rebuild.", movieId);
+        }
+    }
+}
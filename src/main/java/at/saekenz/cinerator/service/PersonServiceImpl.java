@@ -6,8 +6,12 @@ import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.person.Person;
 import at.saekenz.cinerator.model.person.PersonDTO;
 import at.saekenz.cinerator.model.person.PersonMapper;
+import at.saekenz.cinerator.model.person.PersonSearchCriteria;
 import at.saekenz.cinerator.model.role.Role;
 import at.saekenz.cinerator.repository.PersonRepository;
+import at.saekenz.cinerator.repository.PersonSpecifications;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.KeysetPaginationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -15,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
@@ -29,9 +34,18 @@ public class PersonServiceImpl implements IPersonService {
     @Autowired
     private PersonRepository personRepository;
 
+    @Autowired
+    private KeysetPaginationService keysetPaginationService;
+
     @Autowired
     private PersonMapper personMapper;
 
+    @Autowired
+    private ICastGraphService castGraphService;
+
+    @Autowired
+    private IAutocompleteService autocompleteService;
+
     public PersonServiceImpl(ICountryService countryService) {
         this.countryService = countryService;
     }
@@ -53,19 +67,29 @@ public class PersonServiceImpl implements IPersonService {
 
     @Override
     public Person save(Person person) {
-        return personRepository.save(person);
+        Person savedPerson = personRepository.save(person);
+        autocompleteService.personSaved(savedPerson.getId(), savedPerson.getName());
+
+        return savedPerson;
     }
 
     @Override
     public void deleteById(Long id) {
         findPersonById(id);
         personRepository.deleteById(id);
+        castGraphService.personRemoved(id);
+        autocompleteService.personRemoved(id);
     }
 
     @Override
-    public List<Person> findPersonsBySearchParams(String name, LocalDate birthDate, LocalDate deathDate,
-                                                  String height, String country, Integer age) {
-        return personRepository.findPersonsBySearchParams(name, birthDate, deathDate, height, country, age);
+    @Transactional(readOnly = true)
+    public Page<Person> findPersonsBySearchParams(String name, LocalDate birthDate, LocalDate deathDate,
+                                                  String height, String country, Integer age, int page, int size) {
+        PersonSearchCriteria criteria = new PersonSearchCriteria(name, birthDate, deathDate, height, country, age);
+        // Unsorted on purpose: the specification applies the relevance ordering itself
+        Pageable pageable = PageRequest.of(page, size);
+
+        return personRepository.findAll(PersonSpecifications.matching(criteria), pageable);
     }
 
     @Override
@@ -82,6 +106,12 @@ public class PersonServiceImpl implements IPersonService {
         return personRepository.findAll(pageable);
     }
 
+    @Override
+    public KeysetPage<Person> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                            boolean withCount) {
+        return keysetPaginationService.findAll(Person.class, size, sortField, sortDirection, cursor, withCount);
+    }
+
     @Override
     public Country findCountryByPersonId(Long personId) {
         return findPersonById(personId).getBirthCountry();
@@ -0,0 +1,252 @@
+package at.saekenz.cinerator.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Radix trie (prefix tree with compressed single-child chains) mapping keys to weighted ids. Every node
+ * stores the highest weight of its subtree, so {@link #top} finds the best completions of a prefix with a
+ * best-first walk that only expands as many nodes as it needs, no matter how many keys share the prefix.
+ * <p>
+ * An id may be stored under several keys (e.g. every word of a title), {@link #top} lists it once.
+ * Not thread-safe, see {@link AutocompleteServiceImpl}.
+ */
+final class RadixTrie {
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingLong(Candidate::weight).reversed()
+            .thenComparing(candidate -> candidate.node() != null)
+            .thenComparingLong(Candidate::id);
+
+    private final Node root = new Node("");
+
+    /**
+     * Stores {@code id} under {@code key}. Adding an id twice under the same key replaces its weight.
+     */
+    void add(String key, long id, long weight) {
+        remove(key, id);
+
+        Node node = root;
+        int position = 0;
+        while (true) {
+            node.maxWeight = Math.max(node.maxWeight, weight);
+            if (position == key.length()) {
+                node.addEntry(id, weight);
+                return;
+            }
+
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(position));
+                leaf.addEntry(id, weight);
+                leaf.maxWeight = weight;
+                node.insertChild(-index - 1, leaf);
+                return;
+            }
+
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children = new Node[]{child};
+                split.maxWeight = child.maxWeight;
+                node.children[index] = split;
+                child = split;
+            }
+
+            node = child;
+            position += common;
+        }
+    }
+
+    void remove(String key, long id) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        path.add(node);
+
+        while (position < key.length()) {
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) { return; }
+
+            Node child = node.children[index];
+            if (!key.startsWith(child.label, position)) { return; }
+
+            node = child;
+            position += child.label.length();
+            path.add(node);
+        }
+
+        if (!node.removeEntry(id)) { return; }
+
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            current.updateMaxWeight();
+
+            if (current.size == 0 && current.children.length == 0) {
+                parent.removeChild(current);
+            }
+            else if (current.size == 0 && current.children.length == 1) {
+                // Merge the chain again, the node only existed to hold the removed entry
+                Node child = current.children[0];
+                child.label = current.label + child.label;
+                parent.children[parent.childIndex(current.label.charAt(0))] = child;
+            }
+        }
+        root.updateMaxWeight();
+    }
+
+    /**
+     * @param prefix prefix of the keys
+     * @param limit maximum number of ids returned
+     * @return ids stored under keys starting with {@code prefix}, highest weight first
+     */
+    long[] top(String prefix, int limit) {
+        Node start = find(prefix);
+        if (start == null || limit <= 0) { return new long[0]; }
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+        queue.add(new Candidate(start.maxWeight, 0, start));
+
+        Set<Long> seen = new HashSet<>();
+        long[] ids = new long[limit];
+        int found = 0;
+
+        while (found < limit && !queue.isEmpty()) {
+            Candidate candidate = queue.poll();
+            if (candidate.node() == null) {
+                if (seen.add(candidate.id())) { ids[found++] = candidate.id(); }
+                continue;
+            }
+
+            Node node = candidate.node();
+            for (int i = 0; i < node.size; i++) {
+                queue.add(new Candidate(node.weights[i], node.ids[i], null));
+            }
+            for (Node child : node.children) {
+                queue.add(new Candidate(child.maxWeight, 0, child));
+            }
+        }
+
+        return Arrays.copyOf(ids, found);
+    }
+
+    /**
+     * @return the node whose subtree holds exactly the keys starting with {@code prefix} or {@code null}
+     */
+    private Node find(String prefix) {
+        Node node = root;
+        int position = 0;
+
+        while (position < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(position));
+            if (index < 0) { return null; }
+
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, prefix, position);
+            if (position + common == prefix.length()) { return child; }
+            if (common < child.label.length()) { return null; }
+
+            node = child;
+            position += common;
+        }
+        return node;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private record Candidate(long weight, long id, Node node) {}
+
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final long[] NO_ENTRIES = new long[0];
+
+        private String label;
+        // Sorted by the first character of their labels, which are distinct
+        private Node[] children = NO_CHILDREN;
+        private long[] ids = NO_ENTRIES;
+        private long[] weights = NO_ENTRIES;
+        private int size;
+        private long maxWeight;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char current = children[middle].label.charAt(0);
+                if (current < first) { low = middle + 1; }
+                else if (current > first) { high = middle - 1; }
+                else { return middle; }
+            }
+            return -(low + 1);
+        }
+
+        private void insertChild(int index, Node child) {
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, index);
+            grown[index] = child;
+            System.arraycopy(children, index, grown, index + 1, children.length - index);
+            children = grown;
+        }
+
+        private void removeChild(Node child) {
+            int index = childIndex(child.label.charAt(0));
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+        }
+
+        private void addEntry(long id, long weight) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(1, size * 2));
+                weights = Arrays.copyOf(weights, ids.length);
+            }
+            ids[size] = id;
+            weights[size] = weight;
+            size++;
+        }
+
+        private boolean removeEntry(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    weights[i] = weights[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void updateMaxWeight() {
+            long max = 0;
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, weights[i]);
+            }
+            for (Node child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+}
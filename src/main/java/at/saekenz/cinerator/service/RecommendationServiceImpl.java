@@ -0,0 +1,164 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.movie.MovieDTO;
+import at.saekenz.cinerator.model.movie.MovieMapper;
+import at.saekenz.cinerator.repository.MovieSummaryRepository;
+import at.saekenz.cinerator.repository.RecommendationRepository;
+import at.saekenz.cinerator.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Personalized ("for you") recommendations based on matrix factorization. A scheduled job learns a
+ * vector per user and movie from ratings, likes, watchlists and the likes of followed users and stores
+ * them in {@code user_factors}/{@code movie_factors}. Requests are answered from an in-memory copy of
+ * all movie vectors: one primary key lookup for the user vector, one for the reviewed movies and a dot
+ * product per movie. Users without a vector (e.g. new users) get the most popular movies.
+ * <p>
+ * The in-memory copy is replaced after training and reloaded periodically, so every instance picks up
+ * vectors trained elsewhere. Training reads the interactions in a read-only transaction and writes the
+ * vectors in a separate one, the training itself does not hold a database connection.
+ */
+@Service
+public class RecommendationServiceImpl implements IRecommendationService {
+    private static final Logger log = LoggerFactory.getLogger(RecommendationServiceImpl.class);
+
+    private static final float WATCHLIST_WEIGHT = 0.5f;
+    private static final float FOLLOW_WEIGHT = 0.25f;
+
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MovieSummaryRepository movieSummaryRepository;
+
+    @Autowired
+    private MovieMapper movieMapper;
+
+    @Value("${cinerator.recommendations.factors}")
+    private int factors;
+
+    @Value("${cinerator.recommendations.epochs}")
+    private int epochs;
+
+    @Value("${cinerator.recommendations.learning-rate}")
+    private float learningRate;
+
+    @Value("${cinerator.recommendations.regularization}")
+    private float regularization;
+
+    @Value("${cinerator.recommendations.negative-samples}")
+    private int negativeSamples;
+
+    private volatile MovieFactorIndex index;
+
+    private final ReentrantLock indexLock = new ReentrantLock();
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public RecommendationServiceImpl(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Finds the movies {@link at.saekenz.cinerator.model.user.User} with {@code userId} is most likely to
+     * enjoy. Movies the user already reviewed or put on the watchlist are never recommended.
+     *
+     * @param userId the ID of the user
+     * @param size maximum number of movies
+     * @return {@link List} of {@link MovieDTO} objects, best match first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<MovieDTO> findRecommendations(Long userId, int size) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    String.format("User with id %s could not be found!", userId));
+        }
+
+        float[] userFactors = recommendationRepository.findUserFactors(userId).orElse(null);
+        long[] excludedMovieIds = recommendationRepository.findReviewedOrWatchlistedMovieIds(userId).stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+
+        long[] movieIds = currentIndex().topN(userFactors, excludedMovieIds, size);
+
+        return movieSummaryRepository.findAllByIdIn(Arrays.stream(movieIds).boxed().toList()).stream()
+                .map(movieMapper::toDTO)
+                .toList();
+    }
+
+    @Override
+    @Scheduled(cron = "${cinerator.recommendations.train-cron}")
+    public void train() {
+        MatrixFactorization model = new MatrixFactorization(factors, epochs, learningRate, regularization,
+                negativeSamples);
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            recommendationRepository.forEachMovieId(model::addMovie);
+            recommendationRepository.forEachInteraction(WATCHLIST_WEIGHT, FOLLOW_WEIGHT, model::addInteraction);
+        });
+        model.train();
+
+        long[] userIds = model.userIds();
+        long[] movieIds = model.movieIds();
+        transactionTemplate.executeWithoutResult(status -> {
+            recommendationRepository.replaceUserFactors(userIds, model.userFactors(), model.rank());
+            recommendationRepository.replaceMovieFactors(movieIds, model.movieBiases(), model.movieFactors(),
+                    model.rank());
+        });
+
+        index = new MovieFactorIndex(movieIds, model.movieBiases(), model.movieFactors(), model.rank());
+        log.info("Trained recommendation vectors of {} users and {} movies.", userIds.length, movieIds.length);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Scheduled(fixedDelayString = "${cinerator.recommendations.reload-delay}",
+            initialDelayString = "${cinerator.recommendations.reload-delay}")
+    public void reloadModel() {
+        index = loadIndex();
+    }
+
+    private MovieFactorIndex currentIndex() {
+        MovieFactorIndex current = index;
+        if (current == null) {
+            indexLock.lock();
+            try {
+                if (index == null) { index = loadIndex(); }
+                current = index;
+            }
+            finally {
+                indexLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private MovieFactorIndex loadIndex() {
+        MovieFactorIndex.Builder builder = MovieFactorIndex.builder();
+        recommendationRepository.forEachMovieFactors(builder::add);
+        return builder.build();
+    }
+}
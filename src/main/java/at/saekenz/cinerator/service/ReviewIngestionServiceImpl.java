@@ -0,0 +1,344 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.review.PendingReview;
+import at.saekenz.cinerator.model.review.Review;
+import at.saekenz.cinerator.model.review.ReviewCreationDTO;
+import at.saekenz.cinerator.model.review.ReviewMapper;
+import at.saekenz.cinerator.model.review.ReviewSubmissionDTO;
+import at.saekenz.cinerator.repository.MovieRepository;
+import at.saekenz.cinerator.repository.ReviewRepository;
+import at.saekenz.cinerator.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind ingestion of reviews. A submitted review is journaled (see {@link ReviewJournal}) and put
+ * into a bounded in-process queue without touching the database, so the request thread never waits for
+ * a connection. A dedicated writer thread drains the queue: movies and users of a whole batch are
+ * checked with one query each, the batch is inserted with JDBC batching in a single transaction and the
+ * same follow-up work as for synchronously added reviews (statistics, feeds, similarities) is done.
+ * <p>
+ * A full queue rejects submissions with 429 Too Many Requests. The outcome of a submission can be
+ * polled by its ticket for {@code cinerator.reviews.write-behind.status-retention}. Reviews that were not
+ * written before a shutdown (or crash) are replayed from the journal on the next start. Every review stores
+ * the ticket of its submission, so a replayed review that had already been written is not inserted again.
+ * A batch that cannot be written (e.g. while the database is down) is retried with exponential backoff,
+ * its submissions fail after {@code cinerator.reviews.write-behind.max-attempts}.
+ */
+@Service
+public class ReviewIngestionServiceImpl implements IReviewIngestionService {
+    private static final Logger log = LoggerFactory.getLogger(ReviewIngestionServiceImpl.class);
+
+    private static final long POLL_TIMEOUT_MS = 500;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReviewMapper reviewMapper;
+
+    @Autowired
+    private IMovieStatsService movieStatsService;
+
+    @Autowired
+    private IFeedService feedService;
+
+    @Autowired
+    private IMovieSimilarityService movieSimilarityService;
+
+    @Autowired
+    private ReviewJournal reviewJournal;
+
+    @Value("${cinerator.reviews.write-behind.batch-size}")
+    private int batchSize;
+
+    @Value("${cinerator.reviews.write-behind.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${cinerator.reviews.write-behind.retry-backoff}")
+    private Duration retryBackoff;
+
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingReview> queue;
+    private final Cache<UUID, ReviewSubmissionDTO> submissions;
+    private final ExecutorService writer;
+    private final ReentrantLock submitLock = new ReentrantLock();
+
+    private volatile boolean running;
+
+    public ReviewIngestionServiceImpl(PlatformTransactionManager transactionManager,
+                                      @Value("${cinerator.reviews.write-behind.queue-capacity}") int queueCapacity,
+                                      @Value("${cinerator.reviews.write-behind.status-retention}")
+                                      Duration statusRetention,
+                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writer = Executors.newSingleThreadExecutor(virtualThreads
+                ? Thread.ofVirtual().name("review-writer").factory()
+                : Thread.ofPlatform().name("review-writer").factory());
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.submissions = Caffeine.newBuilder()
+                .expireAfterWrite(statusRetention)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<PendingReview> recovered = reviewJournal.recover();
+        recovered.forEach(review -> submissions.put(review.ticket(),
+                ReviewSubmissionDTO.pending(review.ticket(), review.movieId())));
+
+        running = true;
+        writer.submit(() -> drain(recovered));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.shutdown();
+        if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Review queue was not drained in time, {} pending reviews are replayed on restart.",
+                    queue.size());
+            writer.shutdownNow();
+        }
+        reviewJournal.close();
+    }
+
+    /**
+     * Accepts a review for asynchronous insertion. Only the request itself is validated, whether the
+     * {@link at.saekenz.cinerator.model.movie.Movie} and {@link at.saekenz.cinerator.model.user.User}
+     * exist is checked when the review is written (the submission fails otherwise).
+     *
+     * @param movieId the ID of the movie the review is for
+     * @param reviewCreationDTO the review
+     * @return {@link ReviewSubmissionDTO} with the ticket of the submission
+     */
+    @Override
+    public ReviewSubmissionDTO submitReview(Long movieId, ReviewCreationDTO reviewCreationDTO) {
+        if (!running) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Review queue is not available!");
+        }
+
+        PendingReview pendingReview = new PendingReview(UUID.randomUUID(), movieId, reviewCreationDTO);
+        ReviewSubmissionDTO submission = ReviewSubmissionDTO.pending(pendingReview.ticket(), movieId);
+
+        // Only the writer thread takes from the queue, so capacity checked under the lock cannot vanish
+        submitLock.lock();
+        try {
+            if (queue.remainingCapacity() == 0) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Review queue is full, please try again later!");
+            }
+
+            submissions.put(pendingReview.ticket(), submission);
+            try {
+                reviewJournal.append(pendingReview);
+            }
+            catch (RuntimeException e) {
+                submissions.invalidate(pendingReview.ticket());
+                throw e;
+            }
+            queue.add(pendingReview);
+        }
+        finally {
+            submitLock.unlock();
+        }
+
+        return submission;
+    }
+
+    @Override
+    public ReviewSubmissionDTO findSubmission(Long movieId, UUID ticket) {
+        ReviewSubmissionDTO submission = submissions.getIfPresent(ticket);
+
+        if (submission == null || !submission.movieId().equals(movieId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    String.format("Review submission %s could not be found for Movie with id %s!",
+                            ticket, movieId));
+        }
+        return submission;
+    }
+
+    private void drain(List<PendingReview> recovered) {
+        try {
+            for (int i = 0; i < recovered.size(); i += batchSize) {
+                writeSafely(recovered.subList(i, Math.min(i + batchSize, recovered.size())));
+            }
+
+            List<PendingReview> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty()) {
+                PendingReview first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) { continue; }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                try {
+                    writeSafely(batch);
+                }
+                finally {
+                    batch.clear();
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            // Reviews that were not written yet stay in the journal and are replayed on restart
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes {@code batch}, retrying it with exponential backoff. Retrying is safe even if the reviews were
+     * inserted but not marked as committed in the journal, since written submissions are skipped. After
+     * {@code maxAttempts} the submissions fail and are dropped from the journal.
+     */
+    private void writeSafely(List<PendingReview> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(batch);
+                return;
+            }
+            catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Batch of {} reviews could not be written after {} attempts, the submissions failed.",
+                            batch.size(), attempt, e);
+                    abandon(batch);
+                    return;
+                }
+
+                Duration backoff = retryBackoff.multipliedBy(1L << (attempt - 1));
+                log.warn("Batch of {} reviews could not be written (attempt {} of {}), retrying in {}.",
+                        batch.size(), attempt, maxAttempts, backoff, e);
+                Thread.sleep(backoff);
+            }
+        }
+    }
+
+    private void abandon(List<PendingReview> batch) {
+        batch.forEach(review -> fail(review, "Review could not be saved, please try again later!"));
+        try {
+            reviewJournal.committed(batch.stream().map(PendingReview::ticket).toList());
+        }
+        catch (RuntimeException e) {
+            log.error("Failed review submissions could not be removed from the journal.", e);
+        }
+    }
+
+    private void write(List<PendingReview> batch) {
+        Set<Long> movieIds = new HashSet<>(movieRepository.findExistingIds(
+                batch.stream().map(PendingReview::movieId).distinct().toList()));
+        Set<Long> userIds = new HashSet<>(userRepository.findExistingIds(
+                batch.stream().map(review -> review.review().userId()).distinct().toList()));
+
+        List<PendingReview> accepted = new ArrayList<>(batch.size());
+        for (PendingReview review : batch) {
+            if (!movieIds.contains(review.movieId())) {
+                fail(review, String.format("Movie with id %s could not be found!", review.movieId()));
+            }
+            else if (!userIds.contains(review.review().userId())) {
+                fail(review, String.format("User with id %s could not be found!", review.review().userId()));
+            }
+            else {
+                accepted.add(review);
+            }
+        }
+
+        insert(accepted);
+        reviewJournal.committed(batch.stream().map(PendingReview::ticket).toList());
+    }
+
+    /**
+     * Inserts {@code reviews} in one transaction. If that fails (e.g. a movie was deleted in the meantime),
+     * every review is retried on its own, so one bad review cannot fail the others.
+     */
+    private void insert(List<PendingReview> reviews) {
+        if (reviews.isEmpty()) { return; }
+
+        try {
+            Map<UUID, Long> reviewIds = transactionTemplate.execute(status -> persist(reviews));
+            for (PendingReview review : reviews) {
+                submissions.put(review.ticket(), ReviewSubmissionDTO.completed(review.ticket(), review.movieId(),
+                        reviewIds.get(review.ticket())));
+            }
+        }
+        catch (DataIntegrityViolationException e) {
+            if (reviews.size() == 1) {
+                log.warn("Review submission {} could not be written.", reviews.get(0).ticket(), e);
+                fail(reviews.get(0), "Review could not be saved!");
+                return;
+            }
+            reviews.forEach(review -> insert(List.of(review)));
+        }
+    }
+
+    /**
+     * Saves the reviews that were not written by an earlier attempt (a replay after a crash between the
+     * insert and the journal commit) and returns the review id of every ticket.
+     */
+    private Map<UUID, Long> persist(List<PendingReview> reviews) {
+        Map<UUID, Long> reviewIds = new HashMap<>();
+        reviewRepository.findBySubmissionTicketIn(reviews.stream().map(PendingReview::ticket).toList())
+                .forEach(review -> reviewIds.put(review.getSubmissionTicket(), review.getId()));
+
+        List<Review> newReviews = reviews.stream()
+                .filter(pendingReview -> !reviewIds.containsKey(pendingReview.ticket()))
+                .map(pendingReview -> {
+                    Review review = reviewMapper.toReview(pendingReview.review());
+                    review.setMovie(movieRepository.getReferenceById(pendingReview.movieId()));
+                    review.setUser(userRepository.getReferenceById(pendingReview.review().userId()));
+                    review.setSubmissionTicket(pendingReview.ticket());
+                    return review;
+                })
+                .toList();
+
+        // Flushed right away, the feed fan-out references the reviews from native SQL
+        List<Review> savedReviews = reviewRepository.saveAllAndFlush(newReviews);
+        for (Review review : savedReviews) {
+            Long movieId = review.getMovieId();
+
+            movieStatsService.reviewAdded(movieId, review.getRating(), review.isLiked());
+            feedService.reviewAdded(review);
+            movieSimilarityService.movieTouched(movieId);
+            reviewIds.put(review.getSubmissionTicket(), review.getId());
+        }
+
+        return reviewIds;
+    }
+
+    private void fail(PendingReview review, String message) {
+        submissions.put(review.ticket(), ReviewSubmissionDTO.failed(review.ticket(), review.movieId(), message));
+    }
+}
@@ -0,0 +1,183 @@
+package at.saekenz.cinerator.service;
+
+import at.saekenz.cinerator.model.review.PendingReview;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only file that makes the write-behind queue of reviews durable. Every accepted review is
+ * appended (and forced to disk) before it is queued, every written batch appends the tickets it
+ * committed. On startup, reviews without a matching commit are replayed. The file is truncated whenever
+ * no review is outstanding, so it only grows while the queue is backed up.
+ */
+@Component
+public class ReviewJournal {
+    private static final Logger log = LoggerFactory.getLogger(ReviewJournal.class);
+
+    private record Entry(PendingReview enqueued, List<UUID> committed) {}
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    // Not synchronized, a virtual thread would stay pinned to its carrier while forcing the file to disk
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private FileChannel channel;
+    private int outstanding;
+
+    public ReviewJournal(@Value("${cinerator.reviews.write-behind.journal-file}") Path file,
+                         ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Opens the journal and returns every review that was accepted but never committed. The file is
+     * compacted to just those reviews.
+     *
+     * @return {@link List} of pending reviews in the order they were accepted
+     */
+    public List<PendingReview> recover() {
+        lock.lock();
+        try {
+            Map<UUID, PendingReview> pending = new LinkedHashMap<>();
+            if (Files.exists(file)) {
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        read(line, pending);
+                    }
+                }
+            }
+            else if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+
+            Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+            List<String> lines = new ArrayList<>();
+            for (PendingReview review : pending.values()) {
+                lines.add(objectMapper.writeValueAsString(new Entry(review, null)));
+            }
+            Files.write(compacted, lines, StandardCharsets.UTF_8);
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            outstanding = pending.size();
+
+            if (!pending.isEmpty()) {
+                log.info("Recovered {} pending reviews from {}.", pending.size(), file);
+            }
+            return List.copyOf(pending.values());
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Review journal " + file + " could not be recovered!", e);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void append(PendingReview review) {
+        lock.lock();
+        try {
+            write(new Entry(review, null));
+            outstanding++;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void committed(Collection<UUID> tickets) {
+        lock.lock();
+        try {
+            if (tickets.isEmpty()) { return; }
+
+            write(new Entry(null, List.copyOf(tickets)));
+            outstanding -= tickets.size();
+
+            if (outstanding <= 0) {
+                try {
+                    channel.truncate(0);
+                    outstanding = 0;
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException("Review journal " + file + " could not be truncated!", e);
+                }
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            if (channel == null) { return; }
+
+            try {
+                channel.close();
+            }
+            catch (IOException e) {
+                log.warn("Review journal {} could not be closed.", file, e);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(Entry entry) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Review journal " + file + " could not be written!", e);
+        }
+    }
+
+    private void read(String line, Map<UUID, PendingReview> pending) {
+        if (line.isBlank()) { return; }
+
+        try {
+            Entry entry = objectMapper.readValue(line, Entry.class);
+            if (entry.enqueued() != null) {
+                pending.put(entry.enqueued().ticket(), entry.enqueued());
+            }
+            if (entry.committed() != null) {
+                entry.committed().forEach(pending::remove);
+            }
+        }
+        catch (IOException e) {
+            // A torn last line after a crash, the review it held was never acknowledged
+            log.warn("Skipped unreadable review journal entry: {}", line);
+        }
+    }
+}
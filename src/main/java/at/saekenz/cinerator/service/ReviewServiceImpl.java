@@ -5,6 +5,8 @@ import at.saekenz.cinerator.model.review.Review;
 import at.saekenz.cinerator.model.review.ReviewDTO;
 import at.saekenz.cinerator.model.user.User;
 import at.saekenz.cinerator.repository.ReviewRepository;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.KeysetPaginationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -23,6 +25,9 @@ public class ReviewServiceImpl implements IReviewService {
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private KeysetPaginationService keysetPaginationService;
+
     @Override
     public List<Review> findAll() {
         return reviewRepository.findAll();
@@ -36,6 +41,12 @@ public class ReviewServiceImpl implements IReviewService {
         return reviewRepository.findAll(pageable);
     }
 
+    @Override
+    public KeysetPage<Review> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                            boolean withCount) {
+        return keysetPaginationService.findAll(Review.class, size, sortField, sortDirection, cursor, withCount);
+    }
+
     @Override
     public Optional<Review> findById(Long id) {
         return reviewRepository.findById(id);
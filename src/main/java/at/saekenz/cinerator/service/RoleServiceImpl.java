@@ -4,6 +4,8 @@ import at.saekenz.cinerator.model.role.Role;
 import at.saekenz.cinerator.model.role.RoleDTO;
 import at.saekenz.cinerator.model.role.RoleMapper;
 import at.saekenz.cinerator.repository.RoleRepository;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.KeysetPaginationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -22,6 +24,9 @@ public class RoleServiceImpl implements IRoleService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private KeysetPaginationService keysetPaginationService;
+
     @Autowired
     private RoleMapper roleMapper;
 
@@ -66,6 +71,12 @@ public class RoleServiceImpl implements IRoleService {
         return roleRepository.findAll(pageable);
     }
 
+    @Override
+    public KeysetPage<Role> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                          boolean withCount) {
+        return keysetPaginationService.findAll(Role.class, size, sortField, sortDirection, cursor, withCount);
+    }
+
     @Override
     public Role createRole(RoleDTO roleDTO) {
         Role newRole = roleMapper.toRole(roleDTO);
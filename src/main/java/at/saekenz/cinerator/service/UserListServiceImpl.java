@@ -1,24 +1,41 @@
 package at.saekenz.cinerator.service;
 
 import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.movie.MovieBatchReplaceDTO;
+import at.saekenz.cinerator.model.movie.MovieBatchResultDTO;
+import at.saekenz.cinerator.model.movie.MovieBatchUpdateDTO;
 import at.saekenz.cinerator.model.user.User;
 import at.saekenz.cinerator.model.userlist.UserList;
 import at.saekenz.cinerator.model.userlist.UserListCreationDTO;
 import at.saekenz.cinerator.model.userlist.UserListDTO;
+import at.saekenz.cinerator.model.userlist.UserListEntryCreationDTO;
+import at.saekenz.cinerator.model.userlist.UserListEntryDTO;
+import at.saekenz.cinerator.model.userlist.UserListEntryUpdateDTO;
 import at.saekenz.cinerator.model.userlist.UserListMapper;
+import at.saekenz.cinerator.repository.MovieMembershipRepository.MovieList;
+import at.saekenz.cinerator.repository.UserListEntryRepository;
 import at.saekenz.cinerator.repository.UserListRepository;
+import at.saekenz.cinerator.util.FractionalIndex;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.KeysetPaginationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -26,18 +43,33 @@ import java.util.Optional;
 public class UserListServiceImpl implements IUserListService {
     private final IUserService userService;
     private final IMovieService movieService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Length of the position column, keys inserted into the same gap over and over grow past it
+    private static final int MAX_POSITION_LENGTH = 255;
 
     private static final Logger log = LoggerFactory.getLogger(UserListServiceImpl.class);
 
     @Autowired
     UserListRepository userListRepository;
 
+    @Autowired
+    private UserListEntryRepository userListEntryRepository;
+
+    @Autowired
+    KeysetPaginationService keysetPaginationService;
+
     @Autowired
     private UserListMapper userListMapper;
 
-    public UserListServiceImpl(IUserService userService, IMovieService movieService) {
+    @Autowired
+    private IMovieMembershipService movieMembershipService;
+
+    public UserListServiceImpl(IUserService userService, IMovieService movieService,
+                               PlatformTransactionManager transactionManager) {
         this.userService = userService;
         this.movieService = movieService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -76,6 +108,7 @@ public class UserListServiceImpl implements IUserListService {
     public void deleteById(Long id) {
         findUserListById(id);
         userListRepository.deleteById(id);
+        movieMembershipService.evict(MovieList.USER_LIST, id);
     }
 
     @Override
@@ -91,6 +124,12 @@ public class UserListServiceImpl implements IUserListService {
         return userListRepository.findAll(pageable);
     }
 
+    @Override
+    public KeysetPage<UserList> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                              boolean withCount) {
+        return keysetPaginationService.findAll(UserList.class, size, sortField, sortDirection, cursor, withCount);
+    }
+
     @Override
     public UserList createUserList(UserListCreationDTO userListCreationDTO) {
         User user = userService.findUserById(userListCreationDTO.userId());
@@ -121,36 +160,92 @@ public class UserListServiceImpl implements IUserListService {
         return userListRepository.findUserByUserListId(userListId);
     }
 
+    /**
+     * @return page of the movies of the {@link UserList}, in the order of their entries
+     */
+    @Override
+    public Page<Movie> findMoviesByUserListId(Long userListId, int page, int size) {
+        findUserListById(userListId);
+        return userListEntryRepository.findMoviesByUserListId(userListId, PageRequest.of(page, size));
+    }
+
+    @Override
+    public Page<UserListEntryDTO> findEntriesByUserListId(Long userListId, int page, int size) {
+        findUserListById(userListId);
+        return userListEntryRepository.findEntriesByUserListId(userListId, PageRequest.of(page, size));
+    }
+
     @Override
-    public List<Movie> findMoviesByUserListId(Long userListId) {
+    public Map<Long, Boolean> findUserListMemberships(Long userListId, Collection<Long> movieIds) {
         findUserListById(userListId);
-        return userListRepository.findMoviesByUserListId(userListId);
+        return movieMembershipService.containsAll(MovieList.USER_LIST, userListId, movieIds);
     }
 
+    /**
+     * Adds a {@link Movie} at the end of the {@link UserList}.
+     */
     @Override
     public UserList addMovieToUserListById(Long userListId, Long movieId) {
         UserList userList = findUserListById(userListId);
-        Movie movie = movieService.getReferenceById(movieId);
+        insertEntry(userListId, movieId, null, null, null);
 
-        if (userList.addMovie(movie)) {
-            log.info("Movie with id {} added to UserList with id {}.", movieId, userListId);
-            return save(userList);
+        return userList;
+    }
+
+    @Override
+    public UserListEntryDTO addEntryToUserList(Long userListId, UserListEntryCreationDTO userListEntryCreationDTO) {
+        findUserListById(userListId);
+        Long movieId = userListEntryCreationDTO.movieId();
+        insertEntry(userListId, movieId, userListEntryCreationDTO.afterMovieId(),
+                userListEntryCreationDTO.beforeMovieId(), userListEntryCreationDTO.note());
+
+        return findExistingEntry(userListId, movieId);
+    }
+
+    @Override
+    public UserListEntryDTO findEntry(Long userListId, Long movieId) {
+        findUserListById(userListId);
+        return findExistingEntry(userListId, movieId);
+    }
+
+    /**
+     * Moves an entry and/or replaces its note. Moving only writes the new position of the entry itself.
+     */
+    @Override
+    public UserListEntryDTO updateEntry(Long userListId, Long movieId, UserListEntryUpdateDTO userListEntryUpdateDTO) {
+        findEntry(userListId, movieId);
+
+        Long afterMovieId = userListEntryUpdateDTO.afterMovieId();
+        Long beforeMovieId = userListEntryUpdateDTO.beforeMovieId();
+        if (afterMovieId != null || beforeMovieId != null) {
+            if (movieId.equals(afterMovieId) || movieId.equals(beforeMovieId)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        String.format("Movie with id %s cannot be moved next to itself!", movieId));
+            }
+
+            String position = newPosition(userListId, afterMovieId, beforeMovieId);
+            try {
+                userListEntryRepository.updatePosition(userListId, movieId, position);
+            }
+            catch (DataIntegrityViolationException e) {
+                throw concurrentChange(userListId);
+            }
+            log.info("Movie with id {} moved to position {} of UserList with id {}.", movieId, position, userListId);
         }
-        else {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    String.format("Movie with id %s already exists in UserList with id %s!",
-                            movieId, userListId));
+
+        if (userListEntryUpdateDTO.note() != null) {
+            userListEntryRepository.updateNote(userListId, movieId, userListEntryUpdateDTO.note());
         }
+
+        return findExistingEntry(userListId, movieId);
     }
 
     @Override
     public void removeMovieFromUserListId(Long userListId, Long movieId) {
-        UserList foundUserList = findUserListById(userListId);
-        boolean isRemoved = foundUserList.removeMovieById(movieId);
+        findUserListById(userListId);
 
-        if (isRemoved) {
+        if (movieMembershipService.remove(MovieList.USER_LIST, userListId, movieId)) {
             log.info("Movie with id {} removed from UserList with id {}.", movieId,userListId);
-            save(foundUserList);
         }
         else {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
@@ -158,4 +253,148 @@ public class UserListServiceImpl implements IUserListService {
                             movieId, userListId));
         }
     }
+
+    @Override
+    public MovieBatchResultDTO updateMoviesOfUserList(Long userListId, MovieBatchUpdateDTO movieBatchUpdateDTO) {
+        findUserListById(userListId);
+
+        MovieBatchResultDTO result;
+        try {
+            result = movieMembershipService.update(MovieList.USER_LIST, userListId,
+                    movieBatchUpdateDTO.add(), movieBatchUpdateDTO.remove(), this::appendPositions);
+        }
+        catch (DataIntegrityViolationException e) {
+            throw concurrentChange(userListId);
+        }
+
+        log.info("{} movies added to and {} removed from UserList with id {}.",
+                result.added().size(), result.removed().size(), userListId);
+        return result;
+    }
+
+    @Override
+    public MovieBatchResultDTO replaceMoviesOfUserList(Long userListId, MovieBatchReplaceDTO movieBatchReplaceDTO) {
+        findUserListById(userListId);
+
+        MovieBatchResultDTO result;
+        try {
+            result = movieMembershipService.replace(MovieList.USER_LIST, userListId, movieBatchReplaceDTO.movieIds(),
+                    this::appendPositions);
+        }
+        catch (DataIntegrityViolationException e) {
+            throw concurrentChange(userListId);
+        }
+
+        log.info("UserList with id {} replaced ({} movies added, {} removed).",
+                userListId, result.added().size(), result.removed().size());
+        return result;
+    }
+
+    private void insertEntry(Long userListId, Long movieId, Long afterMovieId, Long beforeMovieId, String note) {
+        movieService.findMovieById(movieId);
+        String position = newPosition(userListId, afterMovieId, beforeMovieId);
+
+        int inserted;
+        try {
+            inserted = userListEntryRepository.insertEntry(userListId, movieId, position, note);
+        }
+        catch (DataIntegrityViolationException e) {
+            throw concurrentChange(userListId);
+        }
+
+        if (inserted == 1) {
+            movieMembershipService.movieAdded(MovieList.USER_LIST, userListId, movieId);
+            log.info("Movie with id {} added to UserList with id {}.", movieId, userListId);
+        }
+        else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("Movie with id %s already exists in UserList with id %s!",
+                            movieId, userListId));
+        }
+    }
+
+    /**
+     * Generates a position directly after {@code afterMovieId}, directly before {@code beforeMovieId} or at the
+     * end of the list. Only the neighbouring entry is read, through the index on the positions. If the position
+     * would not fit into the column, the list is rebalanced first.
+     */
+    private String newPosition(Long userListId, Long afterMovieId, Long beforeMovieId) {
+        if (afterMovieId != null && beforeMovieId != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Only one of afterMovieId and beforeMovieId can be specified!");
+        }
+
+        String position = generatePosition(userListId, afterMovieId, beforeMovieId);
+        if (position.length() > MAX_POSITION_LENGTH) {
+            rebalance(userListId);
+            position = generatePosition(userListId, afterMovieId, beforeMovieId);
+        }
+        return position;
+    }
+
+    private String generatePosition(Long userListId, Long afterMovieId, Long beforeMovieId) {
+        if (afterMovieId != null) {
+            String after = findPosition(userListId, afterMovieId);
+            return FractionalIndex.between(after,
+                    userListEntryRepository.findNextPosition(userListId, after).orElse(null));
+        }
+        if (beforeMovieId != null) {
+            String before = findPosition(userListId, beforeMovieId);
+            return FractionalIndex.between(
+                    userListEntryRepository.findPreviousPosition(userListId, before).orElse(null), before);
+        }
+        return FractionalIndex.between(userListEntryRepository.findLastPosition(userListId).orElse(null), null);
+    }
+
+    /**
+     * Generates consecutive positions after the last entry for the movies a batch update appends, in their
+     * order. The unique index on the positions rejects a concurrent append.
+     */
+    private List<String> appendPositions(Long userListId, List<Long> movieIds) {
+        List<String> positions = new ArrayList<>(movieIds.size());
+        String position = userListEntryRepository.findLastPosition(userListId).orElse(null);
+        for (int i = 0; i < movieIds.size(); i++) {
+            position = FractionalIndex.between(position, null);
+            positions.add(position);
+        }
+        return positions;
+    }
+
+    /**
+     * Assigns every entry of the user list a new, short position while keeping their order. Runs in its own
+     * transaction and locks the entries, concurrent moves of them wait for it.
+     */
+    private void rebalance(Long userListId) {
+        int entries = transactionTemplate.execute(status -> {
+            List<Long> movieIds = userListEntryRepository.lockMovieIdsByUserListId(userListId);
+            userListEntryRepository.parkPositions(userListId);
+
+            String position = null;
+            for (Long movieId : movieIds) {
+                position = FractionalIndex.between(position, null);
+                userListEntryRepository.updatePosition(userListId, movieId, position);
+            }
+            return movieIds.size();
+        });
+        log.info("Positions of {} entries of UserList with id {} rebalanced.", entries, userListId);
+    }
+
+    private String findPosition(Long userListId, Long movieId) {
+        return userListEntryRepository.findPosition(userListId, movieId).orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        String.format("Movie with id %s was not found in UserList with id %s!",
+                                movieId, userListId)));
+    }
+
+    private UserListEntryDTO findExistingEntry(Long userListId, Long movieId) {
+        return userListEntryRepository.findEntry(userListId, movieId).orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        String.format("Movie with id %s was not found in UserList with id %s!",
+                                movieId, userListId)));
+    }
+
+    private static ResponseStatusException concurrentChange(Long userListId) {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                String.format("UserList with id %s was changed concurrently, please retry!", userListId));
+    }
 }
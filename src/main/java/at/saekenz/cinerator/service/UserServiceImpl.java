@@ -3,16 +3,23 @@ package at.saekenz.cinerator.service;
 import at.saekenz.cinerator.model.follow.Follow;
 import at.saekenz.cinerator.model.follow.FollowKey;
 import at.saekenz.cinerator.model.movie.Movie;
+import at.saekenz.cinerator.model.movie.MovieBatchReplaceDTO;
+import at.saekenz.cinerator.model.movie.MovieBatchResultDTO;
+import at.saekenz.cinerator.model.movie.MovieBatchUpdateDTO;
 import at.saekenz.cinerator.model.review.Review;
 import at.saekenz.cinerator.model.user.User;
 import at.saekenz.cinerator.model.user.UserCreationDTO;
 import at.saekenz.cinerator.model.user.UserDTO;
 import at.saekenz.cinerator.model.user.UserMapper;
 import at.saekenz.cinerator.model.userlist.UserList;
+import at.saekenz.cinerator.repository.MovieMembershipRepository.MovieList;
 import at.saekenz.cinerator.repository.UserRepository;
+import at.saekenz.cinerator.util.KeysetPage;
+import at.saekenz.cinerator.util.KeysetPaginationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,7 +28,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -34,9 +43,18 @@ public class UserServiceImpl implements IUserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private KeysetPaginationService keysetPaginationService;
+
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private IFeedService feedService;
+
+    @Autowired
+    private IMovieMembershipService movieMembershipService;
+
     public UserServiceImpl(IMovieService movieService, IFollowService followService) {
         this.movieService = movieService;
         this.followService = followService;
@@ -86,7 +104,11 @@ public class UserServiceImpl implements IUserService {
     @Override
     public void deleteById(Long id) {
         findUserById(id);
+        List<UserList> userLists = userRepository.findUserListsByUserId(id);
         userRepository.deleteById(id);
+
+        movieMembershipService.evict(MovieList.WATCHLIST, id);
+        userLists.forEach(userList -> movieMembershipService.evict(MovieList.USER_LIST, userList.getId()));
     }
 
     @Override
@@ -124,6 +146,12 @@ public class UserServiceImpl implements IUserService {
         return userRepository.findAll(pageable);
     }
 
+    @Override
+    public KeysetPage<User> findAllKeyset(int size, String sortField, String sortDirection, String cursor,
+                                          boolean withCount) {
+        return keysetPaginationService.findAll(User.class, size, sortField, sortDirection, cursor, withCount);
+    }
+
     @Override
     public User createUser(UserCreationDTO userCreationDTO) {
         User newUser = userMapper.toUser(userCreationDTO);
@@ -145,20 +173,29 @@ public class UserServiceImpl implements IUserService {
 
     @Override
     public Movie findMovieInUsersWatchlist(Long userId, Long movieId) {
-        return userRepository.findMovieInUsersWatchlist(userId, movieId)
-                .orElseThrow(() ->  new ResponseStatusException(HttpStatus.NOT_FOUND,
-                        String.format("Movie with id %s could not be found in watchlist of User with id %s!",
-                                movieId, userId)));
+        if (!movieMembershipService.contains(MovieList.WATCHLIST, userId, movieId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    String.format("Movie with id %s could not be found in watchlist of User with id %s!",
+                            movieId, userId));
+        }
+
+        return movieService.findMovieById(movieId);
+    }
+
+    @Override
+    public Map<Long, Boolean> findWatchlistMemberships(Long userId, Collection<Long> movieIds) {
+        findUserById(userId);
+        return movieMembershipService.containsAll(MovieList.WATCHLIST, userId, movieIds);
     }
 
     @Override
     public User addMovieToWatchlistById(Long userId, Long movieId) {
         User foundUser = findUserById(userId);
-        Movie foundMovie = movieService.getReferenceById(movieId);
+        movieService.findMovieById(movieId);
 
-        if (foundUser.addMovieToWatchlist(foundMovie)) {
+        if (movieMembershipService.add(MovieList.WATCHLIST, userId, movieId)) {
             log.info("Movie with id {} added to watchlist of User with id {}.", movieId, userId);
-            return save(foundUser);
+            return foundUser;
         }
         else {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
@@ -169,12 +206,10 @@ public class UserServiceImpl implements IUserService {
 
     @Override
     public void removeMovieFromWatchlistById(Long userId, Long movieId) {
-        User foundUser = findUserById(userId);
-        boolean isRemoved = foundUser.removeMovieFromWatchlist(movieId);
+        findUserById(userId);
 
-        if (isRemoved) {
+        if (movieMembershipService.remove(MovieList.WATCHLIST, userId, movieId)) {
             log.info("Movie with id {} removed from watchlist of User with id {}.", movieId, userId);
-            save(foundUser);
         }
         else {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
@@ -183,6 +218,41 @@ public class UserServiceImpl implements IUserService {
         }
     }
 
+    @Override
+    public MovieBatchResultDTO updateWatchlist(Long userId, MovieBatchUpdateDTO movieBatchUpdateDTO) {
+        findUserById(userId);
+
+        MovieBatchResultDTO result;
+        try {
+            result = movieMembershipService.update(MovieList.WATCHLIST, userId,
+                    movieBatchUpdateDTO.add(), movieBatchUpdateDTO.remove());
+        }
+        catch (DataIntegrityViolationException e) {
+            throw concurrentChange(userId);
+        }
+
+        log.info("{} movies added to and {} removed from watchlist of User with id {}.",
+                result.added().size(), result.removed().size(), userId);
+        return result;
+    }
+
+    @Override
+    public MovieBatchResultDTO replaceWatchlist(Long userId, MovieBatchReplaceDTO movieBatchReplaceDTO) {
+        findUserById(userId);
+
+        MovieBatchResultDTO result;
+        try {
+            result = movieMembershipService.replace(MovieList.WATCHLIST, userId, movieBatchReplaceDTO.movieIds());
+        }
+        catch (DataIntegrityViolationException e) {
+            throw concurrentChange(userId);
+        }
+
+        log.info("Watchlist of User with id {} replaced ({} movies added, {} removed).",
+                userId, result.added().size(), result.removed().size());
+        return result;
+    }
+
     @Override
     public List<Review> findReviewsByUserId(Long userId) {
         findUserById(userId);
@@ -215,7 +285,9 @@ public class UserServiceImpl implements IUserService {
         FollowKey followKey = new FollowKey(userId, followerId);
 
         if (followService.findByKey(followKey).isEmpty()) {
-            return followService.save(new Follow(followKey, user, follower));
+            Follow follow = followService.save(new Follow(followKey, user, follower));
+            feedService.userFollowed(userId, followerId);
+            return follow;
         }
         else {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
@@ -228,6 +300,7 @@ public class UserServiceImpl implements IUserService {
         FollowKey followKey = new FollowKey(userId, followerId);
         if (followService.findByKey(followKey).isPresent()) {
             followService.deleteByKey(followKey);
+            feedService.userUnfollowed(userId, followerId);
         }
         else {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
@@ -242,4 +315,10 @@ public class UserServiceImpl implements IUserService {
                     String.format("User with id %s could not be found!", userId));
         }
     }
+
+    // E.g. a movie to be added was deleted after it was validated
+    private static ResponseStatusException concurrentChange(Long userId) {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                String.format("Watchlist of User with id %s was changed concurrently, please retry!", userId));
+    }
 }
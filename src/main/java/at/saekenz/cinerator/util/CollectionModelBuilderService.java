@@ -3,29 +3,33 @@ package at.saekenz.cinerator.util;
 import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.movie.MovieDTO;
 import at.saekenz.cinerator.model.movie.MovieDTOModelAssembler;
-import at.saekenz.cinerator.model.movie.MovieMapper;
+import at.saekenz.cinerator.service.IMovieService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 public class CollectionModelBuilderService {
 
     @Autowired
-    MovieMapper movieMapper;
+    IMovieService movieService;
 
     @Autowired
     MovieDTOModelAssembler movieDTOAssembler;
 
     /**
+     * Movies are mapped with {@link IMovieService#findMovieDTOs(Collection)}, which loads all
+     * {@link MovieDTO} objects with one query.
      *
-     * @param movies {@link List} of {@link MovieDTO} objects that will be transformed to
+     * @param movies {@link List} of {@link Movie} objects that will be transformed to
      * {@link List} of EntityModel<{@link MovieDTO}>
      * @param selfLink link to the resource
      * @return {@link CollectionModel} that contains EntityModel<Movie> objects
@@ -33,8 +37,7 @@ public class CollectionModelBuilderService {
     public CollectionModel<EntityModel<MovieDTO>> createCollectionModelFromList(
             Collection<Movie> movies, Link selfLink) {
 
-        Collection<EntityModel<MovieDTO>> movieModels = movies.stream()
-                .map(movieMapper::toDTO)
+        Collection<EntityModel<MovieDTO>> movieModels = movieService.findMovieDTOs(movies).stream()
                 .map(movieDTOAssembler::toModel)
                 .toList();
 
@@ -62,6 +65,34 @@ public class CollectionModelBuilderService {
         return CollectionModel.of(entityModels, selfLink);
     }
 
+    /**
+     *
+     * @param page {@link KeysetPage} of DTOs that will be transformed to {@link CollectionModel}
+     * @param entityDTOAssembler used to transform {@code EntityDTO} to {@code EntityModel<EntityDTO>}
+     * @param selfLink link to the resource
+     * @param cursorLink creates the link to the resource for a given continuation token
+     * @return {@link CollectionModel} that contains {@code EntityModel<Entity>} objects and
+     * {@code next}/{@code prev} links if there are adjacent pages
+     */
+    public <D> CollectionModel<EntityModel<D>> createCollectionModelFromKeysetPage(
+            KeysetPage<D> page, RepresentationModelAssembler<D, EntityModel<D>> entityDTOAssembler,
+            Link selfLink, Function<String, Link> cursorLink) {
+
+        Collection<EntityModel<D>> entityModels = page.content().stream()
+                .map(entityDTOAssembler::toModel)
+                .toList();
+
+        CollectionModel<EntityModel<D>> collectionModel = CollectionModel.of(entityModels, selfLink);
+        if (page.nextCursor() != null) {
+            collectionModel.add(cursorLink.apply(page.nextCursor()).withRel(IanaLinkRelations.NEXT));
+        }
+        if (page.previousCursor() != null) {
+            collectionModel.add(cursorLink.apply(page.previousCursor()).withRel(IanaLinkRelations.PREV));
+        }
+
+        return collectionModel;
+    }
+
     /**
      *
      * @param entity Entity that will be converted into a corresponding DTO
@@ -0,0 +1,26 @@
+package at.saekenz.cinerator.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose responses carry a strong ETag (a hash of the body). Requests with a matching
+ * {@code If-None-Match} header are answered with 304 Not Modified by {@link ConditionalGetInterceptor},
+ * before the handler is invoked if the version of the {@link EVersionedResource} it returns did not change
+ * since.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    EVersionedResource value();
+
+    /**
+     * @return name of the path variable holding the id of a single resource (ignored for collections)
+     */
+    String idVariable() default "id";
+}
@@ -0,0 +1,185 @@
+package at.saekenz.cinerator.util;
+
+import at.saekenz.cinerator.repository.ResourceVersionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.sql.DataSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers conditional requests to handlers annotated with {@link ConditionalGet}. The ETag of a response is
+ * a hash of its body, computed after the handler ran (the body is buffered by the
+ * {@link ShallowEtagHeaderFilter}, which also turns a matching {@code If-None-Match} into 304 Not Modified).
+ * Requests without {@code If-None-Match} therefore need no version lookup at all.
+ * <p>
+ * For each representation (URL and {@code Accept} header) the ETag is remembered together with the version
+ * of the resource that was read before the handler ran. A conditional request whose resource still has that
+ * version and whose {@code If-None-Match} matches the remembered ETag ends with 304 Not Modified before the
+ * handler is invoked. Since the version is read before the resource itself, a concurrent update can at worst
+ * remember a newer representation with an older version, which only costs the next request a handler run.
+ * <p>
+ * That only holds if the version is not newer than the data the handler reads. The version is therefore read
+ * in a read-only transaction like the handler's reads, so both are routed by the {@link ReadWriteRoutingDataSource}
+ * to the same pool. If the version came from the primary (a user who just wrote, see
+ * {@link ReadWriteRoutingDataSource}), the handler may still read the lagging replica once the user's window
+ * ends, so the ETag is not remembered.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String VERSIONED_REPRESENTATION_ATTRIBUTE =
+            ConditionalGetInterceptor.class.getName() + ".VERSIONED_REPRESENTATION";
+
+    private record Representation(String key, String version) {}
+
+    private record VersionedETag(String version, String eTag) {}
+
+    private final ResourceVersionRepository resourceVersionRepository;
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<String, VersionedETag> eTags;
+
+    public ConditionalGetInterceptor(ResourceVersionRepository resourceVersionRepository, DataSource dataSource,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${cinerator.conditional-get.cache-size}") long cacheSize) {
+        this.resourceVersionRepository = resourceVersionRepository;
+        this.routingDataSource = unwrapRoutingDataSource(dataSource);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.eTags = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ConditionalGet conditionalGet = handler instanceof HandlerMethod handlerMethod
+                && HttpMethod.GET.matches(request.getMethod())
+                ? handlerMethod.getMethodAnnotation(ConditionalGet.class)
+                : null;
+        if (conditionalGet == null) {
+            // Other responses (e.g. the streamed export, HEAD requests) are neither buffered nor hashed
+            ShallowEtagHeaderFilter.disableContentCaching(request);
+            return true;
+        }
+
+        // Clients and shared caches may store the response but have to revalidate it before every reuse
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null) { return true; }
+
+        Optional<String> version = readOnlyTransaction.execute(status -> findVersion(conditionalGet, request));
+        if (version.isEmpty()) { return true; }
+        boolean readFromReplica = routingDataSource.getLastSelectedPool()
+                .filter(pool -> pool == ReadWriteRoutingDataSource.Pool.REPLICA)
+                .isPresent();
+
+        // A remembered ETag always belongs to its version, regardless of the pool the version was read from
+        String key = representationKey(request);
+        VersionedETag known = eTags.getIfPresent(key);
+        if (known != null && known.version().equals(version.get())
+                && new ServletWebRequest(request, response).checkNotModified(known.eTag())) {
+            return false;
+        }
+
+        if (readFromReplica) {
+            request.setAttribute(VERSIONED_REPRESENTATION_ATTRIBUTE, new Representation(key, version.get()));
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        ContentCachingResponseWrapper cachedResponse =
+                WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (cachedResponse == null || !HttpMethod.GET.matches(request.getMethod())
+                || cachedResponse.getStatus() != HttpServletResponse.SC_OK
+                || !(handler instanceof HandlerMethod handlerMethod)
+                || !handlerMethod.hasMethodAnnotation(ConditionalGet.class)) {
+            return;
+        }
+
+        // Set before the filter generates its own ETag, which it then compares with If-None-Match
+        String eTag = toETag(cachedResponse.getContentAsByteArray());
+        cachedResponse.setHeader(HttpHeaders.ETAG, eTag);
+
+        if (request.getAttribute(VERSIONED_REPRESENTATION_ATTRIBUTE) instanceof Representation representation) {
+            eTags.put(representation.key(), new VersionedETag(representation.version(), eTag));
+        }
+    }
+
+    private Optional<String> findVersion(ConditionalGet conditionalGet, HttpServletRequest request) {
+        EVersionedResource resource = conditionalGet.value();
+        Long id = null;
+
+        if (!resource.isCollection()) {
+            id = parseId(request, conditionalGet.idVariable());
+            // Invalid ids are left to the handler (and its validation)
+            if (id == null) { return Optional.empty(); }
+        }
+
+        return resourceVersionRepository.findVersion(resource, id)
+                .map(version -> resource.name() + ":" + version);
+    }
+
+    private static ReadWriteRoutingDataSource unwrapRoutingDataSource(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("DataSource does not wrap a ReadWriteRoutingDataSource!", e);
+        }
+    }
+
+    // Links in the bodies are absolute, so the host is part of the representation
+    private static String representationKey(HttpServletRequest request) {
+        return request.getRequestURL()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "")
+                + " " + request.getHeader(HttpHeaders.ACCEPT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long parseId(HttpServletRequest request, String idVariable) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || variables.get(idVariable) == null) { return null; }
+
+        try {
+            return Long.valueOf(variables.get(idVariable));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String toETag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported!", e);
+        }
+    }
+}
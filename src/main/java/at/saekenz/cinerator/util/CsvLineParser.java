@@ -0,0 +1,65 @@
+package at.saekenz.cinerator.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 style parser for a single CSV line. Fields may be enclosed in double quotes,
+ * in which case they can contain the delimiter; a doubled quote inside a quoted field is read as one
+ * quote. Line breaks inside quoted fields are not supported.
+ */
+public final class CsvLineParser {
+
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+
+    private CsvLineParser() {
+
+    }
+
+    /**
+     *
+     * @param line a single line of CSV data
+     * @return {@link List} of the (unquoted) fields contained in {@code line}
+     * @throws IllegalArgumentException if a quoted field is not terminated
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == QUOTE) {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                        field.append(QUOTE);
+                        i++;
+                    }
+                    else {
+                        quoted = false;
+                    }
+                }
+                else {
+                    field.append(c);
+                }
+            }
+            else if (c == QUOTE) {
+                quoted = true;
+            }
+            else if (c == DELIMITER) {
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+            else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) { throw new IllegalArgumentException("Unterminated quoted field!"); }
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,41 @@
+package at.saekenz.cinerator.util;
+
+import java.util.List;
+
+/**
+ * Resources whose representations can be revalidated with an ETag (see {@link ConditionalGet}). Single
+ * resources are versioned by their own rows (and the rows they embed), collections by the change counters
+ * of the tables they are read from, so a write only invalidates the collections that can show it.
+ */
+public enum EVersionedResource {
+    MOVIE,
+    PERSON,
+    COUNTRY,
+    GENRE,
+    REVIEW,
+    USER,
+    // Movies embed their director, genres, countries and statistics, credits their movie, person and role
+    MOVIES("movies", "movie_stats", "movie_genres", "genres", "movie_countries", "countries", "castinfos",
+            "persons", "roles"),
+    MOVIES_WITH_REVIEWS("movies", "movie_stats", "movie_genres", "genres", "movie_countries", "countries",
+            "castinfos", "persons", "roles", "reviews", "users"),
+    REVIEWS("reviews", "movies", "users"),
+    PERSONS("persons", "countries"),
+    CAST("castinfos", "roles", "persons", "countries", "movies"),
+    GENRES("genres", "movie_genres"),
+    COUNTRIES("countries", "movie_countries"),
+    USERS("users"),
+    // Movie titles and person names, weighted by the number of reviews (see AutocompleteServiceImpl)
+    SUGGESTIONS("movies", "persons", "castinfos", "reviews");
+
+    private final List<String> tables;
+
+    EVersionedResource(String... tables) { this.tables = List.of(tables); }
+
+    public boolean isCollection() { return !tables.isEmpty(); }
+
+    /**
+     * @return tables a collection is read from (empty for single resources)
+     */
+    public List<String> getTables() { return tables; }
+}
@@ -0,0 +1,166 @@
+package at.saekenz.cinerator.util;
+
+/**
+ * Generates ordering keys that sort in byte order (e.g. a column with {@code COLLATE "C"}) and always leave
+ * room for another key between two neighbours, so an element can be inserted or moved by writing only its
+ * own key. A key consists of a variable length integer part (a head character giving its length followed
+ * by base 62 digits) and an optional fraction. Appending or prepending increments or decrements the integer
+ * part, so keys of a list built front to back grow logarithmically. Inserting between two keys extends the
+ * fraction by about one digit per repeated split of the same gap.
+ */
+public final class FractionalIndex {
+
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final char ZERO = DIGITS.charAt(0);
+    private static final char NINE = DIGITS.charAt(DIGITS.length() - 1);
+
+    private static final String INTEGER_ZERO = "a" + ZERO;
+    // Smallest integer part, never used as a key by itself so there is always room before every key
+    private static final String SMALLEST_INTEGER = "A" + String.valueOf(ZERO).repeat(26);
+
+    private FractionalIndex() {
+
+    }
+
+    /**
+     * @param before key of the preceding element or {@code null} for the start of the list
+     * @param after key of the following element or {@code null} for the end of the list
+     * @return key sorting strictly between {@code before} and {@code after}
+     * @throws IllegalArgumentException if a key is invalid or {@code before} does not sort before {@code after}
+     */
+    public static String between(String before, String after) {
+        if (before != null) { validate(before); }
+        if (after != null) { validate(after); }
+        if (before != null && after != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException(String.format("Key %s does not sort before %s!", before, after));
+        }
+
+        if (before == null && after == null) { return INTEGER_ZERO; }
+
+        if (before == null) {
+            String integer = integerPart(after);
+            String fraction = after.substring(integer.length());
+            if (integer.equals(SMALLEST_INTEGER)) { return integer + midpoint("", fraction); }
+            if (!fraction.isEmpty()) { return integer; }
+
+            String decremented = decrement(integer);
+            if (decremented == null) { throw new IllegalArgumentException("Cannot decrement any more!"); }
+            return decremented.equals(SMALLEST_INTEGER) ? decremented + midpoint("", null) : decremented;
+        }
+
+        if (after == null) {
+            String integer = integerPart(before);
+            String incremented = increment(integer);
+            return incremented != null ? incremented : integer + midpoint(before.substring(integer.length()), null);
+        }
+
+        String integerBefore = integerPart(before);
+        String integerAfter = integerPart(after);
+        if (integerBefore.equals(integerAfter)) {
+            return integerBefore + midpoint(before.substring(integerBefore.length()),
+                    after.substring(integerAfter.length()));
+        }
+
+        String incremented = increment(integerBefore);
+        if (incremented != null && incremented.compareTo(after) < 0) { return incremented; }
+        return integerBefore + midpoint(before.substring(integerBefore.length()), null);
+    }
+
+    /**
+     * @param before fraction digits of the lower bound (no trailing zero)
+     * @param after fraction digits of the upper bound or {@code null} for no upper bound
+     * @return fraction digits strictly between both bounds (no trailing zero)
+     */
+    private static String midpoint(String before, String after) {
+        if (after != null) {
+            // Keep the common prefix (before is padded with zeros) and split the first differing digit
+            int common = 0;
+            while (common < after.length()
+                    && (common < before.length() ? before.charAt(common) : ZERO) == after.charAt(common)) {
+                common++;
+            }
+            if (common > 0) {
+                return after.substring(0, common) + midpoint(
+                        before.substring(Math.min(common, before.length())), after.substring(common));
+            }
+        }
+
+        int digitBefore = before.isEmpty() ? 0 : digit(before.charAt(0));
+        int digitAfter = after != null ? digit(after.charAt(0)) : DIGITS.length();
+        if (digitAfter - digitBefore > 1) {
+            return String.valueOf(DIGITS.charAt((digitBefore + digitAfter) / 2));
+        }
+
+        // Adjacent digits: the first digit of after alone sorts before after if more digits follow it
+        if (after != null && after.length() > 1) { return after.substring(0, 1); }
+        return DIGITS.charAt(digitBefore) + midpoint(before.isEmpty() ? "" : before.substring(1), null);
+    }
+
+    private static String increment(String integer) {
+        char head = integer.charAt(0);
+        char[] digits = integer.substring(1).toCharArray();
+
+        for (int i = digits.length - 1; i >= 0; i--) {
+            if (digits[i] != NINE) {
+                digits[i] = DIGITS.charAt(digit(digits[i]) + 1);
+                return head + new String(digits);
+            }
+            digits[i] = ZERO;
+        }
+
+        // Every digit overflowed, continue with the next longer (or shorter negative) integer length
+        if (head == 'Z') { return INTEGER_ZERO; }
+        if (head == 'z') { return null; }
+        char nextHead = (char) (head + 1);
+        String nextDigits = new String(digits);
+        return nextHead > 'a' ? nextHead + nextDigits + ZERO : nextHead + nextDigits.substring(1);
+    }
+
+    private static String decrement(String integer) {
+        char head = integer.charAt(0);
+        char[] digits = integer.substring(1).toCharArray();
+
+        for (int i = digits.length - 1; i >= 0; i--) {
+            if (digits[i] != ZERO) {
+                digits[i] = DIGITS.charAt(digit(digits[i]) - 1);
+                return head + new String(digits);
+            }
+            digits[i] = NINE;
+        }
+
+        if (head == 'a') { return "Z" + NINE; }
+        if (head == 'A') { return null; }
+        char previousHead = (char) (head - 1);
+        String previousDigits = new String(digits);
+        return previousHead < 'Z' ? previousHead + previousDigits + NINE : previousHead + previousDigits.substring(1);
+    }
+
+    private static String integerPart(String key) {
+        return key.substring(0, integerLength(key.charAt(0)));
+    }
+
+    private static int integerLength(char head) {
+        if (head >= 'a' && head <= 'z') { return head - 'a' + 2; }
+        if (head >= 'A' && head <= 'Z') { return 'Z' - head + 2; }
+        throw new IllegalArgumentException(String.format("Key head %s is invalid!", head));
+    }
+
+    private static void validate(String key) {
+        if (key.isEmpty() || key.equals(SMALLEST_INTEGER)) {
+            throw new IllegalArgumentException(String.format("Key %s is invalid!", key));
+        }
+        int length = integerLength(key.charAt(0));
+        if (key.length() < length || key.charAt(key.length() - 1) == ZERO && key.length() > length) {
+            throw new IllegalArgumentException(String.format("Key %s is invalid!", key));
+        }
+        for (int i = 1; i < key.length(); i++) {
+            if (DIGITS.indexOf(key.charAt(i)) < 0) {
+                throw new IllegalArgumentException(String.format("Key %s is invalid!", key));
+            }
+        }
+    }
+
+    private static int digit(char character) {
+        return DIGITS.indexOf(character);
+    }
+}
@@ -5,6 +5,7 @@ import org.hibernate.ObjectNotFoundException;
 import org.hibernate.PropertyValueException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -32,6 +33,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
+    // handles concurrent updates of the same versioned entity
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseStatusException handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("OptimisticLockingFailureException occurred: {}", ex.getMessage());
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "The resource was modified concurrently, please retry the request!");
+    }
+
     // TODO: remove?
     @ExceptionHandler(ObjectNotFoundException.class)
     public ResponseEntity<Object> handleObjectNotFoundException(ObjectNotFoundException ex, WebRequest request) {
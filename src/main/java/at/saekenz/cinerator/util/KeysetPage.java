@@ -0,0 +1,28 @@
+package at.saekenz.cinerator.util;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor based) pagination. Instead of page numbers it carries opaque
+ * continuation tokens for the following and the preceding page ({@code null} if there is none).
+ * {@code totalElements} is only filled if the count was explicitly requested.
+ *
+ * @param content entities or DTOs of the page
+ * @param nextCursor token for the following page
+ * @param previousCursor token for the preceding page
+ * @param totalElements total number of elements or {@code null}
+ */
+public record KeysetPage<T>(List<T> content,
+                            String nextCursor,
+                            String previousCursor,
+                            Long totalElements) {
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        return withContent(content.stream().<R>map(mapper).toList());
+    }
+
+    public <R> KeysetPage<R> withContent(List<R> newContent) {
+        return new KeysetPage<>(newContent, nextCursor, previousCursor, totalElements);
+    }
+}
@@ -0,0 +1,258 @@
+package at.saekenz.cinerator.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EmbeddableType;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.PropertyAccessor;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Keyset (seek) pagination for any entity. Pages are not addressed by an offset but by the sort key
+ * of the last (or first) row of the previous page, so fetching a page costs the same at any depth and
+ * no {@code COUNT(*)} is needed. Rows are ordered by the requested field and the id as tie-breaker;
+ * composite ids ({@code @EmbeddedId}) are ordered by all of their attributes.
+ * <p>
+ * The position is handed to clients as an opaque continuation token (Base64 encoded JSON) that also
+ * contains sort field and direction, so following a cursor always continues the same ordering.
+ */
+@Service
+public class KeysetPaginationService {
+
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder TOKEN_DECODER = Base64.getUrlDecoder();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    record ContinuationToken(String sortField, Sort.Direction direction, List<Object> keys, boolean backward) {}
+
+    private record KeyPath(String path, Class<?> javaType) {}
+
+    /**
+     * Fetches one page of {@code entityClass} entities.
+     *
+     * @param entityClass type of the entities
+     * @param size maximum number of entities of the page
+     * @param sortField attribute that determines the order (ignored if a cursor is given)
+     * @param sortDirection order of sorting, ASC or DESC (ignored if a cursor is given)
+     * @param cursor continuation token of a previous page or {@code null} for the first page
+     * @param withCount whether the total number of entities should be counted
+     * @return {@link KeysetPage} containing the entities and the tokens of the adjacent pages
+     */
+    public <T> KeysetPage<T> findAll(Class<T> entityClass, int size, String sortField, String sortDirection,
+                                     String cursor, boolean withCount) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be at least 1!");
+        }
+
+        ContinuationToken token = cursor != null ? decode(cursor) : null;
+        String field = token != null ? token.sortField() : sortField;
+        Sort.Direction direction = token != null ? token.direction() : parseDirection(sortDirection);
+        boolean backward = token != null && token.backward();
+
+        List<KeyPath> keyPaths = resolveKeyPaths(entityClass, field);
+        List<Object> boundary = token != null ? convertKeys(token, keyPaths, cursor) : null;
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        List<Expression<?>> keys = keyPaths.stream()
+                .<Expression<?>>map(keyPath -> path(root, keyPath.path()))
+                .toList();
+
+        // Scrolling backwards reads the preceding rows in reverse order and flips them afterward
+        boolean ascending = (direction == Sort.Direction.ASC) != backward;
+        if (boundary != null) {
+            query.where(after(cb, keys, boundary, ascending, 0));
+        }
+        query.orderBy(keys.stream().map(key -> ascending ? cb.asc(key) : cb.desc(key)).toList());
+
+        List<T> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasMore = rows.size() > size;
+        List<T> content = new ArrayList<>(rows.subList(0, Math.min(size, rows.size())));
+        if (backward) {
+            Collections.reverse(content);
+        }
+
+        String nextCursor = null;
+        String previousCursor = null;
+        if (!content.isEmpty()) {
+            if (backward || hasMore) {
+                nextCursor = encode(new ContinuationToken(field, direction,
+                        keysOf(content.get(content.size() - 1), keyPaths), false));
+            }
+            if (backward ? hasMore : token != null) {
+                previousCursor = encode(new ContinuationToken(field, direction,
+                        keysOf(content.get(0), keyPaths), true));
+            }
+        }
+
+        return new KeysetPage<>(content, nextCursor, previousCursor, withCount ? count(entityClass) : null);
+    }
+
+    private <T> List<KeyPath> resolveKeyPaths(Class<T> entityClass, String sortField) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        SingularAttribute<? super T, ?> idAttribute = entityType.getId(entityType.getIdType().getJavaType());
+
+        List<KeyPath> keyPaths = new ArrayList<>();
+        if (idAttribute.getType() instanceof EmbeddableType<?> embeddableType) {
+            embeddableType.getSingularAttributes().stream()
+                    .sorted(Comparator.comparing(Attribute::getName))
+                    .forEach(attribute -> keyPaths.add(new KeyPath(idAttribute.getName() + "." + attribute.getName(),
+                            attribute.getJavaType())));
+        }
+        else {
+            keyPaths.add(new KeyPath(idAttribute.getName(), idAttribute.getJavaType()));
+        }
+
+        if (sortField.equals(idAttribute.getName())) { return keyPaths; }
+
+        keyPaths.add(0, new KeyPath(sortField, findSortableAttribute(entityType, sortField).getJavaType()));
+
+        return keyPaths;
+    }
+
+    /**
+     * Resolves {@code sortField} to a basic attribute of the entity. Attributes of embedded objects
+     * can be addressed with a dotted path (e.g. {@code stats.averageRating}).
+     */
+    private Attribute<?, ?> findSortableAttribute(EntityType<?> entityType, String sortField) {
+        try {
+            ManagedType<?> managedType = entityType;
+            String[] parts = sortField.split("\\.");
+            for (int i = 0; i < parts.length; i++) {
+                Attribute<?, ?> attribute = managedType.getAttribute(parts[i]);
+                if (i == parts.length - 1
+                        && attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                    return attribute;
+                }
+                if (!(attribute instanceof SingularAttribute<?, ?> singular
+                        && singular.getType() instanceof EmbeddableType<?> embeddableType)) {
+                    break;
+                }
+                managedType = embeddableType;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // reported below
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                String.format("Sorting by %s is not supported!", sortField));
+    }
+
+    /**
+     * Builds the predicate selecting every row that comes after {@code boundary} in the given order,
+     * i.e. {@code (k0 > b0) OR (k0 = b0 AND ((k1 > b1) OR ...))}. {@code NULL} is treated as larger than
+     * every other value, which matches the default null ordering of PostgreSQL.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder cb, List<Expression<?>> keys, List<Object> boundary,
+                            boolean ascending, int index) {
+        Expression<Comparable> key = (Expression<Comparable>) keys.get(index);
+        Comparable value = (Comparable) boundary.get(index);
+
+        Predicate beyond = ascending ? greaterThan(cb, key, value) : lessThan(cb, key, value);
+        if (index == keys.size() - 1) { return beyond; }
+
+        Predicate equal = value == null ? cb.isNull(key) : cb.equal(key, value);
+        return cb.or(beyond, cb.and(equal, after(cb, keys, boundary, ascending, index + 1)));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate greaterThan(CriteriaBuilder cb, Expression<Comparable> key, Comparable value) {
+        return value == null ? cb.disjunction() : cb.or(cb.greaterThan(key, value), cb.isNull(key));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate lessThan(CriteriaBuilder cb, Expression<Comparable> key, Comparable value) {
+        return value == null ? cb.isNotNull(key) : cb.lessThan(key, value);
+    }
+
+    private Path<?> path(Root<?> root, String path) {
+        Path<?> result = root;
+        for (String part : path.split("\\.")) {
+            result = result.get(part);
+        }
+        return result;
+    }
+
+    private List<Object> keysOf(Object entity, List<KeyPath> keyPaths) {
+        PropertyAccessor accessor = PropertyAccessorFactory.forDirectFieldAccess(entity);
+        return keyPaths.stream()
+                .map(keyPath -> accessor.getPropertyValue(keyPath.path()))
+                .toList();
+    }
+
+    private List<Object> convertKeys(ContinuationToken token, List<KeyPath> keyPaths, String cursor) {
+        if (token.keys() == null || token.keys().size() != keyPaths.size()) { throw invalidCursor(cursor); }
+
+        List<Object> keys = new ArrayList<>();
+        try {
+            for (int i = 0; i < keyPaths.size(); i++) {
+                keys.add(objectMapper.convertValue(token.keys().get(i), keyPaths.get(i).javaType()));
+            }
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(cursor);
+        }
+        return keys;
+    }
+
+    private long count(Class<?> entityClass) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        query.select(cb.count(query.from(entityClass)));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Sort.Direction parseDirection(String sortDirection) {
+        try {
+            return Sort.Direction.fromString(sortDirection);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("Sort direction %s is not supported!", sortDirection));
+        }
+    }
+
+    private String encode(ContinuationToken token) {
+        try {
+            return TOKEN_ENCODER.encodeToString(objectMapper.writeValueAsBytes(token));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Continuation token could not be created!", e);
+        }
+    }
+
+    private ContinuationToken decode(String cursor) {
+        try {
+            ContinuationToken token = objectMapper.readValue(TOKEN_DECODER.decode(cursor), ContinuationToken.class);
+            if (token.sortField() == null || token.direction() == null) { throw invalidCursor(cursor); }
+            return token;
+        } catch (IllegalArgumentException | IOException e) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    private ResponseStatusException invalidCursor(String cursor) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format("Cursor %s is invalid!", cursor));
+    }
+}
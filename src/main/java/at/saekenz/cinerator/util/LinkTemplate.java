@@ -0,0 +1,81 @@
+package at.saekenz.cinerator.util;
+
+import org.springframework.hateoas.Link;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Path of a controller route (e.g. {@code /movies/{id}/reviews}) split into its literal parts and
+ * variables once, so links can be expanded by concatenating strings. Variables are filled in the order
+ * in which they appear in the path.
+ */
+public final class LinkTemplate {
+
+    private final String path;
+    private final String[] literals;
+
+    private LinkTemplate(String path, String[] literals) {
+        this.path = path;
+        this.literals = literals;
+    }
+
+    /**
+     * Parses {@code path}. Every {@code {...}} part (including regular expressions such as
+     * {@code {id:\d+}}) is treated as a variable.
+     *
+     * @param path path of a route
+     * @return {@link LinkTemplate} of the path
+     */
+    public static LinkTemplate parse(String path) {
+        List<String> literals = new ArrayList<>();
+        int start = 0;
+        int depth = 0;
+        int literalStart = 0;
+
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '{') {
+                if (depth++ == 0) { start = i; }
+            }
+            else if (c == '}' && depth > 0 && --depth == 0) {
+                literals.add(path.substring(literalStart, start));
+                literalStart = i + 1;
+            }
+        }
+        literals.add(path.substring(literalStart));
+
+        return new LinkTemplate(path, literals.toArray(new String[0]));
+    }
+
+    public int getVariableCount() {
+        return literals.length - 1;
+    }
+
+    /**
+     * Expands the template into an absolute {@link Link} (with relation {@code self}).
+     *
+     * @param baseUri URI the path is appended to (e.g. {@code http://localhost:8080})
+     * @param values values of the variables, in the order of the path
+     * @return the expanded {@link Link}
+     */
+    public Link expand(String baseUri, Object... values) {
+        if (values.length != getVariableCount()) {
+            throw new IllegalArgumentException(String.format("Route %s expects %s values but got %s!",
+                    path, getVariableCount(), values.length));
+        }
+
+        StringBuilder href = new StringBuilder(baseUri.length() + path.length() + 16).append(baseUri);
+        for (int i = 0; i < values.length; i++) {
+            href.append(literals[i]).append(values[i]);
+        }
+        href.append(literals[values.length]);
+
+        return Link.of(href.toString());
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
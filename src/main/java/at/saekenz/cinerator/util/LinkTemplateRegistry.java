@@ -0,0 +1,91 @@
+package at.saekenz.cinerator.util;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.server.core.DummyInvocationUtils;
+import org.springframework.hateoas.server.core.LastInvocationAware;
+import org.springframework.hateoas.server.core.MethodInvocation;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the paths of controller methods into {@link LinkTemplate} objects. Every route is resolved
+ * once (from the {@link RequestMapping} annotations of its controller and method), afterward links are
+ * expanded without proxies, reflection or {@link org.springframework.web.util.UriComponentsBuilder}.
+ * <p>
+ * Links are made absolute with the base URI of the current request (scheme, host, port and context
+ * path), which is determined once per request. Outside of requests links stay relative.
+ */
+public final class LinkTemplateRegistry {
+
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplateRegistry.class.getName() + ".BASE_URI";
+
+    private static final Map<Method, LinkTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    private LinkTemplateRegistry() {
+
+    }
+
+    /**
+     * Returns the {@link LinkTemplate} of the controller method recorded by {@code methodOn}, e.g.
+     * {@code templateOf(methodOn(MovieController.class).findMovieById(null))}. The arguments of the
+     * recorded invocation are ignored.
+     *
+     * @param invocationValue value returned by a method invocation on a {@code methodOn} proxy
+     * @return {@link LinkTemplate} of the invoked controller method
+     */
+    public static LinkTemplate templateOf(Object invocationValue) {
+        LastInvocationAware invocations = DummyInvocationUtils.getLastInvocationAware(invocationValue);
+        if (invocations == null) {
+            throw new IllegalArgumentException("Value was not returned by a methodOn(...) proxy!");
+        }
+
+        MethodInvocation invocation = invocations.getLastInvocation();
+
+        return TEMPLATES.computeIfAbsent(invocation.getMethod(),
+                method -> LinkTemplate.parse(resolvePath(invocation.getTargetType(), method)));
+    }
+
+    /**
+     * @return base URI of the current request or an empty string if no request is bound to the thread
+     */
+    public static String currentBaseUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) { return ""; }
+
+        Object baseUri = attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return (String) baseUri;
+    }
+
+    private static String resolvePath(Class<?> controller, Method method) {
+        return join(firstPath(AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class)),
+                firstPath(AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class)));
+    }
+
+    private static String firstPath(RequestMapping mapping) {
+        return mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+    }
+
+    private static String join(String controllerPath, String methodPath) {
+        String path = trimTrailingSlash(controllerPath);
+        if (!methodPath.isEmpty()) {
+            path += methodPath.startsWith("/") ? methodPath : "/" + methodPath;
+        }
+
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    private static String trimTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
@@ -0,0 +1,39 @@
+package at.saekenz.cinerator.util;
+
+import java.util.List;
+
+/**
+ * Reads preferences of the RFC 7240 {@code Prefer} request header. A request may carry several
+ * comma separated preferences, each optionally followed by a value and parameters (e.g.
+ * {@code Prefer: respond-async, wait=10} or {@code Prefer: return=minimal; foo="bar"}), spread over
+ * one or more header lines. Preference names are case-insensitive.
+ */
+public final class PreferHeader {
+
+    public static final String NAME = "Prefer";
+    public static final String RESPOND_ASYNC = "respond-async";
+
+    private PreferHeader() {
+
+    }
+
+    /**
+     *
+     * @param headerValues the values of all {@code Prefer} headers of a request (may be {@code null})
+     * @param preference the name of a preference
+     * @return {@code true} if {@code preference} is one of the requested preferences
+     */
+    public static boolean contains(List<String> headerValues, String preference) {
+        if (headerValues == null) { return false; }
+
+        for (String headerValue : headerValues) {
+            for (String token : headerValue.split(",")) {
+                String name = token.split("[;=]", 2)[0].trim();
+                if (name.equalsIgnoreCase(preference)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,125 @@
+package at.saekenz.cinerator.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes connections of read-only transactions to the replica and every other connection to the primary.
+ * A user who committed a write transaction keeps reading from the primary for {@code readYourWritesWindow},
+ * so they see their own changes even while the replica lags behind.
+ * <p>
+ * Has to be wrapped in a {@link LazyConnectionDataSourceProxy}: transaction managers fetch the connection
+ * before the transaction is marked read-only, the proxy defers it to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Pool { PRIMARY, REPLICA }
+
+    private final Cache<String, Boolean> recentWriters;
+
+    private final Map<Pool, LongAdder> routedConnections = new EnumMap<>(Pool.class);
+    private final LongAdder stickyConnections = new LongAdder();
+
+    // Pool of the last connection handed out to each thread (see getLastSelectedPool)
+    private final ThreadLocal<Pool> lastSelectedPool = new ThreadLocal<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        for (Pool pool : Pool.values()) {
+            routedConnections.put(pool, new LongAdder());
+        }
+
+        setTargetDataSources(Map.<Object, Object>of(Pool.PRIMARY, primary, Pool.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * @return number of connections handed out by {@code pool}
+     */
+    public long getRoutedConnections(Pool pool) {
+        return routedConnections.get(pool).sum();
+    }
+
+    /**
+     * @return number of read-only connections that were kept on the primary after a write of the same user
+     */
+    public long getStickyConnections() {
+        return stickyConnections.sum();
+    }
+
+    /**
+     * Tells which pool a statement of the current thread was sent to, e.g. to compare reads of different
+     * transactions of the same request.
+     *
+     * @return pool of the last connection handed out to the current thread (empty if there was none)
+     */
+    public Optional<Pool> getLastSelectedPool() {
+        return Optional.ofNullable(lastSelectedPool.get());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Pool pool = selectPool();
+        routedConnections.get(pool).increment();
+        lastSelectedPool.set(pool);
+        return pool;
+    }
+
+    private Pool selectPool() {
+        Optional<String> user = currentUser();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            user.ifPresent(this::rememberWriteOnCommit);
+            return Pool.PRIMARY;
+        }
+
+        if (user.isPresent() && recentWriters.getIfPresent(user.get()) != null) {
+            stickyConnections.increment();
+            return Pool.PRIMARY;
+        }
+        return Pool.REPLICA;
+    }
+
+    /**
+     * Starts the window once the current transaction committed. Connections without a transaction
+     * (e.g. lazy loading while the response is rendered) only read and are ignored.
+     */
+    private void rememberWriteOnCommit(String user) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) { return; }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static Optional<String> currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        return Optional.of(authentication.getName());
+    }
+}
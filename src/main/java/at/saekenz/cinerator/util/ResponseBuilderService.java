@@ -1,5 +1,6 @@
 package at.saekenz.cinerator.util;
 
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.HttpHeaders;
@@ -36,4 +37,35 @@ public class ResponseBuilderService {
                 .created(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
                 .body(entityModel);
     }
+
+    /**
+     *
+     * @param entityModel the {@link EntityModel} describing the accepted request
+     * and its associated links, including the self link
+     * @return a {@link ResponseEntity} with a 202 Accepted status, a Location header set to
+     * the self link of the entity and a body containing the entity
+     */
+    public <T> ResponseEntity<EntityModel<T>> buildAcceptedResponseWithBody(EntityModel<T> entityModel) {
+        return ResponseEntity
+                .accepted()
+                .location(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                .body(entityModel);
+    }
+
+    /**
+     *
+     * @param collectionModel the {@link CollectionModel} containing one page of resources
+     * @param page the {@link KeysetPage} the {@code collectionModel} was created from
+     * @return a {@link ResponseEntity} with a 200 Ok status and the {@code collectionModel} as body.
+     * If the total number of elements was requested, it is returned in the X-Total-Count header
+     */
+    public <T> ResponseEntity<CollectionModel<T>> buildKeysetPageResponse(CollectionModel<T> collectionModel,
+                                                                        KeysetPage<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.totalElements() != null) {
+            headers.set("X-Total-Count", String.valueOf(page.totalElements()));
+        }
+
+        return ResponseEntity.ok().headers(headers).body(collectionModel);
+    }
 }
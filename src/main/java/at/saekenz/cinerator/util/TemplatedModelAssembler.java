@@ -0,0 +1,22 @@
+package at.saekenz.cinerator.util;
+
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+
+/**
+ * Base class of the DTO assemblers. Subclasses resolve the routes they link to once, when they are
+ * created, with {@link #template(Object)} and expand them with {@link LinkTemplate#expand} in
+ * {@code toModel}. This replaces calling {@code linkTo(methodOn(...))} for every link of every model.
+ *
+ * @param <D> type of the DTO
+ */
+public abstract class TemplatedModelAssembler<D> implements RepresentationModelAssembler<D, EntityModel<D>> {
+
+    protected static LinkTemplate template(Object invocationValue) {
+        return LinkTemplateRegistry.templateOf(invocationValue);
+    }
+
+    protected static String baseUri() {
+        return LinkTemplateRegistry.currentBaseUri();
+    }
+}
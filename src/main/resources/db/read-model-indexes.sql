@@ -0,0 +1,17 @@
+-- Indexes backing the aggregated movie summary query (see MovieSummaryRepository).
+-- The primary keys of the join tables start with mov_id, castinfos needs its own index.
+CREATE INDEX IF NOT EXISTS idx_castinfos_mov_id ON castinfos (mov_id, role_id);
+
+-- Sorting movie listings by their review statistics (see MovieStats)
+CREATE INDEX IF NOT EXISTS idx_movie_stats_average_rating ON movie_stats (average_rating, mov_id);
+CREATE INDEX IF NOT EXISTS idx_movie_stats_review_count ON movie_stats (review_count, mov_id);
+
+-- Home feeds (see FeedServiceImpl). The primary keys of followers and feed_entries start with
+-- fol_id and rev_id, fan-out and feed reads need the opposite column order.
+CREATE INDEX IF NOT EXISTS idx_followers_usr_id ON followers (usr_id, fol_id);
+CREATE INDEX IF NOT EXISTS idx_feed_entries_usr_id ON feed_entries (usr_id, rev_id DESC);
+CREATE INDEX IF NOT EXISTS idx_reviews_usr_id ON reviews (usr_id, id DESC);
+
+-- User list entries (see UserListEntry) are paged and positioned by their ordering key, the unique index
+-- also rejects two concurrent inserts that generated the same key
+CREATE UNIQUE INDEX IF NOT EXISTS uk_userlist_entries_position ON userlist_entries (usrlist_id, position);
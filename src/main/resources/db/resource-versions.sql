@@ -0,0 +1,59 @@
+-- Change counters of the tables collection representations are read from (see ResourceVersionRepository).
+-- Every statement writing one of the tables increments a counter of the table within the same transaction,
+-- so the sum of its counters changes exactly when the write is committed. Each transaction picks one of 16
+-- shards, so concurrent writers of a table rarely wait for the same row lock.
+-- Function bodies are quoted with single quotes, the script splitter does not know dollar quoting.
+CREATE TABLE IF NOT EXISTS resource_versions (
+    table_name varchar(64) NOT NULL,
+    shard smallint NOT NULL,
+    version bigint NOT NULL DEFAULT 0,
+    PRIMARY KEY (table_name, shard)
+);
+
+INSERT INTO resource_versions (table_name, shard)
+SELECT t.table_name, s.shard
+FROM unnest(ARRAY['movies', 'movie_stats', 'movie_genres', 'movie_countries', 'castinfos', 'persons', 'roles',
+                  'countries', 'genres', 'reviews', 'users']) AS t(table_name)
+CROSS JOIN generate_series(0, 15) AS s(shard)
+ON CONFLICT DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_resource_version() RETURNS trigger LANGUAGE plpgsql AS '
+BEGIN
+    UPDATE resource_versions SET version = version + 1
+    WHERE table_name = TG_TABLE_NAME AND shard = txid_current() % 16;
+    RETURN NULL;
+END';
+
+DROP TRIGGER IF EXISTS trg_movies_version ON movies;
+CREATE TRIGGER trg_movies_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON movies
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version();
+DROP TRIGGER IF EXISTS trg_movie_stats_version ON movie_stats;
+CREATE TRIGGER trg_movie_stats_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON movie_stats
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version();
+DROP TRIGGER IF EXISTS trg_movie_genres_version ON movie_genres;
+CREATE TRIGGER trg_movie_genres_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON movie_genres
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version();
+DROP TRIGGER IF EXISTS trg_movie_countries_version ON movie_countries;
+CREATE TRIGGER trg_movie_countries_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON movie_countries
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version();
+DROP TRIGGER IF EXISTS trg_castinfos_version ON castinfos;
+CREATE TRIGGER trg_castinfos_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON castinfos
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version();
+DROP TRIGGER IF EXISTS trg_persons_version ON persons;
+CREATE TRIGGER trg_persons_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON persons
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version();
+DROP TRIGGER IF EXISTS trg_roles_version ON roles;
+CREATE TRIGGER trg_roles_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON roles
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version();
+DROP TRIGGER IF EXISTS trg_countries_version ON countries;
+CREATE TRIGGER trg_countries_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON countries
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version();
+DROP TRIGGER IF EXISTS trg_genres_version ON genres;
+CREATE TRIGGER trg_genres_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON genres
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version();
+DROP TRIGGER IF EXISTS trg_reviews_version ON reviews;
+CREATE TRIGGER trg_reviews_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON reviews
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version();
+DROP TRIGGER IF EXISTS trg_users_version ON users;
+CREATE TRIGGER trg_users_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON users
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version();
@@ -0,0 +1,18 @@
+-- Indexes backing the movie and person searches (see MovieSpecifications and PersonSpecifications).
+-- Executed after Hibernate has created the schema (spring.jpa.defer-datasource-initialization).
+-- The trigram indexes of the substring searches are optional and created by trigram-indexes.sql.
+CREATE INDEX IF NOT EXISTS idx_movies_release_date ON movies (release_date);
+
+-- Exact IMDb id lookups use the unique constraint on imdb_id (created by Hibernate) without lower(), since ids
+-- are stored normalized (see Movie.normalizeImdbId). The check keeps them that way.
+ALTER TABLE movies ADD CONSTRAINT chk_movies_imdb_id_normalized CHECK (imdb_id = lower(btrim(imdb_id)));
+
+CREATE INDEX IF NOT EXISTS idx_movie_genres_gen_id ON movie_genres (gen_id, mov_id);
+CREATE INDEX IF NOT EXISTS idx_movie_countries_cou_id ON movie_countries (cou_id, mov_id);
+
+-- Person search (see PersonSpecifications): ages are matched as birth date ranges and heights as ranges
+-- of height_cm
+CREATE INDEX IF NOT EXISTS idx_persons_birth_date ON persons (birth_date);
+CREATE INDEX IF NOT EXISTS idx_persons_death_date ON persons (death_date) WHERE death_date IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_persons_height_cm ON persons (height_cm);
+CREATE INDEX IF NOT EXISTS idx_persons_cou_id ON persons (cou_id);
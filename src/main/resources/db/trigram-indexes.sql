@@ -0,0 +1,11 @@
+-- Trigram indexes backing the substring searches of movies, genres, countries and persons (see
+-- MovieSpecifications and PersonSpecifications). They need the pg_trgm extension; if it cannot be created,
+-- searches still work without index support. This is the only script whose statements may fail, it is run
+-- by its own initializer with continue-on-error (see DatabaseInitializationConfig).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_movies_title_trgm ON movies USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_movies_imdb_id_trgm ON movies USING gin (lower(imdb_id) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_genres_name_trgm ON genres USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_countries_name_trgm ON countries USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_persons_name_trgm ON persons USING gin (lower(name) gin_trgm_ops);
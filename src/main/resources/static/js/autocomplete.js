@@ -0,0 +1,38 @@
+// Suggests titles/names from GET /autocomplete while typing (shown as a datalist of the input)
+function attachAutocomplete(inputId, types) {
+    const input = document.getElementById(inputId);
+    const datalist = document.createElement('datalist');
+    datalist.id = `${inputId}-suggestions`;
+    input.setAttribute('list', datalist.id);
+    input.setAttribute('autocomplete', 'off');
+    input.after(datalist);
+
+    let timeout;
+    let controller;
+
+    input.addEventListener('input', () => {
+        clearTimeout(timeout);
+        timeout = setTimeout(async () => {
+            const query = input.value.trim();
+            if (!query) return datalist.replaceChildren();
+
+            if (controller) controller.abort();
+            controller = new AbortController();
+
+            const url = `http://localhost:8080/autocomplete?q=${encodeURIComponent(query)}&types=${types}`;
+            await fetch(url, { signal: controller.signal })
+                .then(response => response.json())
+                .then(data => {
+                    const suggestions = data._embedded ? data._embedded.autocompleteSuggestionList : [];
+                    datalist.replaceChildren(...suggestions.map(suggestion => {
+                        const option = document.createElement('option');
+                        option.value = suggestion.label;
+                        return option;
+                    }));
+                })
+                .catch(error => {
+                    if (error.name !== 'AbortError') console.error('Error fetching suggestions:', error);
+                });
+        }, 100);
+    });
+}
@@ -1,4 +1,5 @@
 document.getElementById('create-actor').addEventListener('click', submitActorForm);
+attachAutocomplete('name', 'person');
 
 function calculateAge(birthday) {
     const today = new Date()
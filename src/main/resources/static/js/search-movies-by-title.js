@@ -1,4 +1,5 @@
 document.getElementById('load-movie-by-title').addEventListener('click', fetchMovieData);
+attachAutocomplete('movie-title', 'movie');
 
 async function fetchMovieData() {
     const movieTitle = document.getElementById('movie-title').value;
@@ -6,7 +7,7 @@ async function fetchMovieData() {
 
     let url;
     if (checkIfTitleIsImdbId(movieTitle)) {
-        url = `http://localhost:8080/movies/imdbId/${encodeURIComponent(movieTitle)}`;
+        url = `http://localhost:8080/movies/imdb/${encodeURIComponent(movieTitle)}`;
     } else {
         url = `http://localhost:8080/movies/title/${encodeURIComponent(movieTitle)}`;
     }
@@ -21,6 +22,6 @@ async function fetchMovieData() {
 }
 
 function checkIfTitleIsImdbId(title) {
-    const regex = /^tt\d+$/;
+    const regex = /^tt\d+$/i;
     return regex.test(title);
 }
\ No newline at end of file
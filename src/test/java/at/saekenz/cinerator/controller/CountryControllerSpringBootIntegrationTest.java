@@ -138,6 +138,27 @@ public class CountryControllerSpringBootIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    /**
+     * Fetches {@link Country} with {@code id = 2L} twice. The second request has to be answered from
+     * Hibernate's second-level cache, which is verified through the cache hit metric of the actuator.
+     *
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    public void givenRepeatedFindCountryByIdRequests_shouldBeServedFromCache() throws Exception {
+        Long countryId = 2L;
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/countries/{id}", countryId).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(countryId.toString()));
+        }
+
+        mockMvc.perform(get("/actuator/metrics/hibernate.second.level.cache.requests?tag=result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value", greaterThan(0.0)));
+    }
+
     /**
      * Creates a PUT request which updates {@link Country} with {@code id = 4L}.
      * The API has to return a 204 No Content status and a link to the updated resource in
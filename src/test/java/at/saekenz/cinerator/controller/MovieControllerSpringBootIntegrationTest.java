@@ -1,18 +1,28 @@
 package at.saekenz.cinerator.controller;
 
+import at.saekenz.cinerator.model.castinfo.CastInfoCreationDTO;
+import at.saekenz.cinerator.model.castinfo.CastInfoImportDTO;
 import at.saekenz.cinerator.model.country.Country;
 import at.saekenz.cinerator.model.genre.Genre;
 import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.movie.MovieCreationDTO;
+import at.saekenz.cinerator.model.movie.MovieImportDTO;
 import at.saekenz.cinerator.model.review.Review;
 import at.saekenz.cinerator.model.review.ReviewCreationDTO;
 import at.saekenz.cinerator.model.review.ReviewUpdateDTO;
+import at.saekenz.cinerator.service.IMovieSimilarityService;
+import at.saekenz.cinerator.util.QueryCountingConfiguration;
+import at.saekenz.cinerator.util.QueryCountingDataSource;
+import at.saekenz.cinerator.util.ReadWriteRoutingDataSource;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
@@ -20,28 +30,43 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 @RunWith(SpringRunner.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(QueryCountingConfiguration.class)
 public class MovieControllerSpringBootIntegrationTest {
 
     @Autowired
     private WebApplicationContext webApplicationContext;
 
+    @Autowired
+    private QueryCountingDataSource queryCountingDataSource;
+
+    @Autowired
+    private IMovieSimilarityService movieSimilarityService;
+
+    @Autowired
+    private ShallowEtagHeaderFilter shallowEtagHeaderFilter;
+
     private MockMvc mockMvc;
 
     @BeforeEach
     public void setup() {
         mockMvc = MockMvcBuilders
                 .webAppContextSetup(webApplicationContext)
+                .addFilters(shallowEtagHeaderFilter)
                 .apply(springSecurity())
                 .build();
     }
@@ -63,6 +88,23 @@ public class MovieControllerSpringBootIntegrationTest {
                 .andExpect(jsonPath("$.id").value(movieId));
     }
 
+    /**
+     * The links of a {@link Movie} are expanded from templates resolved at startup. They have to match the
+     * links built by {@code linkTo(methodOn(...))} (absolute, based on the current request).
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @WithMockUser("test-user")
+    @Test
+    public void givenFindMovieByIdRequest_shouldReturnAbsoluteLinks() throws Exception {
+        mockMvc.perform(get("/movies/{movieId}", 1L).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.self.href").value("http://localhost/movies/1"))
+                .andExpect(jsonPath("$._links.reviews.href").value("http://localhost/movies/1/reviews"))
+                .andExpect(jsonPath("$._links.actors.href").value("http://localhost/movies/1/actors"))
+                .andExpect(jsonPath("$._links.genres.href").value("http://localhost/movies/1/genres"))
+                .andExpect(jsonPath("$._links.countries.href").value("http://localhost/movies/1/countries"));
+    }
+
     @WithMockUser("test-user")
     @Test
     public void givenFindMovieByIdRequest_shouldFailWith404() throws Exception {
@@ -75,6 +117,155 @@ public class MovieControllerSpringBootIntegrationTest {
                         String.format("Movie with id %s could not be found!", movieId))));
     }
 
+    @WithMockUser("test-user")
+    @Test
+    public void givenFindMovieByIdWithExpandRequest_shouldEmbedAssociationsWithFixedNumberOfQueries() throws Exception {
+        queryCountingDataSource.reset();
+        mockMvc.perform(get("/movies/{movieId}?expand={expand}", 1L, "reviews,cast,genres,countries")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Sicario"))
+                .andExpect(jsonPath("$._links.self.href").value("http://localhost/movies/1"))
+                .andExpect(jsonPath("$._embedded.reviews", hasSize(2)))
+                .andExpect(jsonPath("$._embedded.directors[0].name").value("Denis Villeneuve"))
+                .andExpect(jsonPath("$._embedded.genres", hasSize(greaterThan(0))))
+                .andExpect(jsonPath("$._embedded.countries", hasSize(greaterThan(0))));
+
+        assertThat(queryCountingDataSource.getStatementCount(), lessThanOrEqualTo(3L));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenFindMovieByIdWithExpandRequest_shouldFailWith400() throws Exception {
+        mockMvc.perform(get("/movies/{movieId}?expand={expand}", 1L, "trailers")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Expand value trailers is invalid!")));
+    }
+
+    /**
+     * A request with the ETag of the current representation of a {@link Movie} is answered with 304 Not
+     * Modified. Once that was done at the current version, further requests are answered from the version
+     * lookup alone. After the {@link Movie} is updated the ETag no longer matches.
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @WithMockUser("test-user")
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenConditionalFindMovieByIdRequest_shouldSucceedWith304UntilMovieIsUpdated() throws Exception {
+        Long movieId = 3L;
+        String eTag = mockMvc.perform(get("/movies/{movieId}", movieId).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/movies/{movieId}", movieId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        queryCountingDataSource.reset();
+        mockMvc.perform(get("/movies/{movieId}", movieId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        assertThat(queryCountingDataSource.getStatementCount(), lessThanOrEqualTo(1L));
+
+        MovieCreationDTO updatedMovie = new MovieCreationDTO("The Shawshank Redemption",
+                LocalDate.of(1994, 9, 23), "142 min", "tt0111161",
+                "https://upload.wikimedia.org/wikipedia/en/8/81/ShawshankRedemptionMoviePoster.jpg",
+                Set.of(6L), Set.of(1L));
+        ObjectMapper om = new ObjectMapper();
+        om.findAndRegisterModules();
+        mockMvc.perform(put("/movies/{id}", movieId)
+                        .contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsString(updatedMovie)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/movies/{movieId}", movieId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.title").value("The Shawshank Redemption"));
+    }
+
+    /**
+     * Changing the role of a credit (e.g. from Actor to Director) changes neither the number of credits of a
+     * {@link Movie} nor any version column, but it changes the director of the {@link Movie}. A conditional
+     * request with the previous ETag has to be answered with the new representation.
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @WithMockUser("test-user")
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenConditionalFindMovieByIdRequestAfterRoleChange_shouldSucceedWith200() throws Exception {
+        Long movieId = 3L;
+        ObjectMapper om = new ObjectMapper();
+        String location = mockMvc.perform(post("/castinfo").contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new CastInfoCreationDTO(movieId, 1L, 1L, "Extra"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        String castInfoId = location.substring(location.lastIndexOf('/') + 1);
+
+        String eTag = mockMvc.perform(get("/movies/{movieId}", movieId).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/movies/{movieId}", movieId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/castinfo/{id}", castInfoId).contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new CastInfoCreationDTO(movieId, 1L, 2L, null))))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/movies/{movieId}", movieId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenFindMovieByIdRequestAfterUpdate_shouldReadFromPrimaryWithinReadYourWritesWindow()
+            throws Exception {
+        ReadWriteRoutingDataSource routingDataSource = queryCountingDataSource.unwrap(ReadWriteRoutingDataSource.class);
+        String username = "routing-test-user";
+        Long movieId = 4L;
+
+        long replicaConnections = routingDataSource.getRoutedConnections(ReadWriteRoutingDataSource.Pool.REPLICA);
+        mockMvc.perform(get("/movies/{movieId}", movieId).with(user(username)))
+                .andExpect(status().isOk());
+        assertThat(routingDataSource.getRoutedConnections(ReadWriteRoutingDataSource.Pool.REPLICA),
+                greaterThan(replicaConnections));
+
+        MovieCreationDTO updatedMovie = new MovieCreationDTO("Read Your Writes",
+                LocalDate.of(2001, 1, 1), "100 min", "tt9999001",
+                "https://upload.wikimedia.org/wikipedia/en/8/81/ShawshankRedemptionMoviePoster.jpg",
+                Set.of(6L), Set.of(1L));
+        ObjectMapper om = new ObjectMapper();
+        om.findAndRegisterModules();
+        mockMvc.perform(put("/movies/{id}", movieId).with(user(username))
+                        .contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsString(updatedMovie)))
+                .andExpect(status().isNoContent());
+
+        long stickyConnections = routingDataSource.getStickyConnections();
+        mockMvc.perform(get("/movies/{movieId}", movieId).with(user(username)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Read Your Writes"));
+        assertThat(routingDataSource.getStickyConnections(), greaterThan(stickyConnections));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenFacetedSearchRequest_shouldSucceedWith200() throws Exception {
+        mockMvc.perform(get("/movies/search/facets")
+                        .param("decade", "1990")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements", greaterThan(0)))
+                .andExpect(jsonPath("$._embedded.movies[*].releaseDate", everyItem(startsWith("199"))))
+                // Counts of the decade facet ignore the selected decade
+                .andExpect(jsonPath("$.facets.decade['2010']", greaterThan(0)))
+                .andExpect(jsonPath("$.facets.genre").isNotEmpty())
+                .andExpect(jsonPath("$.facets.runtime['90-119']", greaterThan(0)));
+    }
+
     @WithMockUser("test-user")
     @Test
     public void givenFindMoviesByTitleRequest_shouldSucceedWith200() throws Exception {
@@ -114,6 +305,25 @@ public class MovieControllerSpringBootIntegrationTest {
                         String.format("Could not find any movies with title: %s", imdbId))));
     }
 
+    @WithMockUser("test-user")
+    @Test
+    public void givenFindMovieByImdbIdRequest_shouldSucceedWith200() throws Exception {
+        mockMvc.perform(get("/movies/imdb/{imdbId}", "TT1375666").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Inception"))
+                .andExpect(jsonPath("$.imdbId").value("tt1375666"));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenFindMovieByImdbIdRequest_shouldFailWith404() throws Exception {
+        String imdbId = "tt1375665";
+        mockMvc.perform(get("/movies/imdb/{imdbId}", imdbId).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(containsString(
+                        String.format("Movie with imdbId %s could not be found!", imdbId))));
+    }
+
     @WithMockUser("test-user")
     @Test
     public void givenFindMoviesByCountryRequest_shouldSucceedWith200() throws Exception {
@@ -162,6 +372,180 @@ public class MovieControllerSpringBootIntegrationTest {
                 .andDo(print());
     }
 
+    @WithMockUser("test-user")
+    @Test
+    public void givenSearchMoviesByTitleRequest_shouldSucceedWith200AndRankByRelevance() throws Exception {
+        String title = "the";
+        mockMvc.perform(get("/movies/search?title={title}", title).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].title",
+                        everyItem(containsStringIgnoringCase(title))))
+                .andExpect(jsonPath("$._embedded.movieDTOList[0].title").value("The Matrix"))
+                .andExpect(jsonPath("$.page.totalElements").value(4));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenSearchMoviesByGenreAndCountryRequest_shouldSucceedWith200() throws Exception {
+        String genre = "Drama";
+        String country = "United States";
+        mockMvc.perform(get("/movies/search?genre={genre}&country={country}&size={size}", genre, country, 2)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList", hasSize(lessThanOrEqualTo(2))))
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].genre",
+                        everyItem(containsStringIgnoringCase(genre))))
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].country",
+                        everyItem(containsStringIgnoringCase(country))));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenFindAllMoviesRequest_shouldNotLoadAssociationsPerMovie() throws Exception {
+        queryCountingDataSource.reset();
+        mockMvc.perform(get("/movies?size={size}", 17).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList", hasSize(17)))
+                .andExpect(jsonPath("$._embedded.movieDTOList[0].director").value("Denis Villeneuve"));
+
+        assertThat(queryCountingDataSource.getStatementCount(), lessThanOrEqualTo(3L));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenFindMoviesByGenreRequest_shouldNotLoadAssociationsPerMovie() throws Exception {
+        queryCountingDataSource.reset();
+        mockMvc.perform(get("/movies/genre/{genre}", "Drama").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList", hasSize(greaterThan(2))));
+
+        assertThat(queryCountingDataSource.getStatementCount(), lessThanOrEqualTo(2L));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenScrollMoviesRequest_shouldSucceedWith200AndFollowCursors() throws Exception {
+        String firstPage = mockMvc.perform(get("/movies/scroll?size={size}&withCount=true", 5)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "17"))
+                .andExpect(jsonPath("$._embedded.movieDTOList", hasSize(5)))
+                .andExpect(jsonPath("$._embedded.movieDTOList[0].id").value(1))
+                .andExpect(jsonPath("$._links.next.href").exists())
+                .andExpect(jsonPath("$._links.prev").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        String secondPage = mockMvc.perform(get(JsonPath.<String>read(firstPage, "$._links.next.href")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].id", contains(6, 7, 8, 9, 10)))
+                .andExpect(jsonPath("$._links.prev.href").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get(JsonPath.<String>read(secondPage, "$._links.prev.href")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].id", contains(1, 2, 3, 4, 5)))
+                .andExpect(jsonPath("$._links.prev").doesNotExist());
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenScrollMoviesByTitleRequest_shouldSucceedWith200AndKeepSortOrder() throws Exception {
+        String firstPage = mockMvc.perform(get("/movies/scroll?size={size}&sortBy={sortBy}&sortDirection={dir}",
+                        16, "title", "DESC")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList[0].title").value("Three Colors: Red"))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get(JsonPath.<String>read(firstPage, "$._links.next.href")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList", hasSize(1)))
+                .andExpect(jsonPath("$._embedded.movieDTOList[0].title").value("A Bronx Tale"))
+                .andExpect(jsonPath("$._links.next").doesNotExist());
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenScrollMoviesRequestWithInvalidCursor_shouldFailWith400() throws Exception {
+        mockMvc.perform(get("/movies/scroll?cursor={cursor}", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenExportMoviesRequest_shouldSucceedWith200AndStreamNdjson() throws Exception {
+        mockMvc.perform(get("/movies/export?format=ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string(containsString("\"title\":\"Sicario\"")))
+                .andExpect(content().string(containsString("\"title\":\"Taxi Driver\"")));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenExportMoviesRequest_shouldFailWith400() throws Exception {
+        String format = "xml";
+        mockMvc.perform(get("/movies/export?format={format}", format))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString(
+                        String.format("Export format %s is not supported!", format))));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenBulkImportMoviesRequest_shouldSucceedWith200AndReportEveryRow() throws Exception {
+        List<MovieImportDTO> movies = List.of(
+                new MovieImportDTO("Nightcrawler", LocalDate.of(2014,10,31), "118 min", "tt2872718",
+                        "https://upload.wikimedia.org/wikipedia/en/d/d4/Nightcrawlerfilm.jpg",
+                        List.of("Crime", "Thriller"), List.of("United States"),
+                        List.of(new CastInfoImportDTO(17L, "Director", null))),
+                new MovieImportDTO("Inception", LocalDate.of(2010,7,16), "148 min", "tt1375666",
+                        null, List.of("Action"), List.of("United States"), null),
+                new MovieImportDTO("Unknown Genre", LocalDate.of(2010,7,16), "90 min", "tt9999991",
+                        null, List.of("Ice Cream"), List.of("United States"), null));
+
+        ObjectMapper om = new ObjectMapper().findAndRegisterModules();
+        String moviesJsonData = om.writeValueAsString(movies);
+
+        mockMvc.perform(post("/movies/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(moviesJsonData))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("IMPORTED"))
+                .andExpect(jsonPath("$.results[1].message").value("Movie with imdbId tt1375666 already exists!"))
+                .andExpect(jsonPath("$.results[2].message").value("Genre Ice Cream could not be found!"));
+
+        mockMvc.perform(get("/movies/title/{title}", "Nightcrawler").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList[0].director").value("Dan Gilroy"));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenBulkImportMoviesFromCsvRequest_shouldSucceedWith200() throws Exception {
+        String csv = """
+                title,releaseDate,runtime,imdbId,posterUrl,genres,countries
+                Nightcrawler,2014-10-31,118 min,tt2872718,,Crime|Thriller,United States
+                "Heat, Part Two",not-a-date,120 min,tt9999992,,Crime,United States
+                """;
+
+        mockMvc.perform(post("/movies/bulk")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[1].row").value(2))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"));
+    }
+
     @WithMockUser("test-user")
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
@@ -351,6 +735,93 @@ public class MovieControllerSpringBootIntegrationTest {
                 .andExpect(jsonPath("$.movieId").value(movieId));
     }
 
+    @WithMockUser("test-user")
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenAsyncAddReviewToMovieRequest_shouldSucceedWith202AndCompleteSubmission() throws Exception {
+        Long movieId = 12L;
+        ReviewCreationDTO reviewDTO = new ReviewCreationDTO(LocalDate.of(2024,9,1),
+                "Test write-behind review.",4, true, 3L);
+
+        ObjectMapper om = new ObjectMapper().findAndRegisterModules();
+
+        String submission = mockMvc.perform(post("/movies/{movieId}/reviews", movieId)
+                        .header("Prefer", "wait=5, respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(reviewDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andReturn().getResponse().getContentAsString();
+
+        String statusUrl = JsonPath.read(submission, "$._links.self.href");
+        String status = "PENDING";
+        for (int attempt = 0; attempt < 50 && status.equals("PENDING"); attempt++) {
+            Thread.sleep(100);
+            submission = mockMvc.perform(get(statusUrl).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            status = JsonPath.read(submission, "$.status");
+        }
+        assertThat(status, is("COMPLETED"));
+
+        mockMvc.perform(get((String) JsonPath.read(submission, "$._links.review.href"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comment").value(reviewDTO.comment()))
+                .andExpect(jsonPath("$.movieId").value(movieId));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenAddAndRemoveReviewRequests_shouldUpdateMovieStats() throws Exception {
+        Long movieId = 12L;
+        ReviewCreationDTO reviewDTO = new ReviewCreationDTO(LocalDate.of(2024,9,1),
+                "Test movie statistics.",2, true, 3L);
+
+        ObjectMapper om = new ObjectMapper().findAndRegisterModules();
+
+        String createdReview = mockMvc.perform(post("/movies/{movieId}/reviews", movieId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(reviewDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/movies/{movieId}", movieId).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.reviewCount").value(1))
+                .andExpect(jsonPath("$.stats.averageRating").value(2.0))
+                .andExpect(jsonPath("$.stats.likeCount").value(1))
+                .andExpect(jsonPath("$.stats.ratingHistogram.2").value(1));
+
+        Integer reviewId = JsonPath.read(createdReview, "$.id");
+        mockMvc.perform(delete("/movies/{movieId}/reviews/{reviewId}", movieId, reviewId)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/movies/{movieId}", movieId).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.reviewCount").value(0))
+                .andExpect(jsonPath("$.stats.averageRating").value(0.0))
+                .andExpect(jsonPath("$.stats.ratingHistogram.2").value(0));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenFindAllMoviesSortedByReviewCountRequest_shouldSucceedWith200() throws Exception {
+        mockMvc.perform(get("/movies?sortBy={sortBy}&sortDirection={dir}", "reviewCount", "DESC")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList[0].stats.reviewCount").value(2));
+
+        mockMvc.perform(get("/movies/{movieId}", 1L).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.reviewCount").value(2))
+                .andExpect(jsonPath("$.stats.averageRating").value(4.0))
+                .andExpect(jsonPath("$.stats.likeCount").value(2));
+    }
+
     /**
      * Performs request for creating and adding a review to a movie twice.
      * The first time the request contains an invalid movieId and a valid userId.
@@ -554,6 +1025,65 @@ public class MovieControllerSpringBootIntegrationTest {
                         String.format("Movie with id %s could not be found!", movieId))));
     }
 
+// ------------------------------------------- SIMILAR ----------------------------------------------------------------
+
+    @WithMockUser("test-user")
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenFindSimilarMoviesRequest_shouldReturnMoviesOnTheSameWatchlist() throws Exception {
+        movieSimilarityService.rebuildAll();
+
+        // Movies 2, 3 and 7 share the watchlist of user 2
+        mockMvc.perform(get("/movies/{movieId}/similar", 2L).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].id", hasItems(3, 7)))
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].id", not(hasItem(2))))
+                .andExpect(jsonPath("$._links.self.href").value("http://localhost/movies/2/similar"));
+    }
+
+    @WithMockUser("test-user")
+    @Test
+    public void givenFindSimilarMoviesRequest_shouldFailWith404() throws Exception {
+        Long movieId = 999L;
+        mockMvc.perform(get("/movies/{movieId}/similar", movieId).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(containsString(
+                        String.format("Movie with id %s could not be found!", movieId))));
+    }
+
+// ------------------------------------------- AUTOCOMPLETE -----------------------------------------------------------
+
+    /**
+     * Creates a request which fetches title suggestions for the beginning of a word ("budap") without
+     * the accents and capitalization of the title.
+     * The API has to return a 200 Ok status and the matching {@link Movie} linked as suggestion.
+     *
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    public void givenAutocompleteRequest_shouldSucceedWith200() throws Exception {
+        mockMvc.perform(get("/autocomplete?q={query}&types={types}", "budap", "movie")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.autocompleteSuggestionList[0].label")
+                        .value("The Grand Budapest Hotel"))
+                .andExpect(jsonPath("$._embedded.autocompleteSuggestionList[*].type", everyItem(is("movie"))))
+                .andExpect(jsonPath("$._embedded.autocompleteSuggestionList[0]._links.self.href",
+                        containsString("/movies/")));
+
+        mockMvc.perform(get("/autocomplete?q={query}&types={types}", "AMEL", "movie")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.autocompleteSuggestionList[*].label", hasItem("Amélie")));
+    }
+
+    @Test
+    public void givenAutocompleteRequestWithInvalidType_shouldFailWith400() throws Exception {
+        mockMvc.perform(get("/autocomplete?q={query}&types={types}", "the", "genre")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
 // -------------------------------------------------------------------------------------------------------------------
 
     @Test
@@ -368,6 +368,28 @@ public class PersonControllerSpringBootIntegrationTest {
                         everyItem(containsStringIgnoringCase(birthCountry))));
     }
 
+    /**
+     * Creates a request which fetches the first page (of size {@code 5}) of {@link Person} resources whose
+     * {@code height} is between 1.80 m and 1.89 m (search term {@code 1.8}).
+     * The API has to return a 200 Ok status, the matching {@link Person} resources of the page and
+     * the paging metadata of all matches.
+     *
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    public void givenPagedPersonSearchByHeightRangeRequest_shouldSucceedWith200() throws Exception {
+        String height = "1.8";
+        int size = 5;
+
+        mockMvc.perform(get("/persons/search?height={height}&page=0&size={size}", height, size)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.personDTOList", hasSize(size)))
+                .andExpect(jsonPath("$._embedded.personDTOList[*].height", everyItem(startsWith(height))))
+                .andExpect(jsonPath("$.page.size").value(size))
+                .andExpect(jsonPath("$.page.totalElements", greaterThan(size)));
+    }
+
 // ---------------------------------------- OTHER --------------------------------------------------------------------
 
     /**
@@ -526,4 +548,52 @@ public class PersonControllerSpringBootIntegrationTest {
                 .andExpect(jsonPath("$.title").value("Not Found"))
                 .andExpect(jsonPath("$.status").value("404"));
     }
+
+    /**
+     * Creates a request which fetches every {@link Person} resource that worked on a {@link Movie} together
+     * with {@link Person} with {@code id 1}.
+     * The API has to return a 200 Ok status and the director of the only {@link Movie} {@link Person} with
+     * {@code id 1} starred in.
+     *
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    public void givenFindCostarsByPersonIdRequest_shouldSucceedWith200() throws Exception {
+        Long personId = 1L;
+
+        mockMvc.perform(get("/persons/{id}/costars", personId).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.personDTOList[*].id", contains(9)));
+    }
+
+    /**
+     * Creates a request which fetches the shortest chain of persons connecting {@link Person} with
+     * {@code id 1} and {@link Person} with {@code id 9}.
+     * The API has to return a 200 Ok status and a chain of one degree via {@link Movie} with {@code id 5}.
+     *
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    public void givenFindPathBetweenPersonsRequest_shouldSucceedWith200() throws Exception {
+        mockMvc.perform(get("/persons/{id}/path/{otherId}", 1L, 9L).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.degrees").value(1))
+                .andExpect(jsonPath("$.persons[*].id", contains(1, 9)))
+                .andExpect(jsonPath("$.movies[*].id", contains(5)));
+    }
+
+    /**
+     * Creates a request which fetches the shortest chain of persons connecting {@link Person} with
+     * {@code id 1} and {@link Person} with {@code id 21}.
+     * The API has to return a 404 Not Found status since the two persons never worked on connected movies.
+     *
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    public void givenFindPathBetweenPersonsRequest_shouldFailWith404() throws Exception {
+        mockMvc.perform(get("/persons/{id}/path/{otherId}", 1L, 21L).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.title").value("Not Found"))
+                .andExpect(jsonPath("$.status").value("404"));
+    }
 }
@@ -3,11 +3,14 @@ package at.saekenz.cinerator.controller;
 import at.saekenz.cinerator.model.follow.FollowActionDTO;
 import at.saekenz.cinerator.model.movie.Movie;
 import at.saekenz.cinerator.model.review.Review;
+import at.saekenz.cinerator.model.review.ReviewCreationDTO;
 import at.saekenz.cinerator.model.user.User;
 import at.saekenz.cinerator.model.user.UserCreationDTO;
 import at.saekenz.cinerator.model.user.UserDTO;
 import at.saekenz.cinerator.model.userlist.UserList;
+import at.saekenz.cinerator.service.IRecommendationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
@@ -22,6 +25,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -34,6 +40,9 @@ public class UserControllerSpringBootIntegrationTest {
     @Autowired
     private WebApplicationContext webApplicationContext;
 
+    @Autowired
+    private IRecommendationService recommendationService;
+
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -282,6 +291,74 @@ public class UserControllerSpringBootIntegrationTest {
                 .andExpect(jsonPath(String.format("$._embedded.movieDTOList[?(@.id == %s)]", movieId)).exists());
     }
 
+    /**
+     * Checks the membership of several movies in the watchlist of {@link User} with userId 2 (which contains
+     * movies [2,3,7]) before and after {@link Movie} with movieId 5 is added and removed again.
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenWatchlistMembershipRequest_shouldReflectAddedAndRemovedMovies() throws Exception {
+        Long userId = 2L;
+
+        mockMvc.perform(get("/users/{userId}/watchlist/contains", userId).param("movieIds", "2", "5", "7")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['2']").value(true))
+                .andExpect(jsonPath("$['5']").value(false))
+                .andExpect(jsonPath("$['7']").value(true));
+
+        mockMvc.perform(put("/users/{userId}/watchlist", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("5"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/users/{userId}/watchlist/contains", userId).param("movieIds", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['5']").value(true));
+
+        mockMvc.perform(delete("/users/{userId}/watchlist/{movieId}", userId, 5L))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/users/{userId}/watchlist/contains", userId).param("movieIds", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['5']").value(false));
+    }
+
+    /**
+     * Updates the watchlist of {@link User} with userId 2 (which contains movies [2,3,7]) with a batch request
+     * and then replaces it. Movies that are already (or not) part of the watchlist have to be skipped.
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenBatchUpdateAndReplaceWatchlistRequests_shouldSucceedWith200() throws Exception {
+        Long userId = 2L;
+
+        mockMvc.perform(patch("/users/{userId}/watchlist", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"add\": [5, 11, 3], \"remove\": [7, 9]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added", contains(5, 11)))
+                .andExpect(jsonPath("$.removed", contains(7)))
+                .andExpect(jsonPath("$.total").value(4));
+
+        mockMvc.perform(post("/users/{userId}/watchlist/replace", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"movieIds\": [2, 5, 8]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added", contains(8)))
+                .andExpect(jsonPath("$.removed", containsInAnyOrder(3, 11)))
+                .andExpect(jsonPath("$.total").value(3));
+
+        mockMvc.perform(get("/users/{userId}/watchlist", userId)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].id", containsInAnyOrder(2, 5, 8)));
+    }
+
     /**
      * Performs request for adding a {@link Movie} to a user's watchlist.
      * The API has to return a 400 Bad Request status (the {@link Movie} already exists in the watchlist).
@@ -847,4 +924,125 @@ public class UserControllerSpringBootIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string(is("{}")));
     }
+
+// ---------------------------------------- FEED --------------------------------------------------------------------
+
+    /**
+     * Creates two reviews by {@link User} with id = 2 and reads the feed of their follower with id = 3 one
+     * {@link Review} at a time. The newest {@link Review} has to come first, the next page is reached by
+     * following the {@code next} link.
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @WithMockUser("test-user")
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenReviewsOfFollowedUser_whenFindFeedByUser_shouldReturnReviewsNewestFirst() throws Exception {
+        ObjectMapper om = new ObjectMapper().findAndRegisterModules();
+
+        for (String comment : List.of("First feed review.", "Second feed review.")) {
+            ReviewCreationDTO reviewDTO = new ReviewCreationDTO(LocalDate.of(2024,9,1), comment, 4, true, 2L);
+
+            mockMvc.perform(post("/movies/{movieId}/reviews", 12L)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(reviewDTO)))
+                    .andExpect(status().isCreated());
+        }
+
+        String firstPage = mockMvc.perform(get("/users/{userId}/feed", 3L).param("size", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.reviewDTOList", hasSize(1)))
+                .andExpect(jsonPath("$._embedded.reviewDTOList[0].comment").value("Second feed review."))
+                .andExpect(jsonPath("$._embedded.reviewDTOList[0].userId").value(2))
+                .andExpect(jsonPath("$._links.next.href").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String nextHref = JsonPath.read(firstPage, "$._links.next.href");
+
+        mockMvc.perform(get(nextHref).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.reviewDTOList", hasSize(1)))
+                .andExpect(jsonPath("$._embedded.reviewDTOList[0].comment").value("First feed review."))
+                .andExpect(jsonPath("$._links.next").doesNotExist());
+    }
+
+    /**
+     * Lets {@link User} with id = 3 follow {@link User} with id = 1. The recent reviews of the followed
+     * {@link User} have to be copied into the feed right away.
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @WithMockUser("test-user")
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenFollowUserRequest_whenFindFeedByUser_shouldContainReviewsOfFollowedUser() throws Exception {
+        String jsonData = new ObjectMapper().writeValueAsString(new FollowActionDTO(3L));
+
+        mockMvc.perform(post("/users/{userId}/follow", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonData))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/users/{userId}/feed", 3L).param("size", "20")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.reviewDTOList[*].id", hasItems(1,5,9,12,13)));
+    }
+
+    /**
+     * Creates a request to retrieve the feed of {@link User} with id = 1 with a malformed cursor.
+     * Returns HTTP code 400.
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @WithMockUser("test-user")
+    @Test
+    public void givenInvalidCursor_whenFindFeedByUser_shouldFailWith400() throws Exception {
+        mockMvc.perform(get("/users/{userId}/feed", 1L).param("cursor", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Cursor not-a-cursor is invalid!")));
+    }
+
+// ------------------------------------ RECOMMENDATIONS ---------------------------------------------------------------
+
+    /**
+     * Trains the recommendation vectors and retrieves the recommendations of {@link User} with id = 1, who
+     * reviewed the movies with ids 1, 2, 3, 5 and 9. Returns HTTP code 200 and none of the reviewed movies.
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @WithMockUser("test-user")
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenFindRecommendationsByUserRequest_shouldExcludeReviewedMovies() throws Exception {
+        recommendationService.train();
+
+        mockMvc.perform(get("/users/{userId}/recommendations", 1L).param("size", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList", hasSize(5)))
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].id", everyItem(not(in(List.of(1, 2, 3, 5, 9))))));
+    }
+
+    /**
+     * Trains the recommendation vectors, adds {@link Movie} with id = 11 to the watchlist of {@link User} with
+     * id = 1 and retrieves the recommendations of this user. Returns HTTP code 200 and neither the reviewed
+     * movies nor any movie of the watchlist.
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @WithMockUser("test-user")
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenFindRecommendationsByUserRequest_shouldExcludeWatchlistedMovies() throws Exception {
+        recommendationService.train();
+
+        mockMvc.perform(put("/users/{userId}/watchlist", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("11"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/users/{userId}/recommendations", 1L).param("size", "10")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].id",
+                        everyItem(not(in(List.of(1, 2, 3, 5, 9, 11))))));
+    }
 }
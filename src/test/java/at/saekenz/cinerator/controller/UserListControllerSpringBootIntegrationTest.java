@@ -6,6 +6,7 @@ import at.saekenz.cinerator.model.userlist.UserList;
 import at.saekenz.cinerator.model.userlist.UserListCreationDTO;
 import at.saekenz.cinerator.model.userlist.UserListDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
@@ -19,7 +20,9 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -453,6 +456,175 @@ public class UserListControllerSpringBootIntegrationTest {
                         String.format("Movie with id %s was not found in UserList with id %s!", movieId, userListId))));
     }
 
+    /**
+     * Creates requests which append a {@link Movie} to {@link UserList} with {@code id = 2L}, insert another
+     * one before it and then move the first one back in front of the second one (adding a note).
+     * The entries have to be returned in the order of their positions.
+     *
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenInsertAndMoveUserListEntryRequests_shouldSucceedAndKeepOrder() throws Exception {
+        Long userListId = 2L;
+
+        mockMvc.perform(post("/lists/{listId}/entries", userListId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"movieId\": 12}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/lists/2/entries/12"))
+                .andExpect(jsonPath("$.movieId").value(12));
+
+        mockMvc.perform(post("/lists/{listId}/entries", userListId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"movieId\": 13, \"beforeMovieId\": 12}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/lists/{listId}/entries", userListId).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userListEntryDTOList[-2:].movieId", contains(13, 12)));
+
+        mockMvc.perform(patch("/lists/{listId}/entries/{movieId}", userListId, 12)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"beforeMovieId\": 13, \"note\": \"Rewatch first\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.note").value("Rewatch first"));
+
+        mockMvc.perform(get("/lists/{listId}/movies", userListId).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList[-2:].id", contains(12, 13)));
+    }
+
+    /**
+     * Moves an entry of {@link UserList} with {@code id = 2L} directly after the same neighbour over and over,
+     * which splits the same gap every time until the position would no longer fit into its column. The list
+     * then has to be rebalanced: every entry gets a new, short position and the order of the entries is kept.
+     *
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenRepeatedMovesIntoSameGap_shouldRebalanceAndKeepOrder() throws Exception {
+        Long userListId = 2L;
+
+        for (long movieId : List.of(12L, 13L)) {
+            mockMvc.perform(post("/lists/{listId}/entries", userListId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(String.format("{\"movieId\": %s}", movieId)))
+                    .andExpect(status().isCreated());
+        }
+        List<Integer> order = JsonPath.read(mockMvc.perform(get("/lists/{listId}/entries", userListId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$._embedded.userListEntryDTOList[*].movieId");
+
+        String previousPosition = "";
+        String position = "";
+        int moves = 0;
+        while (position.length() >= previousPosition.length() && moves < 2000) {
+            previousPosition = position;
+            position = JsonPath.read(mockMvc.perform(patch("/lists/{listId}/entries/{movieId}", userListId, 13)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"afterMovieId\": 12}"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), "$.position");
+            assertThat(position.length(), lessThanOrEqualTo(255));
+            moves++;
+        }
+        assertThat(moves, lessThan(2000));
+        assertThat(previousPosition.length(), greaterThan(250));
+
+        mockMvc.perform(get("/lists/{listId}/entries", userListId).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userListEntryDTOList[*].movieId", contains(order.toArray())))
+                .andExpect(jsonPath("$._embedded.userListEntryDTOList[*].position",
+                        everyItem(matchesPattern("a[0-9A-Za-z]{1,2}"))));
+    }
+
+    /**
+     * Creates a request which inserts a {@link Movie} after a {@link Movie} that is not part of
+     * {@link UserList} with {@code id = 2L}.
+     * The API has to return a 404 Not Found status.
+     *
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    public void givenInsertUserListEntryAfterMissingMovieRequest_shouldFailWith404() throws Exception {
+        Long userListId = 2L;
+        Long afterMovieId = 1L;
+
+        mockMvc.perform(post("/lists/{listId}/entries", userListId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"movieId\": 12, \"afterMovieId\": %s}", afterMovieId)))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(containsString(
+                        String.format("Movie with id %s was not found in UserList with id %s!",
+                                afterMovieId, userListId))));
+    }
+
+    /**
+     * Adds several movies to {@link UserList} with {@code id = 2L} with a batch request, one of which does not
+     * exist. The API has to return a 404 Not Found status and must not add any of the movies.
+     *
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    public void givenBatchUpdateUserListRequestWithMissingMovie_shouldFailWith404() throws Exception {
+        Long userListId = 2L;
+
+        mockMvc.perform(patch("/lists/{listId}/movies", userListId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"add\": [12, -5, 99999]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/lists/{listId}/movies", userListId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"add\": [12, 99999]}"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(containsString("Movies with ids [99999] could not be found!")));
+
+        mockMvc.perform(get("/lists/{listId}/movies/contains", userListId).param("movieIds", "12")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['12']").value(false));
+    }
+
+    /**
+     * Adds and removes movies of {@link UserList} with {@code id = 2L} with a batch request and then replaces
+     * its movies. Added movies have to be appended in the order of the request, movies that stay on the list
+     * have to keep their position.
+     *
+     * @throws Exception if any errors occur the execution of the test.
+     */
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenBatchUpdateAndReplaceUserListRequests_shouldSucceedAndKeepOrder() throws Exception {
+        Long userListId = 2L;
+
+        mockMvc.perform(patch("/lists/{listId}/movies", userListId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"add\": [13, 12], \"remove\": [5]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added", contains(13, 12)))
+                .andExpect(jsonPath("$.removed", contains(5)));
+
+        mockMvc.perform(get("/lists/{listId}/movies", userListId).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].id", hasSize(6)))
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].id", not(hasItem(5))))
+                .andExpect(jsonPath("$._embedded.movieDTOList[-2:].id", contains(13, 12)));
+
+        mockMvc.perform(post("/lists/{listId}/movies/replace", userListId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"movieIds\": [1, 12, 7, 13]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added", contains(1)))
+                .andExpect(jsonPath("$.removed", containsInAnyOrder(8, 9, 6)));
+
+        mockMvc.perform(get("/lists/{listId}/movies", userListId).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.movieDTOList[*].id", contains(7, 13, 12, 1)));
+    }
+
     /**
      * Creates a request which searches for {@code UserLists} based on parameters
      * {@code name}, {@code description} and {@code userId}.
@@ -0,0 +1,112 @@
+package at.saekenz.cinerator.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FractionalIndexTest {
+
+    private static final String SMALLEST_INTEGER = "A" + "0".repeat(26);
+
+    /**
+     * The first key of an empty list is the integer zero, appending and prepending change the integer part.
+     */
+    @Test
+    public void givenOpenBounds_shouldIncrementAndDecrementIntegerPart() {
+        assertThat(FractionalIndex.between(null, null), is("a0"));
+        assertThat(FractionalIndex.between("a0", null), is("a1"));
+        assertThat(FractionalIndex.between(null, "a1"), is("a0"));
+        assertThat(FractionalIndex.between("a0V", null), is("a1"));
+        assertThat(FractionalIndex.between(null, "a0V"), is("a0"));
+    }
+
+    /**
+     * Integer parts that run out of digits continue with the next head character, which changes their length.
+     */
+    @Test
+    public void givenOverflowingIntegerPart_shouldContinueWithNextHeadCharacter() {
+        assertThat(FractionalIndex.between("az", null), is("b00"));
+        assertThat(FractionalIndex.between("bzz", null), is("c000"));
+        assertThat(FractionalIndex.between("Zz", null), is("a0"));
+        assertThat(FractionalIndex.between("Yzz", null), is("Z0"));
+
+        assertThat(FractionalIndex.between(null, "b00"), is("az"));
+        assertThat(FractionalIndex.between(null, "a0"), is("Zz"));
+        assertThat(FractionalIndex.between(null, "Z0"), is("Yzz"));
+    }
+
+    /**
+     * The smallest integer part is never returned by itself, keys before it are generated by its fraction.
+     */
+    @Test
+    public void givenSmallestIntegerPart_shouldPrependWithFraction() {
+        String key = FractionalIndex.between(null, "A" + "0".repeat(25) + "1");
+        assertThat(key, is(SMALLEST_INTEGER + "V"));
+
+        String before = FractionalIndex.between(null, key);
+        assertThat(before, startsWith(SMALLEST_INTEGER));
+        assertThat(before, lessThan(key));
+        assertThat(FractionalIndex.between(before, key), allOf(greaterThan(before), lessThan(key)));
+    }
+
+    @Test
+    public void givenBetweenLargestIntegerAndEnd_shouldAppendWithFraction() {
+        String largest = "z" + "z".repeat(26);
+
+        String key = FractionalIndex.between(largest, null);
+        assertThat(key, is(largest + "V"));
+        assertThat(FractionalIndex.between(key, null), greaterThan(key));
+    }
+
+    /**
+     * Splitting the same gap over and over extends the fraction, the keys keep sorting between their bounds.
+     */
+    @Test
+    public void givenRepeatedlySplitGap_shouldKeepKeysOrdered() {
+        String before = "a0";
+        String after = "a1";
+
+        for (int i = 0; i < 2000; i++) {
+            String key = FractionalIndex.between(before, after);
+            assertThat(key, allOf(greaterThan(before), lessThan(after)));
+            after = key;
+        }
+        assertThat(after.length(), greaterThan(255));
+
+        for (int i = 0; i < 2000; i++) {
+            String key = FractionalIndex.between(before, after);
+            assertThat(key, allOf(greaterThan(before), lessThan(after)));
+            before = key;
+        }
+    }
+
+    @Test
+    public void givenRepeatedlyPrependedAndAppendedKeys_shouldGrowLogarithmically() {
+        String first = FractionalIndex.between(null, null);
+        String last = first;
+
+        for (int i = 0; i < 100_000; i++) {
+            String prepended = FractionalIndex.between(null, first);
+            String appended = FractionalIndex.between(last, null);
+            assertThat(prepended, lessThan(first));
+            assertThat(appended, greaterThan(last));
+            first = prepended;
+            last = appended;
+        }
+        assertThat(first.length(), lessThanOrEqualTo(5));
+        assertThat(last.length(), lessThanOrEqualTo(5));
+    }
+
+    @Test
+    public void givenInvalidKeys_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> FractionalIndex.between("a1", "a0"));
+        assertThrows(IllegalArgumentException.class, () -> FractionalIndex.between("a0", "a0"));
+        assertThrows(IllegalArgumentException.class, () -> FractionalIndex.between("a10", null));
+        assertThrows(IllegalArgumentException.class, () -> FractionalIndex.between("b0", null));
+        assertThrows(IllegalArgumentException.class, () -> FractionalIndex.between("a-", null));
+        assertThrows(IllegalArgumentException.class, () -> FractionalIndex.between(null, ""));
+        assertThrows(IllegalArgumentException.class, () -> FractionalIndex.between(null, SMALLEST_INTEGER));
+    }
+}
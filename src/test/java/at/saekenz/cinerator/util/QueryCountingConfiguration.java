@@ -0,0 +1,28 @@
+package at.saekenz.cinerator.util;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the application's {@link DataSource} with a {@link QueryCountingDataSource}. Import it into
+ * an integration test and inject {@link QueryCountingDataSource} to check the number of statements.
+ */
+@TestConfiguration
+public class QueryCountingConfiguration {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}